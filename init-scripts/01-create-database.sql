@@ -110,3 +110,26 @@ CREATE TABLE IF NOT EXISTS question_answer (
     INDEX idx_question_answer_user_session (session_id),
     INDEX idx_question_answer_combo (question_id, is_correct, time_spent)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='사용자 문제 답변 테이블';
+
+-- 5. 카테고리별 학습 맥락 테이블 (CategoryContext)
+CREATE TABLE IF NOT EXISTS category_context (
+    major_category VARCHAR(50)  NOT NULL COMMENT '대분류',
+    minor_category VARCHAR(50)  NOT NULL DEFAULT '' COMMENT '소분류 (빈 문자열: 대분류 기본 맥락)',
+    label          VARCHAR(100) NOT NULL COMMENT '프롬프트 표시 이름 (예: 여행 영어)',
+    context        VARCHAR(500) NOT NULL COMMENT '학습 맥락 설명',
+    updated_at     DATETIME(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (major_category, minor_category)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='카테고리별 학습 맥락 테이블';
+
+-- =====================================================
+-- 미디어 서비스 테이블 (JPA 엔티티가 아니라 ddl-auto로 생성되지 않는 테이블)
+-- =====================================================
+
+-- 6. 프롬프트 저장소 테이블 (prompts)
+-- 추천 생성에 사용한 프롬프트를 SHA-256 해시로 한 번만 gzip 압축 저장 (media_recommendations.prompt_hash로 참조)
+CREATE TABLE IF NOT EXISTS prompts (
+    prompt_hash CHAR(64) NOT NULL PRIMARY KEY,
+    content MEDIUMBLOB NOT NULL,
+    original_length INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=ascii COMMENT='프롬프트 저장소 테이블';
@@ -67,3 +67,24 @@ INSERT INTO question_answer (session_id, question_id, session_type, user_answer,
 ('SESS003', 'Q003', 'PRACTICE', 'B', 0, 50, '2024-01-15 09:12:00', 1),
 ('SESS003', 'Q004', 'PRACTICE', 'A', 0, 35, '2024-01-15 09:18:00', 1),
 ('SESS003', 'Q005', 'PRACTICE', 'B', 1, 20, '2024-01-15 09:22:00', 1);
+
+-- =====================================================
+-- 5. 카테고리별 학습 맥락 데이터 삽입
+-- =====================================================
+INSERT INTO category_context (major_category, minor_category, label, context) VALUES
+('여행', '', '여행 영어', '여행 관련 영어 표현과 어휘를 학습합니다.'),
+('여행', '배낭', '여행 영어', '배낭 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('여행', '가족', '여행 영어', '가족과 함께하는 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('여행', '친구', '여행 영어', '친구와 함께하는 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '', '비즈니스 영어', '비즈니스 관련 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '회사', '비즈니스 영어', '회사 업무에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '미팅', '비즈니스 영어', '미팅 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '회의', '비즈니스 영어', '회의 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '', '학업 영어', '학업 관련 영어 표현과 어휘를 학습합니다.'),
+('학업', '대학교', '학업 영어', '대학교 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '학원', '학업 영어', '학원 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '대학원', '학업 영어', '대학원 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '', '일상생활 영어', '일상생활 관련 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '가족', '일상생활 영어', '가족과의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '친구', '일상생활 영어', '친구와의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '선생님', '일상생활 영어', '선생님과의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.');
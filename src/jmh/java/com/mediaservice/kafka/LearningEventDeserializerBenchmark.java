@@ -0,0 +1,142 @@
+package com.mediaservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mediaservice.dto.SessionQuestionDetail;
+import com.mediaservice.event.LearningCompletedEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 학습 완료 이벤트 역직렬화 벤치마크
+ *
+ * 기존 경로(Spring JsonDeserializer 데이터 바인딩)와 스트리밍 Deserializer(JSON / CBOR)를
+ * 세션 문제 20~50개가 포함된 실제 크기의 페이로드로 비교합니다.
+ * 실행: ./gradlew jmh (gc 프로파일러로 연산당 할당량(gc.alloc.rate.norm)도 함께 측정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LearningEventDeserializerBenchmark {
+
+    private static final String TOPIC = "learning-events";
+
+    @Param({"20", "35", "50"})
+    private int questionCount;
+
+    private byte[] jsonPayload;
+    private byte[] cborPayload;
+    private RecordHeaders jsonHeaders;
+    private RecordHeaders cborHeaders;
+    private JsonDeserializer<LearningCompletedEvent> springJsonDeserializer;
+    private LearningCompletedEventDeserializer streamingDeserializer;
+
+    @Setup
+    public void setUp() throws Exception {
+        LearningCompletedEvent event = createEvent(questionCount);
+
+        // 이벤트 발행 측(Spring JsonSerializer)과 같은 형식: 날짜는 ISO 문자열
+        ObjectMapper jsonMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jsonPayload = jsonMapper.writeValueAsBytes(event);
+        cborPayload = cborMapper.writeValueAsBytes(event);
+
+        jsonHeaders = new RecordHeaders();
+        cborHeaders = new RecordHeaders();
+        cborHeaders.add(LearningEventHeaders.CONTENT_TYPE,
+                LearningEventHeaders.CONTENT_TYPE_CBOR.getBytes(StandardCharsets.UTF_8));
+
+        // KafkaConfig의 기존 설정과 동일하게 구성
+        springJsonDeserializer = new JsonDeserializer<>();
+        springJsonDeserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "com.mediaservice.event",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, LearningCompletedEvent.class.getName()), false);
+        streamingDeserializer = new LearningCompletedEventDeserializer();
+    }
+
+    @Benchmark
+    public LearningCompletedEvent springJsonDataBinding() {
+        return springJsonDeserializer.deserialize(TOPIC, jsonHeaders, jsonPayload);
+    }
+
+    @Benchmark
+    public LearningCompletedEvent streamingJson() {
+        return streamingDeserializer.deserialize(TOPIC, jsonHeaders, jsonPayload);
+    }
+
+    @Benchmark
+    public LearningCompletedEvent streamingCbor() {
+        return streamingDeserializer.deserialize(TOPIC, cborHeaders, cborPayload);
+    }
+
+    private static LearningCompletedEvent createEvent(int questionCount) {
+        LocalDateTime completedAt = LocalDateTime.of(2024, 3, 15, 14, 30, 12, 345_000_000);
+
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setSessionId("session-7f3c2a9e-1b4d-4e8f-9a6b-2c5d8e1f4a7b");
+        event.setUserId("12345");
+        event.setSessionCreatedAt(completedAt.minusMinutes(25));
+        event.setSessionStartedAt(completedAt.minusMinutes(24));
+        event.setSessionCompletedAt(completedAt);
+        event.setSessionStatus("COMPLETED");
+        event.setSessionType("PRACTICE");
+        event.setSessionMetadata("{\"device\":\"ios\",\"appVersion\":\"2.4.1\"}");
+        event.setTotalQuestions(questionCount);
+        event.setAnsweredQuestions(questionCount);
+        event.setCorrectAnswers(questionCount * 7 / 10);
+        event.setWrongAnswers(questionCount - questionCount * 7 / 10);
+        event.setProgressPercentage(100.0);
+        event.setTotalSolveCount(questionCount + 4);
+        event.setAvgTimeSpent(38.5);
+        event.setLastAnsweredAt(completedAt.minusSeconds(5));
+        event.setMajorCategory("비즈니스");
+        event.setMinorCategory("회의");
+        event.setQuestionType("MULTIPLE_CHOICE");
+        event.setAvgDifficultyLevel(2);
+        event.setAccuracyRate(70.0);
+        event.setErrorRate(30.0);
+        event.setTotalLearningTimeMinutes(24);
+
+        List<SessionQuestionDetail> questions = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            questions.add(SessionQuestionDetail.builder()
+                    .questionId("Q-" + (1000 + i))
+                    .questionText("Listen to the meeting excerpt and choose the phrase that best completes sentence " + i + ".")
+                    .options(List.of("Let's circle back on this next week.",
+                            "I'd like to put this on the agenda.",
+                            "Could you walk us through the numbers?"))
+                    .correctAnswer(i % 3 == 0 ? "A" : i % 3 == 1 ? "B" : "C")
+                    .explanation("회의에서 논의를 미룰 때 자연스럽게 쓰는 표현입니다. 'circle back'은 나중에 다시 다룬다는 의미입니다.")
+                    .majorCategory("비즈니스")
+                    .minorCategory("회의")
+                    .difficultyLevel(1 + i % 3)
+                    .userAnswer(i % 4 == 0 ? "B" : "A")
+                    .isCorrect(i % 10 < 7)
+                    .timeSpent(20 + i % 40)
+                    .attemptCount(1 + i % 2)
+                    .build());
+        }
+        event.setSessionQuestions(questions);
+        return event;
+    }
+}
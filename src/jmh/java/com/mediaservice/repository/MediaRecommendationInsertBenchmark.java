@@ -0,0 +1,254 @@
+package com.mediaservice.repository;
+
+import com.mediaservice.enums.MediaType;
+import com.mediaservice.enums.RecommendationType;
+import com.mediaservice.model.MediaRecommendation;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 추천 저장 벤치마크
+ *
+ * 한 트랜잭션에서 추천 10개(세션 1건 분량)/1000개(대량 적재)를 저장하고 flush합니다. (saveAllAndFlush와 같은 경로)
+ * idStrategy=sequence는 운영 매핑(풀링 시퀀스), identity는 같은 컬럼을 IDENTITY로 매핑한 기존 방식입니다.
+ * (IDENTITY는 INSERT마다 생성된 키를 받아와야 하므로 jdbcBatchSize와 상관없이 행마다 INSERT를 보냄)
+ * jdbcBatchSize=1은 시퀀스 ID에서 배치만 끈 경우, 50은 운영 설정과 같은 배치 INSERT입니다.
+ * 테이블은 Hibernate가 벤치마크마다 새로 만들고, 반복(iteration)마다 비웁니다.
+ * 실행: ./gradlew jmh (H2 인메모리)
+ * MySQL 포함: ./gradlew jmhJar 후
+ *   BENCHMARK_MYSQL_URL=jdbc:mysql://localhost:3306/mediadb?rewriteBatchedStatements=true \
+ *   BENCHMARK_MYSQL_USERNAME=... BENCHMARK_MYSQL_PASSWORD=... \
+ *   java -jar build/libs/*-jmh.jar MediaRecommendationInsertBenchmark -p database=h2,mysql
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MediaRecommendationInsertBenchmark {
+
+    @Param({"h2"})
+    private String database;
+
+    @Param({"sequence", "identity"})
+    private String idStrategy;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"10", "1000"})
+    private int rowsPerSave;
+
+    private SessionFactory sessionFactory;
+    private long userId;
+
+    @Setup
+    public void setUp() {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(MediaRecommendation.class)
+                .addAnnotatedClass(IdentityMediaRecommendation.class)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(jdbcBatchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true");
+        if ("mysql".equals(database)) {
+            configuration
+                    .setProperty(AvailableSettings.JAKARTA_JDBC_URL, Objects.requireNonNull(
+                            System.getenv("BENCHMARK_MYSQL_URL"), "BENCHMARK_MYSQL_URL 환경 변수가 필요합니다"))
+                    .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getenv().getOrDefault("BENCHMARK_MYSQL_USERNAME", "root"))
+                    .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getenv().getOrDefault("BENCHMARK_MYSQL_PASSWORD", ""));
+        } else {
+            configuration
+                    .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+                    .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                    .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "");
+        }
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTable() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from MediaRecommendation").executeUpdate();
+            session.createMutationQuery("delete from IdentityMediaRecommendation").executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public int saveRecommendations() {
+        long batchUserId = ++userId;
+        LocalDateTime generatedAt = LocalDateTime.now();
+        boolean identity = "identity".equals(idStrategy);
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < rowsPerSave; i++) {
+                MediaRecommendation recommendation = createRecommendation(batchUserId, i, generatedAt);
+                session.persist(identity ? new IdentityMediaRecommendation(recommendation) : recommendation);
+            }
+            session.flush();
+            transaction.commit();
+        }
+        return rowsPerSave;
+    }
+
+    private static MediaRecommendation createRecommendation(long userId, int index, LocalDateTime generatedAt) {
+        return MediaRecommendation.builder()
+                .userId(userId)
+                .title("Business English: Meetings #" + index)
+                .description("회의 진행과 참여에 필요한 영어 표현을 실제 회의 장면으로 익힐 수 있는 영상입니다.")
+                .url("https://www.youtube.com/watch?v=benchmark" + index)
+                .thumbnailUrl("https://img.youtube.com/vi/benchmark" + index + "/hqdefault.jpg")
+                .mediaType(MediaType.VIDEO)
+                .recommendationType(RecommendationType.REAL_TIME_SESSION)
+                .sessionId("session-" + userId)
+                .promptHash("0".repeat(64))
+                .platform("YouTube")
+                .difficultyLevel("INTERMEDIATE")
+                .recommendationReason("회의 중 상대의 말을 공손하게 끊는 표현에서 자주 틀렸습니다.")
+                .estimatedDuration(15)
+                .language("en")
+                .category("비즈니스")
+                .generatedAt(generatedAt)
+                .build();
+    }
+
+    /**
+     * 비교 기준: MediaRecommendation과 같은 컬럼을 IDENTITY ID로 매핑한 엔티티 (변경 전 매핑)
+     */
+    @Entity(name = "IdentityMediaRecommendation")
+    @Table(name = "media_recommendations_identity")
+    static class IdentityMediaRecommendation {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "user_id", nullable = false)
+        private Long userId;
+
+        @Column(name = "title", nullable = false)
+        private String title;
+
+        @Column(name = "description", columnDefinition = "TEXT")
+        private String description;
+
+        @Column(name = "url", nullable = false)
+        private String url;
+
+        @Column(name = "thumbnail_url")
+        private String thumbnailUrl;
+
+        @Column(name = "play_url")
+        private String playUrl;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "media_type", nullable = false)
+        private MediaType mediaType;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "recommendation_type", nullable = false)
+        private RecommendationType recommendationType;
+
+        @Column(name = "session_id")
+        private String sessionId;
+
+        @Column(name = "prompt_hash", length = 64)
+        private String promptHash;
+
+        @Column(name = "platform")
+        private String platform;
+
+        @Column(name = "difficulty_level")
+        private String difficultyLevel;
+
+        @Column(name = "recommendation_reason", columnDefinition = "TEXT")
+        private String recommendationReason;
+
+        @Column(name = "estimated_duration")
+        private Integer estimatedDuration;
+
+        @Column(name = "language")
+        private String language;
+
+        @Column(name = "category")
+        private String category;
+
+        @Column(name = "video_id")
+        private String videoId;
+
+        @Column(name = "channel_name")
+        private String channelName;
+
+        @Column(name = "view_count")
+        private String viewCount;
+
+        @Column(name = "published_at")
+        private String publishedAt;
+
+        @Column(name = "generated_at", nullable = false)
+        private LocalDateTime generatedAt;
+
+        @Column(name = "created_at", nullable = false, updatable = false)
+        private LocalDateTime createdAt;
+
+        @Column(name = "updated_at")
+        private LocalDateTime updatedAt;
+
+        protected IdentityMediaRecommendation() {
+        }
+
+        IdentityMediaRecommendation(MediaRecommendation source) {
+            LocalDateTime now = LocalDateTime.now();
+            this.userId = source.getUserId();
+            this.title = source.getTitle();
+            this.description = source.getDescription();
+            this.url = source.getUrl();
+            this.thumbnailUrl = source.getThumbnailUrl();
+            this.playUrl = source.getPlayUrl();
+            this.mediaType = source.getMediaType();
+            this.recommendationType = source.getRecommendationType();
+            this.sessionId = source.getSessionId();
+            this.promptHash = source.getPromptHash();
+            this.platform = source.getPlatform();
+            this.difficultyLevel = source.getDifficultyLevel();
+            this.recommendationReason = source.getRecommendationReason();
+            this.estimatedDuration = source.getEstimatedDuration();
+            this.language = source.getLanguage();
+            this.category = source.getCategory();
+            this.videoId = source.getVideoId();
+            this.channelName = source.getChannelName();
+            this.viewCount = source.getViewCount();
+            this.publishedAt = source.getPublishedAt();
+            this.generatedAt = source.getGeneratedAt();
+            this.createdAt = now;
+            this.updatedAt = now;
+        }
+    }
+}
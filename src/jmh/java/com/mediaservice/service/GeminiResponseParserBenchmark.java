@@ -0,0 +1,125 @@
+package com.mediaservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaservice.enums.MediaType;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.impl.GeminiResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 추천 응답 파싱 벤치마크
+ *
+ * 기존 경로(JsonNode 트리를 만든 뒤 필드별 get, MediaType.valueOf 예외로 알 수 없는 유형 처리)와
+ * 스트리밍 파서로 MediaRecommendation builder에 바로 채우는 현재 경로를 추천 3~20개 응답으로 비교합니다.
+ * 응답의 일부 항목은 프롬프트에 없는 미디어 유형(PODCAST 등)을 사용합니다.
+ * 실행: ./gradlew jmh (gc 프로파일러로 연산당 할당량(gc.alloc.rate.norm)도 함께 측정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeminiResponseParserBenchmark {
+
+    private static final String[] MEDIA_TYPES = {"VIDEO", "AUDIO", "video", "PODCAST", "ARTICLE", "BOOK", "Course"};
+
+    @Param({"3", "8", "20"})
+    private int recommendationCount;
+
+    private String response;
+    private ObjectMapper objectMapper;
+    private GeminiResponseParser parser;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        parser = new GeminiResponseParser(objectMapper);
+        response = createResponse(recommendationCount);
+    }
+
+    @Benchmark
+    public List<MediaRecommendation> treeModel() throws Exception {
+        return parseWithTreeModel(response);
+    }
+
+    @Benchmark
+    public List<MediaRecommendation> streaming() {
+        return parser.parseRecommendations(response);
+    }
+
+    /**
+     * 변경 전 파싱 경로 (비교 기준)
+     */
+    private List<MediaRecommendation> parseWithTreeModel(String responseText) throws Exception {
+        int startIndex = responseText.indexOf("```json");
+        startIndex = responseText.indexOf("\n", startIndex) + 1;
+        int endIndex = responseText.lastIndexOf("```");
+        JsonNode rootNode = objectMapper.readTree(responseText.substring(startIndex, endIndex).trim());
+
+        List<MediaRecommendation> recommendations = new ArrayList<>();
+        for (JsonNode recNode : rootNode.get("recommendations")) {
+            recommendations.add(MediaRecommendation.builder()
+                    .title(recNode.get("title").asText())
+                    .description(recNode.get("description").asText())
+                    .url(recNode.get("url").asText())
+                    .mediaType(parseMediaTypeWithException(recNode.get("mediaType").asText()))
+                    .platform(recNode.get("platform").asText())
+                    .difficultyLevel(recNode.get("difficultyLevel").asText())
+                    .recommendationReason(recNode.get("recommendationReason").asText())
+                    .estimatedDuration(recNode.has("estimatedDuration") ?
+                            recNode.get("estimatedDuration").asInt() : null)
+                    .language(recNode.has("language") ?
+                            recNode.get("language").asText() : "en")
+                    .category(recNode.has("category") ?
+                            recNode.get("category").asText() : null)
+                    .build());
+        }
+        return recommendations;
+    }
+
+    private static MediaType parseMediaTypeWithException(String mediaTypeStr) {
+        try {
+            return MediaType.valueOf(mediaTypeStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return MediaType.VIDEO;
+        }
+    }
+
+    private static String createResponse(int recommendationCount) {
+        StringBuilder json = new StringBuilder("```json\n{\n  \"recommendations\": [\n");
+        for (int i = 0; i < recommendationCount; i++) {
+            if (i > 0) {
+                json.append(",\n");
+            }
+            json.append("    {\n")
+                    .append("      \"title\": \"Business Meeting English - Episode ").append(i).append("\",\n")
+                    .append("      \"description\": \"Learn practical phrases for opening, steering and closing meetings with native speakers.\",\n")
+                    .append("      \"url\": \"https://www.youtube.com/watch?v=meeting").append(i).append("\",\n")
+                    .append("      \"thumbnailUrl\": \"https://img.youtube.com/vi/meeting").append(i).append("/maxresdefault.jpg\",\n")
+                    .append("      \"playUrl\": \"https://www.youtube.com/embed/meeting").append(i).append("\",\n")
+                    .append("      \"mediaType\": \"").append(MEDIA_TYPES[i % MEDIA_TYPES.length]).append("\",\n")
+                    .append("      \"platform\": \"YouTube\",\n")
+                    .append("      \"difficultyLevel\": \"중급\",\n")
+                    .append("      \"recommendationReason\": \"회의 상황에서 자주 틀린 표현을 실제 대화로 복습할 수 있습니다\",\n")
+                    .append("      \"estimatedDuration\": ").append(5 + i).append(",\n")
+                    .append("      \"language\": \"en\",\n")
+                    .append("      \"category\": \"비즈니스\",\n")
+                    .append("      \"videoId\": \"meeting").append(i).append("\",\n")
+                    .append("      \"channelName\": \"Business English Pod\",\n")
+                    .append("      \"viewCount\": \"120K\",\n")
+                    .append("      \"publishedAt\": \"2024-01-20\"\n")
+                    .append("    }");
+        }
+        return json.append("\n  ]\n}\n```").toString();
+    }
+}
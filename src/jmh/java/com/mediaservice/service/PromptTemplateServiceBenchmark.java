@@ -0,0 +1,136 @@
+package com.mediaservice.service;
+
+import com.mediaservice.dto.SessionQuestionDetail;
+import com.mediaservice.dto.UserPerformanceSummary;
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.service.impl.CategoryContextTable;
+import com.mediaservice.service.impl.PromptTemplateServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프롬프트 생성 벤치마크
+ *
+ * 세션 문제 10/50/200개(3개 중 2개 오답)로 실시간 세션 프롬프트를 생성합니다.
+ * 문제가 많으면 토큰 예산(기본 4000)을 넘으므로 예산 적용 경로까지 포함됩니다.
+ * 사용자 요청 프롬프트는 같은 수의 카테고리별 성과 항목으로 생성합니다.
+ * 카테고리별 학습 맥락은 DB 대신 고정 행으로 한 번 읽어 둡니다.
+ * 실행: ./gradlew jmh (gc 프로파일러로 연산당 할당량(gc.alloc.rate.norm)도 함께 측정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PromptTemplateServiceBenchmark {
+
+    @Param({"10", "50", "200"})
+    private int questionCount;
+
+    private PromptTemplateServiceImpl promptTemplateService;
+    private LearningCompletedEvent event;
+    private UserPerformanceSummary userPerformance;
+    private List<String> selectedGenres;
+
+    @Setup
+    public void setUp() {
+        CategoryContextTable categoryContextTable = new CategoryContextTable(new JdbcTemplate() {
+            @Override
+            public List<Map<String, Object>> queryForList(String sql) {
+                return List.of(
+                        Map.of("major_category", "비즈니스", "minor_category", "", "label", "비즈니스 영어",
+                                "context", "비즈니스 관련 영어 표현과 어휘를 학습합니다."),
+                        Map.of("major_category", "비즈니스", "minor_category", "회의", "label", "비즈니스 영어",
+                                "context", "회의 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다."));
+            }
+        });
+        categoryContextTable.refresh();
+        promptTemplateService = new PromptTemplateServiceImpl(categoryContextTable);
+        event = createEvent(questionCount);
+        userPerformance = createUserPerformance(questionCount);
+        selectedGenres = List.of("드라마", "코미디", "다큐멘터리");
+    }
+
+    @Benchmark
+    public String realTimeSessionPrompt() {
+        return promptTemplateService.generateRealTimeSessionPrompt(event);
+    }
+
+    @Benchmark
+    public String userRequestedPrompt() {
+        return promptTemplateService.generateUserRequestedPrompt(userPerformance, selectedGenres);
+    }
+
+    private static LearningCompletedEvent createEvent(int questionCount) {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setSessionId("session-benchmark");
+        event.setSessionStatus("COMPLETED");
+        event.setSessionType("PRACTICE");
+        event.setProgressPercentage(100.0);
+        event.setSessionCompletedAt(LocalDateTime.of(2024, 1, 20, 10, 30));
+        event.setTotalQuestions(questionCount);
+        event.setAnsweredQuestions(questionCount);
+        event.setMajorCategory("비즈니스");
+        event.setMinorCategory("회의");
+        event.setQuestionType("MULTIPLE_CHOICE");
+        event.setAvgDifficultyLevel(2);
+        event.setAvgTimeSpent(32.5);
+        event.setTotalLearningTimeMinutes(questionCount / 2);
+
+        List<SessionQuestionDetail> questions = new ArrayList<>(questionCount);
+        int wrongAnswers = 0;
+        for (int i = 0; i < questionCount; i++) {
+            boolean correct = i % 3 == 0;
+            if (!correct) {
+                wrongAnswers++;
+            }
+            questions.add(SessionQuestionDetail.builder()
+                    .questionId("Q-" + i)
+                    .questionText("Question " + i + ": Choose the most natural expression to politely interrupt a colleague during a meeting.")
+                    .options(List.of("Sorry to cut in, but", "Stop talking, please", "You are wrong because"))
+                    .correctAnswer("A")
+                    .userAnswer("B")
+                    .explanation("회의 중 상대의 말을 끊을 때는 사과 표현으로 시작해 공손함을 유지하는 것이 자연스럽습니다.")
+                    .majorCategory("비즈니스")
+                    .minorCategory("회의")
+                    .difficultyLevel(i % 3 + 1)
+                    .isCorrect(correct)
+                    .timeSpent(20 + i % 40)
+                    .attemptCount(1 + i % 2)
+                    .build());
+        }
+        event.setSessionQuestions(questions);
+        event.setWrongAnswers(wrongAnswers);
+        event.setCorrectAnswers(questionCount - wrongAnswers);
+        event.setAccuracyRate(100.0 * (questionCount - wrongAnswers) / questionCount);
+        event.setErrorRate(100.0 * wrongAnswers / questionCount);
+        return event;
+    }
+
+    private static UserPerformanceSummary createUserPerformance(int categoryCount) {
+        Map<String, Double> categoryPerformance = new LinkedHashMap<>();
+        for (int i = 0; i < categoryCount; i++) {
+            categoryPerformance.put("카테고리-" + i, 40.0 + i % 60);
+        }
+        Map<Integer, Double> difficultyPerformance = new LinkedHashMap<>();
+        difficultyPerformance.put(1, 90.0);
+        difficultyPerformance.put(2, 75.0);
+        difficultyPerformance.put(3, 45.0);
+        return UserPerformanceSummary.builder()
+                .categoryPerformance(categoryPerformance)
+                .difficultyPerformance(difficultyPerformance)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.mediaservice.config;
+
+import com.mediaservice.kafka.KeyOrderedExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${recommendation.llm.max-concurrency:16}")
+    private int llmMaxConcurrency;
+
+    @Value("${recommendation.llm.queue-capacity:1000}")
+    private int llmQueueCapacity;
+
+    @Value("${recommendation.worker.pool-size:32}")
+    private int workerPoolSize;
+
+    @Value("${recommendation.worker.queue-capacity:500}")
+    private int workerQueueCapacity;
+
+    /**
+     * 배치 처리 시 Gemini API 호출을 동시에 실행하기 위한 Executor
+     * 큐가 가득 차면 호출 스레드(Kafka Consumer)에서 직접 실행하여 자연스럽게 속도를 늦춥니다.
+     */
+    @Bean(name = "llmTaskExecutor")
+    public ThreadPoolTaskExecutor llmTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(llmMaxConcurrency);
+        executor.setMaxPoolSize(llmMaxConcurrency);
+        executor.setQueueCapacity(llmQueueCapacity);
+        executor.setThreadNamePrefix("llm-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        
+        log.info("🔧 LLM Task Executor 설정 완료 - Max Concurrency: {}, Queue Capacity: {}", 
+                llmMaxConcurrency, llmQueueCapacity);
+        
+        return executor;
+    }
+
+    /**
+     * 키 단위 병렬 처리 모드에서 이벤트를 처리하는 워커 풀
+     * 큐가 가득 차면 호출 스레드에서 실행하여 Consumer의 poll 속도를 늦춥니다.
+     */
+    @Bean(name = "recommendationWorkerExecutor")
+    public ThreadPoolTaskExecutor recommendationWorkerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerPoolSize);
+        executor.setMaxPoolSize(workerPoolSize);
+        executor.setQueueCapacity(workerQueueCapacity);
+        executor.setThreadNamePrefix("rec-worker-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        
+        log.info("🔧 Recommendation Worker Executor 설정 완료 - Pool Size: {}, Queue Capacity: {}", 
+                workerPoolSize, workerQueueCapacity);
+        
+        return executor;
+    }
+
+    @Bean
+    public KeyOrderedExecutor keyOrderedExecutor(
+            @Qualifier("recommendationWorkerExecutor") ThreadPoolTaskExecutor recommendationWorkerExecutor) {
+        return new KeyOrderedExecutor(recommendationWorkerExecutor);
+    }
+}
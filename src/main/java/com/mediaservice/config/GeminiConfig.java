@@ -1,8 +1,26 @@
 package com.mediaservice.config;
 
+import com.mediaservice.service.GeminiApiService;
+import com.mediaservice.service.impl.CachingGeminiApiService;
+import com.mediaservice.service.impl.CircuitBreakerGeminiApiService;
+import com.mediaservice.service.impl.CircuitBreakerRecordingGeminiApiService;
+import com.mediaservice.service.impl.FallbackRecommendationPool;
+import com.mediaservice.service.impl.GeminiCircuitBreaker;
+import com.mediaservice.service.impl.GeminiHedgePolicy;
+import com.mediaservice.service.impl.GeminiInFlightLimiter;
+import com.mediaservice.service.impl.GeminiRequestScheduler;
+import com.mediaservice.service.impl.HedgedGeminiApiService;
+import com.mediaservice.service.impl.InFlightLimitedGeminiApiService;
+import com.mediaservice.service.impl.PromptResultCache;
+import com.mediaservice.service.impl.RateLimitedGeminiApiService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.Executor;
 
 @Slf4j
 @Configuration
@@ -17,6 +35,39 @@ public class GeminiConfig {
     // TODO: 실제 Gemini API 연동 시 GenerativeModel Bean 반환
     // 현재는 Mock 구현을 사용하므로 Bean을 생성하지 않음
     
+    /**
+     * 서비스 계층에서 사용하는 GeminiApiService
+     * 실제 클라이언트(geminiApiClient)를 응답이 늦으면 헤지 요청을 보내는 데코레이터로 감싸고,
+     * 그 앞에 호출 결과를 서킷 브레이커에 기록하는 데코레이터를 두어 허가 대기 시간과 거절은 판정에서 제외하며,
+     * 그 앞에 동시 호출 제한 데코레이터를,
+     * 그 앞에 RPM/TPM 한도와 우선순위를 관리하는 호출 스케줄러를,
+     * 그 앞에 서킷 브레이커를 두어 서킷이 열려 있으면 스케줄러에서 기다리지 않고 대체 추천을 바로 반환하며,
+     * 맨 앞에 추천 결과 캐시를 두어 캐시 적중 시에는 호출 허가 없이 바로 반환합니다.
+     */
+    @Bean
+    @Primary
+    public GeminiApiService geminiApiService(@Qualifier("geminiApiClient") GeminiApiService geminiApiClient,
+                                             GeminiInFlightLimiter inFlightLimiter,
+                                             GeminiRequestScheduler requestScheduler,
+                                             GeminiHedgePolicy hedgePolicy,
+                                             GeminiCircuitBreaker circuitBreaker,
+                                             FallbackRecommendationPool fallbackRecommendationPool,
+                                             PromptResultCache promptResultCache,
+                                             @Qualifier("llmTaskExecutor") Executor llmTaskExecutor) {
+        return new CachingGeminiApiService(
+                new CircuitBreakerGeminiApiService(
+                        new RateLimitedGeminiApiService(
+                                new InFlightLimitedGeminiApiService(
+                                        new CircuitBreakerRecordingGeminiApiService(
+                                                new HedgedGeminiApiService(
+                                                        geminiApiClient, hedgePolicy, requestScheduler, inFlightLimiter, modelName),
+                                                circuitBreaker),
+                                        inFlightLimiter),
+                                requestScheduler, llmTaskExecutor),
+                        circuitBreaker, fallbackRecommendationPool),
+                promptResultCache);
+    }
+    
     public void logConfig() {
         log.info("🤖 Mock Gemini API 설정 완료 - Model: {}, API Key: {}", 
                 modelName, apiKey.substring(0, Math.min(apiKey.length(), 10)) + "...");
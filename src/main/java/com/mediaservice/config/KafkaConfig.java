@@ -1,20 +1,39 @@
 package com.mediaservice.config;
 
+import com.mediaservice.enums.ConsumerProcessingMode;
 import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.kafka.LearningCompletedEventDeserializer;
+import com.mediaservice.kafka.LearningEventFailureRouter;
+import com.mediaservice.kafka.LearningEventRecordFilter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Slf4j
@@ -22,14 +41,37 @@ import java.util.Map;
 @Configuration
 public class KafkaConfig {
 
+    /**
+     * 학습 이벤트 메인 Listener ID (처리 모드와 무관하게 동일, Consumer 수 자동 조정 시 컨테이너 조회에 사용)
+     */
+    public static final String LEARNING_EVENTS_LISTENER_ID = "learningEventsListener";
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
     @Value("${kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${kafka.consumer.processing-mode:RECORD}")
+    private ConsumerProcessingMode processingMode;
+
+    @Value("${kafka.consumer.concurrency:3}")
+    private int concurrency;
+
+    @Value("${kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${kafka.consumer.streaming-deserializer:true}")
+    private boolean streamingDeserializer;
+
+    @Value("${kafka.topics.learning-events-failed}")
+    private String learningEventsFailedTopic;
+
+    @Value("${kafka.retry.partitions:3}")
+    private int retryTopicPartitions;
+
     @Bean
-    public ConsumerFactory<String, LearningCompletedEvent> consumerFactory() {
+    public ConsumerFactory<String, LearningCompletedEvent> consumerFactory(LearningEventRecordFilter learningEventRecordFilter) {
         Map<String, Object> props = new HashMap<>();
         
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -41,31 +83,121 @@ public class KafkaConfig {
         props.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, "1000");
         props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, "30000");
         props.put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, "10000");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         
         // 에러 처리 설정
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        
         props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
         
-        // JSON 역직렬화 설정
+        // JSON 역직렬화 설정 (streaming-deserializer: false 인 경우)
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.mediaservice.event");
         props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
         props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.mediaservice.event.LearningCompletedEvent");
         
-        log.info("🔧 Kafka Consumer 설정 완료 - Bootstrap Servers: {}, Group ID: {}", 
-                bootstrapServers, groupId);
+        log.info("🔧 Kafka Consumer 설정 완료 - Bootstrap Servers: {}, Group ID: {}, Max Poll Records: {}, Streaming Deserializer: {}", 
+                bootstrapServers, groupId, maxPollRecords, streamingDeserializer);
+        
+        if (!streamingDeserializer) {
+            return new DefaultKafkaConsumerFactory<>(props);
+        }
+        
+        // 스트리밍 Deserializer: 리플렉션 기반 데이터 바인딩 없이 이벤트 필드를 직접 읽음 (JSON / CBOR)
+        // 헤더만으로 버릴 이벤트(처리하지 않는 세션 상태, 추천 수신 거부 사용자)는 본문을 파싱하지 않음
+        return new DefaultKafkaConsumerFactory<>(props,
+                StringDeserializer::new,
+                () -> new ErrorHandlingDeserializer<>(
+                        new LearningCompletedEventDeserializer(learningEventRecordFilter::shouldSkip)));
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        
+        // 재시도/DLT 토픽 발행용: 이벤트는 JSON, 역직렬화에 실패한 원본 레코드는 byte[] 그대로 발행
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(LearningCompletedEvent.class, new JsonSerializer<>().noTypeInfo());
+        
+        return new DefaultKafkaProducerFactory<>(props, 
+                new StringSerializer(), 
+                new DelegatingByTypeSerializer(valueSerializers));
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    /**
+     * 처리에 실패한 이벤트가 재시도를 위해 처음 보내지는 토픽
+     * (이후 단계별 재시도 토픽과 DLT는 @RetryableTopic 설정으로 자동 생성)
+     */
+    @Bean
+    public NewTopic learningEventsFailedTopic() {
+        return TopicBuilder.name(learningEventsFailedTopic)
+                .partitions(retryTopicPartitions)
+                .build();
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, LearningCompletedEvent> kafkaListenerContainerFactory(
+            ConsumerFactory<String, LearningCompletedEvent> consumerFactory,
+            LearningEventFailureRouter learningEventFailureRouter,
+            LearningEventRecordFilter learningEventRecordFilter) {
+        ConcurrentKafkaListenerContainerFactory<String, LearningCompletedEvent> factory = 
+                new ConcurrentKafkaListenerContainerFactory<>();
+        
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(concurrency); // 동시에 처리할 수 있는 Consumer 수 (자동 조정 사용 시 초기값)
+        
+        // 메인 토픽에서는 seek 후 재전달(blocking retry)을 하지 않고
+        // 역직렬화 실패 등 Listener 밖에서 발생한 오류도 즉시 재시도/DLT 토픽으로 보냄
+        factory.setCommonErrorHandler(new DefaultErrorHandler(learningEventFailureRouter, new FixedBackOff(0L, 0L)));
+        
+        // 추천 대상이 아닌 이벤트는 Listener에 전달하지 않고 오프셋만 커밋
+        factory.setRecordFilterStrategy(learningEventRecordFilter);
+        factory.setAckDiscarded(true);
+        
+        // 배치 모드: poll 배치 전체를 List로 Listener에 전달
+        factory.setBatchListener(processingMode == ConsumerProcessingMode.BATCH);
         
-        return new DefaultKafkaConsumerFactory<>(props);
+        // 키 단위 병렬 모드: 워커 스레드에서 비동기로 ack하고, 순서가 어긋난 ack는
+        // 앞선 오프셋이 모두 완료될 때까지 커밋을 보류
+        if (processingMode == ConsumerProcessingMode.KEY_PARALLEL) {
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+        }
+        
+        log.info("🔧 Kafka Listener Container Factory 설정 완료 - Concurrency: {}, Processing Mode: {}", 
+                concurrency, processingMode);
+        
+        return factory;
     }
 
+    /**
+     * 실패 이벤트 재시도 토픽 전용 Listener Container Factory
+     * 메인 토픽의 처리 모드(BATCH, KEY_PARALLEL)와 무관하게 항상 레코드 단위로 처리합니다.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, LearningCompletedEvent> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, LearningCompletedEvent> retryKafkaListenerContainerFactory(
+            ConsumerFactory<String, LearningCompletedEvent> consumerFactory,
+            LearningEventRecordFilter learningEventRecordFilter) {
         ConcurrentKafkaListenerContainerFactory<String, LearningCompletedEvent> factory = 
                 new ConcurrentKafkaListenerContainerFactory<>();
         
-        factory.setConsumerFactory(consumerFactory());
-        factory.setConcurrency(3); // 동시에 처리할 수 있는 Consumer 수
+        factory.setConsumerFactory(consumerFactory);
+        factory.setConcurrency(1);
+        
+        // 재시도 대기 중 추천 수신을 거부한 사용자의 이벤트도 버림
+        factory.setRecordFilterStrategy(learningEventRecordFilter);
+        factory.setAckDiscarded(true);
         
-        log.info("🔧 Kafka Listener Container Factory 설정 완료 - Concurrency: 3");
+        log.info("🔧 Retry Kafka Listener Container Factory 설정 완료 - Failed Topic: {}", learningEventsFailedTopic);
         
         return factory;
     }
@@ -0,0 +1,42 @@
+package com.mediaservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 배치 단위 실시간 추천 처리 결과 DTO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRecommendationResult {
+    
+    /**
+     * 처리 요청된 이벤트 수
+     */
+    private int totalEvents;
+    
+    /**
+     * 저장된 추천 개수
+     */
+    private int savedRecommendations;
+    
+    /**
+     * 이미 처리되었거나 배치 내에서 중복되어 건너뛴 이벤트 수
+     */
+    private int skippedEvents;
+    
+    /**
+     * 실패한 이벤트 (입력 목록의 인덱스 -> 원인 예외)
+     */
+    private Map<Integer, Throwable> failures;
+    
+    public boolean hasFailures() {
+        return failures != null && !failures.isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package com.mediaservice.dto;
+
+import com.mediaservice.enums.LlmRequestPriority;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Gemini API 호출 요청
+ * 
+ * 프롬프트와 함께, 같은 추천 결과를 기대할 수 있는 입력끼리 같은 값을 갖는 캐시 키(입력 지문)를 담습니다.
+ * 캐시 키가 없으면 결과를 캐시하지 않습니다.
+ * 호출 스케줄러가 사용하는 우선순위와 공정 대기열 키(사용자), 서킷 브레이커가 열렸을 때 사용할 대체 추천 풀 키도 함께 담습니다.
+ */
+@Getter
+@ToString(exclude = "prompt")
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class GeminiRequest {
+    
+    /**
+     * Gemini API에 보낼 프롬프트
+     */
+    private final String prompt;
+    
+    /**
+     * 프롬프트 입력의 정규화된 지문 (null이면 캐시하지 않음)
+     */
+    private final String cacheKey;
+    
+    /**
+     * 호출 스케줄링 우선순위 (기본값: BACKGROUND)
+     */
+    private final LlmRequestPriority priority;
+    
+    /**
+     * 같은 우선순위 안에서 공정하게 순서를 나누는 기준 (사용자 ID 등, null이면 공용 대기열)
+     */
+    private final String fairnessKey;
+    
+    /**
+     * 서킷 브레이커가 열려 있을 때 조회할 대체 추천 풀 키 (null이면 대체 추천 없이 실패)
+     */
+    private final String fallbackKey;
+    
+    public static GeminiRequest of(String prompt, String cacheKey) {
+        return new GeminiRequest(prompt, cacheKey, LlmRequestPriority.BACKGROUND, null, null);
+    }
+    
+    public static GeminiRequest uncached(String prompt) {
+        return of(prompt, null);
+    }
+    
+    /**
+     * 우선순위와 공정 대기열 키를 지정한 요청을 반환합니다.
+     */
+    public GeminiRequest withPriority(LlmRequestPriority priority, String fairnessKey) {
+        return new GeminiRequest(prompt, cacheKey, priority, fairnessKey, fallbackKey);
+    }
+    
+    /**
+     * 대체 추천 풀 키를 지정한 요청을 반환합니다.
+     */
+    public GeminiRequest withFallbackKey(String fallbackKey) {
+        return new GeminiRequest(prompt, cacheKey, priority, fairnessKey, fallbackKey);
+    }
+}
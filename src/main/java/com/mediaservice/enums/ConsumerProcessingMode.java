@@ -0,0 +1,42 @@
+package com.mediaservice.enums;
+
+/**
+ * 학습 이벤트 Kafka Consumer 처리 모드를 정의하는 enum
+ */
+public enum ConsumerProcessingMode {
+    
+    /**
+     * 레코드 단위 처리
+     * - 레코드 1건마다 DB 조회 + Gemini 호출 + 저장
+     */
+    RECORD("레코드 단위"),
+    
+    /**
+     * 배치 단위 처리
+     * - poll 배치 전체의 세션 문제를 IN 쿼리 1회로 조회
+     * - Gemini 호출을 동시에 실행하고 결과를 한 번에 저장
+     */
+    BATCH("배치 단위"),
+    
+    /**
+     * 키(userId) 단위 병렬 처리
+     * - 같은 userId의 이벤트는 순서대로, 다른 userId는 워커 풀에서 병렬로 처리
+     * - 완료된 레코드 중 가장 낮은 연속 오프셋까지만 커밋 (비동기 수동 ack)
+     */
+    KEY_PARALLEL("키 단위 병렬");
+    
+    private final String description;
+    
+    ConsumerProcessingMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    @Override
+    public String toString() {
+        return this.name() + " (" + this.description + ")";
+    }
+}
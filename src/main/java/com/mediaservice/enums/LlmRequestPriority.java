@@ -0,0 +1,42 @@
+package com.mediaservice.enums;
+
+/**
+ * Gemini API 호출 스케줄링 우선순위를 정의하는 enum
+ * 
+ * 선언 순서가 우선순위입니다. (앞에 선언된 클래스가 먼저 처리됨)
+ */
+public enum LlmRequestPriority {
+    
+    /**
+     * 사용자 대화형 요청
+     * - REST API로 들어와 사용자가 응답을 기다리는 요청
+     */
+    INTERACTIVE("대화형"),
+    
+    /**
+     * 실시간 요청
+     * - Kafka 학습 완료 이벤트로 생성되는 세션 기반 추천
+     */
+    REAL_TIME("실시간"),
+    
+    /**
+     * 백그라운드 요청
+     * - 배치/사전 생성 작업 등 지연되어도 되는 요청
+     */
+    BACKGROUND("백그라운드");
+    
+    private final String description;
+    
+    LlmRequestPriority(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    @Override
+    public String toString() {
+        return this.name() + " (" + this.description + ")";
+    }
+}
@@ -1,5 +1,8 @@
 package com.mediaservice.enums;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * 미디어 콘텐츠 유형을 정의하는 enum
  */
@@ -39,10 +42,30 @@ public enum MediaType {
     
     private final String description;
     
+    // 이름(대소문자 무시)과 한글 설명으로 찾는 조회 테이블
+    private static final Map<String, MediaType> LOOKUP = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    
+    static {
+        for (MediaType mediaType : values()) {
+            LOOKUP.put(mediaType.name(), mediaType);
+            LOOKUP.put(mediaType.description, mediaType);
+        }
+    }
+    
     MediaType(String description) {
         this.description = description;
     }
     
+    /**
+     * 이름(대소문자 무시) 또는 한글 설명으로 미디어 유형을 찾습니다.
+     * valueOf와 달리 알 수 없는 값에 예외를 던지지 않습니다.
+     * 
+     * @return 일치하는 미디어 유형, 없으면 null
+     */
+    public static MediaType from(String value) {
+        return value != null ? LOOKUP.get(value) : null;
+    }
+    
     public String getDescription() {
         return description;
     }
@@ -60,6 +60,7 @@ public class LearningCompletedEvent {
     // 상세 문제 정보 (세션별 문제 상세)
     // =====================================================
     private List<SessionQuestionDetail> sessionQuestions;  // 세션별 문제 상세 정보
+    private String sessionQuestionsVersion;                // 세션 문제 상세 정보 버전 스탬프 (값이 같으면 상세 정보 생략 가능)
 }
 
 
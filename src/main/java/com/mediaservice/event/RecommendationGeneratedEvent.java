@@ -0,0 +1,18 @@
+package com.mediaservice.event;
+
+import com.mediaservice.model.MediaRecommendation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 추천 항목 하나가 생성되어 저장되었음을 알리는 애플리케이션 이벤트
+ * 
+ * 스트리밍 모드에서는 전체 응답을 기다리지 않고 항목마다 발행되므로,
+ * 푸시 채널(SSE, WebSocket, 알림 등)은 @EventListener로 구독하여 학습자에게 바로 전달할 수 있습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class RecommendationGeneratedEvent {
+    
+    private final MediaRecommendation recommendation;
+}
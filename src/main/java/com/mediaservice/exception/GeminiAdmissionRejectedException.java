@@ -0,0 +1,18 @@
+package com.mediaservice.exception;
+
+/**
+ * Gemini API 호출 허가를 받지 못해 호출하지 않고 실패한 경우
+ * 
+ * 예: 호출 스케줄러 대기열 초과, 허가 대기 시간 초과, 동시 호출 허가 대기 중 인터럽트
+ * Gemini를 호출하지 않았으므로 서킷 브레이커의 실패로 세지 않으며, 재시도 토픽으로 보내져 백오프 후 다시 처리됩니다.
+ */
+public class GeminiAdmissionRejectedException extends RetryableRecommendationException {
+
+    public GeminiAdmissionRejectedException(String message) {
+        super(message);
+    }
+
+    public GeminiAdmissionRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.mediaservice.exception;
+
+/**
+ * Gemini API 서킷 브레이커가 열려 있어 호출하지 않고 바로 실패한 경우
+ * 
+ * 대체 추천 풀에서 제공할 추천도 없을 때 발생하며, 재시도 토픽으로 보내져 백오프 후 다시 처리됩니다.
+ */
+public class GeminiCircuitOpenException extends RetryableRecommendationException {
+
+    public GeminiCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mediaservice.exception;
+
+/**
+ * 재시도해도 성공할 수 없는 추천 생성 실패
+ * 
+ * 예: 필수 필드 누락, 잘못된 사용자 ID 등 이벤트 데이터 자체의 문제
+ * 재시도 없이 바로 Dead Letter 토픽으로 보내집니다.
+ */
+public class NonRetryableRecommendationException extends RuntimeException {
+
+    public NonRetryableRecommendationException(String message) {
+        super(message);
+    }
+
+    public NonRetryableRecommendationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mediaservice.exception;
+
+/**
+ * 재시도하면 성공할 수 있는 일시적인 추천 생성 실패
+ * 
+ * 예: Gemini API 타임아웃, 요청 한도 초과(429), 일시적인 서버 오류(5xx)
+ * 재시도 토픽으로 보내져 지수 백오프 후 다시 처리됩니다.
+ */
+public class RetryableRecommendationException extends RuntimeException {
+
+    public RetryableRecommendationException(String message) {
+        super(message);
+    }
+
+    public RetryableRecommendationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,253 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.config.KafkaConfig;
+import com.mediaservice.service.RealTimeRecommendationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 컨슈머 lag와 처리 시간에 따라 학습 이벤트 Listener의 Consumer 수와 워커 스레드 수를 조정하는 컨트롤러
+ *
+ * 주기적으로 learning-events 컨슈머 그룹의 lag와 레코드당 평균 처리 시간을 측정하고,
+ * {@link ConcurrencyScalingPolicy}가 결정한 Consumer 수로 컨테이너를 재시작합니다.
+ * 재시작 시 커밋되지 않은 레코드는 재전달될 수 있으며, 중복 처리는 processed_events로 걸러집니다.
+ * Gemini 포화로 컨테이너가 pause된 동안에는 Consumer를 늘려도 처리량이 늘지 않으므로 조정하지 않습니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "kafka.autoscaling.enabled", havingValue = "true")
+public class AdaptiveConcurrencyController {
+
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+    private final KafkaAdmin kafkaAdmin;
+    private final ThreadPoolTaskExecutor recommendationWorkerExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrencyScalingPolicy policy;
+    private final String topic;
+    private final String groupId;
+    private final int workersPerConsumer;
+    private final int minWorkers;
+    private final int maxWorkers;
+
+    private final AtomicBoolean resizing = new AtomicBoolean(false);
+    private final AtomicLong lastLag = new AtomicLong();
+    private volatile AdminClient adminClient;
+    private volatile double lastRecordLatencyMs;
+    private double lastEventCount;
+    private double lastTimerTotalMs;
+
+    public AdaptiveConcurrencyController(KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry,
+                                         KafkaAdmin kafkaAdmin,
+                                         @Qualifier("recommendationWorkerExecutor") ThreadPoolTaskExecutor recommendationWorkerExecutor,
+                                         MeterRegistry meterRegistry,
+                                         ConcurrencyScalingPolicy policy,
+                                         @Value("${kafka.topics.learning-events}") String topic,
+                                         @Value("${kafka.consumer.group-id}") String groupId,
+                                         @Value("${kafka.autoscaling.workers-per-consumer:8}") int workersPerConsumer,
+                                         @Value("${kafka.autoscaling.min-workers:8}") int minWorkers,
+                                         @Value("${kafka.autoscaling.max-workers:64}") int maxWorkers) {
+        this.kafkaListenerEndpointRegistry = kafkaListenerEndpointRegistry;
+        this.kafkaAdmin = kafkaAdmin;
+        this.recommendationWorkerExecutor = recommendationWorkerExecutor;
+        this.meterRegistry = meterRegistry;
+        this.policy = policy;
+        this.topic = topic;
+        this.groupId = groupId;
+        this.workersPerConsumer = workersPerConsumer;
+        this.minWorkers = Math.max(1, minWorkers);
+        this.maxWorkers = Math.max(this.minWorkers, maxWorkers);
+
+        Gauge.builder("kafka.autoscaling.lag", lastLag, AtomicLong::get)
+                .description("learning-events 컨슈머 그룹의 전체 lag")
+                .register(meterRegistry);
+        Gauge.builder("kafka.autoscaling.concurrency", this, AdaptiveConcurrencyController::getCurrentConcurrency)
+                .description("학습 이벤트 Listener의 현재 Consumer 수")
+                .register(meterRegistry);
+
+        log.info("🔧 Adaptive Concurrency Controller 설정 완료 - Topic: {}, Group: {}, Consumer: {}~{}, Worker: {}~{}",
+                topic, groupId, policy.getMinConcurrency(), policy.getMaxConcurrency(), this.minWorkers, this.maxWorkers);
+    }
+
+    /**
+     * lag와 처리 시간을 측정하고 필요한 경우 Consumer 수를 조정합니다.
+     */
+    @Scheduled(fixedDelayString = "${kafka.autoscaling.interval-ms:15000}",
+               initialDelayString = "${kafka.autoscaling.interval-ms:15000}")
+    public void evaluate() {
+        ConcurrentMessageListenerContainer<?, ?> container = findContainer();
+        if (container == null || !container.isRunning() || resizing.get()) {
+            return;
+        }
+        if (container.isPauseRequested()) {
+            log.debug("⏸️ Listener pause 상태 - Consumer 수 조정 건너뜀");
+            return;
+        }
+
+        try {
+            Map<TopicPartition, Long> lagByPartition = measureLag();
+            long lag = lagByPartition.values().stream().mapToLong(Long::longValue).sum();
+            lastLag.set(lag);
+            double recordLatencyMs = measureRecordLatencyMs();
+
+            int current = container.getConcurrency();
+            int target = policy.decide(current, lag, recordLatencyMs, lagByPartition.size(), System.currentTimeMillis());
+            log.debug("📈 Consumer 수 평가 - Lag: {}, 레코드당 처리 시간: {}ms, 현재: {}, 목표: {}",
+                    lag, String.format("%.1f", recordLatencyMs), current, target);
+
+            if (target != current) {
+                log.info("🔁 Consumer 수 조정 - {} → {} (Lag: {}, 예상 처리 시간: {}초)", current, target, lag,
+                        String.format("%.1f", policy.estimateDrainSeconds(current, lag, recordLatencyMs)));
+                resize(container, target);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Consumer 수 평가 중 오류 발생 - Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 컨테이너를 멈춘 뒤 Consumer 수를 바꿔 다시 시작하고, 워커 스레드 수도 함께 조정합니다.
+     */
+    private void resize(ConcurrentMessageListenerContainer<?, ?> container, int target) {
+        if (!resizing.compareAndSet(false, true)) {
+            return;
+        }
+        container.stop(() -> {
+            try {
+                container.setConcurrency(target);
+                resizeWorkers(target);
+                container.start();
+                log.info("✅ Consumer 수 조정 완료 - Consumer: {}, Worker: {}",
+                        target, recommendationWorkerExecutor.getMaxPoolSize());
+            } catch (Exception e) {
+                log.error("❌ Consumer 수 조정 중 오류 발생 - Target: {}, Error: {}", target, e.getMessage(), e);
+            } finally {
+                resizing.set(false);
+            }
+        });
+    }
+
+    private void resizeWorkers(int concurrency) {
+        int workers = Math.max(minWorkers, Math.min(maxWorkers, concurrency * workersPerConsumer));
+        // core > max 가 되지 않도록 늘릴 때는 max부터, 줄일 때는 core부터 변경
+        if (workers >= recommendationWorkerExecutor.getMaxPoolSize()) {
+            recommendationWorkerExecutor.setMaxPoolSize(workers);
+            recommendationWorkerExecutor.setCorePoolSize(workers);
+        } else {
+            recommendationWorkerExecutor.setCorePoolSize(workers);
+            recommendationWorkerExecutor.setMaxPoolSize(workers);
+        }
+    }
+
+    /**
+     * 토픽의 파티션별 lag를 측정합니다. 커밋된 오프셋이 없는 파티션은 가장 앞 오프셋부터 계산합니다.
+     */
+    Map<TopicPartition, Long> measureLag() throws Exception {
+        AdminClient admin = getAdminClient();
+
+        TopicDescription description = admin.describeTopics(List.of(topic)).allTopicNames()
+                .get(10, TimeUnit.SECONDS).get(topic);
+        Map<TopicPartition, OffsetSpec> latestSpec = new HashMap<>();
+        Map<TopicPartition, OffsetSpec> earliestSpec = new HashMap<>();
+        description.partitions().forEach(info -> {
+            TopicPartition partition = new TopicPartition(topic, info.partition());
+            latestSpec.put(partition, OffsetSpec.latest());
+            earliestSpec.put(partition, OffsetSpec.earliest());
+        });
+
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(10, TimeUnit.SECONDS);
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = admin.listOffsets(latestSpec)
+                .all().get(10, TimeUnit.SECONDS);
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> beginningOffsets = admin.listOffsets(earliestSpec)
+                .all().get(10, TimeUnit.SECONDS);
+
+        Map<TopicPartition, Long> lagByPartition = new HashMap<>();
+        endOffsets.forEach((partition, end) -> {
+            OffsetAndMetadata offset = committed.get(partition);
+            long position = offset != null ? offset.offset() : beginningOffsets.get(partition).offset();
+            lagByPartition.put(partition, Math.max(0L, end.offset() - position));
+        });
+        return lagByPartition;
+    }
+
+    /**
+     * 직전 평가 이후 늘어난 총 처리 시간을 그동안 처리한 이벤트 수로 나누어 레코드당 처리 시간(ms)을 계산합니다.
+     * (처리 1회에 여러 이벤트를 처리하는 배치/병합 모드도 이벤트 단위로 환산)
+     * 새로 처리된 레코드가 없으면 직전 값을 사용합니다.
+     */
+    synchronized double measureRecordLatencyMs() {
+        Timer timer = meterRegistry.find(RealTimeRecommendationService.PROCESSING_TIMER_NAME).timer();
+        if (timer == null) {
+            return lastRecordLatencyMs;
+        }
+        Counter events = meterRegistry.find(RealTimeRecommendationService.PROCESSED_EVENTS_COUNTER_NAME).counter();
+        double eventCount = events != null ? events.count() : timer.count();
+        double totalMs = timer.totalTime(TimeUnit.MILLISECONDS);
+        if (eventCount > lastEventCount) {
+            lastRecordLatencyMs = (totalMs - lastTimerTotalMs) / (eventCount - lastEventCount);
+        }
+        lastEventCount = eventCount;
+        lastTimerTotalMs = totalMs;
+        return lastRecordLatencyMs;
+    }
+
+    boolean isResizing() {
+        return resizing.get();
+    }
+
+    public int getCurrentConcurrency() {
+        ConcurrentMessageListenerContainer<?, ?> container = findContainer();
+        return container != null ? container.getConcurrency() : 0;
+    }
+
+    private ConcurrentMessageListenerContainer<?, ?> findContainer() {
+        MessageListenerContainer container =
+                kafkaListenerEndpointRegistry.getListenerContainer(KafkaConfig.LEARNING_EVENTS_LISTENER_ID);
+        return container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent ? concurrent : null;
+    }
+
+    private AdminClient getAdminClient() {
+        if (adminClient == null) {
+            synchronized (this) {
+                if (adminClient == null) {
+                    adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+                }
+            }
+        }
+        return adminClient;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+}
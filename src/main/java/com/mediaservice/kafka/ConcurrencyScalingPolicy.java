@@ -0,0 +1,122 @@
+package com.mediaservice.kafka;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumer 수 자동 조정 정책
+ *
+ * 현재 lag를 처리하는 데 걸릴 예상 시간(lag × 레코드당 처리 시간 ÷ Consumer 수)을 기준으로
+ * 늘릴지 줄일지를 결정합니다. 플래핑을 막기 위해 다음 세 가지 히스테리시스를 둡니다.
+ * - 확장 기준과 축소 기준 사이의 간격 (그 사이에서는 유지)
+ * - 같은 방향의 신호가 연속으로 일정 횟수 이상 나와야 변경
+ * - 변경 후 쿨다운 시간 동안은 변경하지 않음
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.autoscaling.enabled", havingValue = "true")
+public class ConcurrencyScalingPolicy {
+
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final double scaleUpDrainSeconds;
+    private final double scaleDownDrainSeconds;
+    private final int requiredConsecutiveSignals;
+    private final long cooldownMs;
+
+    private int scaleUpSignals;
+    private int scaleDownSignals;
+    private long lastChangedAt = Long.MIN_VALUE;
+
+    public ConcurrencyScalingPolicy(@Value("${kafka.autoscaling.min-concurrency:1}") int minConcurrency,
+                                    @Value("${kafka.autoscaling.max-concurrency:6}") int maxConcurrency,
+                                    @Value("${kafka.autoscaling.scale-up-drain-seconds:60}") double scaleUpDrainSeconds,
+                                    @Value("${kafka.autoscaling.scale-down-drain-seconds:10}") double scaleDownDrainSeconds,
+                                    @Value("${kafka.autoscaling.required-consecutive-signals:3}") int requiredConsecutiveSignals,
+                                    @Value("${kafka.autoscaling.cooldown-ms:120000}") long cooldownMs) {
+        if (scaleDownDrainSeconds >= scaleUpDrainSeconds) {
+            throw new IllegalArgumentException("scale-down-drain-seconds는 scale-up-drain-seconds보다 작아야 합니다");
+        }
+        this.minConcurrency = Math.max(1, minConcurrency);
+        this.maxConcurrency = Math.max(this.minConcurrency, maxConcurrency);
+        this.scaleUpDrainSeconds = scaleUpDrainSeconds;
+        this.scaleDownDrainSeconds = scaleDownDrainSeconds;
+        this.requiredConsecutiveSignals = Math.max(1, requiredConsecutiveSignals);
+        this.cooldownMs = cooldownMs;
+    }
+
+    /**
+     * 목표 Consumer 수를 결정합니다.
+     *
+     * @param current 현재 Consumer 수
+     * @param lag 컨슈머 그룹의 전체 lag
+     * @param recordLatencyMs 레코드당 평균 처리 시간 (ms)
+     * @param partitionCount 토픽 파티션 수 (파티션보다 많은 Consumer는 유휴 상태이므로 상한으로 사용, 0이면 무시)
+     * @param nowMs 현재 시각 (ms)
+     * @return 목표 Consumer 수 (변경하지 않으면 current)
+     */
+    public synchronized int decide(int current, long lag, double recordLatencyMs, int partitionCount, long nowMs) {
+        int upperBound = partitionCount > 0 ? Math.min(maxConcurrency, Math.max(minConcurrency, partitionCount)) : maxConcurrency;
+        int bounded = Math.max(minConcurrency, Math.min(upperBound, current));
+        if (bounded != current) {
+            return commit(bounded, nowMs);
+        }
+
+        double drainSeconds = estimateDrainSeconds(current, lag, recordLatencyMs);
+        if (drainSeconds > scaleUpDrainSeconds && current < upperBound) {
+            scaleUpSignals++;
+            scaleDownSignals = 0;
+        } else if (drainSeconds < scaleDownDrainSeconds && current > minConcurrency) {
+            scaleDownSignals++;
+            scaleUpSignals = 0;
+        } else {
+            scaleUpSignals = 0;
+            scaleDownSignals = 0;
+            return current;
+        }
+
+        if (isCoolingDown(nowMs)) {
+            return current;
+        }
+
+        if (scaleUpSignals >= requiredConsecutiveSignals) {
+            // 예상 처리 시간이 기준치의 몇 배인지에 비례하여 한 번에 확장 (최소 1)
+            int proportional = (int) Math.ceil(current * drainSeconds / scaleUpDrainSeconds);
+            return commit(Math.min(upperBound, Math.max(current + 1, proportional)), nowMs);
+        }
+        if (scaleDownSignals >= requiredConsecutiveSignals) {
+            // 축소는 한 단계씩
+            return commit(current - 1, nowMs);
+        }
+        return current;
+    }
+
+    /**
+     * 현재 lag를 모두 처리하는 데 걸릴 예상 시간(초)
+     */
+    public double estimateDrainSeconds(int concurrency, long lag, double recordLatencyMs) {
+        if (lag <= 0) {
+            return 0.0;
+        }
+        return lag * recordLatencyMs / 1000.0 / Math.max(1, concurrency);
+    }
+
+    public int getMinConcurrency() {
+        return minConcurrency;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private boolean isCoolingDown(long nowMs) {
+        return lastChangedAt != Long.MIN_VALUE && nowMs - lastChangedAt < cooldownMs;
+    }
+
+    private int commit(int target, long nowMs) {
+        scaleUpSignals = 0;
+        scaleDownSignals = 0;
+        lastChangedAt = nowMs;
+        return target;
+    }
+}
@@ -0,0 +1,47 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.service.impl.GeminiInFlightLimiter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gemini 동시 호출 포화 상태에 따라 Kafka Listener Container를 pause/resume 하는 컨트롤러
+ * 
+ * 컨테이너를 pause 하면 할당된 파티션의 fetch만 멈추고 poll()은 계속 호출되므로,
+ * LLM이 느려져도 힙이 커지거나 max.poll.interval 초과로 리밸런싱이 일어나지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KafkaBackpressureController implements GeminiInFlightLimiter.SaturationListener {
+
+    private final GeminiInFlightLimiter inFlightLimiter;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @PostConstruct
+    public void register() {
+        inFlightLimiter.addListener(this);
+    }
+
+    @Override
+    public void onSaturationChanged(boolean saturated) {
+        for (MessageListenerContainer container : kafkaListenerEndpointRegistry.getListenerContainers()) {
+            if (!container.isRunning()) {
+                continue;
+            }
+            if (saturated) {
+                container.pause();
+                log.warn("⏸️ Kafka Listener Container pause - ListenerId: {}, 진행 중인 Gemini 호출: {}", 
+                        container.getListenerId(), inFlightLimiter.getInFlight());
+            } else {
+                container.resume();
+                log.info("▶️ Kafka Listener Container resume - ListenerId: {}, 진행 중인 Gemini 호출: {}", 
+                        container.getListenerId(), inFlightLimiter.getInFlight());
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mediaservice.kafka;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 키 단위 순서를 보장하는 Executor
+ * 
+ * 같은 키로 제출된 작업은 제출 순서대로 하나씩 실행되고,
+ * 서로 다른 키의 작업은 워커 풀에서 병렬로 실행됩니다.
+ * 앞선 작업이 실패해도 같은 키의 다음 작업은 계속 실행됩니다.
+ */
+public class KeyOrderedExecutor {
+
+    private final Executor executor;
+    
+    // 키별 마지막으로 제출된 작업 (작업이 끝나면 제거되어 맵이 무한히 커지지 않음)
+    private final ConcurrentMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public KeyOrderedExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 키에 대한 작업을 제출합니다.
+     * 
+     * @param key 순서를 보장할 키 (예: userId)
+     * @param task 실행할 작업
+     * @return 작업 완료 시 완료되는 Future (작업 예외는 Future에 전달됨)
+     */
+    public CompletableFuture<Void> submit(String key, Runnable task) {
+        // 맵에는 아직 완료되지 않은 자리만 등록하고, 실제 작업은 맵 갱신이 끝난 뒤에 제출
+        // (워커 풀이 CallerRunsPolicy로 호출 스레드에서 작업을 실행해도 맵의 잠금을 잡은 채 실행되지 않도록)
+        CompletableFuture<Void> next = new CompletableFuture<>();
+        CompletableFuture<Void> previous = tails.put(key, next);
+        next.whenComplete((result, throwable) -> tails.remove(key, next));
+        (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                .handle((result, throwable) -> (Void) null)
+                .thenRunAsync(task, executor)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        next.completeExceptionally(throwable);
+                    } else {
+                        next.complete(null);
+                    }
+                });
+        return next;
+    }
+
+    /**
+     * 처리 중이거나 대기 중인 작업이 있는 키의 수를 반환합니다.
+     */
+    public int getActiveKeyCount() {
+        return tails.size();
+    }
+}
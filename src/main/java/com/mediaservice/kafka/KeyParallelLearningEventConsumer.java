@@ -0,0 +1,82 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.config.KafkaConfig;
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.service.RealTimeRecommendationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 학습 이벤트를 userId 단위로 병렬 처리하는 Kafka Consumer
+ * 
+ * 같은 사용자의 이벤트는 순서대로 처리하고, 같은 파티션이라도 다른 사용자의 이벤트는
+ * 워커 풀에서 동시에 처리합니다. 오프셋은 컨테이너의 비동기 ack 처리에 의해
+ * 연속으로 완료된 가장 낮은 레코드까지만 커밋됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.consumer.processing-mode", havingValue = "KEY_PARALLEL")
+public class KeyParallelLearningEventConsumer {
+
+    private final RealTimeRecommendationService realTimeRecommendationService;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final LearningEventFailureRouter learningEventFailureRouter;
+    private final ObjectProvider<LearningEventCoalescer> learningEventCoalescer;
+
+    @KafkaListener(
+        id = KafkaConfig.LEARNING_EVENTS_LISTENER_ID,
+        topics = "${kafka.topics.learning-events}",
+        groupId = "${kafka.consumer.group-id}",
+        containerFactory = "kafkaListenerContainerFactory"
+    )
+    public void handleLearningCompletedEvent(ConsumerRecord<String, LearningCompletedEvent> record,
+                                             Acknowledgment acknowledgment) {
+        LearningCompletedEvent event = record.value();
+        
+        log.info("📚 학습 완료 이벤트 수신 (키 단위 병렬) - Partition: {}, Offset: {}, UserId: {}", 
+                record.partition(), record.offset(), event.getUserId());
+        
+        String orderingKey = event.getUserId() != null ? event.getUserId() : record.key();
+        
+        // 병합 모드: 사용자별 윈도우가 처리된 뒤 ack (병합기가 같은 사용자의 윈도우를 순서대로 처리)
+        LearningEventCoalescer coalescer = learningEventCoalescer.getIfAvailable();
+        CompletableFuture<Void> processing = coalescer != null 
+                ? coalescer.submit(record)
+                : keyOrderedExecutor.submit(String.valueOf(orderingKey), 
+                        () -> realTimeRecommendationService.generateRecommendations(event));
+        
+        processing.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null 
+                        ? throwable.getCause() : throwable;
+                log.error("❌ 학습 완료 이벤트 처리 중 오류 발생 - UserId: {}, Offset: {}, Error: {}", 
+                        event.getUserId(), record.offset(), cause.getMessage(), cause);
+                routeFailure(record, cause);
+            } else {
+                log.info("✅ 학습 완료 이벤트 처리 완료 - UserId: {}, Offset: {}", 
+                        event.getUserId(), record.offset());
+            }
+            // 실패한 레코드는 재시도/DLT 토픽으로 넘긴 뒤 ack하여 파티션 전체가 막히지 않도록 함
+            acknowledgment.acknowledge();
+        });
+    }
+    
+    private void routeFailure(ConsumerRecord<String, LearningCompletedEvent> record, Throwable cause) {
+        try {
+            Exception exception = cause instanceof Exception ex ? ex : new RuntimeException(cause);
+            learningEventFailureRouter.accept(record, exception);
+        } catch (Exception e) {
+            log.error("❌ 실패 이벤트 라우팅 중 오류 발생 - Offset: {}, Error: {}", record.offset(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.mediaservice.kafka;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.mediaservice.dto.SessionQuestionDetail;
+import com.mediaservice.event.LearningCompletedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 학습 완료 이벤트 전용 Kafka Deserializer
+ *
+ * 범용 JsonDeserializer(ObjectMapper 데이터 바인딩) 대신 Jackson 스트리밍 파서로 필드를 직접 읽어
+ * 리플렉션, 중간 트리(JsonNode), 날짜 문자열 생성 없이 이벤트 객체를 만듭니다.
+ * content-type 헤더가 application/cbor인 경우 같은 방식으로 CBOR 페이로드를 읽습니다.
+ * 헤더만으로 버릴 레코드로 판단되면 본문을 파싱하지 않고 null을 반환합니다. (LearningEventRecordFilter 참고)
+ * 알 수 없는 필드는 무시하며, 형식 오류는 SerializationException으로 던져
+ * ErrorHandlingDeserializer가 실패 레코드로 처리하도록 합니다.
+ */
+public class LearningCompletedEventDeserializer implements Deserializer<LearningCompletedEvent> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+    private static final byte[] CBOR_CONTENT_TYPE = LearningEventHeaders.CONTENT_TYPE_CBOR.getBytes(StandardCharsets.UTF_8);
+
+    private final Predicate<Headers> skipPredicate;
+
+    public LearningCompletedEventDeserializer() {
+        this(headers -> false);
+    }
+
+    /**
+     * @param skipPredicate 헤더만으로 버릴 레코드를 판단하는 조건 (true이면 본문을 파싱하지 않고 null 반환)
+     */
+    public LearningCompletedEventDeserializer(Predicate<Headers> skipPredicate) {
+        this.skipPredicate = skipPredicate;
+    }
+
+    @Override
+    public LearningCompletedEvent deserialize(String topic, byte[] data) {
+        return deserialize(data, JSON_FACTORY);
+    }
+
+    @Override
+    public LearningCompletedEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (headers != null && skipPredicate.test(headers)) {
+            return null;
+        }
+        return deserialize(data, isCbor(headers) ? CBOR_FACTORY : JSON_FACTORY);
+    }
+
+    private LearningCompletedEvent deserialize(byte[] data, JsonFactory factory) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = factory.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new SerializationException("학습 완료 이벤트는 JSON 객체여야 합니다");
+            }
+            return readEvent(parser);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("학습 완료 이벤트 역직렬화 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isCbor(Headers headers) {
+        if (headers == null) {
+            return false;
+        }
+        Header header = headers.lastHeader(LearningEventHeaders.CONTENT_TYPE);
+        return header != null && Arrays.equals(header.value(), CBOR_CONTENT_TYPE);
+    }
+
+    private LearningCompletedEvent readEvent(JsonParser parser) throws IOException {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            // 필드 이름은 Jackson이 정규화(intern)하므로 switch 비교에 새 문자열이 생성되지 않음
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "sessionId" -> event.setSessionId(readString(parser, token));
+                case "userId" -> event.setUserId(readString(parser, token));
+                case "sessionCreatedAt" -> event.setSessionCreatedAt(readDateTime(parser, token));
+                case "sessionStartedAt" -> event.setSessionStartedAt(readDateTime(parser, token));
+                case "sessionCompletedAt" -> event.setSessionCompletedAt(readDateTime(parser, token));
+                case "sessionStatus" -> event.setSessionStatus(readString(parser, token));
+                case "sessionType" -> event.setSessionType(readString(parser, token));
+                case "sessionMetadata" -> event.setSessionMetadata(readString(parser, token));
+                case "totalQuestions" -> event.setTotalQuestions(readInteger(parser, token));
+                case "answeredQuestions" -> event.setAnsweredQuestions(readInteger(parser, token));
+                case "correctAnswers" -> event.setCorrectAnswers(readInteger(parser, token));
+                case "wrongAnswers" -> event.setWrongAnswers(readInteger(parser, token));
+                case "progressPercentage" -> event.setProgressPercentage(readDouble(parser, token));
+                case "totalSolveCount" -> event.setTotalSolveCount(readInteger(parser, token));
+                case "avgTimeSpent" -> event.setAvgTimeSpent(readDouble(parser, token));
+                case "lastAnsweredAt" -> event.setLastAnsweredAt(readDateTime(parser, token));
+                case "majorCategory" -> event.setMajorCategory(readString(parser, token));
+                case "minorCategory" -> event.setMinorCategory(readString(parser, token));
+                case "questionType" -> event.setQuestionType(readString(parser, token));
+                case "avgDifficultyLevel" -> event.setAvgDifficultyLevel(readInteger(parser, token));
+                case "accuracyRate" -> event.setAccuracyRate(readDouble(parser, token));
+                case "errorRate" -> event.setErrorRate(readDouble(parser, token));
+                case "totalLearningTimeMinutes" -> event.setTotalLearningTimeMinutes(readInteger(parser, token));
+                case "sessionQuestions" -> event.setSessionQuestions(readSessionQuestions(parser, token));
+                case "sessionQuestionsVersion" -> event.setSessionQuestionsVersion(readString(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        return event;
+    }
+
+    private List<SessionQuestionDetail> readSessionQuestions(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(token, JsonToken.START_ARRAY);
+        List<SessionQuestionDetail> questions = new ArrayList<>();
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(token, JsonToken.START_OBJECT);
+            questions.add(readSessionQuestion(parser));
+        }
+        return questions;
+    }
+
+    private SessionQuestionDetail readSessionQuestion(JsonParser parser) throws IOException {
+        SessionQuestionDetail detail = new SessionQuestionDetail();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "questionId" -> detail.setQuestionId(readString(parser, token));
+                case "questionText" -> detail.setQuestionText(readString(parser, token));
+                case "options" -> detail.setOptions(readStringList(parser, token));
+                case "correctAnswer" -> detail.setCorrectAnswer(readString(parser, token));
+                case "explanation" -> detail.setExplanation(readString(parser, token));
+                case "majorCategory" -> detail.setMajorCategory(readString(parser, token));
+                case "minorCategory" -> detail.setMinorCategory(readString(parser, token));
+                case "difficultyLevel" -> detail.setDifficultyLevel(readInteger(parser, token));
+                case "userAnswer" -> detail.setUserAnswer(readString(parser, token));
+                // boolean isCorrect 필드는 Jackson 기본 직렬화 시 "correct"로 기록됨
+                case "correct", "isCorrect" -> detail.setCorrect(token == JsonToken.VALUE_TRUE);
+                case "timeSpent" -> detail.setTimeSpent(readInteger(parser, token));
+                case "attemptCount" -> detail.setAttemptCount(readInteger(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        return detail;
+    }
+
+    private List<String> readStringList(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(token, JsonToken.START_ARRAY);
+        List<String> values = new ArrayList<>(4);
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            values.add(readString(parser, token));
+        }
+        return values;
+    }
+
+    private static String readString(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static Integer readInteger(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getValueAsInt();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return Integer.valueOf(parser.getText().trim());
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Double readDouble(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getValueAsDouble();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return Double.valueOf(parser.getText().trim());
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * ISO-8601 문자열(yyyy-MM-dd'T'HH:mm[:ss[.SSSSSSSSS]]) 또는
+     * Jackson 타임스탬프 배열([yyyy, M, d, H, m, s, nanos]) 형식의 LocalDateTime을 읽습니다.
+     */
+    private static LocalDateTime readDateTime(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.START_ARRAY) {
+            int[] parts = new int[7];
+            int index = 0;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (index < parts.length) {
+                    parts[index++] = parser.getIntValue();
+                }
+            }
+            return LocalDateTime.of(parts[0], parts[1], parts[2], parts[3], parts[4], parts[5], parts[6]);
+        }
+        expect(token, JsonToken.VALUE_STRING);
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        LocalDateTime parsed = parseIsoLocalDateTime(chars, offset, length);
+        if (parsed != null) {
+            return parsed;
+        }
+        // 빠른 경로에서 처리하지 못한 형식 (UTC 표기 'Z' 포함)
+        String text = parser.getText().trim();
+        return LocalDateTime.parse(text.endsWith("Z") ? text.substring(0, text.length() - 1) : text);
+    }
+
+    /**
+     * 문자 배열에서 직접 ISO 로컬 날짜시간을 파싱합니다. 지원하지 않는 형식이면 null을 반환합니다.
+     */
+    static LocalDateTime parseIsoLocalDateTime(char[] chars, int offset, int length) {
+        if (length < 16 || chars[offset + 4] != '-' || chars[offset + 7] != '-'
+                || (chars[offset + 10] != 'T' && chars[offset + 10] != ' ') || chars[offset + 13] != ':') {
+            return null;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = 0;
+        int nanos = 0;
+        int position = 16;
+        if (position < length) {
+            if (chars[offset + position] != ':' || length < 19) {
+                return null;
+            }
+            second = digits(chars, offset + 17, 2);
+            position = 19;
+            if (position < length) {
+                if (chars[offset + position] != '.') {
+                    return null;
+                }
+                position++;
+                int fractionDigits = 0;
+                while (position < length && fractionDigits < 9) {
+                    int digit = chars[offset + position] - '0';
+                    if (digit < 0 || digit > 9) {
+                        return null;
+                    }
+                    nanos = nanos * 10 + digit;
+                    fractionDigits++;
+                    position++;
+                }
+                if (position < length || fractionDigits == 0) {
+                    return null;
+                }
+                for (int i = fractionDigits; i < 9; i++) {
+                    nanos *= 10;
+                }
+            }
+        }
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+    }
+
+    private static int digits(char[] chars, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new SerializationException("잘못된 JSON 토큰 - 예상: " + expected + ", 실제: " + actual);
+        }
+    }
+}
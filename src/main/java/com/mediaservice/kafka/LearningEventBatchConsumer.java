@@ -0,0 +1,77 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.config.KafkaConfig;
+import com.mediaservice.dto.BatchRecommendationResult;
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.service.RealTimeRecommendationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 학습 이벤트를 poll 배치 단위로 소비하여 실시간 미디어 추천을 트리거하는 Kafka Consumer
+ * 
+ * 시험 종료 직후처럼 이벤트가 몰릴 때 레코드 단위 처리보다 DB 조회, Gemini 호출, 저장을
+ * 배치로 묶어 처리량을 높입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.consumer.processing-mode", havingValue = "BATCH")
+public class LearningEventBatchConsumer {
+
+    private final RealTimeRecommendationService realTimeRecommendationService;
+    private final LearningEventFailureRouter learningEventFailureRouter;
+
+    @KafkaListener(
+        id = KafkaConfig.LEARNING_EVENTS_LISTENER_ID,
+        topics = "${kafka.topics.learning-events}",
+        groupId = "${kafka.consumer.group-id}",
+        containerFactory = "kafkaListenerContainerFactory"
+    )
+    public void handleLearningCompletedEvents(List<ConsumerRecord<String, LearningCompletedEvent>> records) {
+        log.info("📚 학습 완료 이벤트 배치 수신 - 레코드 수: {}", records.size());
+        
+        // 역직렬화에 실패한 레코드(value == null)는 원본 그대로 DLT로 보내고 처리 대상에서 제외
+        List<ConsumerRecord<String, LearningCompletedEvent>> validRecords = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, LearningCompletedEvent> record : records) {
+            if (record.value() == null) {
+                log.warn("⚠️ 역직렬화 실패 레코드 - Topic: {}, Partition: {}, Offset: {}", 
+                        record.topic(), record.partition(), record.offset());
+                learningEventFailureRouter.accept(record, 
+                        new NonRetryableRecommendationException("학습 완료 이벤트 역직렬화 실패"));
+                continue;
+            }
+            validRecords.add(record);
+        }
+        
+        if (validRecords.isEmpty()) {
+            return;
+        }
+        
+        List<LearningCompletedEvent> events = new ArrayList<>(validRecords.size());
+        validRecords.forEach(record -> events.add(record.value()));
+        
+        BatchRecommendationResult result = realTimeRecommendationService.generateBatchRecommendations(events);
+        
+        if (result.hasFailures()) {
+            // 실패한 이벤트만 재시도/DLT 토픽으로 보내고, 배치의 나머지는 그대로 커밋
+            for (Map.Entry<Integer, Throwable> failure : result.getFailures().entrySet()) {
+                Throwable cause = failure.getValue();
+                Exception exception = cause instanceof Exception ex ? ex : new RuntimeException(cause);
+                learningEventFailureRouter.accept(validRecords.get(failure.getKey()), exception);
+            }
+        }
+        
+        log.info("✅ 학습 완료 이벤트 배치 처리 완료 - 이벤트 수: {}, 저장된 추천 개수: {}", 
+                result.getTotalEvents(), result.getSavedRecommendations());
+    }
+}
@@ -0,0 +1,147 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.service.RealTimeRecommendationService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 학습 완료 이벤트 병합기
+ *
+ * 같은 사용자의 이벤트를 설정된 시간 동안 모았다가 한 번에 추천을 생성하여,
+ * 짧은 세션을 연달아 완료하는 경우 Gemini API 호출 수를 줄입니다.
+ * 윈도우는 사용자의 첫 이벤트 수신 시 시작되며, 윈도우가 끝나거나 최대 이벤트 수에 도달하면 처리됩니다.
+ * 같은 사용자의 윈도우는 {@link KeyOrderedExecutor}를 통해 순서대로 처리됩니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "recommendation.coalescing.enabled", havingValue = "true")
+public class LearningEventCoalescer {
+
+    private final RealTimeRecommendationService realTimeRecommendationService;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final DistributionSummary foldedEventsSummary;
+    private final long windowMs;
+    private final int maxEvents;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LearningEventCoalescer(RealTimeRecommendationService realTimeRecommendationService,
+                                  KeyOrderedExecutor keyOrderedExecutor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${recommendation.coalescing.window-ms:30000}") long windowMs,
+                                  @Value("${recommendation.coalescing.max-events:10}") int maxEvents) {
+        this.realTimeRecommendationService = realTimeRecommendationService;
+        this.keyOrderedExecutor = keyOrderedExecutor;
+        this.windowMs = windowMs;
+        this.maxEvents = Math.max(1, maxEvents);
+        this.foldedEventsSummary = DistributionSummary.builder("recommendation.coalescing.folded-events")
+                .description("Gemini API 호출 1회에 병합된 학습 완료 이벤트 수")
+                .baseUnit("events")
+                .register(meterRegistry);
+
+        log.info("🔧 학습 이벤트 병합기 설정 완료 - Window: {}ms, Max Events: {}", windowMs, this.maxEvents);
+    }
+
+    /**
+     * 이벤트를 사용자별 윈도우에 추가합니다.
+     *
+     * @param record 학습 완료 이벤트 레코드
+     * @return 이벤트가 포함된 윈도우의 처리가 끝나면 완료되는 Future (실패 시 예외로 완료)
+     */
+    public CompletableFuture<Void> submit(ConsumerRecord<String, LearningCompletedEvent> record) {
+        LearningCompletedEvent event = record.value();
+        String userId = event.getUserId() != null ? event.getUserId() : String.valueOf(record.key());
+
+        Window[] full = new Window[1];
+        Window window = windows.compute(userId, (key, current) -> {
+            Window target = current;
+            if (target == null) {
+                target = new Window();
+                Window created = target;
+                scheduler.schedule(() -> flush(key, created), windowMs, TimeUnit.MILLISECONDS);
+            }
+            target.events.add(event);
+            if (target.events.size() >= maxEvents) {
+                full[0] = target;
+                return null;
+            }
+            return target;
+        });
+
+        if (full[0] != null) {
+            dispatch(userId, full[0]);
+            return full[0].completion;
+        }
+        return window.completion;
+    }
+
+    /**
+     * 윈도우 시간이 지나면 호출됩니다. 이미 최대 이벤트 수로 처리된 윈도우는 무시합니다.
+     */
+    private void flush(String userId, Window window) {
+        if (windows.remove(userId, window)) {
+            dispatch(userId, window);
+        }
+    }
+
+    private void dispatch(String userId, Window window) {
+        List<LearningCompletedEvent> events = new ArrayList<>(window.events);
+        foldedEventsSummary.record(events.size());
+        log.info("📦 사용자 이벤트 병합 처리 - UserId: {}, 병합 이벤트 수: {}", userId, events.size());
+
+        keyOrderedExecutor.submit(userId, () -> realTimeRecommendationService.generateCoalescedRecommendations(events))
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        window.completion.completeExceptionally(throwable);
+                    } else {
+                        window.completion.complete(null);
+                    }
+                });
+    }
+
+    /**
+     * 현재 이벤트를 모으고 있는 사용자 수
+     */
+    public int getPendingUserCount() {
+        return windows.size();
+    }
+
+    /**
+     * 종료 시 대기 중인 윈도우를 즉시 처리합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        windows.keySet().forEach(userId -> {
+            Window window = windows.remove(userId);
+            if (window != null) {
+                dispatch(userId, window);
+            }
+        });
+    }
+
+    private static class Window {
+        private final List<LearningCompletedEvent> events = new ArrayList<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    }
+}
@@ -1,41 +1,59 @@
 package com.mediaservice.kafka;
 
+import com.mediaservice.config.KafkaConfig;
 import com.mediaservice.event.LearningCompletedEvent;
 import com.mediaservice.service.RealTimeRecommendationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletionException;
+
 /**
- * 학습 이벤트를 소비하여 실시간 미디어 추천을 트리거하는 Kafka Consumer
+ * 학습 이벤트를 소비하여 실시간 미디어 추천을 트리거하는 Kafka Consumer (레코드 단위 처리)
+ * 
+ * 병합(recommendation.coalescing.enabled) 사용 시 오프셋은 수신 즉시 커밋되므로,
+ * 윈도우에 모인 이벤트는 프로세스가 비정상 종료되면 유실될 수 있습니다.
+ * 유실이 허용되지 않으면 KEY_PARALLEL 모드와 함께 사용하세요. (처리 완료 후 ack)
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.consumer.processing-mode", havingValue = "RECORD", matchIfMissing = true)
 public class LearningEventConsumer {
 
     private final RealTimeRecommendationService realTimeRecommendationService;
+    private final LearningEventFailureRouter learningEventFailureRouter;
+    private final ObjectProvider<LearningEventCoalescer> learningEventCoalescer;
 
     @KafkaListener(
+        id = KafkaConfig.LEARNING_EVENTS_LISTENER_ID,
         topics = "${kafka.topics.learning-events}",
         groupId = "${kafka.consumer.group-id}",
         containerFactory = "kafkaListenerContainerFactory"
     )
-    public void handleLearningCompletedEvent(
-            @Payload LearningCompletedEvent event,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.RECEIVED_PARTITION) Integer partition,
-            @Header(KafkaHeaders.OFFSET) Long offset
-    ) {
+    public void handleLearningCompletedEvent(ConsumerRecord<String, LearningCompletedEvent> record) {
+        LearningCompletedEvent event = record.value();
         try {
             log.info("📚 학습 완료 이벤트 수신 - Topic: {}, Partition: {}, Offset: {}", 
-                    topic, partition, offset);
+                    record.topic(), record.partition(), record.offset());
             log.info("📋 이벤트 내용: {}", event);
             
+            // 병합 모드: 사용자별 윈도우에 추가하고 실패 시 재시도/DLT 토픽으로 넘김
+            LearningEventCoalescer coalescer = learningEventCoalescer.getIfAvailable();
+            if (coalescer != null) {
+                coalescer.submit(record).whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        routeFailure(record, throwable);
+                    }
+                });
+                return;
+            }
+            
             // 미디어 추천 서비스 호출
             realTimeRecommendationService.generateRecommendations(event);
             
@@ -44,10 +62,20 @@ public class LearningEventConsumer {
         } catch (Exception e) {
             log.error("❌ 학습 완료 이벤트 처리 중 오류 발생 - UserId: {}, Error: {}", 
                     event.getUserId(), e.getMessage(), e);
-            // TODO: 에러 처리 및 재시도 로직 구현
-            throw e; // 현재는 예외를 다시 던져서 Kafka의 재시도 메커니즘 활용
+            // 파티션을 멈추지 않도록 재시도/DLT 토픽으로 넘기고 다음 레코드를 계속 처리
+            learningEventFailureRouter.accept(record, e);
+        }
+    }
+    
+    private void routeFailure(ConsumerRecord<String, LearningCompletedEvent> record, Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null 
+                ? throwable.getCause() : throwable;
+        log.error("❌ 병합된 학습 완료 이벤트 처리 중 오류 발생 - Offset: {}, Error: {}", 
+                record.offset(), cause.getMessage(), cause);
+        try {
+            learningEventFailureRouter.accept(record, cause instanceof Exception ex ? ex : new RuntimeException(cause));
+        } catch (Exception e) {
+            log.error("❌ 실패 이벤트 라우팅 중 오류 발생 - Offset: {}, Error: {}", record.offset(), e.getMessage(), e);
         }
     }
 }
-
-
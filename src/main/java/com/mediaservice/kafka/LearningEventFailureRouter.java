@@ -0,0 +1,88 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.exception.RetryableRecommendationException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 처리에 실패한 학습 이벤트를 재시도 토픽 또는 Dead Letter 토픽으로 보내는 Router
+ * 
+ * 메인 토픽의 Consumer는 실패한 레코드 때문에 파티션을 멈추지 않고 이 Router로 넘긴 뒤
+ * 다음 레코드를 계속 처리합니다.
+ * - 재시도 가능한 실패 (LLM 타임아웃, 요청 한도 초과): 실패 이벤트 토픽 → 단계별 재시도 토픽
+ * - 재시도 불가능한 실패 (역직렬화 실패, 잘못된 데이터): Dead Letter 토픽
+ * 역직렬화된 이벤트는 JSON으로 다시 직렬화되어 보내지므로, 원본 헤더에서 복사된 content-type(예: application/cbor) 뒤에
+ * application/json을 덧붙여 재시도 Consumer가 JSON으로 읽도록 합니다. (Deserializer는 마지막 content-type 헤더를 사용)
+ * 역직렬화에 실패한 레코드는 원본 바이트와 원본 content-type 그대로 보내집니다.
+ */
+@Slf4j
+@Component
+public class LearningEventFailureRouter implements ConsumerRecordRecoverer {
+
+    private static final Header JSON_CONTENT_TYPE_HEADER = new RecordHeader(
+            LearningEventHeaders.CONTENT_TYPE, LearningEventHeaders.CONTENT_TYPE_JSON.getBytes(StandardCharsets.UTF_8));
+
+    private final DeadLetterPublishingRecoverer recoverer;
+
+    public LearningEventFailureRouter(KafkaTemplate<String, Object> kafkaTemplate,
+                                      @Value("${kafka.topics.learning-events-failed}") String failedTopic) {
+        String deadLetterTopic = failedTopic + LearningEventRetryConsumer.DLT_SUFFIX;
+        this.recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate, (record, exception) -> {
+            boolean retryable = isRetryable(exception);
+            String destination = retryable ? failedTopic : deadLetterTopic;
+            log.warn("↪️ 실패 이벤트 라우팅 - Topic: {}, Partition: {}, Offset: {}, 재시도 가능: {}, 대상 토픽: {}", 
+                    record.topic(), record.partition(), record.offset(), retryable, destination);
+            // 파티션 -1: 원본 키 기준으로 Producer가 파티션 선택
+            return new TopicPartition(destination, -1);
+        });
+        this.recoverer.setHeadersFunction((record, exception) -> record.value() instanceof LearningCompletedEvent
+                ? new RecordHeaders(new Header[]{JSON_CONTENT_TYPE_HEADER})
+                : new RecordHeaders());
+    }
+
+    /**
+     * 실패한 레코드를 재시도 가능 여부에 따라 적절한 토픽으로 보냅니다.
+     * 역직렬화에 실패한 레코드는 원본 바이트 그대로 보내집니다.
+     */
+    @Override
+    public void accept(ConsumerRecord<?, ?> record, Exception exception) {
+        recoverer.accept(record, exception);
+    }
+
+    /**
+     * 예외(원인 예외 포함)가 재시도 가능한 일시적 실패인지 판단합니다.
+     */
+    public static boolean isRetryable(Throwable throwable) {
+        Throwable current = throwable;
+        while (current != null) {
+            if (current instanceof RetryableRecommendationException
+                    || current instanceof TimeoutException
+                    || current instanceof SocketTimeoutException
+                    || current instanceof HttpTimeoutException
+                    || current instanceof ConnectException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mediaservice.kafka;
+
+/**
+ * 학습 완료 이벤트 Kafka 헤더 이름 및 값
+ */
+public final class LearningEventHeaders {
+
+    /**
+     * 페이로드 인코딩 (없으면 JSON)
+     */
+    public static final String CONTENT_TYPE = "content-type";
+
+    public static final String CONTENT_TYPE_JSON = "application/json";
+
+    public static final String CONTENT_TYPE_CBOR = "application/cbor";
+
+    /**
+     * 세션 상태 (STARTED, IN_PROGRESS, COMPLETED) - 본문 파싱 전 필터링에 사용
+     */
+    public static final String SESSION_STATUS = "session-status";
+
+    /**
+     * 사용자 ID - 본문 파싱 전 추천 수신 거부 사용자 필터링에 사용
+     */
+    public static final String USER_ID = "user-id";
+
+    private LearningEventHeaders() {
+    }
+}
@@ -0,0 +1,156 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.event.LearningCompletedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 추천 대상이 아닌 학습 이벤트를 걸러내는 레코드 필터
+ *
+ * 처리하지 않는 세션 상태(STARTED, IN_PROGRESS 등)의 이벤트와 실시간 추천을 끈 사용자의 이벤트를 버립니다.
+ * 헤더(session-status, user-id)만으로 판단할 수 있으면 Deserializer가 본문을 파싱하지 않고,
+ * 헤더가 없는 이벤트는 역직렬화된 본문의 필드로 판단합니다.
+ * Deserializer가 헤더로 건너뛴 레코드(역직렬화 예외 헤더 없이 값이 null)는 다시 판단하지 않고 그대로 버립니다.
+ * (그 사이 수신 거부 목록이 갱신되어도 null 값이 Listener로 전달되지 않도록)
+ * 버려진 레코드는 Listener에 전달되지 않고 오프셋만 커밋됩니다. (ackDiscarded)
+ */
+@Slf4j
+@Component
+public class LearningEventRecordFilter implements RecordFilterStrategy<String, LearningCompletedEvent> {
+
+    private static final String OPTED_OUT_USERS_QUERY =
+            "SELECT user_id FROM recommendation_settings WHERE enable_realtime_recommendations = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Set<String> actionableStatuses;
+    private final Counter statusFilteredCounter;
+    private final Counter optOutFilteredCounter;
+    private final Counter emptyFilteredCounter;
+    private volatile Set<String> optedOutUserIds = Set.of();
+
+    public LearningEventRecordFilter(JdbcTemplate jdbcTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${kafka.consumer.filter.enabled:true}") boolean enabled,
+                                     @Value("${kafka.consumer.filter.actionable-statuses:COMPLETED}") List<String> actionableStatuses) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.actionableStatuses = Set.copyOf(actionableStatuses);
+        this.statusFilteredCounter = Counter.builder("kafka.consumer.filtered")
+                .description("추천 대상이 아니어서 버려진 학습 이벤트 수")
+                .tag("reason", "session-status")
+                .register(meterRegistry);
+        this.optOutFilteredCounter = Counter.builder("kafka.consumer.filtered")
+                .description("추천 대상이 아니어서 버려진 학습 이벤트 수")
+                .tag("reason", "opted-out")
+                .register(meterRegistry);
+        this.emptyFilteredCounter = Counter.builder("kafka.consumer.filtered")
+                .description("추천 대상이 아니어서 버려진 학습 이벤트 수")
+                .tag("reason", "empty-payload")
+                .register(meterRegistry);
+
+        log.info("🔧 학습 이벤트 필터 설정 완료 - Enabled: {}, 처리 대상 세션 상태: {}", enabled, this.actionableStatuses);
+    }
+
+    /**
+     * 헤더만으로 버릴 이벤트인지 판단합니다. (Deserializer에서 본문 파싱 전에 호출)
+     */
+    public boolean shouldSkip(Headers headers) {
+        if (!enabled || headers == null) {
+            return false;
+        }
+        String status = headerValue(headers, LearningEventHeaders.SESSION_STATUS);
+        if (status != null && !actionableStatuses.contains(status)) {
+            return true;
+        }
+        String userId = headerValue(headers, LearningEventHeaders.USER_ID);
+        return userId != null && optedOutUserIds.contains(userId);
+    }
+
+    @Override
+    public boolean filter(ConsumerRecord<String, LearningCompletedEvent> consumerRecord) {
+        if (!enabled) {
+            return false;
+        }
+        Headers headers = consumerRecord.headers();
+        LearningCompletedEvent event = consumerRecord.value();
+        if (event == null && headers.lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) == null) {
+            return discardSkipped(consumerRecord);
+        }
+
+        String status = headerValue(headers, LearningEventHeaders.SESSION_STATUS);
+        if (status == null && event != null) {
+            status = event.getSessionStatus();
+        }
+        if (status != null && !actionableStatuses.contains(status)) {
+            statusFilteredCounter.increment();
+            log.debug("🚫 처리 대상이 아닌 세션 상태 - 이벤트 무시 - Status: {}, Offset: {}", status, consumerRecord.offset());
+            return true;
+        }
+
+        String userId = headerValue(headers, LearningEventHeaders.USER_ID);
+        if (userId == null && event != null) {
+            userId = event.getUserId();
+        }
+        if (userId != null && optedOutUserIds.contains(userId)) {
+            optOutFilteredCounter.increment();
+            log.debug("🚫 실시간 추천 수신 거부 사용자 - 이벤트 무시 - UserId: {}, Offset: {}", userId, consumerRecord.offset());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Deserializer가 이미 버리기로 한 레코드(또는 빈 페이로드)를 판단 없이 버리고 이유별로 집계합니다.
+     */
+    private boolean discardSkipped(ConsumerRecord<String, LearningCompletedEvent> consumerRecord) {
+        Headers headers = consumerRecord.headers();
+        String status = headerValue(headers, LearningEventHeaders.SESSION_STATUS);
+        if (status != null && !actionableStatuses.contains(status)) {
+            statusFilteredCounter.increment();
+        } else if (headerValue(headers, LearningEventHeaders.USER_ID) != null) {
+            optOutFilteredCounter.increment();
+        } else {
+            emptyFilteredCounter.increment();
+        }
+        log.debug("🚫 역직렬화 단계에서 건너뛴 레코드 - 이벤트 무시 - Status: {}, Offset: {}", status, consumerRecord.offset());
+        return true;
+    }
+
+    /**
+     * 실시간 추천을 끈 사용자 목록을 다시 읽어 교체합니다. (조회 실패 시 기존 목록 유지)
+     */
+    @Scheduled(fixedDelayString = "${kafka.consumer.filter.opt-out-refresh-ms:60000}")
+    public void refreshOptedOutUsers() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Set<String> refreshed = new HashSet<>(jdbcTemplate.queryForList(OPTED_OUT_USERS_QUERY, String.class));
+            optedOutUserIds = Set.copyOf(refreshed);
+            log.debug("🔄 실시간 추천 수신 거부 사용자 목록 갱신 - 사용자 수: {}", refreshed.size());
+        } catch (Exception e) {
+            log.warn("⚠️ 실시간 추천 수신 거부 사용자 목록 조회 실패 - 기존 목록 유지 - Error: {}", e.getMessage());
+        }
+    }
+
+    private static String headerValue(Headers headers, String name) {
+        Header header = headers != null ? headers.lastHeader(name) : null;
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
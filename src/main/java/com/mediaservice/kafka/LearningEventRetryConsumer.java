@@ -0,0 +1,106 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.service.RealTimeRecommendationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.DltStrategy;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Component;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 실패한 학습 이벤트를 단계별 재시도 토픽에서 다시 처리하는 Kafka Consumer
+ * 
+ * 메인 토픽과 분리된 토픽에서 지수 백오프로 재시도하므로, 실패한 이벤트가
+ * 정상 이벤트의 처리 속도에 영향을 주지 않습니다.
+ * - learning-events-failed → learning-events-failed-retry-0 → ... → learning-events-failed-dlt
+ * - 재시도 가능한 예외(LLM 타임아웃, 요청 한도 초과)만 다음 단계로 넘어가고 나머지는 바로 DLT로 보내집니다.
+ * - DLT에 도착한 이벤트는 kafka.consumer.dead-letters 카운터(원본 토픽별)로 집계되어 운영 알림 기준으로 사용됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LearningEventRetryConsumer {
+
+    public static final String RETRY_SUFFIX = "-retry";
+    public static final String DLT_SUFFIX = "-dlt";
+    private static final String DEAD_LETTER_COUNTER_NAME = "kafka.consumer.dead-letters";
+
+    private final RealTimeRecommendationService realTimeRecommendationService;
+    private final MeterRegistry meterRegistry;
+
+    @RetryableTopic(
+        attempts = "${kafka.retry.attempts:4}",
+        backoff = @Backoff(
+            delayExpression = "${kafka.retry.initial-delay-ms:5000}",
+            multiplierExpression = "${kafka.retry.multiplier:3.0}",
+            maxDelayExpression = "${kafka.retry.max-delay-ms:300000}"
+        ),
+        include = {
+            RetryableRecommendationException.class,
+            TimeoutException.class,
+            SocketTimeoutException.class,
+            HttpTimeoutException.class,
+            ConnectException.class
+        },
+        traversingCauses = "true",
+        retryTopicSuffix = RETRY_SUFFIX,
+        dltTopicSuffix = DLT_SUFFIX,
+        topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+        dltStrategy = DltStrategy.FAIL_ON_ERROR,
+        listenerContainerFactory = "retryKafkaListenerContainerFactory"
+    )
+    @KafkaListener(
+        topics = "${kafka.topics.learning-events-failed}",
+        groupId = "${kafka.consumer.group-id}",
+        containerFactory = "retryKafkaListenerContainerFactory"
+    )
+    public void retryLearningCompletedEvent(
+            ConsumerRecord<String, LearningCompletedEvent> record,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic
+    ) {
+        LearningCompletedEvent event = record.value();
+        log.info("🔁 실패 이벤트 재처리 - Topic: {}, Offset: {}, UserId: {}, SessionId: {}", 
+                topic, record.offset(), event.getUserId(), event.getSessionId());
+        
+        // 예외가 발생하면 재시도 가능 여부에 따라 다음 재시도 토픽 또는 DLT로 보내짐
+        realTimeRecommendationService.generateRecommendations(event);
+        
+        log.info("✅ 실패 이벤트 재처리 완료 - Topic: {}, UserId: {}", topic, event.getUserId());
+    }
+
+    @DltHandler
+    public void handleDeadLetter(
+            ConsumerRecord<String, LearningCompletedEvent> record,
+            @Header(name = KafkaHeaders.DLT_EXCEPTION_MESSAGE, required = false) String exceptionMessage,
+            @Header(name = KafkaHeaders.DLT_ORIGINAL_TOPIC, required = false) String originalTopic
+    ) {
+        LearningCompletedEvent event = record.value();
+        log.error("☠️ Dead Letter 이벤트 - DLT: {}-{}@{}, 원본 토픽: {}, UserId: {}, SessionId: {}, Error: {}", 
+                record.topic(), record.partition(), record.offset(),
+                originalTopic, 
+                event != null ? event.getUserId() : null, 
+                event != null ? event.getSessionId() : null, 
+                exceptionMessage);
+        Counter.builder(DEAD_LETTER_COUNTER_NAME)
+                .description("재처리를 포기하고 Dead Letter 토픽에 도착한 학습 이벤트 수")
+                .tag("original-topic", originalTopic != null ? originalTopic : "unknown")
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -21,8 +21,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class MediaRecommendation {
     
+    /**
+     * 시퀀스(MySQL은 media_recommendations_seq 테이블로 대체)에서 50개씩 미리 할당받는 ID
+     * (IDENTITY는 INSERT마다 생성된 키를 받아야 하므로 saveAll 시 JDBC 배치 INSERT가 꺼짐)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "media_recommendation_id")
+    @SequenceGenerator(name = "media_recommendation_id", sequenceName = "media_recommendations_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -54,8 +59,11 @@ public class MediaRecommendation {
     @Column(name = "session_id")
     private String sessionId;
     
-    @Column(name = "prompt_used", columnDefinition = "TEXT")
-    private String promptUsed;
+    /**
+     * 추천 생성에 사용한 프롬프트의 SHA-256 해시 (프롬프트 본문은 prompts 테이블에 압축하여 한 번만 저장)
+     */
+    @Column(name = "prompt_hash", length = 64)
+    private String promptHash;
     
     @Column(name = "platform")
     private String platform;
@@ -96,6 +104,12 @@ public class MediaRecommendation {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    /**
+     * 서킷 브레이커가 열려 있을 때 대체 추천 풀에서 제공된 추천인지 여부 (저장하지 않음)
+     */
+    @Transient
+    private boolean fallback;
+    
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
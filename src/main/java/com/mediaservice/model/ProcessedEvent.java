@@ -0,0 +1,56 @@
+package com.mediaservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 처리 완료된 학습 완료 이벤트 엔티티
+ * 
+ * session_id를 기본 키로 사용하여, 같은 세션이 두 번 처리되면
+ * 유니크 제약조건 위반으로 두 번째 트랜잭션(추천 저장 포함)이 롤백됩니다.
+ */
+@Entity
+@Table(name = "processed_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedEvent implements Persistable<String> {
+    
+    @Id
+    @Column(name = "session_id", length = 255)
+    private String sessionId;
+    
+    @Column(name = "user_id")
+    private String userId;
+    
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        if (this.processedAt == null) {
+            this.processedAt = LocalDateTime.now();
+        }
+    }
+    
+    @Override
+    public String getId() {
+        return sessionId;
+    }
+    
+    /**
+     * 항상 새 엔티티로 취급하여 save() 시 merge(SELECT 후 UPDATE)가 아닌
+     * INSERT가 실행되도록 합니다. 중복 세션은 기본 키 제약조건으로 걸러집니다.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,9 +1,14 @@
 package com.mediaservice.repository;
 
+import com.mediaservice.enums.RecommendationType;
 import com.mediaservice.model.MediaRecommendation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -26,4 +31,15 @@ public interface MediaRecommendationRepository extends JpaRepository<MediaRecomm
      * 사용자 ID와 세션 ID로 추천 목록을 조회합니다.
      */
     List<MediaRecommendation> findByUserIdAndSessionIdOrderByGeneratedAtDesc(Long userId, String sessionId);
+    
+    /**
+     * 세션의 추천 중 주어진 시각 이전에 생성된 추천을 삭제합니다.
+     * (스트리밍 처리 도중 중단된 이전 시도가 남긴 추천 정리용)
+     */
+    @Modifying
+    @Query("DELETE FROM MediaRecommendation r WHERE r.sessionId = :sessionId " +
+           "AND r.recommendationType = :recommendationType AND r.generatedAt < :generatedBefore")
+    int deleteBySessionIdGeneratedBefore(@Param("sessionId") String sessionId,
+                                         @Param("recommendationType") RecommendationType recommendationType,
+                                         @Param("generatedBefore") LocalDateTime generatedBefore);
 }
@@ -0,0 +1,34 @@
+package com.mediaservice.repository;
+
+import com.mediaservice.model.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 처리 완료 이벤트를 위한 Repository
+ */
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+    
+    /**
+     * 주어진 세션 ID 중 이미 처리된 세션 ID를 조회합니다.
+     */
+    @Query("SELECT p.sessionId FROM ProcessedEvent p WHERE p.sessionId IN :sessionIds")
+    List<String> findProcessedSessionIds(@Param("sessionIds") Collection<String> sessionIds);
+    
+    /**
+     * 보존 기간이 지난 처리 완료 기록을 삭제합니다.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent p WHERE p.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
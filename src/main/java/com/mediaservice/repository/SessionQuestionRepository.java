@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,6 +27,18 @@ public interface SessionQuestionRepository extends JpaRepository<SessionQuestion
            "WHERE sq.sessionId = :sessionId")
     List<Object[]> findSessionQuestionDetails(@Param("sessionId") String sessionId);
     
+    /**
+     * 여러 세션 ID의 문제 상세 정보를 한 번에 조회합니다. (배치 처리용 IN 쿼리)
+     * 컬럼 순서는 findSessionQuestionDetails와 동일하며, 마지막 컬럼에 세션 ID가 추가됩니다.
+     */
+    @Query("SELECT q.questionId, q.questionText, q.optionA, q.optionB, q.optionC, " +
+           "q.correctAnswer, q.explanation, q.majorCategory, q.minorCategory, " +
+           "q.difficultyLevel, sq.userAnswer, sq.isCorrect, sq.timeSpent, sq.attemptCount, sq.sessionId " +
+           "FROM Question q " +
+           "JOIN SessionQuestion sq ON q.questionId = sq.questionId " +
+           "WHERE sq.sessionId IN :sessionIds")
+    List<Object[]> findSessionQuestionDetailsBySessionIds(@Param("sessionIds") Collection<String> sessionIds);
+    
     /**
      * 세션 ID로 세션 문제 목록을 조회합니다.
      */
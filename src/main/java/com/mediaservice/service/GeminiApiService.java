@@ -1,8 +1,11 @@
 package com.mediaservice.service;
 
+import com.mediaservice.dto.GeminiRequest;
 import com.mediaservice.model.MediaRecommendation;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface GeminiApiService {
     
@@ -13,6 +16,65 @@ public interface GeminiApiService {
      * @return 추천된 미디어 콘텐츠 목록
      */
     List<MediaRecommendation> generateRecommendations(String prompt);
+    
+    /**
+     * Gemini API를 비동기로 호출하여 미디어 추천을 생성합니다.
+     * 응답을 기다리는 동안 호출 스레드를 점유하지 않습니다.
+     * 비동기 전송을 지원하지 않는 구현체는 호출 스레드에서 동기 호출한 결과를 반환합니다.
+     * 
+     * @param prompt Gemini API에 보낼 프롬프트
+     * @return 추천된 미디어 콘텐츠 목록을 담은 Future
+     */
+    default CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(String prompt) {
+        try {
+            return CompletableFuture.completedFuture(generateRecommendations(prompt));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    /**
+     * Gemini API 응답을 스트리밍으로 받아, 추천 항목이 완성될 때마다 onRecommendation을 호출합니다.
+     * 스트리밍을 지원하지 않는 구현체는 전체 응답을 받은 뒤 항목마다 onRecommendation을 호출합니다.
+     * 
+     * @param prompt Gemini API에 보낼 프롬프트
+     * @param onRecommendation 추천 항목이 완성될 때마다 호출되는 콜백 (응답 수신 스레드에서 호출됨)
+     * @return 전체 추천 목록을 담은 Future (스트림 종료 시 완료)
+     */
+    default CompletableFuture<List<MediaRecommendation>> streamRecommendations(String prompt, 
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return generateRecommendationsAsync(prompt).thenApply(recommendations -> {
+            recommendations.forEach(onRecommendation);
+            return recommendations;
+        });
+    }
+    
+    /**
+     * 캐시 키가 포함된 요청으로 추천을 생성합니다. 캐시를 사용하지 않는 구현체는 프롬프트만 사용합니다.
+     */
+    default List<MediaRecommendation> generateRecommendations(GeminiRequest request) {
+        return generateRecommendations(request.getPrompt());
+    }
+    
+    /**
+     * 캐시 키가 포함된 요청으로 추천을 비동기 생성합니다.
+     */
+    default CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(GeminiRequest request) {
+        return generateRecommendationsAsync(request.getPrompt());
+    }
+    
+    /**
+     * 캐시 키가 포함된 요청으로 추천을 스트리밍 생성합니다.
+     */
+    default CompletableFuture<List<MediaRecommendation>> streamRecommendations(GeminiRequest request, 
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return streamRecommendations(request.getPrompt(), onRecommendation);
+    }
+    
+    /**
+     * 응답을 스트리밍으로 받아 항목 단위로 전달하는지 여부
+     */
+    default boolean isStreamingEnabled() {
+        return false;
+    }
 }
-
-
@@ -0,0 +1,38 @@
+package com.mediaservice.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 학습 완료 이벤트 중복 처리 방지(멱등성) 서비스
+ * 
+ * 리밸런싱이나 장애 후 재전달된 이벤트가 Gemini API를 다시 호출하고
+ * 추천을 중복 저장하지 않도록 세션 ID 단위로 처리 여부를 관리합니다.
+ */
+public interface ProcessedEventService {
+    
+    /**
+     * 세션이 이미 처리되었는지 확인합니다.
+     * 
+     * @param sessionId 세션 ID
+     * @return 이미 처리된 경우 true
+     */
+    boolean isProcessed(String sessionId);
+    
+    /**
+     * 주어진 세션 ID 중 이미 처리된 세션 ID를 반환합니다.
+     * 
+     * @param sessionIds 세션 ID 목록
+     * @return 이미 처리된 세션 ID 집합
+     */
+    Set<String> findProcessed(Collection<String> sessionIds);
+    
+    /**
+     * 세션을 처리 완료로 기록합니다.
+     * 현재 트랜잭션에 참여하므로 추천 저장과 함께 커밋되거나 롤백됩니다.
+     * 
+     * @param sessionId 세션 ID
+     * @param userId 사용자 ID
+     */
+    void markProcessed(String sessionId, String userId);
+}
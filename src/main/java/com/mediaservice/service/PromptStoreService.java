@@ -0,0 +1,36 @@
+package com.mediaservice.service;
+
+/**
+ * 프롬프트 저장소 (내용 주소 방식)
+ * 
+ * 추천마다 프롬프트 전문을 저장하지 않고, 프롬프트 본문의 SHA-256 해시를 키로 prompts 테이블에 압축하여 한 번만 저장합니다.
+ * 추천(media_recommendations)은 prompt_hash로 프롬프트를 참조합니다.
+ */
+public interface PromptStoreService {
+    
+    /**
+     * 프롬프트를 저장하고 해시를 반환합니다. 이미 저장된 프롬프트는 다시 쓰지 않습니다.
+     * 현재 트랜잭션에 참여하므로 추천 저장과 함께 커밋되거나 롤백됩니다.
+     * 
+     * @param prompt 프롬프트 본문
+     * @return 프롬프트 해시 (prompt가 null이면 null)
+     */
+    String store(String prompt);
+    
+    /**
+     * 프롬프트를 저장하지 않고 store와 같은 해시만 계산합니다.
+     * 추천을 먼저 저장하고 프롬프트는 마지막 트랜잭션에서 저장하는 경우(스트리밍)에 사용합니다.
+     * 
+     * @param prompt 프롬프트 본문
+     * @return 프롬프트 해시 (prompt가 null이면 null)
+     */
+    String hash(String prompt);
+    
+    /**
+     * 해시로 저장된 프롬프트 본문을 조회합니다.
+     * 
+     * @param promptHash 프롬프트 해시
+     * @return 프롬프트 본문 (없으면 null)
+     */
+    String load(String promptHash);
+}
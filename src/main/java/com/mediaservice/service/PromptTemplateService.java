@@ -18,6 +18,15 @@ public interface PromptTemplateService {
      */
     String generateRealTimeSessionPrompt(LearningCompletedEvent event);
     
+    /**
+     * 실시간 세션 기반 추천 입력의 정규화된 지문을 생성합니다.
+     * 같은 추천 결과를 기대할 수 있는 세션끼리 같은 값을 가지며, 추천 결과 캐시 키로 사용됩니다.
+     * 
+     * @param event 학습 세션 완료 이벤트
+     * @return 입력 지문
+     */
+    String generateRealTimeSessionFingerprint(LearningCompletedEvent event);
+    
     /**
      * 사용자 요청 기반 추천을 위한 프롬프트를 생성합니다.
      * 
@@ -26,6 +35,33 @@ public interface PromptTemplateService {
      * @return AI 추천용 프롬프트
      */
     String generateUserRequestedPrompt(UserPerformanceSummary userPerformance, List<String> selectedGenres);
+    
+    /**
+     * 사용자 요청 기반 추천의 코호트(사용자 그룹) 지문을 생성합니다.
+     * 정렬된 장르 집합, 성과가 가장 낮은 카테고리, 난이도별 숙련도 구간이 같은 사용자끼리 같은 값을 가집니다.
+     * 
+     * @param userPerformance 사용자 성과 요약 정보
+     * @param selectedGenres 사용자가 선택한 장르 목록
+     * @return 코호트 지문
+     */
+    String generateUserCohortFingerprint(UserPerformanceSummary userPerformance, List<String> selectedGenres);
+    
+    /**
+     * 코호트 단위 사용자 요청 추천 프롬프트를 생성합니다.
+     * 개별 성과 수치 대신 코호트 지문과 같은 구간 정보만 사용하므로 같은 코호트의 사용자는 같은 프롬프트를 받습니다.
+     * 
+     * @param userPerformance 사용자 성과 요약 정보
+     * @param selectedGenres 사용자가 선택한 장르 목록
+     * @return AI 추천용 프롬프트
+     */
+    String generateUserCohortPrompt(UserPerformanceSummary userPerformance, List<String> selectedGenres);
+    
+    /**
+     * 프롬프트 종류별 고정 머리말 목록을 반환합니다.
+     * 이 서비스가 만드는 모든 프롬프트는 이 중 하나로 시작하고, 호출마다 달라지는 값은 모두 머리말 뒤에 붙습니다.
+     * (Gemini 컨텍스트 캐시에 머리말을 등록해 두고 뒷부분만 전송하는 데 사용)
+     * 
+     * @return 고정 머리말 목록
+     */
+    List<String> getStablePrefixes();
 }
-
-
@@ -1,7 +1,10 @@
 package com.mediaservice.service;
 
+import com.mediaservice.dto.BatchRecommendationResult;
 import com.mediaservice.event.LearningCompletedEvent;
 
+import java.util.List;
+
 /**
  * 실시간 세션 기반 미디어 추천 서비스
  * 
@@ -10,10 +13,41 @@ import com.mediaservice.event.LearningCompletedEvent;
  */
 public interface RealTimeRecommendationService {
     
+    /**
+     * 처리 1회(단건/배치/병합)의 실제 처리 시간을 기록하는 Timer 이름 (Consumer 수 자동 조정에 사용)
+     */
+    String PROCESSING_TIMER_NAME = "recommendation.realtime.processing";
+    
+    /**
+     * 처리한 이벤트 수를 세는 Counter 이름 (Timer의 총 처리 시간과 함께 이벤트 1건당 처리 시간 계산에 사용)
+     */
+    String PROCESSED_EVENTS_COUNTER_NAME = "recommendation.realtime.processed.events";
+    
     /**
      * 학습 세션 완료 이벤트를 받아 실시간 미디어 추천을 생성합니다.
      * 
      * @param event 학습 세션 완료 이벤트 (세션별 문제 상세 정보 포함)
      */
     void generateRecommendations(LearningCompletedEvent event);
+    
+    /**
+     * poll 배치 단위로 실시간 미디어 추천을 생성합니다.
+     * 
+     * 세션 문제 상세 정보를 IN 쿼리 1회로 조회하고, Gemini API 호출을 동시에 실행한 뒤
+     * 생성된 추천을 한 번에 저장합니다. 일부 이벤트가 실패해도 나머지 이벤트의 결과는 저장됩니다.
+     * 
+     * @param events 학습 세션 완료 이벤트 목록
+     * @return 배치 처리 결과 (실패한 이벤트 인덱스 포함)
+     */
+    BatchRecommendationResult generateBatchRecommendations(List<LearningCompletedEvent> events);
+    
+    /**
+     * 같은 사용자가 짧은 시간 안에 완료한 여러 세션을 하나로 합쳐 실시간 미디어 추천을 생성합니다.
+     * 
+     * 세션들의 문제 상세 정보(틀린 문제 포함)를 하나의 프롬프트로 병합하여 Gemini API를 1회만 호출하고,
+     * 생성된 추천은 가장 최근 세션 ID로 저장합니다. 병합된 모든 세션은 처리 완료로 기록됩니다.
+     * 
+     * @param events 같은 사용자의 학습 세션 완료 이벤트 목록 (완료 순서)
+     */
+    void generateCoalescedRecommendations(List<LearningCompletedEvent> events);
 }
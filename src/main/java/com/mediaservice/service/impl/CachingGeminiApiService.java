@@ -0,0 +1,149 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.dto.GeminiRequest;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.GeminiApiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * 프롬프트 입력 지문(캐시 키)으로 Gemini 추천 결과를 캐시하는 GeminiApiService 데코레이터
+ *
+ * 캐시 키가 있는 요청만 캐시하며, 같은 키로 동시에 들어온 요청은 진행 중인 호출 하나를 공유합니다.
+ * 캐시 적중 시에는 Gemini API를 호출하지 않으므로 동시 호출 제한(In-Flight Limiter) 허가도 사용하지 않습니다.
+ * 호출자에게는 항상 복사본을 반환합니다.
+ * 캐시 미스 시에는 요청(우선순위, 공정 대기열 키 포함)을 그대로 하위 데코레이터에 전달합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CachingGeminiApiService implements GeminiApiService {
+
+    private final GeminiApiService delegate;
+    private final PromptResultCache cache;
+    private final ConcurrentMap<String, CompletableFuture<List<MediaRecommendation>>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(String prompt) {
+        return delegate.generateRecommendations(prompt);
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(String prompt) {
+        return delegate.generateRecommendationsAsync(prompt);
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(String prompt,
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return delegate.streamRecommendations(prompt, onRecommendation);
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return delegate.isStreamingEnabled();
+    }
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(GeminiRequest request) {
+        if (!isCacheable(request)) {
+            return delegate.generateRecommendations(request);
+        }
+        try {
+            return generateRecommendationsAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(GeminiRequest request) {
+        if (!isCacheable(request)) {
+            return delegate.generateRecommendationsAsync(request);
+        }
+
+        String key = request.getCacheKey();
+        List<MediaRecommendation> cached = cache.get(key);
+        if (cached != null) {
+            log.debug("🎯 Gemini 추천 결과 캐시 적중 - Key: {}", key);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // 같은 키의 호출이 진행 중이면 결과를 공유
+        CompletableFuture<List<MediaRecommendation>> loading = new CompletableFuture<>();
+        CompletableFuture<List<MediaRecommendation>> existing = inFlight.putIfAbsent(key, loading);
+        if (existing != null) {
+            log.debug("🔗 진행 중인 같은 지문의 Gemini 호출 결과 공유 - Key: {}", key);
+            return existing.thenApply(PromptResultCache::copyAll);
+        }
+
+        CompletableFuture<List<MediaRecommendation>> call;
+        try {
+            call = delegate.generateRecommendationsAsync(request);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((recommendations, error) -> {
+            if (error == null && !containsFallback(recommendations)) {
+                cache.put(key, recommendations);
+            }
+            inFlight.remove(key, loading);
+            if (error != null) {
+                loading.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                loading.complete(recommendations);
+            }
+        });
+        return loading.thenApply(PromptResultCache::copyAll);
+    }
+
+    /**
+     * 캐시 적중 시 캐시된 항목을 바로 전달하고, 아니면 스트리밍 결과를 캐시합니다.
+     * 콜백에는 복사본이 전달되므로 호출자가 항목을 수정/저장해도 캐시에 저장되는 결과는 바뀌지 않습니다.
+     */
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(GeminiRequest request,
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        if (!isCacheable(request)) {
+            return delegate.streamRecommendations(request, onRecommendation);
+        }
+
+        String key = request.getCacheKey();
+        List<MediaRecommendation> cached = cache.get(key);
+        if (cached != null) {
+            log.debug("🎯 Gemini 추천 결과 캐시 적중 (스트리밍) - Key: {}", key);
+            cached.forEach(onRecommendation);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return delegate.streamRecommendations(request,
+                        recommendation -> onRecommendation.accept(PromptResultCache.copyOf(recommendation)))
+                .thenApply(recommendations -> {
+                    if (!containsFallback(recommendations)) {
+                        cache.put(key, recommendations);
+                    }
+                    return PromptResultCache.copyAll(recommendations);
+                });
+    }
+
+    /**
+     * 서킷 브레이커가 열려 있을 때 받은 대체 추천은 캐시하지 않습니다. (회복 후 실제 추천으로 교체되어야 함)
+     */
+    private static boolean containsFallback(List<MediaRecommendation> recommendations) {
+        return recommendations.stream().anyMatch(MediaRecommendation::isFallback);
+    }
+
+    private boolean isCacheable(GeminiRequest request) {
+        return cache.isEnabled() && request.getCacheKey() != null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mediaservice.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카테고리별 학습 맥락 테이블 (category_context 참고 테이블)
+ *
+ * 대분류/소분류별 학습 맥락을 읽어 프롬프트에 들어갈 "- **여행 영어**: ...\n" 줄을 미리 만들어 두고,
+ * 빈 생성 직후 한 번 동기로 읽어 첫 프롬프트부터 맥락이 들어가게 하고,
+ * 이후 주기적으로 다시 읽어 불변 맵을 통째로 교체합니다. (조회 실패 시 기존 맵 유지)
+ * 프롬프트 생성 중에는 DB를 조회하지 않고 현재 맵에서 찾기만 합니다.
+ * 소분류가 없거나 등록되지 않은 소분류는 대분류 기본 맥락(minor_category = '')을 사용합니다.
+ */
+@Slf4j
+@Component
+public class CategoryContextTable {
+
+    private static final String CATEGORY_CONTEXT_QUERY =
+            "SELECT major_category, minor_category, label, context FROM category_context";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Map<String, CategoryContext> contexts = Map.of();
+
+    public CategoryContextTable(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 카테고리의 학습 맥락 줄을 반환합니다.
+     *
+     * @return 대분류가 등록되지 않았으면 null
+     */
+    public String line(String majorCategory, String minorCategory) {
+        CategoryContext context = majorCategory != null ? contexts.get(majorCategory) : null;
+        return context != null ? context.line(minorCategory) : null;
+    }
+
+    /**
+     * 시작 시 카테고리별 학습 맥락을 동기로 읽어 둡니다. (주기 갱신은 한 주기 뒤부터 시작)
+     */
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * 카테고리별 학습 맥락을 다시 읽어 교체합니다. (조회 실패 시 기존 맵 유지)
+     */
+    @Scheduled(initialDelayString = "${recommendation.prompt.category-context-refresh-ms:300000}",
+            fixedDelayString = "${recommendation.prompt.category-context-refresh-ms:300000}")
+    public void refresh() {
+        try {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(CATEGORY_CONTEXT_QUERY);
+            contexts = build(rows);
+            log.debug("🔄 카테고리별 학습 맥락 갱신 - 대분류 수: {}, 항목 수: {}", contexts.size(), rows.size());
+        } catch (Exception e) {
+            log.warn("⚠️ 카테고리별 학습 맥락 조회 실패 - 기존 맥락 유지 - Error: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, CategoryContext> build(List<Map<String, Object>> rows) {
+        Map<String, String> defaultLines = new HashMap<>();
+        Map<String, Map<String, String>> lines = new HashMap<>();
+        for (Map<String, Object> row : rows) {
+            String majorCategory = column(row, "major_category");
+            String minorCategory = column(row, "minor_category");
+            String context = column(row, "context");
+            if (majorCategory == null || context == null) {
+                continue;
+            }
+            String line = "- **" + column(row, "label") + "**: " + context + "\n";
+            if (minorCategory == null || minorCategory.isEmpty()) {
+                defaultLines.put(majorCategory, line);
+            } else {
+                lines.computeIfAbsent(majorCategory, major -> new HashMap<>()).put(minorCategory, line);
+            }
+        }
+
+        Map<String, CategoryContext> contexts = new HashMap<>();
+        defaultLines.forEach((major, line) -> contexts.put(major, new CategoryContext(line, Map.of())));
+        lines.forEach((major, minorLines) -> contexts.put(major,
+                new CategoryContext(defaultLines.get(major), Map.copyOf(minorLines))));
+        return Map.copyOf(contexts);
+    }
+
+    private static String column(Map<String, Object> row, String name) {
+        Object value = row.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * 대분류의 학습 맥락 줄 (소분류별 줄과 기본 줄을 미리 만들어 둠)
+     */
+    private record CategoryContext(String defaultLine, Map<String, String> lines) {
+
+        String line(String minorCategory) {
+            String line = minorCategory != null ? lines.get(minorCategory) : null;
+            return line != null ? line : defaultLine;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.dto.GeminiRequest;
+import com.mediaservice.exception.GeminiAdmissionRejectedException;
+import com.mediaservice.exception.GeminiCircuitOpenException;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.GeminiApiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 서킷 브레이커를 적용하는 GeminiApiService 데코레이터
+ *
+ * 서킷이 열려 있으면 Gemini를 호출하거나 호출 스케줄러에서 기다리지 않고,
+ * 요청의 대체 추천 풀 키로 미리 준비된 추천(fallback 표시됨)을 바로 반환합니다.
+ * 제공할 대체 추천이 없으면 GeminiCircuitOpenException으로 바로 실패합니다.
+ * 호출이 성공하면 결과로 해당 키의 대체 추천 풀을 갱신합니다.
+ * 호출 결과와 소요 시간은 호출 스케줄러 안쪽의 CircuitBreakerRecordingGeminiApiService가 기록하며,
+ * 이 데코레이터는 허가 단계에서 거절된 요청(GeminiAdmissionRejectedException)의 서킷 브레이커 허가만 반환합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CircuitBreakerGeminiApiService implements GeminiApiService {
+
+    private final GeminiApiService delegate;
+    private final GeminiCircuitBreaker circuitBreaker;
+    private final FallbackRecommendationPool fallbackPool;
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(String prompt) {
+        return generateRecommendations(GeminiRequest.uncached(prompt));
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(String prompt) {
+        return generateRecommendationsAsync(GeminiRequest.uncached(prompt));
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(String prompt,
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return streamRecommendations(GeminiRequest.uncached(prompt), onRecommendation);
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return delegate.isStreamingEnabled();
+    }
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(GeminiRequest request) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return fallback(request);
+        }
+
+        try {
+            List<MediaRecommendation> recommendations = delegate.generateRecommendations(request);
+            fallbackPool.update(request.getFallbackKey(), recommendations);
+            return recommendations;
+        } catch (RuntimeException e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(GeminiRequest request) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return fallbackAsync(request);
+        }
+        return guardAsync(request, () -> delegate.generateRecommendationsAsync(request));
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(GeminiRequest request,
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return fallbackAsync(request).thenApply(recommendations -> {
+                recommendations.forEach(onRecommendation);
+                return recommendations;
+            });
+        }
+        return guardAsync(request, () -> delegate.streamRecommendations(request, onRecommendation));
+    }
+
+    private CompletableFuture<List<MediaRecommendation>> guardAsync(
+            GeminiRequest request, Supplier<CompletableFuture<List<MediaRecommendation>>> call) {
+        CompletableFuture<List<MediaRecommendation>> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            onFailure(e);
+            throw e;
+        }
+        return future.whenComplete((recommendations, error) -> {
+            if (error != null) {
+                onFailure(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            } else {
+                fallbackPool.update(request.getFallbackKey(), recommendations);
+            }
+        });
+    }
+
+    /**
+     * Gemini를 호출하기 전에 허가 단계에서 거절된 요청은 결과가 기록되지 않으므로 서킷 브레이커 허가를 반환합니다.
+     */
+    private void onFailure(Throwable error) {
+        if (error instanceof GeminiAdmissionRejectedException) {
+            circuitBreaker.releasePermission();
+        }
+    }
+
+    private CompletableFuture<List<MediaRecommendation>> fallbackAsync(GeminiRequest request) {
+        try {
+            return CompletableFuture.completedFuture(fallback(request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<MediaRecommendation> fallback(GeminiRequest request) {
+        List<MediaRecommendation> recommendations = fallbackPool.get(request.getFallbackKey());
+        if (recommendations.isEmpty()) {
+            throw new GeminiCircuitOpenException("Gemini 서킷 브레이커 열림 - 대체 추천 없음 - Key: " + request.getFallbackKey());
+        }
+        log.info("🛟 Gemini 서킷 브레이커 열림 - 대체 추천 제공 - Key: {}, 추천 개수: {}",
+                request.getFallbackKey(), recommendations.size());
+        return recommendations;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.GeminiApiService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 호출 결과와 소요 시간을 서킷 브레이커에 기록하는 GeminiApiService 데코레이터
+ *
+ * 호출 스케줄러와 동시 호출 제한 데코레이터 안쪽에 두어, 허가를 기다린 시간과 허가 거절은 기록하지 않고
+ * 실제 Gemini 호출(헤지 포함)만 느린 호출/실패 판정에 사용합니다.
+ * 허가 판단과 대체 추천 제공은 바깥의 CircuitBreakerGeminiApiService가 담당합니다.
+ * 취소된 호출은 결과로 기록하지 않고 허가만 반환합니다.
+ */
+@RequiredArgsConstructor
+public class CircuitBreakerRecordingGeminiApiService implements GeminiApiService {
+
+    private final GeminiApiService delegate;
+    private final GeminiCircuitBreaker circuitBreaker;
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(String prompt) {
+        long startedAt = System.nanoTime();
+        try {
+            List<MediaRecommendation> recommendations = delegate.generateRecommendations(prompt);
+            circuitBreaker.onResult(System.nanoTime() - startedAt, null);
+            return recommendations;
+        } catch (RuntimeException e) {
+            circuitBreaker.onResult(System.nanoTime() - startedAt, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(String prompt) {
+        return recordAsync(() -> delegate.generateRecommendationsAsync(prompt));
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(String prompt,
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return recordAsync(() -> delegate.streamRecommendations(prompt, onRecommendation));
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return delegate.isStreamingEnabled();
+    }
+
+    private CompletableFuture<List<MediaRecommendation>> recordAsync(
+            Supplier<CompletableFuture<List<MediaRecommendation>>> call) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<List<MediaRecommendation>> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            circuitBreaker.onResult(System.nanoTime() - startedAt, e);
+            throw e;
+        }
+        return future.whenComplete((recommendations, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                circuitBreaker.releasePermission();
+            } else {
+                circuitBreaker.onResult(System.nanoTime() - startedAt, cause);
+            }
+        });
+    }
+}
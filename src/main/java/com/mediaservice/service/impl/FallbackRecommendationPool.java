@@ -0,0 +1,160 @@
+package com.mediaservice.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaservice.model.MediaRecommendation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서킷 브레이커가 열려 있을 때 제공하는 대체 추천 풀
+ *
+ * (대분류, 소분류, 난이도) 키별로 추천 목록을 보관합니다.
+ * 시작 시 미리 준비된 추천(gemini.fallback.resource)을 읽어 두고, 이후 Gemini 호출이 성공할 때마다
+ * 해당 키의 목록을 최신 결과로 교체합니다.
+ * 정확히 일치하는 키가 없으면 난이도 → 소분류 → 대분류 순서로 범위를 넓혀 찾습니다. ("*"는 전체)
+ */
+@Slf4j
+@Component
+public class FallbackRecommendationPool {
+
+    public static final String ANY = "*";
+    private static final String KEY_SEPARATOR = "|";
+
+    private final boolean enabled;
+    private final int maxPerKey;
+    private final Map<String, List<MediaRecommendation>> recommendationsByKey = new ConcurrentHashMap<>();
+    private final Counter servedCounter;
+    private final Counter missCounter;
+
+    public FallbackRecommendationPool(@Value("${gemini.fallback.enabled:true}") boolean enabled,
+                                      @Value("${gemini.fallback.max-per-key:8}") int maxPerKey,
+                                      @Value("${gemini.fallback.resource:classpath:fallback-recommendations.json}") Resource resource,
+                                      ObjectMapper objectMapper,
+                                      GeminiResponseParser responseParser,
+                                      MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxPerKey = maxPerKey;
+        this.servedCounter = Counter.builder("gemini.fallback.requests")
+                .description("대체 추천 풀 조회 수")
+                .tag("result", "served")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("gemini.fallback.requests")
+                .description("대체 추천 풀 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        if (enabled) {
+            load(resource, objectMapper, responseParser);
+        }
+    }
+
+    /**
+     * (대분류, 소분류, 난이도) 풀 키를 만듭니다. null 값은 "*"(전체)로 취급합니다.
+     */
+    public static String key(String majorCategory, String minorCategory, Integer difficulty) {
+        return String.join(KEY_SEPARATOR,
+                majorCategory != null ? majorCategory : ANY,
+                minorCategory != null ? minorCategory : ANY,
+                difficulty != null ? String.valueOf(difficulty) : ANY);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 키에 해당하는 대체 추천의 복사본을 반환합니다. (fallback 표시됨)
+     * 정확한 키가 없으면 범위를 넓혀 찾고, 그래도 없으면 빈 목록을 반환합니다.
+     */
+    public List<MediaRecommendation> get(String key) {
+        if (!enabled || key == null) {
+            return List.of();
+        }
+        for (String candidate : widen(key)) {
+            List<MediaRecommendation> recommendations = recommendationsByKey.get(candidate);
+            if (recommendations != null && !recommendations.isEmpty()) {
+                servedCounter.increment();
+                List<MediaRecommendation> copies = PromptResultCache.copyAll(recommendations);
+                copies.forEach(recommendation -> recommendation.setFallback(true));
+                return copies;
+            }
+        }
+        missCounter.increment();
+        return List.of();
+    }
+
+    /**
+     * Gemini 호출로 생성된 최신 추천으로 키의 목록을 교체합니다. 대체 추천 결과는 반영하지 않습니다.
+     */
+    public void update(String key, List<MediaRecommendation> recommendations) {
+        if (!enabled || key == null || recommendations == null || recommendations.isEmpty()
+                || recommendations.stream().anyMatch(MediaRecommendation::isFallback)) {
+            return;
+        }
+        List<MediaRecommendation> copies = PromptResultCache.copyAll(
+                recommendations.subList(0, Math.min(recommendations.size(), maxPerKey)));
+        recommendationsByKey.put(key, List.copyOf(copies));
+    }
+
+    public int size() {
+        return recommendationsByKey.size();
+    }
+
+    /**
+     * 정확한 키부터 난이도, 소분류, 대분류 순서로 "*"로 바꾼 후보 키 목록
+     */
+    private static List<String> widen(String key) {
+        String[] parts = key.split("\\" + KEY_SEPARATOR, -1);
+        List<String> candidates = new ArrayList<>(4);
+        candidates.add(key);
+        if (parts.length == 3) {
+            candidates.add(String.join(KEY_SEPARATOR, parts[0], parts[1], ANY));
+            candidates.add(String.join(KEY_SEPARATOR, parts[0], ANY, ANY));
+            candidates.add(String.join(KEY_SEPARATOR, ANY, ANY, ANY));
+        }
+        return candidates;
+    }
+
+    private void load(Resource resource, ObjectMapper objectMapper, GeminiResponseParser responseParser) {
+        if (resource == null || !resource.exists()) {
+            log.warn("⚠️ 미리 준비된 대체 추천 파일 없음 - Gemini 호출 결과로만 대체 추천 풀을 채움 - Resource: {}", resource);
+            return;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            JsonNode root = objectMapper.readTree(inputStream);
+            for (JsonNode entry : root.path("entries")) {
+                String key = key(
+                        textOrAny(entry, "majorCategory"),
+                        textOrAny(entry, "minorCategory"),
+                        entry.hasNonNull("difficulty") ? entry.get("difficulty").asInt() : null);
+                List<MediaRecommendation> recommendations = new ArrayList<>();
+                for (JsonNode recNode : entry.path("recommendations")) {
+                    MediaRecommendation recommendation = responseParser.toRecommendation(recNode.toString());
+                    if (recommendation != null) {
+                        recommendations.add(recommendation);
+                    }
+                }
+                update(key, recommendations);
+            }
+            log.info("📦 대체 추천 풀 로드 완료 - 키 수: {}, Resource: {}", recommendationsByKey.size(), resource);
+        } catch (IOException e) {
+            log.error("❌ 대체 추천 파일 로드 실패 - Resource: {}, Error: {}", resource, e.getMessage(), e);
+        }
+    }
+
+    private static String textOrAny(JsonNode entry, String field) {
+        return entry.hasNonNull(field) ? entry.get(field).asText() : null;
+    }
+}
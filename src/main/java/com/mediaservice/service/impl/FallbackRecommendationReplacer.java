@@ -0,0 +1,242 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.dto.GeminiRequest;
+import com.mediaservice.enums.LlmRequestPriority;
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.repository.MediaRecommendationRepository;
+import com.mediaservice.service.GeminiApiService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 서킷 브레이커가 열려 있는 동안 저장된 대체 추천을 회복 후 실제 추천으로 교체하는 컴포넌트
+ *
+ * 대체 추천을 저장한 호출자가 원래 Gemini 요청과 저장된 추천을 등록하면,
+ * 서킷이 닫히는 시점에 등록된 요청을 BACKGROUND 우선순위로 다시 비동기 호출하고
+ * 기존 대체 추천을 삭제한 뒤 새 추천을 같은 사용자/세션 정보로 저장합니다.
+ * 일시적인 오류로 실패했거나 다시 대체 추천을 받은 요청은 retry-delay 뒤에 서킷이 닫혀 있으면 다시 시도합니다.
+ * (회복 뒤 서킷이 계속 닫혀 있으면 다음 닫힘 전환이 오지 않으므로 전환만 기다리지 않음)
+ * 대기 중인 교체 요청이 최대 개수를 넘으면 가장 오래된 요청부터 버립니다.
+ */
+@Slf4j
+@Component
+public class FallbackRecommendationReplacer {
+
+    private final GeminiApiService geminiApiService;
+    private final MediaRecommendationRepository mediaRecommendationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final GeminiCircuitBreaker circuitBreaker;
+    private final Executor llmTaskExecutor;
+    private final boolean enabled;
+    private final int maxPending;
+    private final Executor retryExecutor;
+
+    private final ConcurrentLinkedQueue<PendingReplacement> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean retryScheduled = new AtomicBoolean();
+    private final Counter replacedCounter;
+    private final Counter droppedCounter;
+
+    public FallbackRecommendationReplacer(GeminiApiService geminiApiService,
+                                          MediaRecommendationRepository mediaRecommendationRepository,
+                                          TransactionTemplate transactionTemplate,
+                                          GeminiCircuitBreaker circuitBreaker,
+                                          @Qualifier("llmTaskExecutor") Executor llmTaskExecutor,
+                                          @Value("${gemini.fallback.replace-on-close:true}") boolean enabled,
+                                          @Value("${gemini.fallback.max-pending-replacements:1000}") int maxPending,
+                                          @Value("${gemini.fallback.replacement-retry-delay-ms:30000}") long retryDelayMs,
+                                          MeterRegistry meterRegistry) {
+        this.geminiApiService = geminiApiService;
+        this.mediaRecommendationRepository = mediaRecommendationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.llmTaskExecutor = llmTaskExecutor;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.retryExecutor = CompletableFuture.delayedExecutor(retryDelayMs, TimeUnit.MILLISECONDS, llmTaskExecutor);
+        this.replacedCounter = Counter.builder("gemini.fallback.replacements")
+                .description("회복 후 실제 추천으로 교체된 대체 추천 요청 수")
+                .tag("result", "replaced")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("gemini.fallback.replacements")
+                .description("회복 후 실제 추천으로 교체된 대체 추천 요청 수")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("gemini.fallback.replacements.pending", pendingCount, AtomicInteger::get)
+                .description("서킷이 닫히면 교체할 대체 추천 요청 수")
+                .register(meterRegistry);
+
+        circuitBreaker.addListener(state -> {
+            // 상태 변경을 기록한 호출 스레드를 막지 않도록 LLM 작업 Executor에서 실행
+            if (state == GeminiCircuitBreaker.State.CLOSED && pendingCount.get() > 0) {
+                llmTaskExecutor.execute(this::replacePending);
+            }
+        });
+    }
+
+    /**
+     * 저장된 추천에 대체 추천이 포함되어 있으면 회복 후 교체하도록 등록합니다.
+     *
+     * @param request 원래 Gemini 요청
+     * @param savedRecommendations 저장된 추천 (ID가 설정된 상태)
+     */
+    public void registerIfFallback(GeminiRequest request, List<MediaRecommendation> savedRecommendations) {
+        if (!enabled || savedRecommendations.isEmpty()
+                || savedRecommendations.stream().noneMatch(MediaRecommendation::isFallback)) {
+            return;
+        }
+        PendingReplacement replacement = new PendingReplacement(request, List.copyOf(savedRecommendations));
+        
+        // 트랜잭션 안에서 호출되면 커밋된 뒤에 등록 (롤백된 추천은 교체하지 않음)
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(replacement, true);
+                }
+            });
+        } else {
+            enqueue(replacement, true);
+        }
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @param replaceIfClosed 서킷이 이미 닫혀 있으면 바로 교체할지 여부 (교체 실패로 다시 등록할 때는 retryLater로 지연 후 재시도)
+     */
+    private void enqueue(PendingReplacement replacement, boolean replaceIfClosed) {
+        pending.add(replacement);
+        if (pendingCount.incrementAndGet() > maxPending && pending.poll() != null) {
+            pendingCount.decrementAndGet();
+            droppedCounter.increment();
+            log.warn("⚠️ 대체 추천 교체 대기열 초과 - 가장 오래된 교체 요청 제외 - Max: {}", maxPending);
+        }
+        
+        // 등록 전에 이미 서킷이 닫혔으면 다음 회복을 기다리지 않고 바로 교체
+        if (replaceIfClosed && circuitBreaker.getState() == GeminiCircuitBreaker.State.CLOSED) {
+            llmTaskExecutor.execute(this::replacePending);
+        }
+    }
+
+    /**
+     * 교체에 실패해 다시 등록한 요청을 지연 후 다시 시도하도록 예약합니다. (이미 예약되어 있으면 함께 처리)
+     * 그 시점에 서킷이 닫혀 있지 않으면 닫힘 전환 때 처리되므로 건너뜁니다.
+     */
+    private void retryLater(PendingReplacement replacement) {
+        enqueue(replacement, false);
+        if (!retryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        retryExecutor.execute(() -> {
+            retryScheduled.set(false);
+            if (circuitBreaker.getState() == GeminiCircuitBreaker.State.CLOSED) {
+                replacePending();
+            }
+        });
+    }
+
+    /**
+     * 대기 중인 교체 요청을 모두 비동기로 실행합니다.
+     * 다시 대체 추천을 받았거나 일시적인 오류로 실패한 요청은 지연 후(또는 다음 회복 때) 다시 시도합니다.
+     */
+    private void replacePending() {
+        List<PendingReplacement> replacements = new ArrayList<>();
+        PendingReplacement replacement;
+        while ((replacement = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            replacements.add(replacement);
+        }
+        if (replacements.isEmpty()) {
+            return;
+        }
+        log.info("🔁 Gemini 서킷 닫힘 - 대체 추천 교체 시작 - 요청 수: {}", replacements.size());
+
+        for (PendingReplacement target : replacements) {
+            GeminiRequest request = target.request().withPriority(
+                    LlmRequestPriority.BACKGROUND, target.request().getFairnessKey());
+            CompletableFuture<List<MediaRecommendation>> future;
+            try {
+                future = geminiApiService.generateRecommendationsAsync(request);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((recommendations, error) -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause != null) {
+                    if (cause instanceof NonRetryableRecommendationException) {
+                        droppedCounter.increment();
+                        log.warn("⚠️ 대체 추천 교체 실패 - 교체하지 않음 - Error: {}", cause.getMessage());
+                    } else {
+                        retryLater(target);
+                    }
+                    return;
+                }
+                if (recommendations.stream().anyMatch(MediaRecommendation::isFallback)) {
+                    retryLater(target);
+                    return;
+                }
+                try {
+                    replace(target.fallbackRecommendations(), recommendations);
+                    replacedCounter.increment();
+                } catch (RuntimeException e) {
+                    log.error("❌ 대체 추천 교체 저장 중 오류 발생 - Error: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 기존 대체 추천을 삭제하고, 같은 사용자/세션/추천 유형 정보로 새 추천을 저장합니다.
+     */
+    private void replace(List<MediaRecommendation> fallbackRecommendations, List<MediaRecommendation> recommendations) {
+        MediaRecommendation source = fallbackRecommendations.get(0);
+        LocalDateTime now = LocalDateTime.now();
+        recommendations.forEach(recommendation -> {
+            recommendation.setUserId(source.getUserId());
+            recommendation.setSessionId(source.getSessionId());
+            recommendation.setRecommendationType(source.getRecommendationType());
+            recommendation.setPromptHash(source.getPromptHash());
+            recommendation.setGeneratedAt(now);
+        });
+        List<Long> fallbackIds = fallbackRecommendations.stream()
+                .map(MediaRecommendation::getId)
+                .filter(Objects::nonNull)
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!fallbackIds.isEmpty()) {
+                mediaRecommendationRepository.deleteAllByIdInBatch(fallbackIds);
+            }
+            mediaRecommendationRepository.saveAll(recommendations);
+        });
+        log.info("✅ 대체 추천 교체 완료 - UserId: {}, SessionId: {}, 삭제: {}개, 저장: {}개",
+                source.getUserId(), source.getSessionId(), fallbackIds.size(), recommendations.size());
+    }
+
+    private record PendingReplacement(GeminiRequest request, List<MediaRecommendation> fallbackRecommendations) {
+    }
+}
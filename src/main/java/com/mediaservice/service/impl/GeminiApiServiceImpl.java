@@ -1,24 +1,24 @@
 package com.mediaservice.service.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mediaservice.enums.MediaType;
 import com.mediaservice.model.MediaRecommendation;
 import com.mediaservice.service.GeminiApiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Mock Gemini API 클라이언트 (gemini.client.mode=mock, 기본값)
+ */
 @Slf4j
-@Service
+@Service("geminiApiClient")
+@ConditionalOnProperty(name = "gemini.client.mode", havingValue = "mock", matchIfMissing = true)
 @RequiredArgsConstructor
 public class GeminiApiServiceImpl implements GeminiApiService {
 
-    private final ObjectMapper objectMapper;
+    private final GeminiResponseParser responseParser;
 
     @Override
     public List<MediaRecommendation> generateRecommendations(String prompt) {
@@ -34,7 +34,7 @@ public class GeminiApiServiceImpl implements GeminiApiService {
             log.debug("📝 Mock Gemini API 응답:\n{}", mockResponse);
             
             // JSON 응답 파싱
-            List<MediaRecommendation> recommendations = parseMockResponse(mockResponse);
+            List<MediaRecommendation> recommendations = responseParser.parseRecommendations(mockResponse);
             log.info("✅ Mock Gemini API 호출 완료 - 추천 개수: {}, 유형: {}", 
                     recommendations.size(), 
                     isRealTimeRecommendation ? "실시간" : "주기적");
@@ -227,92 +227,4 @@ public class GeminiApiServiceImpl implements GeminiApiService {
         if (prompt.contains("기술")) return "기술";
         return "일반";
     }
-    
-    /**
-     * Mock 응답을 파싱합니다.
-     */
-    private List<MediaRecommendation> parseMockResponse(String responseText) {
-        try {
-            // JSON 부분 추출 (```json과 ``` 사이의 내용)
-            String jsonContent = extractJsonContent(responseText);
-            
-            if (jsonContent == null) {
-                log.warn("⚠️ JSON 응답을 찾을 수 없음 - 전체 응답: {}", responseText);
-                return new ArrayList<>();
-            }
-            
-            JsonNode rootNode = objectMapper.readTree(jsonContent);
-            JsonNode recommendationsNode = rootNode.get("recommendations");
-            
-            if (recommendationsNode == null || !recommendationsNode.isArray()) {
-                log.warn("⚠️ recommendations 배열을 찾을 수 없음");
-                return new ArrayList<>();
-            }
-            
-            List<MediaRecommendation> recommendations = new ArrayList<>();
-            
-            for (JsonNode recNode : recommendationsNode) {
-                try {
-                    MediaRecommendation recommendation = MediaRecommendation.builder()
-                            .title(recNode.get("title").asText())
-                            .description(recNode.get("description").asText())
-                            .url(recNode.get("url").asText())
-                            .mediaType(parseMediaType(recNode.get("mediaType").asText()))
-                            .platform(recNode.get("platform").asText())
-                            .difficultyLevel(recNode.get("difficultyLevel").asText())
-                            .recommendationReason(recNode.get("recommendationReason").asText())
-                            .estimatedDuration(recNode.has("estimatedDuration") ? 
-                                    recNode.get("estimatedDuration").asInt() : null)
-                            .language(recNode.has("language") ? 
-                                    recNode.get("language").asText() : "en")
-                            .category(recNode.has("category") ? 
-                                    recNode.get("category").asText() : null)
-                            .build();
-                    
-                    recommendations.add(recommendation);
-                    
-                } catch (Exception e) {
-                    log.warn("⚠️ 개별 추천 항목 파싱 실패 - Node: {}, Error: {}", 
-                            recNode, e.getMessage());
-                }
-            }
-            
-            return recommendations;
-            
-        } catch (JsonProcessingException e) {
-            log.error("❌ JSON 파싱 실패 - Response: {}, Error: {}", 
-                    responseText, e.getMessage(), e);
-            throw new RuntimeException("Mock Gemini API 응답 파싱 실패", e);
-        }
-    }
-    
-    private String extractJsonContent(String responseText) {
-        // ```json과 ``` 사이의 내용 추출
-        int startIndex = responseText.indexOf("```json");
-        if (startIndex == -1) {
-            startIndex = responseText.indexOf("```");
-        }
-        
-        if (startIndex == -1) {
-            return null;
-        }
-        
-        startIndex = responseText.indexOf("\n", startIndex) + 1;
-        int endIndex = responseText.lastIndexOf("```");
-        
-        if (endIndex <= startIndex) {
-            return null;
-        }
-        
-        return responseText.substring(startIndex, endIndex).trim();
-    }
-    
-    private MediaType parseMediaType(String mediaTypeStr) {
-        try {
-            return MediaType.valueOf(mediaTypeStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            log.warn("⚠️ 알 수 없는 미디어 타입: {}, 기본값 VIDEO 사용", mediaTypeStr);
-            return MediaType.VIDEO;
-        }
-    }
 }
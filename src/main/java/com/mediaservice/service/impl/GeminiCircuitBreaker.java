@@ -0,0 +1,233 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini API 호출 서킷 브레이커
+ *
+ * 최근 호출(윈도우 크기만큼)의 실패율 또는 느린 호출 비율이 기준치를 넘으면 열림(OPEN) 상태가 되어
+ * 일정 시간 동안 호출을 허가하지 않습니다. 열림 시간이 지나면 반열림(HALF_OPEN) 상태에서 시험 호출을 허가하고,
+ * 시험 호출이 모두 성공하면 닫힘(CLOSED), 하나라도 실패하거나 느리면 다시 열림 상태가 됩니다.
+ * 재시도해도 해결되지 않는 요청 오류(NonRetryableRecommendationException)는 실패로 세지 않습니다.
+ * 상태 변경은 등록된 리스너(예: 대체 추천 교체)에 전달됩니다.
+ */
+@Slf4j
+@Component
+public class GeminiCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 상태 변경 리스너
+     */
+    public interface StateListener {
+        void onStateChanged(State state);
+    }
+
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallThresholdNanos;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // 최근 호출 결과 링 버퍼 (0: 성공, 1: 실패, 2: 느린 호출)
+    private final byte[] outcomes;
+    private int outcomeCount;
+    private int nextOutcome;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+    private final Counter rejectedCounter;
+    private final MeterRegistry meterRegistry;
+
+    public GeminiCircuitBreaker(@Value("${gemini.circuit-breaker.enabled:true}") boolean enabled,
+                                @Value("${gemini.circuit-breaker.window-size:20}") int windowSize,
+                                @Value("${gemini.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                                @Value("${gemini.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                                @Value("${gemini.circuit-breaker.slow-call-rate-threshold:50}") double slowCallRateThreshold,
+                                @Value("${gemini.circuit-breaker.slow-call-threshold-ms:15000}") long slowCallThresholdMs,
+                                @Value("${gemini.circuit-breaker.open-duration-ms:30000}") long openDurationMs,
+                                @Value("${gemini.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                                MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.outcomes = new byte[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMs);
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.meterRegistry = meterRegistry;
+
+        this.rejectedCounter = Counter.builder("gemini.circuit-breaker.rejected")
+                .description("서킷 브레이커가 열려 있어 호출하지 않은 Gemini 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("gemini.circuit-breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("Gemini 서킷 브레이커 상태 (0: CLOSED, 1: OPEN, 2: HALF_OPEN)")
+                .register(meterRegistry);
+
+        log.info("🔧 Gemini 서킷 브레이커 설정 완료 - Enabled: {}, Window: {}, Min Calls: {}, Failure Rate: {}%, Slow Rate: {}% (>{}ms), Open: {}ms",
+                enabled, outcomes.length, this.minimumCalls, failureRateThreshold, slowCallRateThreshold,
+                slowCallThresholdMs, openDurationMs);
+    }
+
+    public void addListener(StateListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 호출을 허가할지 결정합니다. 열림 시간이 지났으면 반열림 상태로 바꾸고 시험 호출을 허가합니다.
+     *
+     * @return 호출 가능하면 true, 열림 상태(또는 반열림 시험 호출 수 초과)면 false
+     */
+    public boolean tryAcquirePermission() {
+        if (!enabled) {
+            return true;
+        }
+        boolean permitted;
+        boolean halfOpened = false;
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+                state = State.HALF_OPEN;
+                halfOpenPermitted = 0;
+                halfOpenSucceeded = 0;
+                halfOpened = true;
+            }
+            permitted = switch (state) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (halfOpenPermitted < halfOpenCalls) {
+                        halfOpenPermitted++;
+                        yield true;
+                    }
+                    yield false;
+                }
+            };
+        }
+
+        if (halfOpened) {
+            onTransition(State.HALF_OPEN);
+        }
+        if (!permitted) {
+            rejectedCounter.increment();
+        }
+        return permitted;
+    }
+
+    /**
+     * 허가받은 호출의 결과를 기록합니다.
+     *
+     * @param durationNanos 호출 소요 시간
+     * @param error 실패 원인 (성공이면 null)
+     */
+    public void onResult(long durationNanos, Throwable error) {
+        if (!enabled) {
+            return;
+        }
+        boolean failed = error != null && !(error instanceof NonRetryableRecommendationException);
+        boolean slow = durationNanos > slowCallThresholdNanos;
+        State transition = null;
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    transition = open();
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    transition = close();
+                }
+            } else if (state == State.CLOSED) {
+                record(failed ? 1 : slow ? 2 : 0);
+                if (outcomeCount >= minimumCalls
+                        && (failureCount * 100.0 / outcomeCount >= failureRateThreshold
+                        || slowCount * 100.0 / outcomeCount >= slowCallRateThreshold)) {
+                    log.warn("🔌 Gemini 서킷 브레이커 열림 - 최근 {}건 중 실패: {}건, 느린 호출: {}건",
+                            outcomeCount, failureCount, slowCount);
+                    transition = open();
+                }
+            }
+        }
+
+        if (transition != null) {
+            onTransition(transition);
+        }
+    }
+
+    /**
+     * 허가받았지만 Gemini를 호출하지 못한 요청(호출 스케줄러 거절 등)의 허가를 반환합니다.
+     * 결과로 기록하지 않으며, 반열림 상태면 시험 호출 기회를 되돌려 다른 요청이 사용할 수 있게 합니다.
+     */
+    public void releasePermission() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+                halfOpenPermitted--;
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private State open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        return state;
+    }
+
+    private State close() {
+        state = State.CLOSED;
+        outcomeCount = 0;
+        nextOutcome = 0;
+        failureCount = 0;
+        slowCount = 0;
+        return state;
+    }
+
+    private void record(int outcome) {
+        if (outcomeCount == outcomes.length) {
+            // 가장 오래된 결과를 윈도우에서 제외
+            int evicted = outcomes[nextOutcome];
+            failureCount -= evicted == 1 ? 1 : 0;
+            slowCount -= evicted == 2 ? 1 : 0;
+        } else {
+            outcomeCount++;
+        }
+        outcomes[nextOutcome] = (byte) outcome;
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+        failureCount += outcome == 1 ? 1 : 0;
+        slowCount += outcome == 2 ? 1 : 0;
+    }
+
+    private void onTransition(State newState) {
+        log.info("🔌 Gemini 서킷 브레이커 상태 변경 - State: {}", newState);
+        Counter.builder("gemini.circuit-breaker.transitions")
+                .description("Gemini 서킷 브레이커 상태 변경 수")
+                .tag("state", newState.name())
+                .register(meterRegistry)
+                .increment();
+        listeners.forEach(listener -> listener.onStateChanged(newState));
+    }
+}
@@ -0,0 +1,379 @@
+package com.mediaservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mediaservice.service.PromptTemplateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gemini 컨텍스트 캐시 (cachedContents) 관리자 (gemini.client.mode=http)
+ *
+ * PromptTemplateService의 프롬프트 종류별 고정 머리말을 제공자 측 캐시(cachedContents)에 등록해 두고,
+ * 머리말로 시작하는 프롬프트에 대해 캐시 이름과 나머지 뒷부분을 돌려줍니다.
+ * Gemini 클라이언트는 캐시 이름을 cachedContent로 지정하고 뒷부분만 전송하므로
+ * 과금되는 입력 토큰 수와 첫 토큰까지의 시간이 줄어듭니다.
+ *
+ * 등록과 갱신은 호출 스레드를 막지 않도록 비동기로 진행하며, 등록이 끝나기 전 호출은 전체 프롬프트를 그대로 보냅니다.
+ * 만료 시각(refresh-before-seconds 전)이 다가오면 TTL을 연장하고, 연장에 실패하면 새로 등록합니다.
+ * min-prefix-tokens(모델별 최소 캐시 크기, Gemini 1.5 Flash는 32,768 토큰)보다 짧은 머리말은 등록하지 않습니다.
+ * 켜져 있어도 기준을 넘는 머리말이 하나도 없으면 기동 시 경고를 남기고 캐시를 사용하지 않습니다.
+ * (현재 머리말은 수백 토큰 수준이라 1.5 Flash 기준으로는 등록 대상이 없음 - 최소 크기가 작은 모델에서만 효과)
+ * 제공자가 요청 자체를 거절하면(400, 최소 크기 미달 등) 그 머리말은 더 이상 등록하지 않고, 그 밖의 실패는 잠시 후 다시 시도합니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gemini.client.mode", havingValue = "http")
+public class GeminiContextCache {
+
+    private static final String API_KEY_HEADER = "x-goog-api-key";
+
+    /**
+     * 만료 직전의 캐시를 참조하지 않도록 두는 여유 시간
+     */
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(10);
+
+    /**
+     * 등록에 실패한 머리말을 다시 등록하기까지 기다리는 시간
+     */
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(60);
+
+    /**
+     * 로그에 남기는 거절 응답 본문의 최대 글자 수
+     */
+    private static final int REJECTION_BODY_LOG_LENGTH = 200;
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final URI cachedContentsUri;
+    private final String baseUrl;
+    private final String apiKey;
+    private final String modelName;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration refreshBefore;
+    private final List<Entry> entries;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public GeminiContextCache(ObjectMapper objectMapper,
+                              PromptTemplateService promptTemplateService,
+                              MeterRegistry meterRegistry,
+                              @Value("${gemini.http.base-url:https://generativelanguage.googleapis.com/v1beta}") String baseUrl,
+                              @Value("${gemini.api.key:mock-api-key}") String apiKey,
+                              @Value("${gemini.model.name:gemini-1.5-flash}") String modelName,
+                              @Value("${gemini.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+                              @Value("${gemini.http.context-cache.enabled:false}") boolean enabled,
+                              @Value("${gemini.http.context-cache.ttl-seconds:3600}") long ttlSeconds,
+                              @Value("${gemini.http.context-cache.refresh-before-seconds:300}") long refreshBeforeSeconds,
+                              @Value("${gemini.http.context-cache.min-prefix-tokens:32768}") int minPrefixTokens) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = stripTrailingSlash(baseUrl);
+        this.cachedContentsUri = URI.create(this.baseUrl + "/cachedContents");
+        this.apiKey = apiKey;
+        this.modelName = modelName;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.refreshBefore = Duration.ofSeconds(Math.min(refreshBeforeSeconds, ttlSeconds / 2));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        List<String> prefixes = promptTemplateService.getStablePrefixes();
+        this.entries = prefixes.stream()
+                .filter(prefix -> PromptTokenEstimator.estimate(prefix) >= minPrefixTokens)
+                .map(Entry::new)
+                .toList();
+        this.enabled = enabled && !entries.isEmpty();
+        this.hitCounter = requestCounter("hit");
+        this.missCounter = requestCounter("miss");
+
+        if (enabled && entries.isEmpty()) {
+            int largestPrefixTokens = prefixes.stream().mapToInt(PromptTokenEstimator::estimate).max().orElse(0);
+            log.warn("⚠️ Gemini 컨텍스트 캐시가 켜져 있지만 최소 캐시 크기를 넘는 머리말이 없어 사용하지 않음 - "
+                            + "Model: {}, 최소: {} 토큰, 가장 긴 머리말: 약 {} 토큰",
+                    modelName, minPrefixTokens, largestPrefixTokens);
+        }
+
+        log.info("🔧 Gemini 컨텍스트 캐시 설정 완료 - Enabled: {}, TTL: {}s, Refresh Before: {}s, 등록 대상 머리말: {}/{}개",
+                enabled, ttlSeconds, refreshBefore.toSeconds(), entries.size(), prefixes.size());
+    }
+
+    /**
+     * 켜져 있고 등록 대상 머리말이 하나 이상 있으면 true
+     */
+    public boolean isActive() {
+        return enabled;
+    }
+
+    /**
+     * 프롬프트가 등록된 고정 머리말로 시작하면 캐시 이름과 뒷부분을 반환합니다.
+     * 캐시가 아직 없거나 만료가 다가오면 백그라운드에서 등록/갱신을 시작합니다.
+     *
+     * @return 캐시를 사용할 수 없으면 null (전체 프롬프트를 그대로 전송)
+     */
+    public CachedPrompt lookup(String prompt) {
+        if (!enabled || prompt == null) {
+            return null;
+        }
+        for (Entry entry : entries) {
+            if (!prompt.startsWith(entry.prefix)) {
+                continue;
+            }
+            if (entry.rejected) {
+                return null;
+            }
+            String cachedContentName = entry.use(Instant.now());
+            if (cachedContentName == null) {
+                missCounter.increment();
+                return null;
+            }
+            hitCounter.increment();
+            return new CachedPrompt(cachedContentName, prompt.substring(entry.prefix.length()));
+        }
+        return null;
+    }
+
+    /**
+     * 제공자가 캐시를 찾지 못했다고 응답한 경우(삭제/만료) 해당 캐시를 버리고 다음 호출에서 다시 등록합니다.
+     */
+    public void invalidate(String cachedContentName) {
+        for (Entry entry : entries) {
+            if (entry.invalidate(cachedContentName)) {
+                log.warn("🗑️ Gemini 컨텍스트 캐시 무효화 - Name: {}", cachedContentName);
+            }
+        }
+    }
+
+    private CompletableFuture<JsonNode> create(String prefix) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", "models/" + modelName);
+        ObjectNode content = body.putArray("contents").addObject();
+        content.put("role", "user");
+        content.putArray("parts").addObject().put("text", prefix);
+        body.put("ttl", ttl.toSeconds() + "s");
+        return send(HttpRequest.newBuilder(cachedContentsUri)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(toBytes(body))));
+    }
+
+    private CompletableFuture<JsonNode> extend(String cachedContentName) {
+        ObjectNode body = objectMapper.createObjectNode().put("ttl", ttl.toSeconds() + "s");
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + cachedContentName + "?updateMask=ttl"))
+                .method("PATCH", HttpRequest.BodyPublishers.ofByteArray(toBytes(body))));
+    }
+
+    private CompletableFuture<JsonNode> send(HttpRequest.Builder builder) {
+        HttpRequest request = builder
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header(API_KEY_HEADER, apiKey)
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        throw new CacheRequestException(response.statusCode(), response.body());
+                    }
+                    try {
+                        return objectMapper.readTree(response.body());
+                    } catch (JsonProcessingException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private byte[] toBytes(ObjectNode body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 응답의 expireTime을 읽고, 없거나 읽을 수 없으면 요청한 TTL로 계산합니다.
+     */
+    private Instant expireTime(JsonNode response, Instant requestedAt) {
+        JsonNode expireTime = response.path("expireTime");
+        if (expireTime.isTextual()) {
+            try {
+                return Instant.parse(expireTime.asText());
+            } catch (DateTimeParseException e) {
+                log.warn("⚠️ Gemini 컨텍스트 캐시 만료 시각 파싱 실패 - Value: {}", expireTime.asText());
+            }
+        }
+        return requestedAt.plus(ttl);
+    }
+
+    private Counter requestCounter(String result) {
+        return Counter.builder("gemini.context-cache.requests")
+                .description("고정 머리말로 시작하는 Gemini 호출 중 컨텍스트 캐시를 사용한(hit)/사용하지 못한(miss) 호출 수")
+                .tag("model", modelName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void recordUpdate(String result) {
+        Counter.builder("gemini.context-cache.updates")
+                .description("Gemini 컨텍스트 캐시 등록/갱신 결과")
+                .tag("model", modelName)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * 컨텍스트 캐시 요청 실패 응답
+     */
+    private static final class CacheRequestException extends IllegalStateException {
+
+        private final int statusCode;
+        private final String responseBody;
+
+        CacheRequestException(int statusCode, String responseBody) {
+            super("Gemini 컨텍스트 캐시 요청 실패 - Status: " + statusCode);
+            this.statusCode = statusCode;
+            this.responseBody = responseBody;
+        }
+
+        /**
+         * 다시 보내도 같은 결과가 나오는 거절인지 여부 (400: 최소 크기 미달, 지원하지 않는 모델 등)
+         */
+        boolean isPermanent() {
+            return statusCode == 400;
+        }
+
+        String responseBodySnippet() {
+            return responseBody == null || responseBody.length() <= REJECTION_BODY_LOG_LENGTH
+                    ? responseBody : responseBody.substring(0, REJECTION_BODY_LOG_LENGTH) + "…";
+        }
+    }
+
+    /**
+     * 캐시를 사용한 프롬프트
+     *
+     * @param cachedContentName 요청의 cachedContent로 지정할 캐시 이름 (cachedContents/...)
+     * @param suffix 고정 머리말을 제외한 뒷부분 (contents로 전송)
+     */
+    public record CachedPrompt(String cachedContentName, String suffix) {
+    }
+
+    /**
+     * 고정 머리말 하나의 캐시 상태 (등록/갱신은 한 번에 하나만 진행)
+     */
+    private final class Entry {
+
+        private final String prefix;
+        private final AtomicBoolean updating = new AtomicBoolean();
+        private volatile String cachedContentName;
+        private volatile Instant expiresAt = Instant.MIN;
+        private volatile Instant retryAt = Instant.MIN;
+        private volatile boolean rejected;
+
+        Entry(String prefix) {
+            this.prefix = prefix;
+        }
+
+        /**
+         * 사용할 수 있는 캐시 이름을 반환하고, 필요하면 등록/갱신을 시작합니다.
+         */
+        String use(Instant now) {
+            String name = cachedContentName;
+            boolean usable = name != null && now.isBefore(expiresAt.minus(EXPIRY_MARGIN));
+            if (!usable) {
+                if (now.isAfter(retryAt)) {
+                    update(null, now);
+                }
+                return null;
+            }
+            if (now.isAfter(expiresAt.minus(refreshBefore))) {
+                update(name, now);
+            }
+            return name;
+        }
+
+        boolean invalidate(String name) {
+            if (name == null || !name.equals(cachedContentName)) {
+                return false;
+            }
+            cachedContentName = null;
+            expiresAt = Instant.MIN;
+            return true;
+        }
+
+        /**
+         * 기존 캐시가 있으면 TTL을 연장하고(실패하면 새로 등록), 없으면 새로 등록합니다.
+         */
+        private void update(String existingName, Instant now) {
+            if (!updating.compareAndSet(false, true)) {
+                return;
+            }
+            CompletableFuture<JsonNode> request = existingName != null
+                    ? extend(existingName).exceptionallyCompose(error -> {
+                        log.warn("⚠️ Gemini 컨텍스트 캐시 TTL 연장 실패 - 새로 등록 - Name: {}, Error: {}",
+                                existingName, error.getMessage());
+                        return create(prefix);
+                    })
+                    : create(prefix);
+            request.whenComplete((response, error) -> {
+                try {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    if (cause instanceof CacheRequestException rejection && rejection.isPermanent()) {
+                        rejected = true;
+                        cachedContentName = null;
+                        recordUpdate("rejected");
+                        log.warn("🚫 Gemini 컨텍스트 캐시 등록 거절 - 이 머리말은 더 이상 등록하지 않음 - 머리말 추정 토큰: {}, 응답: {}",
+                                PromptTokenEstimator.estimate(prefix), rejection.responseBodySnippet());
+                        return;
+                    }
+                    if (error != null) {
+                        retryAt = Instant.now().plus(RETRY_DELAY);
+                        recordUpdate("failed");
+                        log.warn("⚠️ Gemini 컨텍스트 캐시 등록 실패 - 전체 프롬프트로 호출 - Error: {}", error.getMessage());
+                        return;
+                    }
+                    String name = response.path("name").asText(null);
+                    if (name == null) {
+                        retryAt = Instant.now().plus(RETRY_DELAY);
+                        recordUpdate("failed");
+                        log.warn("⚠️ Gemini 컨텍스트 캐시 응답에 이름이 없음");
+                        return;
+                    }
+                    expiresAt = expireTime(response, now);
+                    cachedContentName = name;
+                    recordUpdate(name.equals(existingName) ? "extended" : "created");
+                    log.info("🗂️ Gemini 컨텍스트 캐시 {} - Name: {}, 만료: {}",
+                            name.equals(existingName) ? "TTL 연장" : "등록", name, expiresAt);
+                } finally {
+                    updating.set(false);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.mediaservice.service.impl;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Gemini 호출 Future 유틸리티
+ */
+final class GeminiFutures {
+
+    private GeminiFutures() {
+    }
+
+    /**
+     * 후속 단계 Future가 취소되면 원래 Future도 취소합니다.
+     * (thenApply/handle/whenComplete로 만든 Future를 취소해도 원래 작업은 취소되지 않으므로,
+     * 헤지에서 진 호출처럼 더 이상 필요 없는 호출의 HTTP 요청까지 중단되도록 전달)
+     * HttpClient.sendAsync가 반환한 Future는 cancel(true)로 취소하면 진행 중인 요청을 중단합니다.
+     *
+     * @return dependent
+     */
+    static <T> CompletableFuture<T> propagateCancellation(CompletableFuture<T> dependent, CompletableFuture<?> source) {
+        dependent.whenComplete((result, error) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+}
@@ -0,0 +1,194 @@
+package com.mediaservice.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 헤지 요청 정책 (모델별 응답 시간 분포 + 헤지 예산)
+ *
+ * 모델 이름별로 최근 호출의 응답 시간(윈도우 크기만큼)을 기록하고,
+ * 취소되거나 실패한 호출은 그때까지의 경과 시간을 하한값으로 함께 기록합니다.
+ * (헤지에 져서 취소된 느린 호출을 빼면 분포가 빠른 응답 쪽으로 치우쳐 헤지가 점점 일찍 발행됨)
+ * 설정된 백분위(기본 p90)를 헤지 요청 발행 시점으로 사용합니다. 표본이 최소 개수보다 적으면 헤지하지 않습니다.
+ * 헤지 예산은 요청마다 max-hedge-percent / 100 만큼 쌓이고 헤지 1건마다 1씩 차감되므로,
+ * 헤지 요청 수는 전체 요청 수의 설정 비율을 넘지 않습니다.
+ */
+@Slf4j
+@Component
+public class GeminiHedgePolicy {
+
+    // 한 번에 몰아서 발행할 수 있는 최대 헤지 수
+    private static final double MAX_HEDGE_BURST = 10.0;
+    private static final int RECOMPUTE_INTERVAL = 10;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final double hedgeRatio;
+    private final int minSamples;
+    private final int windowSize;
+    private final long minDelayNanos;
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private double hedgeBudget;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter launchedCounter;
+    private final Counter wonCounter;
+    private final Counter skippedCounter;
+
+    public GeminiHedgePolicy(@Value("${gemini.hedge.enabled:false}") boolean enabled,
+                             @Value("${gemini.hedge.percentile:90}") double percentile,
+                             @Value("${gemini.hedge.max-hedge-percent:5}") double maxHedgePercent,
+                             @Value("${gemini.hedge.min-samples:20}") int minSamples,
+                             @Value("${gemini.hedge.window-size:200}") int windowSize,
+                             @Value("${gemini.hedge.min-delay-ms:500}") long minDelayMs,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = Math.max(0, Math.min(100, percentile));
+        this.hedgeRatio = Math.max(0, maxHedgePercent) / 100.0;
+        this.windowSize = Math.max(1, windowSize);
+        this.minSamples = Math.max(1, Math.min(minSamples, this.windowSize));
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.meterRegistry = meterRegistry;
+        this.launchedCounter = hedgeCounter("launched");
+        this.wonCounter = hedgeCounter("won");
+        this.skippedCounter = hedgeCounter("skipped");
+
+        log.info("🔧 Gemini 헤지 요청 설정 완료 - Enabled: {}, Percentile: p{}, Max Hedge: {}%, Min Samples: {}, Min Delay: {}ms",
+                enabled, percentile, maxHedgePercent, this.minSamples, minDelayMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 성공한 호출의 응답 시간을 모델별로 기록합니다.
+     */
+    public void recordLatency(String model, long durationNanos) {
+        windows.computeIfAbsent(model, key -> new LatencyWindow(windowSize)).record(durationNanos);
+        latencyTimers.computeIfAbsent(model, key -> Timer.builder("gemini.call.latency")
+                        .description("Gemini API 호출 응답 시간 (성공한 호출)")
+                        .tag("model", key)
+                        .publishPercentiles(0.5, 0.9, 0.99)
+                        .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 취소되거나 실패해 응답 시간을 알 수 없는 호출의 경과 시간을 하한값으로 기록합니다.
+     * (백분위 계산용 분포에만 넣고, 성공한 호출의 응답 시간 지표에는 넣지 않음)
+     */
+    public void recordCensoredLatency(String model, long elapsedNanos) {
+        windows.computeIfAbsent(model, key -> new LatencyWindow(windowSize)).record(elapsedNanos);
+    }
+
+    /**
+     * 요청 1건이 시작될 때 호출하여 헤지 예산을 쌓습니다.
+     */
+    public synchronized void onRequest() {
+        if (enabled) {
+            hedgeBudget = Math.min(MAX_HEDGE_BURST, hedgeBudget + hedgeRatio);
+        }
+    }
+
+    /**
+     * 헤지 요청을 발행할 시점(호출 시작 후 경과 시간)을 반환합니다.
+     *
+     * @return 모델의 응답 시간 백분위 (최소 지연 이상), 헤지 비활성화 또는 표본 부족이면 -1
+     */
+    public long hedgeDelayNanos(String model) {
+        if (!enabled) {
+            return -1;
+        }
+        LatencyWindow window = windows.get(model);
+        long threshold = window != null ? window.percentile(percentile, minSamples) : -1;
+        return threshold < 0 ? -1 : Math.max(threshold, minDelayNanos);
+    }
+
+    /**
+     * 헤지 예산에서 1건을 차감합니다.
+     *
+     * @return 예산이 남아 있으면 true
+     */
+    public synchronized boolean tryAcquireHedge() {
+        if (hedgeBudget < 1.0) {
+            skippedCounter.increment();
+            return false;
+        }
+        hedgeBudget -= 1.0;
+        return true;
+    }
+
+    /**
+     * 예산을 차감했지만 호출 한도 때문에 헤지하지 못한 경우 예산을 돌려줍니다.
+     */
+    public synchronized void refundHedge() {
+        hedgeBudget = Math.min(MAX_HEDGE_BURST, hedgeBudget + 1.0);
+        skippedCounter.increment();
+    }
+
+    public void onHedgeLaunched() {
+        launchedCounter.increment();
+    }
+
+    public void onHedgeWon() {
+        wonCounter.increment();
+    }
+
+    private Counter hedgeCounter(String result) {
+        return Counter.builder("gemini.hedge.requests")
+                .description("Gemini 헤지 요청 수 (launched: 발행, won: 원 요청보다 먼저 완료, skipped: 예산/한도 부족)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 최근 응답 시간 링 버퍼 (백분위는 일정 개수의 표본이 새로 쌓일 때마다 다시 계산)
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples;
+        private int count;
+        private int next;
+        private int sinceComputed;
+        private long cachedPercentile = -1;
+        private double cachedFor = -1;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long durationNanos) {
+            samples[next] = durationNanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            sinceComputed++;
+        }
+
+        synchronized long percentile(double percentile, int minSamples) {
+            if (count < minSamples) {
+                return -1;
+            }
+            if (cachedPercentile < 0 || cachedFor != percentile || sinceComputed >= RECOMPUTE_INTERVAL) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+                cachedPercentile = sorted[Math.max(0, Math.min(index, count - 1))];
+                cachedFor = percentile;
+                sinceComputed = 0;
+            }
+            return cachedPercentile;
+        }
+    }
+}
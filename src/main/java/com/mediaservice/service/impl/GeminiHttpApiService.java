@@ -0,0 +1,401 @@
+package com.mediaservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.GeminiApiService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Gemini REST API 클라이언트 (gemini.client.mode=http)
+ *
+ * 하나의 java.net.http.HttpClient를 공유하여 HTTP/2 연결을 재사용(keep-alive, 멀티플렉싱)하고,
+ * 응답을 기다리는 동안 호출 스레드를 점유하지 않도록 비동기로 전송합니다.
+ * 연결 유지 시간은 JDK 시스템 속성(jdk.httpclient.keepalive.timeout)을 따릅니다.
+ *
+ * 429/5xx/타임아웃은 재시도 가능, 그 밖의 4xx는 재시도 불가 예외로 변환됩니다.
+ *
+ * 스트리밍 모드(gemini.http.streaming=true)에서는 streamGenerateContent의 SSE 스트림을 줄 단위로 받아
+ * 추천 항목이 완성되는 즉시 콜백으로 넘깁니다. (중간 버퍼링을 막기 위해 스트리밍 요청은 gzip을 요청하지 않음)
+ *
+ * 구조화된 출력 모드(gemini.http.structured-output=true)에서는 MediaRecommendation 필드로 만든 응답 스키마를
+ * generationConfig에 지정하여 JSON 본문만 받고, 코드 블록 추출 없이 바로 파싱합니다.
+ * 모델이 스키마를 따르지 않은 응답은 기존 코드 블록 추출 방식으로 다시 파싱합니다.
+ *
+ * 컨텍스트 캐시(gemini.http.context-cache.enabled=true)에 등록된 고정 머리말로 시작하는 프롬프트는
+ * cachedContent로 캐시 이름을 지정하고 뒷부분만 전송합니다. 캐시를 찾지 못한 4xx 응답은 캐시를 무효화하고
+ * 재시도 가능 예외로 변환하여 다음 시도에서 전체 프롬프트로 호출되게 합니다.
+ */
+@Slf4j
+@Service("geminiApiClient")
+@ConditionalOnProperty(name = "gemini.client.mode", havingValue = "http")
+public class GeminiHttpApiService implements GeminiApiService {
+
+    private static final String API_KEY_HEADER = "x-goog-api-key";
+
+    private final ObjectMapper objectMapper;
+    private final GeminiResponseParser responseParser;
+    private final MeterRegistry meterRegistry;
+    private final GeminiContextCache contextCache;
+    private final HttpClient httpClient;
+    private final URI generateContentUri;
+    private final URI streamGenerateContentUri;
+    private final String apiKey;
+    private final String modelName;
+    private final Duration readTimeout;
+    private final boolean gzipEnabled;
+    private final boolean streamingEnabled;
+    private final ObjectNode generationConfig;
+    private final Counter structuredOutputFallbackCounter;
+
+    public GeminiHttpApiService(ObjectMapper objectMapper,
+                                GeminiResponseParser responseParser,
+                                MeterRegistry meterRegistry,
+                                GeminiContextCache contextCache,
+                                @Value("${gemini.http.base-url:https://generativelanguage.googleapis.com/v1beta}") String baseUrl,
+                                @Value("${gemini.api.key:mock-api-key}") String apiKey,
+                                @Value("${gemini.model.name:gemini-1.5-flash}") String modelName,
+                                @Value("${gemini.http.connect-timeout-ms:3000}") long connectTimeoutMs,
+                                @Value("${gemini.http.read-timeout-ms:30000}") long readTimeoutMs,
+                                @Value("${gemini.http.gzip:true}") boolean gzipEnabled,
+                                @Value("${gemini.http.streaming:false}") boolean streamingEnabled,
+                                @Value("${gemini.http.structured-output:false}") boolean structuredOutput) {
+        this.objectMapper = objectMapper;
+        this.responseParser = responseParser;
+        this.meterRegistry = meterRegistry;
+        this.contextCache = contextCache;
+        this.apiKey = apiKey;
+        this.modelName = modelName;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.gzipEnabled = gzipEnabled;
+        this.streamingEnabled = streamingEnabled;
+        this.generationConfig = structuredOutput ? buildGenerationConfig(objectMapper) : null;
+        this.structuredOutputFallbackCounter = Counter.builder("gemini.structured-output.fallback")
+                .description("응답 스키마를 따르지 않아 코드 블록 추출로 다시 파싱한 응답 수")
+                .tag("model", modelName)
+                .register(meterRegistry);
+        String modelUrl = stripTrailingSlash(baseUrl) + "/models/" + modelName;
+        this.generateContentUri = URI.create(modelUrl + ":generateContent");
+        this.streamGenerateContentUri = URI.create(modelUrl + ":streamGenerateContent?alt=sse");
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        log.info("🔧 Gemini HTTP 클라이언트 설정 완료 - Endpoint: {}, Connect Timeout: {}ms, Read Timeout: {}ms, Gzip: {}, Streaming: {}, Structured Output: {}",
+                generateContentUri, connectTimeoutMs, readTimeoutMs, gzipEnabled, streamingEnabled, structuredOutput);
+    }
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(String prompt) {
+        try {
+            return generateRecommendationsAsync(prompt).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RetryableRecommendationException("Gemini API 호출 실패", e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(String prompt) {
+        if (streamingEnabled) {
+            return streamRecommendations(prompt, recommendation -> { });
+        }
+        
+        GeminiContextCache.CachedPrompt cachedPrompt = contextCache.lookup(prompt);
+        HttpRequest request = buildRequest(generateContentUri, prompt, cachedPrompt, gzipEnabled);
+        long startedAt = System.nanoTime();
+        log.debug("🤖 Gemini API 비동기 호출 시작 - Model: {}, Context Cache: {}", modelName, cachedPrompt != null);
+
+        CompletableFuture<HttpResponse<byte[]>> exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        return GeminiFutures.propagateCancellation(exchange.handle((response, error) -> {
+            if (error != null) {
+                recordLatency(startedAt, "error");
+                throw toRecommendationException(error);
+            }
+            recordLatency(startedAt, String.valueOf(response.statusCode()));
+            return handleResponse(response, cachedPrompt);
+        }), exchange);
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(String prompt, 
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        if (!streamingEnabled) {
+            return GeminiApiService.super.streamRecommendations(prompt, onRecommendation);
+        }
+        
+        GeminiContextCache.CachedPrompt cachedPrompt = contextCache.lookup(prompt);
+        HttpRequest request = buildRequest(streamGenerateContentUri, prompt, cachedPrompt, false);
+        long startedAt = System.nanoTime();
+        log.debug("🤖 Gemini API 스트리밍 호출 시작 - Model: {}, Context Cache: {}", modelName, cachedPrompt != null);
+        
+        HttpResponse.BodyHandler<List<MediaRecommendation>> bodyHandler = responseInfo -> {
+            int status = responseInfo.statusCode();
+            if (status != 200) {
+                return HttpResponse.BodySubscribers.mapping(
+                        HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                        body -> {
+                            throw statusException(status, body, cachedPrompt);
+                        });
+            }
+            StreamingRecommendationParser parser = responseParser.newStreamingParser(
+                    firstItemRecorder(startedAt).andThen(onRecommendation));
+            return HttpResponse.BodySubscribers.fromLineSubscriber(
+                    new ServerSentEventSubscriber(parser), ServerSentEventSubscriber::finish, StandardCharsets.UTF_8, null);
+        };
+        
+        CompletableFuture<HttpResponse<List<MediaRecommendation>>> exchange = httpClient.sendAsync(request, bodyHandler);
+        return GeminiFutures.propagateCancellation(exchange.handle((response, error) -> {
+            if (error != null) {
+                recordLatency(startedAt, "error");
+                throw toRecommendationException(error);
+            }
+            recordLatency(startedAt, String.valueOf(response.statusCode()));
+            log.info("✅ Gemini API 스트리밍 호출 완료 - Model: {}, 추천 개수: {}", modelName, response.body().size());
+            return response.body();
+        }), exchange);
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    private HttpRequest buildRequest(URI uri, String prompt, GeminiContextCache.CachedPrompt cachedPrompt, boolean acceptGzip) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(readTimeout)
+                .header("Content-Type", "application/json")
+                .header(API_KEY_HEADER, apiKey)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(buildRequestBody(prompt, cachedPrompt)));
+        if (acceptGzip) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        return builder.build();
+    }
+
+    /**
+     * 캐시된 머리말이 있으면 cachedContent로 지정하고 contents에는 뒷부분만 넣습니다.
+     */
+    private byte[] buildRequestBody(String prompt, GeminiContextCache.CachedPrompt cachedPrompt) {
+        ObjectNode body = objectMapper.createObjectNode();
+        if (cachedPrompt != null) {
+            body.put("cachedContent", cachedPrompt.cachedContentName());
+        }
+        ObjectNode content = body.putArray("contents").addObject();
+        content.put("role", "user");
+        content.putArray("parts").addObject().put("text", cachedPrompt != null ? cachedPrompt.suffix() : prompt);
+        if (generationConfig != null) {
+            body.set("generationConfig", generationConfig);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new NonRetryableRecommendationException("Gemini 요청 본문 생성 실패", e);
+        }
+    }
+
+    private List<MediaRecommendation> handleResponse(HttpResponse<byte[]> response, GeminiContextCache.CachedPrompt cachedPrompt) {
+        int status = response.statusCode();
+        String body = decodeBody(response);
+
+        if (status >= 400) {
+            throw statusException(status, body, cachedPrompt);
+        }
+
+        String candidateText = responseParser.extractCandidateText(body);
+        List<MediaRecommendation> recommendations = parseCandidateText(candidateText);
+        log.info("✅ Gemini API 호출 완료 - Model: {}, 추천 개수: {}", modelName, recommendations.size());
+        return recommendations;
+    }
+
+    /**
+     * 구조화된 출력 모드이면 JSON 본문을 바로 파싱하고, 스키마를 따르지 않은 응답은 코드 블록 추출로 다시 파싱합니다.
+     */
+    private List<MediaRecommendation> parseCandidateText(String candidateText) {
+        if (generationConfig != null) {
+            List<MediaRecommendation> recommendations = responseParser.parseJsonRecommendations(candidateText);
+            if (recommendations != null) {
+                return recommendations;
+            }
+            structuredOutputFallbackCounter.increment();
+            log.warn("⚠️ Gemini 응답이 응답 스키마를 따르지 않음 - 코드 블록 추출로 파싱 - Model: {}", modelName);
+        }
+        return responseParser.parseRecommendations(candidateText);
+    }
+
+    /**
+     * JSON 본문만 생성하도록 응답 MIME 타입과 추천 응답 스키마를 지정합니다.
+     */
+    private static ObjectNode buildGenerationConfig(ObjectMapper objectMapper) {
+        ObjectNode config = objectMapper.createObjectNode();
+        config.put("responseMimeType", "application/json");
+        config.set("responseSchema", GeminiResponseSchema.recommendations(objectMapper));
+        return config;
+    }
+
+    private RuntimeException statusException(int status, String body, GeminiContextCache.CachedPrompt cachedPrompt) {
+        if (cachedPrompt != null && status >= 400 && status < 500 && status != 429) {
+            // 캐시가 삭제/만료된 경우 - 캐시를 버리고 다음 시도에서 전체 프롬프트로 호출
+            contextCache.invalidate(cachedPrompt.cachedContentName());
+            log.warn("⚠️ Gemini 컨텍스트 캐시 사용 요청 실패 - Status: {}, Cache: {}, Body: {}",
+                    status, cachedPrompt.cachedContentName(), abbreviate(body));
+            return new RetryableRecommendationException("Gemini 컨텍스트 캐시 사용 요청 실패 - Status: " + status);
+        }
+        if (status == 429 || status >= 500) {
+            log.warn("⚠️ Gemini API 일시적 오류 - Status: {}, Body: {}", status, abbreviate(body));
+            return new RetryableRecommendationException("Gemini API 일시적 오류 - Status: " + status);
+        }
+        log.error("❌ Gemini API 요청 오류 - Status: {}, Body: {}", status, abbreviate(body));
+        return new NonRetryableRecommendationException("Gemini API 요청 오류 - Status: " + status);
+    }
+
+    private String decodeBody(HttpResponse<byte[]> response) {
+        byte[] bytes = response.body();
+        boolean gzipped = response.headers().firstValue("Content-Encoding")
+                .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+                .orElse(false);
+        if (!gzipped) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gemini 응답 gzip 해제 실패", e);
+        }
+    }
+
+    private RuntimeException toRecommendationException(Throwable error) {
+        // 응답 처리 중 이미 분류된 예외는 그대로 전달 (BodySubscriber 예외는 IOException 등으로 감싸질 수 있음)
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof RetryableRecommendationException 
+                    || current instanceof NonRetryableRecommendationException) {
+                return (RuntimeException) current;
+            }
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException) {
+            log.warn("⏱️ Gemini API 응답 시간 초과 - Timeout: {}ms", readTimeout.toMillis());
+            return new RetryableRecommendationException("Gemini API 응답 시간 초과", cause);
+        }
+        log.warn("⚠️ Gemini API 연결 오류 - Error: {}", cause.getMessage());
+        return new RetryableRecommendationException("Gemini API 연결 오류", cause);
+    }
+
+    private Consumer<MediaRecommendation> firstItemRecorder(long startedAt) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        return recommendation -> {
+            if (first.compareAndSet(true, false)) {
+                Timer.builder("gemini.api.time-to-first-recommendation")
+                        .description("스트리밍 호출 시작부터 첫 추천 항목 완성까지의 시간")
+                        .tag("model", modelName)
+                        .register(meterRegistry)
+                        .record(Duration.ofNanos(System.nanoTime() - startedAt));
+            }
+        };
+    }
+
+    private void recordLatency(long startedAt, String status) {
+        Timer.builder("gemini.api.latency")
+                .description("Gemini API HTTP 호출 지연 시간")
+                .tag("model", modelName)
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * SSE 스트림을 줄 단위로 받아 data 줄의 텍스트 조각을 증분 파서에 넘기는 Subscriber
+     * 처리 중 오류가 나면 남은 줄은 버리고, 스트림 종료 시(finish) 예외를 던집니다.
+     */
+    private class ServerSentEventSubscriber implements Flow.Subscriber<String> {
+
+        private final StreamingRecommendationParser parser;
+        private RuntimeException failure;
+        private boolean receivedText;
+
+        ServerSentEventSubscriber(StreamingRecommendationParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (failure != null || !line.startsWith("data:")) {
+                return;
+            }
+            try {
+                String fragment = responseParser.extractCandidateFragment(line.substring(5).trim());
+                receivedText |= !fragment.isEmpty();
+                parser.feed(fragment);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.warn("⚠️ Gemini API 스트림 수신 중 오류 - Error: {}", throwable.getMessage());
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        List<MediaRecommendation> finish() {
+            if (failure != null) {
+                throw failure;
+            }
+            if (!receivedText) {
+                throw new NonRetryableRecommendationException("Gemini 스트리밍 응답에 생성된 텍스트가 없음");
+            }
+            if (!parser.hasFoundArray()) {
+                log.warn("⚠️ 스트리밍 응답에서 recommendations 배열을 찾을 수 없음");
+            }
+            return parser.getRecommendations();
+        }
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 500 ? body.substring(0, 500) + "..." : body;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,210 @@
+package com.mediaservice.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 진행 중인 Gemini API 호출 수를 제한하는 Limiter
+ * 
+ * 최대 동시 호출 수를 넘는 요청은 허가를 얻을 때까지 대기합니다.
+ * 대기는 스레드를 막지 않는 Future로 하며(acquireAsync), 허가가 반환되면 가장 먼저 기다린 요청에 바로 넘겨줍니다. (FIFO)
+ * 진행 중인 호출 수가 pause 기준치에 도달하면 포화 상태가 되고,
+ * resume 기준치 이하로 떨어지면 포화 상태가 해제됩니다. (히스테리시스)
+ * 포화 상태 변경은 등록된 리스너(예: Kafka Consumer pause/resume)에 전달됩니다.
+ * 상태 변경과 리스너 알림은 하나의 락 안에서 현재 호출 수를 다시 확인한 뒤 수행하므로,
+ * pause 알림이 그 뒤의 resume 알림보다 늦게 전달되어 Consumer가 멈춘 채로 남지 않습니다.
+ */
+@Slf4j
+@Component
+public class GeminiInFlightLimiter {
+
+    /**
+     * 포화 상태 변경 리스너
+     */
+    public interface SaturationListener {
+        void onSaturationChanged(boolean saturated);
+    }
+
+    private final int maxInFlight;
+    private final int pauseWatermark;
+    private final int resumeWatermark;
+    private final Object permitLock = new Object();
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int availablePermits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<SaturationListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object saturationLock = new Object();
+    private volatile boolean saturated;
+
+    public GeminiInFlightLimiter(@Value("${gemini.in-flight.max:32}") int maxInFlight,
+                                 @Value("${gemini.in-flight.pause-watermark:28}") int pauseWatermark,
+                                 @Value("${gemini.in-flight.resume-watermark:16}") int resumeWatermark,
+                                 MeterRegistry meterRegistry) {
+        this.maxInFlight = maxInFlight;
+        this.pauseWatermark = Math.min(pauseWatermark, maxInFlight);
+        this.resumeWatermark = Math.min(resumeWatermark, this.pauseWatermark);
+        this.availablePermits = maxInFlight;
+        
+        Gauge.builder("gemini.in-flight.requests", inFlight, AtomicInteger::get)
+                .description("진행 중인 Gemini API 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("gemini.in-flight.utilization", this, GeminiInFlightLimiter::getUtilization)
+                .description("Gemini API 동시 호출 한도 대비 사용률 (0.0 ~ 1.0)")
+                .register(meterRegistry);
+        Gauge.builder("gemini.in-flight.waiting", this, GeminiInFlightLimiter::getWaiting)
+                .description("Gemini API 호출 허가를 기다리는 요청 수")
+                .register(meterRegistry);
+        
+        log.info("🔧 Gemini In-Flight Limiter 설정 완료 - Max: {}, Pause: {}, Resume: {}", 
+                maxInFlight, this.pauseWatermark, this.resumeWatermark);
+    }
+
+    public void addListener(SaturationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 호출 허가를 얻습니다. 한도에 도달한 경우 허가가 반환될 때까지 호출 스레드에서 대기합니다.
+     */
+    public void acquire() throws InterruptedException {
+        CompletableFuture<Void> permit = acquireAsync();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            // 대기를 취소하기 전에 이미 허가를 넘겨받았으면 반환
+            if (!permit.cancel(false)) {
+                release();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Gemini API 호출 허가 대기 실패", e.getCause());
+        }
+    }
+
+    /**
+     * 호출 허가를 스레드를 막지 않고 얻습니다.
+     * 바로 허가할 수 없으면 대기열에 들어가고, 앞선 호출이 허가를 반환할 때 반환된 Future가 완료됩니다.
+     * 허가를 받기 전에 Future를 취소하면 대기열에서 빠집니다.
+     *
+     * @return 허가되면 완료되는 Future (완료된 뒤에는 release()로 반환해야 함)
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> waiter;
+        synchronized (permitLock) {
+            if (waiters.isEmpty() && availablePermits > 0) {
+                availablePermits--;
+                waiter = null;
+            } else {
+                waiter = new CompletableFuture<>();
+                waiters.addLast(waiter);
+            }
+        }
+        if (waiter == null) {
+            onAcquired();
+            return CompletableFuture.completedFuture(null);
+        }
+        return waiter;
+    }
+
+    /**
+     * 대기 중인 요청이 없고 한도 안일 때만 바로 허가를 얻습니다. (대기하지 않음)
+     * 헤지 요청처럼 허가를 기다릴 가치가 없는 추가 호출이 대기 중인 요청보다 먼저 허가를 받지 않도록 공정성을 지킵니다.
+     *
+     * @return 허가되면 true (release()로 반환해야 함)
+     */
+    public boolean tryAcquire() {
+        synchronized (permitLock) {
+            if (!waiters.isEmpty() || availablePermits == 0) {
+                return false;
+            }
+            availablePermits--;
+        }
+        onAcquired();
+        return true;
+    }
+
+    /**
+     * 호출 허가를 반환합니다. 대기 중인 요청이 있으면 허가를 그 요청에 바로 넘겨줍니다.
+     */
+    public void release() {
+        onReleased();
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (permitLock) {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    availablePermits++;
+                    return;
+                }
+            }
+            // 대기자의 후속 작업이 complete 안에서 바로 실행되므로 호출 수를 먼저 늘려 둠
+            onAcquired();
+            if (next.complete(null)) {
+                return;
+            }
+            // 대기를 취소한 요청 - 다음 대기자에게 넘김
+            onReleased();
+        }
+    }
+
+    private void onAcquired() {
+        if (inFlight.incrementAndGet() >= pauseWatermark) {
+            updateSaturation();
+        }
+    }
+
+    private void onReleased() {
+        if (inFlight.decrementAndGet() <= resumeWatermark) {
+            updateSaturation();
+        }
+    }
+
+    /**
+     * 현재 호출 수로 포화 상태를 다시 판단하고, 바뀐 경우에만 리스너에 알립니다.
+     * 락 밖에서 본 호출 수와 포화 상태는 그 사이 다른 스레드의 acquire/release로 달라졌을 수 있으므로,
+     * 기준치를 넘은 스레드는 항상 락 안에서 다시 확인합니다. (마지막으로 확인한 스레드가 최종 호출 수를 반영)
+     */
+    private void updateSaturation() {
+        synchronized (saturationLock) {
+            int current = inFlight.get();
+            if (!saturated && current >= pauseWatermark) {
+                saturated = true;
+                log.warn("🚦 Gemini 동시 호출 포화 - 진행 중: {}/{}", current, maxInFlight);
+                listeners.forEach(listener -> listener.onSaturationChanged(true));
+            } else if (saturated && current <= resumeWatermark) {
+                saturated = false;
+                log.info("🟢 Gemini 동시 호출 포화 해제 - 진행 중: {}/{}", current, maxInFlight);
+                listeners.forEach(listener -> listener.onSaturationChanged(false));
+            }
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getWaiting() {
+        synchronized (permitLock) {
+            return waiters.size();
+        }
+    }
+
+    public double getUtilization() {
+        return (double) inFlight.get() / maxInFlight;
+    }
+
+    public boolean isSaturated() {
+        return saturated;
+    }
+}
@@ -0,0 +1,333 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.enums.LlmRequestPriority;
+import com.mediaservice.exception.GeminiAdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini API 호출 스케줄러 (요청 수/토큰 수 한도 + 우선순위 + 사용자 간 공정 대기열)
+ *
+ * 분당 요청 수(RPM)와 분당 추정 토큰 수(TPM)를 각각 토큰 버킷으로 제한합니다.
+ * 한도를 넘는 요청은 우선순위 클래스별 대기열에서 기다리며, 높은 우선순위 클래스가 항상 먼저 허가를 받습니다.
+ * 같은 우선순위 안에서는 사용자(공정 대기열 키)별 대기열을 라운드 로빈으로 돌아가며 처리하므로
+ * 요청을 많이 보내는 사용자가 있어도 다른 사용자의 요청이 밀리지 않습니다.
+ * 허가는 단일 디스패처 스레드에서 부여됩니다.
+ */
+@Slf4j
+@Component
+public class GeminiRequestScheduler {
+
+    private static final String DEFAULT_FAIRNESS_KEY = "";
+
+    private final boolean enabled;
+    private final TokenBucket requestBucket;
+    private final TokenBucket tokenBucket;
+    private final int expectedOutputTokens;
+    private final int maxQueueSize;
+    private final long maxWaitMs;
+
+    private final Map<LlmRequestPriority, LinkedHashMap<String, ArrayDeque<Ticket>>> queues = new EnumMap<>(LlmRequestPriority.class);
+    private final Map<LlmRequestPriority, Integer> queueSizes = new EnumMap<>(LlmRequestPriority.class);
+    private final ScheduledThreadPoolExecutor dispatcher;
+    private ScheduledFuture<?> pendingWakeUp;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<LlmRequestPriority, Timer> waitTimers = new EnumMap<>(LlmRequestPriority.class);
+    private final Map<LlmRequestPriority, DistributionSummary> promptTokenSummaries = new EnumMap<>(LlmRequestPriority.class);
+
+    public GeminiRequestScheduler(@Value("${gemini.rate-limit.enabled:true}") boolean enabled,
+                                  @Value("${gemini.rate-limit.requests-per-minute:60}") int requestsPerMinute,
+                                  @Value("${gemini.rate-limit.tokens-per-minute:1000000}") int tokensPerMinute,
+                                  @Value("${gemini.rate-limit.burst-seconds:10}") double burstSeconds,
+                                  @Value("${gemini.rate-limit.expected-output-tokens:1024}") int expectedOutputTokens,
+                                  @Value("${gemini.rate-limit.max-queue-size:1000}") int maxQueueSize,
+                                  @Value("${gemini.rate-limit.max-wait-ms:60000}") long maxWaitMs,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.requestBucket = new TokenBucket(requestsPerMinute, burstSeconds);
+        this.tokenBucket = new TokenBucket(tokensPerMinute, burstSeconds);
+        this.expectedOutputTokens = expectedOutputTokens;
+        this.maxQueueSize = maxQueueSize;
+        this.maxWaitMs = maxWaitMs;
+        this.meterRegistry = meterRegistry;
+        this.dispatcher = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "gemini-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 허가된 요청의 대기 시간 초과 작업은 취소 즉시 작업 큐에서 제거 (최대 대기 시간 동안 쌓이지 않도록)
+        this.dispatcher.setRemoveOnCancelPolicy(true);
+
+        for (LlmRequestPriority priority : LlmRequestPriority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+            queueSizes.put(priority, 0);
+            waitTimers.put(priority, Timer.builder("gemini.scheduler.wait")
+                    .description("Gemini API 호출 허가를 받기까지 대기한 시간")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+            promptTokenSummaries.put(priority, DistributionSummary.builder("gemini.prompt.tokens")
+                    .description("Gemini API 호출당 추정 프롬프트(입력) 토큰 수")
+                    .baseUnit("tokens")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+            Gauge.builder("gemini.scheduler.queue.size", this, scheduler -> scheduler.getQueueSize(priority))
+                    .description("Gemini API 호출 허가 대기 중인 요청 수")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+        }
+
+        log.info("🔧 Gemini 호출 스케줄러 설정 완료 - Enabled: {}, RPM: {}, TPM: {}, Burst: {}s, Max Queue: {}, Max Wait: {}ms",
+                enabled, requestsPerMinute, tokensPerMinute, burstSeconds, maxQueueSize, maxWaitMs);
+    }
+
+    /**
+     * 호출 허가를 요청합니다.
+     * 반환된 Future는 RPM/TPM 한도 안에서 허가가 부여되면 디스패처 스레드에서 완료됩니다.
+     * 대기열이 가득 찼거나 최대 대기 시간을 넘기면 GeminiAdmissionRejectedException으로 실패합니다.
+     * 한도 적용 여부와 관계없이 호출마다 추정 프롬프트 토큰 수를 gemini.prompt.tokens에 기록합니다.
+     *
+     * @param priority 우선순위 클래스
+     * @param fairnessKey 같은 우선순위 안에서 공정하게 순서를 나누는 기준 (null이면 공용 대기열)
+     * @param prompt 토큰 수 추정에 사용할 프롬프트
+     */
+    public CompletableFuture<Void> acquire(LlmRequestPriority priority, String fairnessKey, String prompt) {
+        int promptTokens = PromptTokenEstimator.estimate(prompt);
+        promptTokenSummaries.get(priority).record(promptTokens);
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Ticket ticket = new Ticket(priority, fairnessKey != null ? fairnessKey : DEFAULT_FAIRNESS_KEY,
+                promptTokens + expectedOutputTokens, System.nanoTime());
+        synchronized (this) {
+            // 대기 중인 요청이 없고 한도 안이면 바로 허가 (디스패처 스레드를 거치지 않음)
+            if (isIdle() && tryConsume(ticket.estimatedTokens(), System.nanoTime())) {
+                waitTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(null);
+            }
+            if (queueSizes.get(priority) >= maxQueueSize) {
+                rejectedCounter(priority, "queue_full").increment();
+                log.warn("🚫 Gemini 호출 대기열 초과 - Priority: {}, Queue Size: {}", priority, maxQueueSize);
+                return CompletableFuture.failedFuture(
+                        new GeminiAdmissionRejectedException("Gemini 호출 대기열 초과 - Priority: " + priority));
+            }
+            queues.get(priority).computeIfAbsent(ticket.fairnessKey(), key -> new ArrayDeque<>()).add(ticket);
+            queueSizes.merge(priority, 1, Integer::sum);
+        }
+
+        ScheduledFuture<?> timeout = dispatcher.schedule(() -> {
+            if (ticket.future().completeExceptionally(
+                    new GeminiAdmissionRejectedException("Gemini 호출 허가 대기 시간 초과 - Priority: " + priority))) {
+                rejectedCounter(priority, "timeout").increment();
+                log.warn("⏰ Gemini 호출 허가 대기 시간 초과 - Priority: {}, Key: {}", priority, ticket.fairnessKey());
+            }
+        }, maxWaitMs, TimeUnit.MILLISECONDS);
+        ticket.future().whenComplete((ignored, error) -> timeout.cancel(false));
+        dispatcher.execute(this::dispatch);
+        return ticket.future();
+    }
+
+    /**
+     * 대기 중인 요청이 없고 한도 안일 때만 바로 허가합니다. (대기열에 넣지 않음)
+     * 헤지 요청처럼 허가를 기다릴 가치가 없는 추가 호출이 대기 중인 요청보다 먼저 한도를 쓰지 않도록 합니다.
+     *
+     * @param prompt 토큰 수 추정에 사용할 프롬프트
+     * @return 허가되면 true (RPM/TPM 버킷에서 차감됨)
+     */
+    public boolean tryAcquireNow(String prompt) {
+        if (!enabled) {
+            return true;
+        }
+        synchronized (this) {
+            return isIdle() && tryConsume(PromptTokenEstimator.estimate(prompt) + expectedOutputTokens, System.nanoTime());
+        }
+    }
+
+    public synchronized int getQueueSize(LlmRequestPriority priority) {
+        return queueSizes.get(priority);
+    }
+
+    /**
+     * 버킷이 허락하는 만큼 대기열 앞의 요청에 허가를 부여하고,
+     * 남은 요청이 있으면 다음 허가가 가능해지는 시점에 다시 실행되도록 예약합니다.
+     */
+    private void dispatch() {
+        List<Ticket> granted = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+
+            Ticket next;
+            while ((next = peekNext()) != null) {
+                if (!tryConsume(next.estimatedTokens(), now)) {
+                    int tokens = Math.min(next.estimatedTokens(), tokenBucket.getCapacity());
+                    scheduleWakeUp(Math.max(requestBucket.nanosUntil(1), tokenBucket.nanosUntil(tokens)));
+                    break;
+                }
+                pollNext();
+                granted.add(next);
+            }
+        }
+
+        // 허가된 요청의 후속 작업은 잠금 밖에서 실행
+        for (Ticket ticket : granted) {
+            if (ticket.future().complete(null)) {
+                waitTimers.get(ticket.priority()).record(System.nanoTime() - ticket.enqueuedAt(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * 두 버킷에 여유가 있으면 요청 1건과 추정 토큰 수를 차감합니다.
+     * 추정 토큰 수가 버킷 용량보다 크면 용량만큼만 차감합니다. (영원히 허가받지 못하는 요청 방지)
+     */
+    private boolean tryConsume(int estimatedTokens, long now) {
+        requestBucket.refill(now);
+        tokenBucket.refill(now);
+        int tokens = Math.min(estimatedTokens, tokenBucket.getCapacity());
+        if (!requestBucket.hasTokens(1) || !tokenBucket.hasTokens(tokens)) {
+            return false;
+        }
+        requestBucket.consume(1);
+        tokenBucket.consume(tokens);
+        return true;
+    }
+
+    private boolean isIdle() {
+        for (int size : queueSizes.values()) {
+            if (size > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 가장 높은 우선순위 클래스에서 라운드 로빈 순서상 다음 요청을 반환합니다.
+     * 이미 완료(시간 초과 등)된 요청은 대기열에서 제거합니다.
+     */
+    private Ticket peekNext() {
+        for (LlmRequestPriority priority : LlmRequestPriority.values()) {
+            LinkedHashMap<String, ArrayDeque<Ticket>> byKey = queues.get(priority);
+            Iterator<Map.Entry<String, ArrayDeque<Ticket>>> iterator = byKey.entrySet().iterator();
+            while (iterator.hasNext()) {
+                ArrayDeque<Ticket> tickets = iterator.next().getValue();
+                while (!tickets.isEmpty() && tickets.peek().future().isDone()) {
+                    tickets.poll();
+                    queueSizes.merge(priority, -1, Integer::sum);
+                }
+                if (!tickets.isEmpty()) {
+                    return tickets.peek();
+                }
+                iterator.remove();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * peekNext()가 반환한 요청을 꺼내고, 해당 사용자의 대기열을 라운드 로빈 순서의 맨 뒤로 보냅니다.
+     */
+    private void pollNext() {
+        for (LlmRequestPriority priority : LlmRequestPriority.values()) {
+            LinkedHashMap<String, ArrayDeque<Ticket>> byKey = queues.get(priority);
+            if (byKey.isEmpty()) {
+                continue;
+            }
+            Map.Entry<String, ArrayDeque<Ticket>> first = byKey.entrySet().iterator().next();
+            ArrayDeque<Ticket> tickets = byKey.remove(first.getKey());
+            tickets.poll();
+            queueSizes.merge(priority, -1, Integer::sum);
+            if (!tickets.isEmpty()) {
+                byKey.put(first.getKey(), tickets);
+            }
+            return;
+        }
+    }
+
+    private void scheduleWakeUp(long waitNanos) {
+        if (pendingWakeUp != null && !pendingWakeUp.isDone()) {
+            return;
+        }
+        pendingWakeUp = dispatcher.schedule(this::dispatch, Math.max(waitNanos, 1), TimeUnit.NANOSECONDS);
+    }
+
+    private Counter rejectedCounter(LlmRequestPriority priority, String reason) {
+        return Counter.builder("gemini.scheduler.rejected")
+                .description("Gemini 호출 스케줄러가 거절한 요청 수")
+                .tag("priority", priority.name())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private record Ticket(LlmRequestPriority priority, String fairnessKey, int estimatedTokens, long enqueuedAt,
+                          CompletableFuture<Void> future) {
+
+        Ticket(LlmRequestPriority priority, String fairnessKey, int estimatedTokens, long enqueuedAt) {
+            this(priority, fairnessKey, estimatedTokens, enqueuedAt, new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * 분당 한도를 기준으로 일정하게 채워지는 토큰 버킷 (용량 = 분당 한도 × burstSeconds / 60, 최소 1)
+     */
+    private static final class TokenBucket {
+
+        private final int capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(int perMinute, double burstSeconds) {
+            this.capacity = (int) Math.max(1, Math.round(perMinute * burstSeconds / 60.0));
+            this.refillPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        int getCapacity() {
+            return capacity;
+        }
+
+        void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * refillPerNano);
+            lastRefillNanos = now;
+        }
+
+        boolean hasTokens(int amount) {
+            return tokens >= amount;
+        }
+
+        void consume(int amount) {
+            tokens -= amount;
+        }
+
+        long nanosUntil(int amount) {
+            return tokens >= amount ? 0 : (long) Math.ceil((amount - tokens) / refillPerNano);
+        }
+    }
+}
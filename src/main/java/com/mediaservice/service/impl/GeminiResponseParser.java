@@ -0,0 +1,321 @@
+package com.mediaservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaservice.enums.MediaType;
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.model.MediaRecommendation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Gemini 응답 파서
+ * 
+ * generateContent 응답 본문에서 모델이 생성한 텍스트를 꺼내고,
+ * 텍스트 안의 JSON(```json 코드 블록)을 MediaRecommendation 목록으로 변환합니다.
+ * 추천 항목은 Jackson 스트리밍 파서로 읽어 MediaRecommendation builder에 바로 채우며,
+ * 미디어 유형은 예외 없이 MediaType 조회 테이블로 변환합니다. (알 수 없는 값은 VIDEO)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiResponseParser {
+
+    // 추천 항목 필수 필드 (모두 있어야 변환)
+    private static final int REQUIRED_TITLE = 1;
+    private static final int REQUIRED_DESCRIPTION = 1 << 1;
+    private static final int REQUIRED_URL = 1 << 2;
+    private static final int REQUIRED_MEDIA_TYPE = 1 << 3;
+    private static final int REQUIRED_PLATFORM = 1 << 4;
+    private static final int REQUIRED_DIFFICULTY_LEVEL = 1 << 5;
+    private static final int REQUIRED_REASON = 1 << 6;
+    private static final int REQUIRED_ALL = (1 << 7) - 1;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * generateContent 응답 본문에서 첫 번째 후보(candidate)의 텍스트를 꺼냅니다.
+     * 후보가 없거나 텍스트가 비어 있으면(안전 필터 차단 등) 재시도 불가 예외를 던집니다.
+     */
+    public String extractCandidateText(String responseBody) {
+        JsonNode rootNode = readResponse(responseBody);
+        String text = collectCandidateText(rootNode);
+        
+        if (text.isEmpty()) {
+            throw new NonRetryableRecommendationException("Gemini 응답에 생성된 텍스트가 없음 - Reason: " + finishReason(rootNode));
+        }
+        return text;
+    }
+
+    /**
+     * streamGenerateContent 응답 조각(SSE data)에서 텍스트 조각을 꺼냅니다. 텍스트가 없는 조각이면 빈 문자열을 반환합니다.
+     */
+    public String extractCandidateFragment(String chunk) {
+        return collectCandidateText(readResponse(chunk));
+    }
+
+    /**
+     * 추천 항목이 완성될 때마다 콜백을 호출하는 증분 파서를 생성합니다. (스트림 1개당 1개)
+     */
+    public StreamingRecommendationParser newStreamingParser(Consumer<MediaRecommendation> onRecommendation) {
+        return new StreamingRecommendationParser(this, onRecommendation);
+    }
+
+    /**
+     * 모델이 생성한 텍스트에서 추천 목록을 파싱합니다.
+     * 스트리밍 파서로 recommendations 배열의 필드를 바로 MediaRecommendation에 채우며, 중간 트리(JsonNode)를 만들지 않습니다.
+     */
+    public List<MediaRecommendation> parseRecommendations(String responseText) {
+        // JSON 부분 추출 (```json과 ``` 사이의 내용)
+        String jsonContent = extractJsonContent(responseText);
+        
+        if (jsonContent == null) {
+            log.warn("⚠️ JSON 응답을 찾을 수 없음 - 전체 응답: {}", responseText);
+            return new ArrayList<>();
+        }
+        
+        try {
+            List<MediaRecommendation> recommendations = readRecommendationsDocument(jsonContent);
+            if (recommendations == null) {
+                log.warn("⚠️ recommendations 배열을 찾을 수 없음");
+                return new ArrayList<>();
+            }
+            return recommendations;
+            
+        } catch (IOException e) {
+            log.error("❌ JSON 파싱 실패 - Response: {}, Error: {}", 
+                    responseText, e.getMessage(), e);
+            throw new RuntimeException("Gemini API 응답 파싱 실패", e);
+        }
+    }
+    
+    /**
+     * 응답 스키마(structured output)를 지정한 호출의 텍스트를 코드 블록 추출 없이 JSON 그대로 파싱합니다.
+     * 모델이 스키마를 따르지 않아 JSON 객체가 아니거나, 형식이 잘못되었거나, recommendations 배열이 없으면 null을 반환합니다.
+     * (호출자는 parseRecommendations의 코드 블록 추출로 다시 시도)
+     */
+    public List<MediaRecommendation> parseJsonRecommendations(String responseText) {
+        if (!startsWithObject(responseText)) {
+            return null;
+        }
+        try {
+            return readRecommendationsDocument(responseText);
+        } catch (IOException e) {
+            log.debug("구조화된 응답 JSON 파싱 실패 - Error: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * recommendations 배열의 항목 하나를 MediaRecommendation으로 변환합니다. 필수 필드가 빠져 있으면 null을 반환합니다.
+     */
+    public MediaRecommendation toRecommendation(String recommendationJson) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(recommendationJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                log.warn("⚠️ 개별 추천 항목이 JSON 객체가 아님 - Json: {}", recommendationJson);
+                return null;
+            }
+            return readRecommendation(parser);
+        } catch (IOException e) {
+            log.warn("⚠️ 개별 추천 항목 JSON 파싱 실패 - Json: {}, Error: {}", recommendationJson, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 최상위 JSON 객체에서 recommendations 배열을 찾아 읽습니다. 배열이 없으면 null을 반환합니다.
+     */
+    private List<MediaRecommendation> readRecommendationsDocument(String json) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("recommendations".equals(field) && token == JsonToken.START_ARRAY) {
+                    return readRecommendations(parser);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static boolean startsWithObject(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{';
+            }
+        }
+        return false;
+    }
+
+    private List<MediaRecommendation> readRecommendations(JsonParser parser) throws IOException {
+        List<MediaRecommendation> recommendations = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            MediaRecommendation recommendation = readRecommendation(parser);
+            if (recommendation != null) {
+                recommendations.add(recommendation);
+            }
+        }
+        return recommendations;
+    }
+
+    /**
+     * 현재 위치(START_OBJECT 다음)의 추천 항목 필드를 읽습니다. 필수 필드가 빠져 있으면 null을 반환합니다.
+     */
+    private MediaRecommendation readRecommendation(JsonParser parser) throws IOException {
+        MediaRecommendation.MediaRecommendationBuilder builder = MediaRecommendation.builder().language("en");
+        int requiredFields = 0;
+        String title = null;
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            // 필드 이름은 Jackson이 정규화(intern)하므로 switch 비교에 새 문자열이 생성되지 않음
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "title" -> {
+                    title = readText(parser, token);
+                    builder.title(title);
+                    requiredFields |= present(title, REQUIRED_TITLE);
+                }
+                case "description" -> {
+                    String description = readText(parser, token);
+                    builder.description(description);
+                    requiredFields |= present(description, REQUIRED_DESCRIPTION);
+                }
+                case "url" -> {
+                    String url = readText(parser, token);
+                    builder.url(url);
+                    requiredFields |= present(url, REQUIRED_URL);
+                }
+                case "mediaType" -> {
+                    String mediaType = readText(parser, token);
+                    builder.mediaType(mediaType != null ? parseMediaType(mediaType) : null);
+                    requiredFields |= present(mediaType, REQUIRED_MEDIA_TYPE);
+                }
+                case "platform" -> {
+                    String platform = readText(parser, token);
+                    builder.platform(platform);
+                    requiredFields |= present(platform, REQUIRED_PLATFORM);
+                }
+                case "difficultyLevel" -> {
+                    String difficultyLevel = readText(parser, token);
+                    builder.difficultyLevel(difficultyLevel);
+                    requiredFields |= present(difficultyLevel, REQUIRED_DIFFICULTY_LEVEL);
+                }
+                case "recommendationReason" -> {
+                    String recommendationReason = readText(parser, token);
+                    builder.recommendationReason(recommendationReason);
+                    requiredFields |= present(recommendationReason, REQUIRED_REASON);
+                }
+                case "estimatedDuration" -> builder.estimatedDuration(readInteger(parser, token));
+                case "language" -> builder.language(readText(parser, token));
+                case "category" -> builder.category(readText(parser, token));
+                default -> parser.skipChildren();
+            }
+        }
+        
+        if (requiredFields != REQUIRED_ALL) {
+            log.warn("⚠️ 개별 추천 항목 파싱 실패 - 필수 필드 누락 - Title: {}", title);
+            return null;
+        }
+        return builder.build();
+    }
+
+    /**
+     * 필수 필드 값이 있으면 해당 비트를 반환합니다.
+     */
+    private static int present(String value, int requiredField) {
+        return value != null ? requiredField : 0;
+    }
+
+    private static String readText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static Integer readInteger(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getValueAsInt();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getValueAsInt(0);
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private JsonNode readResponse(String responseBody) {
+        try {
+            return objectMapper.readTree(responseBody);
+        } catch (JsonProcessingException e) {
+            throw new NonRetryableRecommendationException("Gemini 응답 본문 파싱 실패", e);
+        }
+    }
+
+    private String collectCandidateText(JsonNode rootNode) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode part : rootNode.path("candidates").path(0).path("content").path("parts")) {
+            text.append(part.path("text").asText(""));
+        }
+        return text.toString();
+    }
+
+    private String finishReason(JsonNode rootNode) {
+        return rootNode.path("candidates").path(0).path("finishReason").asText(
+                rootNode.path("promptFeedback").path("blockReason").asText("UNKNOWN"));
+    }
+    
+    private String extractJsonContent(String responseText) {
+        // ```json과 ``` 사이의 내용 추출
+        int startIndex = responseText.indexOf("```json");
+        if (startIndex == -1) {
+            startIndex = responseText.indexOf("```");
+        }
+        
+        if (startIndex == -1) {
+            return null;
+        }
+        
+        startIndex = responseText.indexOf("\n", startIndex) + 1;
+        int endIndex = responseText.lastIndexOf("```");
+        
+        if (endIndex <= startIndex) {
+            return null;
+        }
+        
+        return responseText.substring(startIndex, endIndex).trim();
+    }
+    
+    private MediaType parseMediaType(String mediaTypeStr) {
+        MediaType mediaType = MediaType.from(mediaTypeStr);
+        if (mediaType == null) {
+            log.warn("⚠️ 알 수 없는 미디어 타입: {}, 기본값 VIDEO 사용", mediaTypeStr);
+            return MediaType.VIDEO;
+        }
+        return mediaType;
+    }
+}
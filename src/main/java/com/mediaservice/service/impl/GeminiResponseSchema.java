@@ -0,0 +1,77 @@
+package com.mediaservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mediaservice.model.MediaRecommendation;
+
+import java.util.List;
+
+/**
+ * Gemini 구조화된 출력(responseSchema)용 추천 응답 스키마 생성기
+ *
+ * GeminiResponseParser가 읽는 MediaRecommendation 필드만으로 {"recommendations": [ {...} ]} 형태의 스키마를 만듭니다.
+ * (파서가 읽지 않는 필드를 스키마에 넣으면 모델이 생성한 값이 버려지고 출력 토큰만 늘어남)
+ * 문자열/정수 필드는 STRING/INTEGER, enum 필드는 허용 값 목록이 있는 STRING으로 변환하며,
+ * GeminiResponseParser가 필수로 보는 필드는 required, 나머지는 nullable로 표시합니다.
+ */
+public final class GeminiResponseSchema {
+
+    // GeminiResponseParser가 필수로 보는 필드 (하나라도 없으면 항목을 버림)
+    static final List<String> REQUIRED_FIELDS = List.of(
+            "title", "description", "url", "mediaType", "platform", "difficultyLevel", "recommendationReason");
+
+    // GeminiResponseParser가 읽는 선택 필드
+    static final List<String> OPTIONAL_FIELDS = List.of("estimatedDuration", "language", "category");
+
+    private GeminiResponseSchema() {
+    }
+
+    /**
+     * generationConfig.responseSchema에 넣을 추천 응답 스키마를 생성합니다.
+     */
+    public static ObjectNode recommendations(ObjectMapper objectMapper) {
+        ObjectNode item = objectMapper.createObjectNode().put("type", "OBJECT");
+        ObjectNode properties = item.putObject("properties");
+        REQUIRED_FIELDS.forEach(name -> properties.set(name, propertySchema(objectMapper, fieldType(name))));
+        OPTIONAL_FIELDS.forEach(name -> properties.set(name,
+                propertySchema(objectMapper, fieldType(name)).put("nullable", true)));
+        ArrayNode required = item.putArray("required");
+        REQUIRED_FIELDS.forEach(required::add);
+
+        ObjectNode schema = objectMapper.createObjectNode().put("type", "OBJECT");
+        ObjectNode recommendations = schema.putObject("properties").putObject("recommendations").put("type", "ARRAY");
+        recommendations.set("items", item);
+        schema.putArray("required").add("recommendations");
+        return schema;
+    }
+
+    private static Class<?> fieldType(String name) {
+        try {
+            return MediaRecommendation.class.getDeclaredField(name).getType();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("MediaRecommendation에 없는 응답 스키마 필드: " + name, e);
+        }
+    }
+
+    /**
+     * 필드 타입을 스키마 타입으로 변환합니다.
+     */
+    private static ObjectNode propertySchema(ObjectMapper objectMapper, Class<?> type) {
+        if (type == String.class) {
+            return objectMapper.createObjectNode().put("type", "STRING");
+        }
+        if (type == Integer.class || type == int.class || type == Long.class || type == long.class) {
+            return objectMapper.createObjectNode().put("type", "INTEGER");
+        }
+        if (type.isEnum()) {
+            ObjectNode property = objectMapper.createObjectNode().put("type", "STRING").put("format", "enum");
+            ArrayNode values = property.putArray("enum");
+            for (Object constant : type.getEnumConstants()) {
+                values.add(((Enum<?>) constant).name());
+            }
+            return property;
+        }
+        throw new IllegalStateException("응답 스키마로 표현할 수 없는 필드 타입: " + type.getName());
+    }
+}
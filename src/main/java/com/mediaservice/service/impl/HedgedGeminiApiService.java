@@ -0,0 +1,161 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.GeminiApiService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 응답이 늦은 Gemini 호출에 헤지(중복) 요청을 보내는 GeminiApiService 데코레이터
+ *
+ * 비동기 호출이 모델의 최근 응답 시간 백분위(기본 p90)까지 끝나지 않으면 같은 프롬프트로 한 번 더 호출하고,
+ * 먼저 성공한 결과를 사용합니다. (늦게 끝난 호출의 결과는 버림)
+ * 헤지 요청은 헤지 예산(전체 요청 대비 비율)과 호출 스케줄러의 RPM/TPM 한도 안에서만 보내며,
+ * 스케줄러에 대기 중인 요청이 있으면 보내지 않습니다.
+ * 헤지 요청은 동시 호출 제한의 허가를 따로 하나 더 받아 응답이 끝날 때 반환하며, 바로 받을 수 없으면 보내지 않습니다.
+ * 먼저 성공한 호출이 있으면 나머지 호출은 취소하여 진행 중인 HTTP 요청도 중단합니다.
+ * 항목 단위 콜백이 중복 호출되지 않도록 스트리밍 호출과 동기 호출은 헤지하지 않고 응답 시간만 기록합니다.
+ * 원 요청이 헤지 전에 실패하면 헤지하지 않고 바로 실패합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class HedgedGeminiApiService implements GeminiApiService {
+
+    private final GeminiApiService delegate;
+    private final GeminiHedgePolicy hedgePolicy;
+    private final GeminiRequestScheduler scheduler;
+    private final GeminiInFlightLimiter inFlightLimiter;
+    private final String modelName;
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(String prompt) {
+        long startedAt = System.nanoTime();
+        List<MediaRecommendation> recommendations;
+        try {
+            recommendations = delegate.generateRecommendations(prompt);
+        } catch (RuntimeException e) {
+            hedgePolicy.recordCensoredLatency(modelName, System.nanoTime() - startedAt);
+            throw e;
+        }
+        hedgePolicy.recordLatency(modelName, System.nanoTime() - startedAt);
+        return recommendations;
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(String prompt) {
+        hedgePolicy.onRequest();
+        long hedgeDelayNanos = hedgePolicy.hedgeDelayNanos(modelName);
+        CompletableFuture<List<MediaRecommendation>> primary = timed(() -> delegate.generateRecommendationsAsync(prompt));
+        if (hedgeDelayNanos < 0 || primary.isDone()) {
+            return primary;
+        }
+
+        HedgedCall call = new HedgedCall();
+        call.add(primary, false);
+        CompletableFuture.delayedExecutor(hedgeDelayNanos, TimeUnit.NANOSECONDS)
+                .execute(() -> hedge(call, prompt, hedgeDelayNanos));
+        return call.result;
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(String prompt,
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return timed(() -> delegate.streamRecommendations(prompt, onRecommendation));
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return delegate.isStreamingEnabled();
+    }
+
+    private void hedge(HedgedCall call, String prompt, long hedgeDelayNanos) {
+        if (!call.isPending() || !hedgePolicy.tryAcquireHedge()) {
+            return;
+        }
+        if (!inFlightLimiter.tryAcquire()) {
+            hedgePolicy.refundHedge();
+            return;
+        }
+        if (!scheduler.tryAcquireNow(prompt)) {
+            inFlightLimiter.release();
+            hedgePolicy.refundHedge();
+            return;
+        }
+
+        hedgePolicy.onHedgeLaunched();
+        log.debug("🏁 Gemini 응답 지연 - 헤지 요청 발행 - Model: {}, 기준: {}ms",
+                modelName, TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos));
+        CompletableFuture<List<MediaRecommendation>> hedged;
+        try {
+            hedged = timed(() -> delegate.generateRecommendationsAsync(prompt));
+        } catch (RuntimeException e) {
+            hedged = CompletableFuture.failedFuture(e);
+        }
+        hedged.whenComplete((recommendations, error) -> inFlightLimiter.release());
+        call.add(hedged, true);
+    }
+
+    /**
+     * 호출의 응답 시간을 모델별 분포에 기록합니다.
+     * 성공하지 못한 호출(헤지에 져서 취소된 호출 포함)은 끝날 때까지의 경과 시간을 하한값으로 기록합니다.
+     * 반환된 Future를 취소하면 원래 호출도 취소됩니다.
+     */
+    private CompletableFuture<List<MediaRecommendation>> timed(Supplier<CompletableFuture<List<MediaRecommendation>>> call) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<List<MediaRecommendation>> source = call.get();
+        return GeminiFutures.propagateCancellation(source.whenComplete((recommendations, error) -> {
+            long elapsedNanos = System.nanoTime() - startedAt;
+            if (error == null) {
+                hedgePolicy.recordLatency(modelName, elapsedNanos);
+            } else {
+                hedgePolicy.recordCensoredLatency(modelName, elapsedNanos);
+            }
+        }), source);
+    }
+
+    /**
+     * 원 요청과 헤지 요청 중 먼저 성공한 결과로 완료되고, 모든 호출이 실패하면 마지막 오류로 실패합니다.
+     */
+    private final class HedgedCall {
+
+        private final CompletableFuture<List<MediaRecommendation>> result = new CompletableFuture<>();
+        private final List<CompletableFuture<List<MediaRecommendation>>> attempts = new CopyOnWriteArrayList<>();
+        private int outstanding;
+
+        synchronized boolean isPending() {
+            return outstanding > 0 && !result.isDone();
+        }
+
+        void add(CompletableFuture<List<MediaRecommendation>> attempt, boolean hedge) {
+            synchronized (this) {
+                outstanding++;
+            }
+            attempts.add(attempt);
+            attempt.whenComplete((recommendations, error) -> {
+                if (error == null) {
+                    if (result.complete(recommendations)) {
+                        if (hedge) {
+                            hedgePolicy.onHedgeWon();
+                        }
+                        attempts.stream().filter(other -> other != attempt).forEach(other -> other.cancel(true));
+                    }
+                    return;
+                }
+                boolean lastAttempt;
+                synchronized (this) {
+                    lastAttempt = --outstanding == 0;
+                }
+                if (lastAttempt) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+    }
+}
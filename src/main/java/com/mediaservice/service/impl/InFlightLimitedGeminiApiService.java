@@ -0,0 +1,78 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.exception.GeminiAdmissionRejectedException;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.GeminiApiService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 진행 중인 Gemini API 호출 수를 제한하는 GeminiApiService 데코레이터
+ */
+@RequiredArgsConstructor
+public class InFlightLimitedGeminiApiService implements GeminiApiService {
+
+    private final GeminiApiService delegate;
+    private final GeminiInFlightLimiter inFlightLimiter;
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(String prompt) {
+        acquirePermit();
+        
+        try {
+            return delegate.generateRecommendations(prompt);
+        } finally {
+            inFlightLimiter.release();
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(String prompt) {
+        return withPermit(() -> delegate.generateRecommendationsAsync(prompt));
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(String prompt, 
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return withPermit(() -> delegate.streamRecommendations(prompt, onRecommendation));
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return delegate.isStreamingEnabled();
+    }
+
+    /**
+     * 허가를 기다리는 동안 스레드를 막지 않고, 허가를 받으면 호출하여 응답이 완료(성공/실패)되는 시점에 반환합니다.
+     * (허가가 바로 없으면 앞선 호출이 허가를 반환하는 스레드에서 이어서 호출)
+     * 허가를 받기 전에 반환된 Future를 취소하면 대기열에서 빠집니다.
+     */
+    private CompletableFuture<List<MediaRecommendation>> withPermit(
+            Supplier<CompletableFuture<List<MediaRecommendation>>> call) {
+        CompletableFuture<Void> permit = inFlightLimiter.acquireAsync();
+        CompletableFuture<List<MediaRecommendation>> result = permit.thenCompose(granted -> {
+            CompletableFuture<List<MediaRecommendation>> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                inFlightLimiter.release();
+                throw e;
+            }
+            return future.whenComplete((recommendations, error) -> inFlightLimiter.release());
+        });
+        return GeminiFutures.propagateCancellation(result, permit);
+    }
+
+    private void acquirePermit() {
+        try {
+            inFlightLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeminiAdmissionRejectedException("Gemini API 호출 허가 대기 중 인터럽트 발생", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.model.ProcessedEvent;
+import com.mediaservice.repository.ProcessedEventRepository;
+import com.mediaservice.service.ProcessedEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 학습 완료 이벤트 중복 처리 방지(멱등성) 서비스 구현체
+ * 
+ * 최근 처리된 세션 ID를 크기가 제한된 LRU 집합에 보관하여 대부분의 중복 확인을 메모리에서 끝내고,
+ * 메모리에 없는 경우에만 processed_events 테이블을 조회합니다.
+ * 처리 완료 기록은 이벤트가 재전달될 수 있는 기간(retention)만큼만 보관하고 주기적으로 삭제합니다.
+ */
+@Slf4j
+@Service
+public class ProcessedEventServiceImpl implements ProcessedEventService {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final Set<String> recentlyProcessed;
+    private final Duration retention;
+
+    public ProcessedEventServiceImpl(ProcessedEventRepository processedEventRepository,
+                                     @Value("${recommendation.idempotency.cache-size:100000}") int cacheSize,
+                                     @Value("${recommendation.idempotency.retention-days:14}") int retentionDays) {
+        this.processedEventRepository = processedEventRepository;
+        this.retention = Duration.ofDays(retentionDays);
+        this.recentlyProcessed = Collections.synchronizedSet(Collections.newSetFromMap(
+                new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        return size() > cacheSize;
+                    }
+                }));
+    }
+
+    @Override
+    public boolean isProcessed(String sessionId) {
+        if (recentlyProcessed.contains(sessionId)) {
+            return true;
+        }
+        if (processedEventRepository.existsById(sessionId)) {
+            recentlyProcessed.add(sessionId);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Set<String> findProcessed(Collection<String> sessionIds) {
+        Set<String> processed = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        
+        for (String sessionId : sessionIds) {
+            if (recentlyProcessed.contains(sessionId)) {
+                processed.add(sessionId);
+            } else {
+                unknown.add(sessionId);
+            }
+        }
+        
+        if (!unknown.isEmpty()) {
+            List<String> processedInDb = processedEventRepository.findProcessedSessionIds(unknown);
+            processed.addAll(processedInDb);
+            recentlyProcessed.addAll(processedInDb);
+        }
+        
+        return processed;
+    }
+
+    @Override
+    public void markProcessed(String sessionId, String userId) {
+        processedEventRepository.save(ProcessedEvent.builder()
+                .sessionId(sessionId)
+                .userId(userId)
+                .build());
+        
+        // 트랜잭션이 커밋된 뒤에만 메모리에 기록 (롤백된 세션은 다시 처리될 수 있어야 함)
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentlyProcessed.add(sessionId);
+                }
+            });
+        } else {
+            recentlyProcessed.add(sessionId);
+        }
+    }
+
+    /**
+     * 보존 기간이 지난 처리 완료 기록을 삭제합니다.
+     * 보존 기간은 Kafka 토픽 보존 기간과 재시도 토픽 지연을 합친 것보다 길어야 합니다. (그보다 오래된 이벤트는 재전달되지 않음)
+     */
+    @Scheduled(fixedDelayString = "${recommendation.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int deleted = processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+            if (deleted > 0) {
+                log.info("🧹 보존 기간이 지난 처리 완료 기록 삭제 - 삭제 수: {}, 보존 기간: {}일", deleted, retention.toDays());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ 처리 완료 기록 정리 실패 - 다음 주기에 다시 시도 - Error: {}", e.getMessage());
+        }
+    }
+}
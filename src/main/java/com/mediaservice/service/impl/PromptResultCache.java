@@ -0,0 +1,222 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.model.MediaRecommendation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 프롬프트 입력 지문(캐시 키)별 Gemini 추천 결과 캐시
+ *
+ * LRU 순서로 관리하며 항목 수, 항목별 추정 메모리 크기의 합(메모리 예산), TTL을 기준으로 제거합니다.
+ * 저장/조회 시 추천 항목을 복사하므로 호출자가 결과에 사용자/세션 정보를 설정하거나 저장해도 캐시는 바뀌지 않습니다.
+ */
+@Slf4j
+@Component
+public class PromptResultCache {
+
+    /**
+     * 객체/문자열 헤더 등 필드 값 외의 대략적인 오버헤드 (bytes)
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int RECOMMENDATION_OVERHEAD_BYTES = 96;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxWeightBytes;
+    private final long ttlMs;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeightBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+
+    public PromptResultCache(@Value("${gemini.cache.enabled:true}") boolean enabled,
+                             @Value("${gemini.cache.max-entries:5000}") int maxEntries,
+                             @Value("${gemini.cache.max-weight-bytes:33554432}") long maxWeightBytes,
+                             @Value("${gemini.cache.ttl-ms:1800000}") long ttlMs,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxWeightBytes = maxWeightBytes;
+        this.ttlMs = ttlMs;
+
+        this.hitCounter = Counter.builder("gemini.cache.requests")
+                .description("Gemini 추천 결과 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("gemini.cache.requests")
+                .description("Gemini 추천 결과 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.sizeEvictionCounter = Counter.builder("gemini.cache.evictions")
+                .description("Gemini 추천 결과 캐시에서 제거된 항목 수")
+                .tag("cause", "size")
+                .register(meterRegistry);
+        this.expiredEvictionCounter = Counter.builder("gemini.cache.evictions")
+                .description("Gemini 추천 결과 캐시에서 제거된 항목 수")
+                .tag("cause", "expired")
+                .register(meterRegistry);
+        Gauge.builder("gemini.cache.entries", this, PromptResultCache::size)
+                .description("Gemini 추천 결과 캐시 항목 수")
+                .register(meterRegistry);
+        Gauge.builder("gemini.cache.weight.bytes", this, PromptResultCache::getTotalWeightBytes)
+                .description("Gemini 추천 결과 캐시의 추정 메모리 사용량")
+                .register(meterRegistry);
+
+        log.info("🔧 Gemini 추천 결과 캐시 설정 완료 - Enabled: {}, Max Entries: {}, Max Weight: {} bytes, TTL: {}ms",
+                enabled, maxEntries, maxWeightBytes, ttlMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시된 추천 결과의 복사본을 반환합니다. 없거나 만료되었으면 null을 반환합니다.
+     */
+    public List<MediaRecommendation> get(String key) {
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt() <= now) {
+                remove(key);
+                expiredEvictionCounter.increment();
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return copyAll(entry.recommendations());
+    }
+
+    /**
+     * 추천 결과의 복사본을 저장합니다. 결과가 비어 있거나 혼자서 메모리 예산을 넘으면 저장하지 않습니다.
+     */
+    public void put(String key, List<MediaRecommendation> recommendations) {
+        if (recommendations == null || recommendations.isEmpty()) {
+            return;
+        }
+        List<MediaRecommendation> copies = copyAll(recommendations);
+        long weight = estimateWeight(key, copies);
+        if (weight > maxWeightBytes) {
+            log.debug("⚠️ 캐시 메모리 예산을 넘는 추천 결과 - 캐시하지 않음 - Weight: {} bytes", weight);
+            return;
+        }
+
+        synchronized (this) {
+            remove(key);
+            entries.put(key, new Entry(copies, weight, System.currentTimeMillis() + ttlMs));
+            totalWeightBytes += weight;
+            evictIfNeeded();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalWeightBytes() {
+        return totalWeightBytes;
+    }
+
+    /**
+     * 추천 항목의 콘텐츠 필드와 대체 추천 여부만 복사합니다. (ID, 사용자/세션 정보, 생성 시각 제외)
+     */
+    public static MediaRecommendation copyOf(MediaRecommendation source) {
+        return MediaRecommendation.builder()
+                .title(source.getTitle())
+                .description(source.getDescription())
+                .url(source.getUrl())
+                .thumbnailUrl(source.getThumbnailUrl())
+                .playUrl(source.getPlayUrl())
+                .mediaType(source.getMediaType())
+                .platform(source.getPlatform())
+                .difficultyLevel(source.getDifficultyLevel())
+                .recommendationReason(source.getRecommendationReason())
+                .estimatedDuration(source.getEstimatedDuration())
+                .language(source.getLanguage())
+                .category(source.getCategory())
+                .videoId(source.getVideoId())
+                .channelName(source.getChannelName())
+                .viewCount(source.getViewCount())
+                .publishedAt(source.getPublishedAt())
+                .fallback(source.isFallback())
+                .build();
+    }
+
+    public static List<MediaRecommendation> copyAll(List<MediaRecommendation> recommendations) {
+        List<MediaRecommendation> copies = new ArrayList<>(recommendations.size());
+        recommendations.forEach(recommendation -> copies.add(copyOf(recommendation)));
+        return copies;
+    }
+
+    /**
+     * 항목 수 또는 메모리 예산을 넘으면 가장 오래 사용되지 않은 항목부터 제거합니다.
+     */
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalWeightBytes > maxWeightBytes) && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            totalWeightBytes -= eldest.getValue().weightBytes();
+            iterator.remove();
+            sizeEvictionCounter.increment();
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalWeightBytes -= removed.weightBytes();
+        }
+    }
+
+    private static long estimateWeight(String key, List<MediaRecommendation> recommendations) {
+        long weight = ENTRY_OVERHEAD_BYTES + stringWeight(key);
+        for (MediaRecommendation recommendation : recommendations) {
+            weight += RECOMMENDATION_OVERHEAD_BYTES
+                    + stringWeight(recommendation.getTitle())
+                    + stringWeight(recommendation.getDescription())
+                    + stringWeight(recommendation.getUrl())
+                    + stringWeight(recommendation.getThumbnailUrl())
+                    + stringWeight(recommendation.getPlayUrl())
+                    + stringWeight(recommendation.getPlatform())
+                    + stringWeight(recommendation.getDifficultyLevel())
+                    + stringWeight(recommendation.getRecommendationReason())
+                    + stringWeight(recommendation.getLanguage())
+                    + stringWeight(recommendation.getCategory())
+                    + stringWeight(recommendation.getVideoId())
+                    + stringWeight(recommendation.getChannelName())
+                    + stringWeight(recommendation.getViewCount())
+                    + stringWeight(recommendation.getPublishedAt());
+        }
+        return weight;
+    }
+
+    /**
+     * 문자열 하나의 추정 크기 (한글 등 비 Latin-1 문자는 UTF-16으로 저장되므로 2바이트로 계산)
+     */
+    private static long stringWeight(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    private record Entry(List<MediaRecommendation> recommendations, long weightBytes, long expiresAt) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.service.PromptStoreService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기존 추천의 prompt_used 전문을 prompts 테이블로 옮기는 백필 작업 (recommendation.prompt-store.backfill.enabled=true)
+ *
+ * prompt_hash가 없고 prompt_used가 남아 있는 추천을 id 순으로 batch-size개씩 읽어 프롬프트를 저장하고,
+ * 추천에 prompt_hash를 채운 뒤 prompt_used를 비웁니다. 배치마다 별도 트랜잭션으로 처리하며,
+ * 실행 주기(interval-ms)마다 한 배치만 처리하여 운영 중 DB 부하를 제한합니다.
+ * 실패한 배치는 다음 주기에 같은 위치부터 다시 시도하고, 남은 행이 없으면 종료합니다.
+ * (스키마 변경은 prompt-store-migration-mysql.sql 참고)
+ */
+@Slf4j
+@Component
+public class PromptStoreBackfill {
+
+    private static final String PENDING_ROWS_QUERY =
+            "SELECT id, prompt_used FROM media_recommendations "
+                    + "WHERE id > ? AND prompt_hash IS NULL AND prompt_used IS NOT NULL ORDER BY id LIMIT ?";
+    private static final String LINK_QUERY =
+            "UPDATE media_recommendations SET prompt_hash = ?, prompt_used = NULL WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PromptStoreService promptStoreService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private volatile long lastId;
+    private volatile long migratedRows;
+    private volatile boolean completed;
+
+    public PromptStoreBackfill(JdbcTemplate jdbcTemplate,
+                               PromptStoreService promptStoreService,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${recommendation.prompt-store.backfill.enabled:false}") boolean enabled,
+                               @Value("${recommendation.prompt-store.backfill.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.promptStoreService = promptStoreService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 백필 대상 추천을 한 배치 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${recommendation.prompt-store.backfill.interval-ms:1000}")
+    public void backfillBatch() {
+        if (!enabled || completed) {
+            return;
+        }
+        try {
+            Batch batch = transactionTemplate.execute(status -> migrateBatch());
+            if (batch == null) {
+                completed = true;
+                log.info("✅ 프롬프트 저장소 백필 완료 - 처리한 추천 수: {}", migratedRows);
+                return;
+            }
+            lastId = batch.lastId();
+            migratedRows += batch.size();
+            log.debug("🔄 프롬프트 저장소 백필 - 배치: {}건, Last ID: {}, 누적: {}건", batch.size(), batch.lastId(), migratedRows);
+        } catch (Exception e) {
+            log.warn("⚠️ 프롬프트 저장소 백필 실패 - 다음 주기에 다시 시도 - Last ID: {}, Error: {}", lastId, e.getMessage());
+        }
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return 처리한 배치 (남은 행이 없으면 null)
+     */
+    private Batch migrateBatch() {
+        List<PendingRow> rows = jdbcTemplate.query(PENDING_ROWS_QUERY,
+                (rs, rowNum) -> new PendingRow(rs.getLong("id"), rs.getString("prompt_used")), lastId, batchSize);
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        List<Object[]> links = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            links.add(new Object[]{promptStoreService.store(row.prompt()), row.id()});
+        }
+        jdbcTemplate.batchUpdate(LINK_QUERY, links);
+        return new Batch(rows.get(rows.size() - 1).id(), rows.size());
+    }
+
+    private record PendingRow(long id, String prompt) {
+    }
+
+    private record Batch(long lastId, int size) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.service.PromptStoreService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 프롬프트 저장소 구현체
+ *
+ * 최근 저장한 프롬프트 해시를 크기가 제한된 LRU 집합에 보관하여 같은 프롬프트의 반복 저장을 메모리에서 건너뛰고,
+ * 메모리에 없는 경우에만 prompts 테이블을 기본 키로 조회한 뒤 없을 때만 gzip으로 압축한 본문을 저장합니다.
+ * 동시에 같은 프롬프트를 저장하다 기본 키가 충돌하면 이미 저장된 것으로 보고 넘어갑니다.
+ */
+@Slf4j
+@Service
+public class PromptStoreServiceImpl implements PromptStoreService {
+
+    private static final String EXISTS_QUERY = "SELECT COUNT(*) FROM prompts WHERE prompt_hash = ?";
+    private static final String INSERT_QUERY =
+            "INSERT INTO prompts (prompt_hash, content, original_length, created_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+    private static final String CONTENT_QUERY = "SELECT content FROM prompts WHERE prompt_hash = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<String> recentlyStored;
+    private final Counter insertedCounter;
+    private final Counter skippedCounter;
+
+    public PromptStoreServiceImpl(JdbcTemplate jdbcTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${recommendation.prompt-store.cache-size:10000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recentlyStored = Collections.synchronizedSet(Collections.newSetFromMap(
+                new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        return size() > cacheSize;
+                    }
+                }));
+        this.insertedCounter = writeCounter(meterRegistry, "inserted");
+        this.skippedCounter = writeCounter(meterRegistry, "skipped");
+    }
+
+    @Override
+    public String store(String prompt) {
+        if (prompt == null) {
+            return null;
+        }
+        String promptHash = sha256(prompt);
+        if (recentlyStored.contains(promptHash)) {
+            skippedCounter.increment();
+            return promptHash;
+        }
+
+        Integer existing = jdbcTemplate.queryForObject(EXISTS_QUERY, Integer.class, promptHash);
+        if (existing != null && existing > 0) {
+            skippedCounter.increment();
+        } else {
+            try {
+                byte[] compressed = compress(prompt);
+                jdbcTemplate.update(INSERT_QUERY, promptHash, compressed, prompt.length());
+                insertedCounter.increment();
+                log.debug("🗜️ 프롬프트 저장 - Hash: {}, 원본: {}자, 압축: {}바이트", promptHash, prompt.length(), compressed.length);
+            } catch (DuplicateKeyException e) {
+                skippedCounter.increment();
+            }
+        }
+        remember(promptHash);
+        return promptHash;
+    }
+
+    @Override
+    public String hash(String prompt) {
+        return prompt != null ? sha256(prompt) : null;
+    }
+
+    @Override
+    public String load(String promptHash) {
+        if (promptHash == null) {
+            return null;
+        }
+        try {
+            byte[] compressed = jdbcTemplate.queryForObject(CONTENT_QUERY, byte[].class, promptHash);
+            return compressed != null ? decompress(compressed) : null;
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 트랜잭션이 커밋된 뒤에만 메모리에 기록합니다. (롤백된 프롬프트는 다시 저장되어야 함)
+     */
+    private void remember(String promptHash) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentlyStored.add(promptHash);
+                }
+            });
+        } else {
+            recentlyStored.add(promptHash);
+        }
+    }
+
+    private static String sha256(String prompt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(prompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없음", e);
+        }
+    }
+
+    private static byte[] compress(String prompt) {
+        byte[] bytes = prompt.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("프롬프트 압축 실패", e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String decompress(byte[] compressed) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("프롬프트 압축 해제 실패", e);
+        }
+    }
+
+    private static Counter writeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("prompt.store.writes")
+                .description("프롬프트 저장 요청 수 (inserted: 새로 저장, skipped: 이미 저장되어 건너뜀)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,89 @@
+package com.mediaservice.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 미리 컴파일된 프롬프트 템플릿
+ *
+ * 템플릿 문자열의 {{이름}} 자리표시자를 시작 시 한 번 고정 구간과 슬롯 순서로 분해해 두고,
+ * 호출 시에는 고정 구간과 값을 StringBuilder에 차례로 이어 붙이기만 합니다. (문자열 검색/치환 없음)
+ * 값은 StringBuilder.append(Object)와 같은 규칙으로 붙습니다. (null이면 "null")
+ */
+final class PromptTemplate {
+
+    private static final String SLOT_OPEN = "{{";
+    private static final String SLOT_CLOSE = "}}";
+
+    private final String[] segments;
+    private final int[] slots;
+    private final int staticLength;
+
+    private PromptTemplate(String[] segments, int[] slots) {
+        this.segments = segments;
+        this.slots = slots;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * 템플릿을 컴파일합니다.
+     *
+     * @param template {{이름}} 자리표시자가 포함된 템플릿 문자열
+     * @param slotNames appendTo()에 넘길 값의 순서 (템플릿에 없는 이름이나 선언되지 않은 자리표시자가 있으면 예외)
+     */
+    static PromptTemplate compile(String template, String... slotNames) {
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        boolean[] used = new boolean[slotNames.length];
+
+        int position = 0;
+        int open;
+        while ((open = template.indexOf(SLOT_OPEN, position)) >= 0) {
+            int close = template.indexOf(SLOT_CLOSE, open + SLOT_OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("닫히지 않은 프롬프트 템플릿 자리표시자 - 위치: " + open);
+            }
+            String name = template.substring(open + SLOT_OPEN.length(), close);
+            int slot = List.of(slotNames).indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("선언되지 않은 프롬프트 템플릿 자리표시자: " + name);
+            }
+            used[slot] = true;
+            segments.add(template.substring(position, open));
+            slots.add(slot);
+            position = close + SLOT_CLOSE.length();
+        }
+        segments.add(template.substring(position));
+
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) {
+                throw new IllegalArgumentException("템플릿에 없는 프롬프트 템플릿 자리표시자: " + slotNames[i]);
+            }
+        }
+        return new PromptTemplate(segments.toArray(String[]::new), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * 고정 구간 사이에 값을 채워 out에 붙입니다.
+     *
+     * @param values compile()에 넘긴 slotNames 순서의 값
+     */
+    StringBuilder appendTo(StringBuilder out, Object... values) {
+        out.append(segments[0]);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(values[slots[i]]).append(segments[i + 1]);
+        }
+        return out;
+    }
+
+    /**
+     * 자리표시자를 제외한 고정 구간의 글자 수 (StringBuilder 초기 용량 계산용)
+     */
+    int staticLength() {
+        return staticLength;
+    }
+}
@@ -4,368 +4,766 @@ import com.mediaservice.dto.UserActivitySummary;
 import com.mediaservice.event.LearningCompletedEvent;
 import com.mediaservice.service.PromptTemplateService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import com.mediaservice.dto.SessionQuestionDetail;
 import com.mediaservice.dto.UserPerformanceSummary;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
+/**
+ * 프롬프트 템플릿 서비스
+ *
+ * 프롬프트의 고정 문구는 클래스 로딩 시 한 번 만들어 두고(PromptTemplate),
+ * 카테고리별 학습 맥락 문구는 CategoryContextTable이 category_context 테이블에서 미리 만들어 둔 줄을 사용합니다.
+ * 호출 시에는 미리 크기를 잡은 StringBuilder에 고정 구간과 이벤트/성과 값만 이어 붙입니다.
+ *
+ * 모든 프롬프트는 종류별로 항상 같은 고정 머리말(지시사항, 응답 형식)로 시작하고 세션/사용자별 값은 그 뒤에 붙습니다.
+ * Gemini 클라이언트는 이 머리말을 제공자 측 컨텍스트 캐시에 한 번 등록해 두고 뒷부분만 전송합니다.
+ */
 @Slf4j
 @Service
 public class PromptTemplateServiceImpl implements PromptTemplateService {
 
+    /**
+     * 실시간 세션 프롬프트 템플릿 버전 (입력 지문에 포함)
+     */
+    private static final String REAL_TIME_TEMPLATE_VERSION = "rt-v2";
+
+    /**
+     * 입력 지문에서 오답률을 묶는 구간 크기 (%)
+     */
+    private static final double ERROR_RATE_BUCKET_SIZE = 10.0;
+
+    /**
+     * 사용자 요청 코호트 프롬프트 템플릿 버전 (코호트 지문에 포함)
+     */
+    private static final String USER_COHORT_TEMPLATE_VERSION = "uc-v2";
+
+    /**
+     * 코호트 지문에 포함할 성과 하위 카테고리 수
+     */
+    private static final int COHORT_WEAKEST_CATEGORY_COUNT = 3;
+
+    /**
+     * 토큰 예산을 넘을 때 요약 형태로 넣는 틀린 문제의 최대 문제 글자 수
+     */
+    private static final int COMPACT_QUESTION_TEXT_LENGTH = 120;
+
+    /**
+     * 틀린 문제 번호 머리말("- **틀린 문제 N**: ")의 추정 토큰 수
+     */
+    private static final int WRONG_QUESTION_PREFIX_TOKENS = PromptTokenEstimator.estimate("- **틀린 문제 99**: ");
+
+    /**
+     * 생략 안내 문구용으로 남겨두는 토큰 수
+     */
+    private static final int OMISSION_NOTE_TOKENS = 40;
+
+    /**
+     * StringBuilder 초기 용량 계산 시 자리표시자 값 하나에 잡는 글자 수
+     */
+    private static final int SLOT_VALUE_LENGTH = 16;
+
+    /**
+     * StringBuilder 초기 용량 계산 시 틀린 문제 하나의 문제/선택지/해설에 잡는 글자 수
+     */
+    private static final int WRONG_QUESTION_VALUE_LENGTH = 384;
+
+    // =====================================================
+    // 실시간 세션 프롬프트 템플릿
+    // =====================================================
+
+    /**
+     * 실시간 세션 프롬프트의 고정 머리말 (모든 호출에서 같은 문자열, 제공자 측 컨텍스트 캐시 대상)
+     */
+    private static final String REAL_TIME_INSTRUCTIONS = """
+            당신은 영어 학습자를 위한 맞춤형 미디어 콘텐츠 추천 전문가입니다.
+
+            ## 🎯 실시간 세션 기반 추천 요청 (짧은 유튜브 동영상 위주)
+            사용자가 방금 완료한 학습 세션을 분석하여 **어려워하는 부분을 보완**할 수 있는 **짧은 유튜브 동영상**을 우선적으로 추천해주세요.
+            분석할 세션 정보와 틀린 문제는 아래 지시사항과 응답 형식 뒤에 이어집니다.
+
+            ## ⚡ 실시간 추천 특화 지시사항 (짧은 유튜브 동영상 위주)
+            - **짧은 유튜브 우선**: 1-3분 이내의 짧고 집중적인 유튜브 동영상을 우선적으로 추천
+            - **구체적 약점 분석**: 세션 정보에 나오는 틀린 문제들의 구체적인 내용을 바탕으로 정확한 약점 파악
+            - **즉시 보완**: 방금 틀린 문제와 직접적으로 연관된 콘텐츠 우선 추천
+            - **난이도 조정**: 오답률이 높으면 현재보다 낮은 난이도의 이해하기 쉬운 콘텐츠 포함
+            - **실용성**: 이론보다는 실습/예제 중심의 콘텐츠 제공
+            - **빠른 복습**: 세션 완료 직후 바로 활용할 수 있는 짧고 효과적인 콘텐츠
+            - **카테고리 적합성**: 학습 대분류/소분류 맥락에 적합한 콘텐츠 우선 고려
+            - **미디어 유형**: 80% 유튜브 동영상(1-3분), 15% 팟캐스트, 5% 기타 (짧은 콘텐츠 위주)
+            - 모든 URL은 실제 접근 가능한 링크여야 합니다
+            - 추천 이유는 구체적이고 설득력 있어야 합니다
+            - 한국어로 응답하되, 콘텐츠 제목과 설명은 영어로 제공하세요
+
+            **추천 전략**:
+            - 틀린 문제의 구체적인 내용을 분석하여 어떤 영어 표현이나 문법 규칙을 몰랐는지 파악
+            - 해당 약점을 보완할 수 있는 구체적이고 실용적인 콘텐츠 우선 추천
+            - 문제에서 사용된 어휘나 표현과 직접적으로 연관된 콘텐츠 포함
+
+            ## 📝 응답 형식
+            다음 JSON 형식으로 응답해주세요:
+
+            ```json
+            {
+              "recommendations": [
+                {
+                  "title": "콘텐츠 제목",
+                  "description": "간단한 설명",
+                  "url": "콘텐츠 링크",
+                  "thumbnailUrl": "썰네일 이미지 URL",
+                  "playUrl": "재생용 URL (유튜브의 경우 embed URL)",
+                  "mediaType": "VIDEO|AUDIO|ARTICLE|BOOK",
+                  "platform": "YouTube|Spotify|Medium 등",
+                  "difficultyLevel": "초급|중급|고급",
+                  "recommendationReason": "이 콘텐츠가 이번 세션의 오답을 보완하는 구체적인 이유",
+                  "estimatedDuration": 15,
+                  "language": "en",
+                  "category": "카테고리 정보",
+                  "videoId": "유튜브 비디오 ID (watch?v= 뒤의 값)",
+                  "channelName": "유튜브 채널명",
+                  "viewCount": "조회수",
+                  "publishedAt": "업로드 날짜"
+                }
+              ]
+            }
+            ```
+
+            """;
+
+    /**
+     * 실시간 세션 프롬프트의 세션별 본문 (고정 머리말 뒤)
+     */
+    private static final PromptTemplate REAL_TIME_SESSION = PromptTemplate.compile("""
+            ## 📚 방금 완료한 학습 세션 정보
+            - 세션 ID: {{sessionId}}
+            - 세션 상태: {{sessionStatus}} (STARTED, IN_PROGRESS, COMPLETED)
+            - 세션 타입: {{sessionType}} (PRACTICE, REVIEW, WRONG_ANSWER)
+            - 진행률: {{progressPercentage}}%
+            - 세션 완료: {{sessionCompletedAt}}
+
+            ## 📊 이번 세션 학습 성과
+            - 총 문제: {{totalQuestions}}개, 답변: {{answeredQuestions}}개
+            - 정답: {{correctAnswers}}개, 오답: {{wrongAnswers}}개
+            - **정답률: {{accuracyRate}}%**, **오답률: {{errorRate}}%**
+            - 평균 풀이 시간: {{avgTimeSpent}}초
+            - 총 학습 시간: {{totalLearningTimeMinutes}}분
+
+            ## 🏷️ 이번 세션에서 학습한 문제 카테고리
+            - 대분류: {{majorCategory}}
+            - 소분류: {{minorCategory}}
+            - 문제 유형: {{questionType}} (MULTIPLE_CHOICE, FILL_IN_BLANK 등)
+            - 평균 난이도: {{avgDifficultyLevel}} (1: 초급, 2: 중급, 3: 상급)
+
+            ## 🎯 카테고리별 학습 맥락
+            """,
+            "sessionId", "sessionStatus", "sessionType", "progressPercentage", "sessionCompletedAt",
+            "totalQuestions", "answeredQuestions", "correctAnswers", "wrongAnswers", "accuracyRate", "errorRate",
+            "avgTimeSpent", "totalLearningTimeMinutes", "majorCategory", "minorCategory", "questionType", "avgDifficultyLevel");
+
+    private static final PromptTemplate REAL_TIME_INTERESTS = PromptTemplate.compile("""
+            - **학습 목표**: {{majorCategory}} 상황에서 {{minorCategory}}와 관련된 영어 표현과 어휘를 학습
+
+            ## 👤 사용자 학습 관심사
+            - 학습 대분류: {{majorCategory}}
+            - 학습 소분류: {{minorCategory}}
+
+            """,
+            "majorCategory", "minorCategory");
+
+    private static final String WRONG_QUESTION_HEADER = """
+            ## 🔍 틀린 문제 상세 분석 (AI 추천의 핵심 정보)
+            **중요**: 아래 틀린 문제들의 구체적인 내용을 바탕으로 정확한 약점을 파악하고 맞춤형 콘텐츠를 추천해주세요.
+
+            """;
+
+    private static final String NO_WRONG_QUESTION = "- 모든 문제를 맞췄습니다! 🎉\n\n";
+
+    private static final PromptTemplate WRONG_QUESTION_NUMBER = PromptTemplate.compile(
+            "- **틀린 문제 {{number}}**: ", "number");
+
+    private static final PromptTemplate WRONG_QUESTION = PromptTemplate.compile("""
+            {{questionText}}
+              - **문제 유형**: {{majorCategory}} - {{minorCategory}}
+              - **난이도**: {{difficultyLevel}} (1: 초급, 2: 중급, 3: 상급)
+            """,
+            "questionText", "majorCategory", "minorCategory", "difficultyLevel");
+
+    private static final PromptTemplate WRONG_QUESTION_OPTIONS = PromptTemplate.compile(
+            "  - **선택지**: A) {{a}}, B) {{b}}, C) {{c}}\n", "a", "b", "c");
+
+    private static final PromptTemplate WRONG_QUESTION_ANSWERS = PromptTemplate.compile("""
+              - **사용자 답변**: {{userAnswer}} (틀림)
+              - **정답**: {{correctAnswer}} (맞음)
+            """,
+            "userAnswer", "correctAnswer");
+
+    private static final PromptTemplate WRONG_QUESTION_EXPLANATION = PromptTemplate.compile(
+            "  - **해설**: {{explanation}}\n", "explanation");
+
+    private static final PromptTemplate WRONG_QUESTION_EFFORT = PromptTemplate.compile("""
+              - **풀이 시간**: {{timeSpent}}초
+              - **시도 횟수**: {{attemptCount}}회
+
+              **AI 분석 요청**: 이 문제에서 사용자가 틀린 구체적인 부분은 무엇인가요? 어떤 영어 표현이나 문법 규칙을 몰랐나요?
+
+            """,
+            "timeSpent", "attemptCount");
+
+    /**
+     * 토큰 예산을 넘을 때 쓰는 요약 형태 (선택지, 해설, 분석 요청 문구 제외)
+     */
+    private static final PromptTemplate COMPACT_WRONG_QUESTION = PromptTemplate.compile("""
+            {{questionText}}
+              - **문제 유형**: {{majorCategory}} - {{minorCategory}}, **난이도**: {{difficultyLevel}}
+              - **사용자 답변**: {{userAnswer}} (틀림), **정답**: {{correctAnswer}}, **풀이 시간**: {{timeSpent}}초, **시도 횟수**: {{attemptCount}}회
+
+            """,
+            "questionText", "majorCategory", "minorCategory", "difficultyLevel",
+            "userAnswer", "correctAnswer", "timeSpent", "attemptCount");
+
+    private static final PromptTemplate OMITTED_WRONG_QUESTIONS = PromptTemplate.compile(
+            "- (토큰 예산으로 약점 신호가 약한 틀린 문제 {{omitted}}개는 생략했습니다)\n\n", "omitted");
+
+    private static final PromptTemplate REAL_TIME_REQUEST = PromptTemplate.compile("""
+            ## 🎯 틀린 문제 패턴 분석
+            - 틀린 문제 수: {{wrongAnswers}}개
+            - 정답 문제 수: {{correctAnswers}}개
+            - 평균 풀이 시간: {{avgTimeSpent}}초
+            - 가장 많이 틀린 카테고리: {{majorCategory}} - {{minorCategory}}
+            - 문제 유형: {{questionType}}
+            - 평균 난이도: {{avgDifficultyLevel}}
+
+            ## 🎯 실시간 추천 요청 (짧은 유튜브 동영상 위주)
+            위 세션 결과를 바탕으로 **사용자가 어려워하는 부분을 보완**할 수 있는 **짧은 유튜브 동영상**을 우선적으로 추천해주세요:
+
+            1. **짧은 유튜브 동영상 우선**: 1-3분 이내의 짧고 집중적인 유튜브 동영상
+            2. **구체적 문제 내용 기반**: 위에서 분석한 틀린 문제들의 구체적인 내용을 바탕으로 정확한 약점 파악
+            3. **오답률 {{errorRate}}% 보완**: '{{majorCategory}} - {{minorCategory}}' 주제에서 틀린 부분을 보완할 수 있는 콘텐츠
+            4. **난이도 적합성**: 현재 평균 난이도 {{avgDifficultyLevel}}에서 약간 낮은 수준의 이해하기 쉬운 콘텐츠
+            5. **학습 패턴 반영**: {{sessionType}} 세션 유형에 적합한 실습/복습 콘텐츠
+            6. **즉시 활용**: 방금 학습한 내용을 바로 적용할 수 있는 실용적 콘텐츠
+            7. **카테고리 적합성**: 해당 대분류/소분류 맥락에 직접적으로 연결된 콘텐츠 우선 고려
+
+            **중요**: 실시간 추천은 **짧은 유튜브 동영상(0-3분)**을 우선적으로 추천하고, 필요시에만 다른 미디어 유형을 포함하세요.
+            """,
+            "wrongAnswers", "correctAnswers", "avgTimeSpent", "majorCategory", "minorCategory", "questionType",
+            "avgDifficultyLevel", "errorRate", "sessionType");
+
+    private static final int REAL_TIME_BASE_CAPACITY = REAL_TIME_INSTRUCTIONS.length() + REAL_TIME_SESSION.staticLength()
+            + REAL_TIME_INTERESTS.staticLength() + REAL_TIME_REQUEST.staticLength() + WRONG_QUESTION_HEADER.length() + 40 * SLOT_VALUE_LENGTH;
+
+    private static final int WRONG_QUESTION_CAPACITY = WRONG_QUESTION_NUMBER.staticLength() + WRONG_QUESTION.staticLength()
+            + WRONG_QUESTION_OPTIONS.staticLength() + WRONG_QUESTION_ANSWERS.staticLength()
+            + WRONG_QUESTION_EXPLANATION.staticLength() + WRONG_QUESTION_EFFORT.staticLength() + WRONG_QUESTION_VALUE_LENGTH;
+
+    // =====================================================
+    // 사용자 요청 프롬프트 템플릿
+    // =====================================================
+
+    /**
+     * 사용자 요청/코호트 프롬프트의 고정 머리말 (추천 목표, 요구사항, 추천 전략, AI 분석 요청, 출력 형식)
+     * 모든 호출에서 같은 문자열이며 제공자 측 컨텍스트 캐시 대상입니다.
+     */
+    private static final String USER_REQUESTED_INSTRUCTIONS = """
+            # 🎯 사용자 요청 기반 미디어 추천 프롬프트
+
+            ## 📋 추천 목표
+            사용자의 **핵심 성과 지표**를 분석하여 **다양한 미디어 타입**의 콘텐츠를 추천합니다.
+            분석할 사용자 성과 지표와 선택한 장르는 아래 지시사항과 출력 형식 뒤에 이어집니다.
+
+            ## 🎬 추천 요구사항
+            - **유튜브 동영상**: 길이 상관없음 (URL 제공)
+            - **영화/드라마**: 짧은 설명과 함께 추천
+            - **오디오북**: 짧은 설명과 함께 추천
+            - **사용자가 선택한 장르**: 사용자 성과 분석에 나오는 장르 반영
+
+            ## 🎯 추천 전략
+            1. **성과가 낮은 카테고리 우선**: 보완이 필요한 영역의 콘텐츠를 먼저 추천
+            2. **난이도 단계별 향상**: 현재 단계에서 다음 단계로 나아갈 수 있는 콘텐츠 추천
+            3. **선택된 장르 반영**: 사용자가 선택한 장르의 콘텐츠를 포함
+            4. **다양한 미디어 타입**: 유튜브, 영화/드라마, 오디오북을 균형있게 추천
+
+            ## 🤖 AI 분석 요청
+            사용자 성과 지표를 분석하여 다음을 고려한 추천을 생성해주세요:
+
+            1. **성과가 낮은 카테고리**에서 어떤 콘텐츠가 도움이 될까요?
+            2. **현재 난이도**에서 **다음 단계**로 나아갈 수 있는 콘텐츠는 무엇일까요?
+            3. **사용자가 선택한 장르**를 반영하면서도 **학습 효과**를 높일 수 있는 콘텐츠는?
+            4. **다양한 미디어 타입**을 통해 **학습 동기**를 유지할 수 있는 콘텐츠는?
+
+            ## 📝 출력 형식
+            JSON 형태로 다음 정보를 포함하여 추천해주세요:
+            - title: 콘텐츠 제목
+            - description: 콘텐츠 설명
+            - url: 콘텐츠 링크
+            - mediaType: VIDEO, AUDIO, ARTICLE, BOOK 중 하나
+            - platform: YouTube, Netflix, Spotify 등
+            - difficultyLevel: 초급, 중급, 고급
+            - recommendationReason: 이 콘텐츠를 추천하는 이유
+            - estimatedDuration: 예상 소요 시간 (분)
+
+            **총 5-8개의 다양한 콘텐츠를 추천해주세요.**
+
+            """;
+
+    private static final PromptTemplate USER_PERFORMANCE_HEADER = PromptTemplate.compile("""
+            ## 📊 사용자 성과 분석
+            **사용자가 선택한 장르**: {{genres}}
+
+            """,
+            "genres");
+
+    private static final String CATEGORY_PERFORMANCE_HEADER = """
+            ## 🏷️ 카테고리별 성과 분석
+            **중요**: 성과가 낮은 카테고리를 우선적으로 보완할 콘텐츠를 추천해주세요.
+
+            """;
+
+    private static final PromptTemplate CATEGORY_PERFORMANCE = PromptTemplate.compile(
+            "- **{{category}}**: {{performance}}% ({{status}})\n", "category", "performance", "status");
+
+    private static final String DIFFICULTY_PERFORMANCE_HEADER = """
+            ## 📈 난이도별 성과 분석
+            **중요**: 성과가 낮은 난이도 단계를 단계적으로 향상시킬 콘텐츠를 추천해주세요.
+
+            """;
+
+    private static final PromptTemplate DIFFICULTY_PERFORMANCE = PromptTemplate.compile(
+            "- **{{level}} (Lv.{{difficulty}})**: {{performance}}% ({{status}})\n", "level", "difficulty", "performance", "status");
+
+    private static final String WEAKEST_CATEGORY_HEADER = """
+            ## 🏷️ 보완이 필요한 카테고리
+            **중요**: 아래 카테고리는 성과가 가장 낮은 순서입니다. 우선적으로 보완할 콘텐츠를 추천해주세요.
+
+            """;
+
+    private static final PromptTemplate WEAKEST_CATEGORY = PromptTemplate.compile(
+            "- **{{category}}**\n", "category");
+
+    private static final String DIFFICULTY_BAND_HEADER = """
+            ## 📈 난이도별 숙련도
+            **중요**: 숙련도가 낮은 난이도 단계를 단계적으로 향상시킬 콘텐츠를 추천해주세요.
+
+            """;
+
+    private static final PromptTemplate DIFFICULTY_BAND = PromptTemplate.compile(
+            "- **{{level}} (Lv.{{difficulty}})**: {{band}}\n", "level", "difficulty", "band");
+
+    private static final int USER_REQUESTED_BASE_CAPACITY = USER_REQUESTED_INSTRUCTIONS.length()
+            + USER_PERFORMANCE_HEADER.staticLength() + CATEGORY_PERFORMANCE_HEADER.length()
+            + DIFFICULTY_PERFORMANCE_HEADER.length() + 4 * SLOT_VALUE_LENGTH;
+
+    private static final int PERFORMANCE_LINE_CAPACITY = DIFFICULTY_PERFORMANCE.staticLength() + 4 * SLOT_VALUE_LENGTH;
+
+    /**
+     * 실시간 세션 프롬프트 토큰 예산 (추정 토큰 수 기준)
+     */
+    @Value("${recommendation.prompt.real-time-token-budget:4000}")
+    private int realTimeTokenBudget = 4000;
+
+    private final CategoryContextTable categoryContextTable;
+
+    public PromptTemplateServiceImpl(CategoryContextTable categoryContextTable) {
+        this.categoryContextTable = categoryContextTable;
+    }
+
     @Override
     public String generateRealTimeSessionPrompt(LearningCompletedEvent event) {
-        
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("당신은 영어 학습자를 위한 맞춤형 미디어 콘텐츠 추천 전문가입니다.\n\n");
-        prompt.append("## 🎯 실시간 세션 기반 추천 요청 (짧은 유튜브 동영상 위주)\n");
-        prompt.append("사용자가 방금 완료한 학습 세션을 분석하여 **어려워하는 부분을 보완**할 수 있는 **짧은 유튜브 동영상**을 우선적으로 추천해주세요.\n\n");
-        
-        // =====================================================
-        // 학습 세션 정보 (learning_sessions 테이블 기반)
-        // =====================================================
-        prompt.append("## 📚 방금 완료한 학습 세션 정보\n");
-        prompt.append("- 세션 ID: ").append(event.getSessionId()).append("\n");
-        prompt.append("- 세션 상태: ").append(event.getSessionStatus()).append(" (STARTED, IN_PROGRESS, COMPLETED)\n");
-        prompt.append("- 세션 타입: ").append(event.getSessionType()).append(" (PRACTICE, REVIEW, WRONG_ANSWER)\n");
-        prompt.append("- 진행률: ").append(event.getProgressPercentage()).append("%\n");
-        prompt.append("- 세션 완료: ").append(event.getSessionCompletedAt()).append("\n\n");
-        
-        // =====================================================
-        // 학습 성과 통계 (집계 데이터)
-        // =====================================================
-        prompt.append("## 📊 이번 세션 학습 성과\n");
-        prompt.append("- 총 문제: ").append(event.getTotalQuestions()).append("개, 답변: ").append(event.getAnsweredQuestions()).append("개\n");
-        prompt.append("- 정답: ").append(event.getCorrectAnswers()).append("개, 오답: ").append(event.getWrongAnswers()).append("개\n");
-        prompt.append("- **정답률: ").append(event.getAccuracyRate()).append("%**, **오답률: ").append(event.getErrorRate()).append("%**\n");
-        prompt.append("- 평균 풀이 시간: ").append(event.getAvgTimeSpent()).append("초\n");
-        prompt.append("- 총 학습 시간: ").append(event.getTotalLearningTimeMinutes()).append("분\n\n");
-        
-        // =====================================================
-        // 문제 카테고리 정보 (question 테이블 기반)
-        // =====================================================
-        prompt.append("## 🏷️ 이번 세션에서 학습한 문제 카테고리\n");
-        prompt.append("- 대분류: ").append(event.getMajorCategory()).append("\n");
-        prompt.append("- 소분류: ").append(event.getMinorCategory()).append("\n");
-        prompt.append("- 문제 유형: ").append(event.getQuestionType()).append(" (MULTIPLE_CHOICE, FILL_IN_BLANK 등)\n");
-        prompt.append("- 평균 난이도: ").append(event.getAvgDifficultyLevel()).append(" (1: 초급, 2: 중급, 3: 상급)\n\n");
-        
-        // =====================================================
-        // 카테고리별 구체적 맥락 설명 (새로 추가)
-        // =====================================================
-        prompt.append("## 🎯 카테고리별 학습 맥락\n");
+        List<SessionQuestionDetail> sessionQuestions = event.getSessionQuestions();
+        int questionCount = sessionQuestions != null ? sessionQuestions.size() : 0;
+        StringBuilder prompt = new StringBuilder(REAL_TIME_BASE_CAPACITY + questionCount * WRONG_QUESTION_CAPACITY);
         String majorCategory = event.getMajorCategory();
         String minorCategory = event.getMinorCategory();
-        
-        if ("여행".equals(majorCategory)) {
-            prompt.append("- **여행 영어**: ").append(getTravelContext(minorCategory)).append("\n");
-        } else if ("비즈니스".equals(majorCategory)) {
-            prompt.append("- **비즈니스 영어**: ").append(getBusinessContext(minorCategory)).append("\n");
-        } else if ("학업".equals(majorCategory)) {
-            prompt.append("- **학업 영어**: ").append(getEducationContext(minorCategory)).append("\n");
-        } else if ("일상생활".equals(majorCategory)) {
-            prompt.append("- **일상생활 영어**: ").append(getDailyLifeContext(minorCategory)).append("\n");
+
+        // 고정 머리말 (역할, 지시사항, 추천 전략, 응답 형식)
+        prompt.append(REAL_TIME_INSTRUCTIONS);
+
+        // 학습 세션 정보, 학습 성과 통계, 문제 카테고리 정보
+        REAL_TIME_SESSION.appendTo(prompt,
+                event.getSessionId(), event.getSessionStatus(), event.getSessionType(), event.getProgressPercentage(),
+                event.getSessionCompletedAt(), event.getTotalQuestions(), event.getAnsweredQuestions(),
+                event.getCorrectAnswers(), event.getWrongAnswers(), event.getAccuracyRate(), event.getErrorRate(),
+                event.getAvgTimeSpent(), event.getTotalLearningTimeMinutes(), majorCategory, minorCategory,
+                event.getQuestionType(), event.getAvgDifficultyLevel());
+
+        // 카테고리별 학습 맥락 (category_context 테이블에서 미리 만들어 둔 줄을 그대로 사용)
+        String categoryContextLine = categoryContextTable.line(majorCategory, minorCategory);
+        if (categoryContextLine != null) {
+            prompt.append(categoryContextLine);
         }
-        
-        prompt.append("- **학습 목표**: ").append(majorCategory).append(" 상황에서 ").append(minorCategory).append("와 관련된 영어 표현과 어휘를 학습\n\n");
-        
-        // =====================================================
-        // 사용자 학습 관심사 (major_category, minor_category 기반)
-        // =====================================================
-        prompt.append("## 👤 사용자 학습 관심사\n");
-        prompt.append("- 학습 대분류: ").append(event.getMajorCategory()).append("\n");
-        prompt.append("- 학습 소분류: ").append(event.getMinorCategory()).append("\n\n");
-        
-        // =====================================================
-        // 틀린 문제 상세 분석 (새로 추가)
-        // =====================================================
-        if (event.getSessionQuestions() != null && !event.getSessionQuestions().isEmpty()) {
-            prompt.append("## 🔍 틀린 문제 상세 분석 (AI 추천의 핵심 정보)\n");
-            prompt.append("**중요**: 아래 틀린 문제들의 구체적인 내용을 바탕으로 정확한 약점을 파악하고 맞춤형 콘텐츠를 추천해주세요.\n\n");
-            
-            int wrongQuestionCount = 0;
-            
-            for (SessionQuestionDetail sqd : event.getSessionQuestions()) {
-                if (sqd.isCorrect()) continue; // 맞은 문제 제외
-                wrongQuestionCount++;
-                
-                prompt.append("- **틀린 문제 ").append(wrongQuestionCount).append("**: ").append(sqd.getQuestionText()).append("\n");
-                prompt.append("  - **문제 유형**: ").append(sqd.getMajorCategory()).append(" - ").append(sqd.getMinorCategory()).append("\n");
-                prompt.append("  - **난이도**: ").append(sqd.getDifficultyLevel()).append(" (1: 초급, 2: 중급, 3: 상급)\n");
-                
-                // 선택지 정보
-                if (sqd.getOptions() != null && sqd.getOptions().size() >= 3) {
-                    prompt.append("  - **선택지**: A) ").append(sqd.getOptions().get(0))
-                          .append(", B) ").append(sqd.getOptions().get(1))
-                          .append(", C) ").append(sqd.getOptions().get(2)).append("\n");
-                }
-                
-                prompt.append("  - **사용자 답변**: ").append(sqd.getUserAnswer()).append(" (틀림)\n");
-                prompt.append("  - **정답**: ").append(sqd.getCorrectAnswer()).append(" (맞음)\n");
-                
-                // 해설 정보
-                if (sqd.getExplanation() != null && !sqd.getExplanation().trim().isEmpty()) {
-                    prompt.append("  - **해설**: ").append(sqd.getExplanation()).append("\n");
-                }
-                
-                prompt.append("  - **풀이 시간**: ").append(sqd.getTimeSpent()).append("초\n");
-                prompt.append("  - **시도 횟수**: ").append(sqd.getAttemptCount()).append("회\n\n");
-                
-                // AI를 위한 구체적 분석 요청
-                prompt.append("  **AI 분석 요청**: 이 문제에서 사용자가 틀린 구체적인 부분은 무엇인가요? 어떤 영어 표현이나 문법 규칙을 몰랐나요?\n\n");
+        REAL_TIME_INTERESTS.appendTo(prompt, majorCategory, minorCategory);
+
+        // 틀린 문제 상세 분석 (우선 모든 틀린 문제를 전체 형태로 넣고, 토큰 예산을 넘으면 이 구간만 다시 만듦)
+        int sectionStart = prompt.length();
+        List<SessionQuestionDetail> wrongQuestions = List.of();
+        int[] entryBounds = null;
+        if (questionCount > 0) {
+            wrongQuestions = sessionQuestions.stream()
+                    .filter(sqd -> !sqd.isCorrect()) // 맞은 문제 제외
+                    .toList();
+            entryBounds = appendWrongQuestionSection(prompt, wrongQuestions);
+        }
+        int sectionEnd = prompt.length();
+
+        // 틀린 문제 패턴 분석, 실시간 추천 요청
+        REAL_TIME_REQUEST.appendTo(prompt,
+                event.getWrongAnswers(), event.getCorrectAnswers(), event.getAvgTimeSpent(), majorCategory, minorCategory,
+                event.getQuestionType(), event.getAvgDifficultyLevel(), event.getErrorRate(), event.getSessionType());
+
+        // 예산 판단은 틀린 문제 섹션 밖의 나머지 프롬프트, 섹션 머리말, 문제별(번호 머리말 포함) 추정 토큰으로 합니다.
+        if (!wrongQuestions.isEmpty()) {
+            int availableTokens = realTimeTokenBudget
+                    - PromptTokenEstimator.estimateExcluding(prompt, 0, prompt.length(), sectionStart, sectionEnd)
+                    - PromptTokenEstimator.estimate(WRONG_QUESTION_HEADER);
+            int fullTokens = 0;
+            for (int i = 0; i < wrongQuestions.size(); i++) {
+                fullTokens += WRONG_QUESTION_PREFIX_TOKENS + PromptTokenEstimator.estimate(prompt, entryBounds[2 * i], entryBounds[2 * i + 1]);
             }
-            
-            if (wrongQuestionCount == 0) {
-                prompt.append("- 모든 문제를 맞췄습니다! 🎉\n\n");
+            if (fullTokens > availableTokens) {
+                fitWrongQuestionsToBudget(prompt, event.getSessionId(), wrongQuestions, entryBounds, sectionStart, sectionEnd,
+                        availableTokens - OMISSION_NOTE_TOKENS);
             }
         }
-        
-        // =====================================================
-        // 틀린 문제 패턴 분석 (새로 추가)
-        // =====================================================
-        prompt.append("## 🎯 틀린 문제 패턴 분석\n");
-        prompt.append("- 틀린 문제 수: ").append(event.getWrongAnswers()).append("개\n");
-        prompt.append("- 정답 문제 수: ").append(event.getCorrectAnswers()).append("개\n");
-        prompt.append("- 평균 풀이 시간: ").append(event.getAvgTimeSpent()).append("초\n");
-        prompt.append("- 가장 많이 틀린 카테고리: ").append(event.getMajorCategory())
-              .append(" - ").append(event.getMinorCategory()).append("\n");
-        prompt.append("- 문제 유형: ").append(event.getQuestionType()).append("\n");
-        prompt.append("- 평균 난이도: ").append(event.getAvgDifficultyLevel()).append("\n\n");
-        
-        // =====================================================
-        // 실시간 추천 요청 (짧은 유튜브 동영상 위주)
-        // =====================================================
-        prompt.append("## 🎯 실시간 추천 요청 (짧은 유튜브 동영상 위주)\n");
-        prompt.append("위 세션 결과를 바탕으로 **사용자가 어려워하는 부분을 보완**할 수 있는 **짧은 유튜브 동영상**을 우선적으로 추천해주세요:\n\n");
-        
-        prompt.append("1. **짧은 유튜브 동영상 우선**: 1-3분 이내의 짧고 집중적인 유튜브 동영상\n");
-        prompt.append("2. **구체적 문제 내용 기반**: 위에서 분석한 틀린 문제들의 구체적인 내용을 바탕으로 정확한 약점 파악\n");
-        prompt.append("3. **오답률 ").append(event.getErrorRate()).append("% 보완**: '").append(event.getMajorCategory()).append(" - ").append(event.getMinorCategory()).append("' 주제에서 틀린 부분을 보완할 수 있는 콘텐츠\n");
-        prompt.append("4. **난이도 적합성**: 현재 평균 난이도 ").append(event.getAvgDifficultyLevel()).append("에서 약간 낮은 수준의 이해하기 쉬운 콘텐츠\n");
-        prompt.append("5. **학습 패턴 반영**: ").append(event.getSessionType()).append(" 세션 유형에 적합한 실습/복습 콘텐츠\n");
-        prompt.append("6. **즉시 활용**: 방금 학습한 내용을 바로 적용할 수 있는 실용적 콘텐츠\n");
-        // 장르 선호도 제거: 실시간 추천은 대분류/소분류 중심
-        prompt.append("7. **카테고리 적합성**: 해당 대분류/소분류 맥락에 직접적으로 연결된 콘텐츠 우선 고려\n\n");
-        
-        prompt.append("**중요**: 실시간 추천은 **짧은 유튜브 동영상(0-3분)**을 우선적으로 추천하고, 필요시에만 다른 미디어 유형을 포함하세요.\n\n");
-        
-        prompt.append("**추천 전략**:\n");
-        prompt.append("- 틀린 문제의 구체적인 내용을 분석하여 어떤 영어 표현이나 문법 규칙을 몰랐는지 파악\n");
-        prompt.append("- 해당 약점을 보완할 수 있는 구체적이고 실용적인 콘텐츠 우선 추천\n");
-        prompt.append("- 문제에서 사용된 어휘나 표현과 직접적으로 연관된 콘텐츠 포함\n\n");
-        
-        // =====================================================
-        // 응답 형식
-        // =====================================================
-        prompt.append("## 📝 응답 형식\n");
-        prompt.append("다음 JSON 형식으로 응답해주세요:\n\n");
-        prompt.append("```json\n");
-        prompt.append("{\n");
-        prompt.append("  \"recommendations\": [\n");
-        prompt.append("    {\n");
-        prompt.append("      \"title\": \"콘텐츠 제목\",\n");
-        prompt.append("      \"description\": \"간단한 설명\",\n");
-        prompt.append("      \"url\": \"콘텐츠 링크\",\n");
-        prompt.append("      \"thumbnailUrl\": \"썰네일 이미지 URL\",\n");
-        prompt.append("      \"playUrl\": \"재생용 URL (유튜브의 경우 embed URL)\",\n");
-        prompt.append("      \"mediaType\": \"VIDEO|AUDIO|ARTICLE|BOOK\",\n");
-        prompt.append("      \"platform\": \"YouTube|Spotify|Medium 등\",\n");
-        prompt.append("      \"difficultyLevel\": \"초급|중급|고급\",\n");
-        prompt.append("      \"recommendationReason\": \"이 콘텐츠가 오답률 ").append(event.getErrorRate()).append("%를 보완하는 구체적인 이유\",\n");
-        prompt.append("      \"estimatedDuration\": 15,\n");
-        prompt.append("      \"language\": \"en\",\n");
-        prompt.append("      \"category\": \"카테고리 정보\",\n");
-        prompt.append("      \"videoId\": \"유튜브 비디오 ID (watch?v= 뒤의 값)\",\n");
-        prompt.append("      \"channelName\": \"유튜브 채널명\",\n");
-        prompt.append("      \"viewCount\": \"조회수\",\n");
-        prompt.append("      \"publishedAt\": \"업로드 날짜\"\n");
-        prompt.append("    }\n");
-        prompt.append("  ]\n");
-        prompt.append("}\n");
-        prompt.append("```\n\n");
-        
-        // =====================================================
-        // 추가 지시사항 (실시간 추천 특화 - 짧은 유튜브 위주)
-        // =====================================================
-        prompt.append("## ⚡ 실시간 추천 특화 지시사항 (짧은 유튜브 동영상 위주)\n");
-        prompt.append("- **짧은 유튜브 우선**: 1-3분 이내의 짧고 집중적인 유튜브 동영상을 우선적으로 추천\n");
-        prompt.append("- **구체적 약점 분석**: 위에서 분석한 틀린 문제들의 구체적인 내용을 바탕으로 정확한 약점 파악\n");
-        prompt.append("- **즉시 보완**: 방금 틀린 문제와 직접적으로 연관된 콘텐츠 우선 추천\n");
-        prompt.append("- **난이도 조정**: 오답률이 높으므로 현재보다 낮은 난이도의 이해하기 쉬운 콘텐츠 포함\n");
-        prompt.append("- **실용성**: 이론보다는 실습/예제 중심의 콘텐츠 제공\n");
-        prompt.append("- **빠른 복습**: 세션 완료 직후 바로 활용할 수 있는 짧고 효과적인 콘텐츠\n");
-        // 장르 선호도 제거: 실시간 추천은 학습 카테고리 맥락 중심
-        prompt.append("- **카테고리 적합성**: 학습 대분류/소분류 맥락에 적합한 콘텐츠 우선 고려\n");
-        prompt.append("- **미디어 유형**: 80% 유튜브 동영상(1-3분), 15% 팟캐스트, 5% 기타 (짧은 콘텐츠 위주)\n");
-        prompt.append("- 모든 URL은 실제 접근 가능한 링크여야 합니다\n");
-        prompt.append("- 추천 이유는 구체적이고 설득력 있어야 합니다\n");
-        prompt.append("- 한국어로 응답하되, 콘텐츠 제목과 설명은 영어로 제공하세요\n");
-        
+
         String finalPrompt = prompt.toString();
-        log.debug("📝 실시간 세션 기반 프롬프트 생성 (짧은 유튜브 위주):\n{}", finalPrompt);
-        
+        log.debug("📝 실시간 세션 기반 프롬프트 생성 (짧은 유튜브 위주, 추정 토큰: {}):\n{}",
+                PromptTokenEstimator.estimate(finalPrompt), finalPrompt);
+
         return finalPrompt;
     }
 
     /**
-     * 사용자 요청 기반 추천을 위한 프롬프트를 생성합니다.
+     * 틀린 문제 상세 분석 섹션을 모든 틀린 문제의 전체 형태로 붙입니다.
+     *
+     * @return 틀린 문제별 본문 구간 (2i: 시작, 2i+1: 끝, 번호 머리말 제외)
+     */
+    private static int[] appendWrongQuestionSection(StringBuilder prompt, List<SessionQuestionDetail> wrongQuestions) {
+        prompt.append(WRONG_QUESTION_HEADER);
+        if (wrongQuestions.isEmpty()) {
+            prompt.append(NO_WRONG_QUESTION);
+            return new int[0];
+        }
+
+        int[] entryBounds = new int[2 * wrongQuestions.size()];
+        for (int i = 0; i < wrongQuestions.size(); i++) {
+            WRONG_QUESTION_NUMBER.appendTo(prompt, i + 1);
+            entryBounds[2 * i] = prompt.length();
+            appendWrongQuestion(prompt, wrongQuestions.get(i));
+            entryBounds[2 * i + 1] = prompt.length();
+        }
+        return entryBounds;
+    }
+
+    private static void appendWrongQuestion(StringBuilder prompt, SessionQuestionDetail sqd) {
+        WRONG_QUESTION.appendTo(prompt, sqd.getQuestionText(), sqd.getMajorCategory(), sqd.getMinorCategory(), sqd.getDifficultyLevel());
+
+        // 선택지 정보
+        List<String> options = sqd.getOptions();
+        if (options != null && options.size() >= 3) {
+            WRONG_QUESTION_OPTIONS.appendTo(prompt, options.get(0), options.get(1), options.get(2));
+        }
+
+        WRONG_QUESTION_ANSWERS.appendTo(prompt, sqd.getUserAnswer(), sqd.getCorrectAnswer());
+
+        // 해설 정보
+        if (sqd.getExplanation() != null && !sqd.getExplanation().trim().isEmpty()) {
+            WRONG_QUESTION_EXPLANATION.appendTo(prompt, sqd.getExplanation());
+        }
+
+        // 풀이 시간, 시도 횟수, AI를 위한 구체적 분석 요청
+        WRONG_QUESTION_EFFORT.appendTo(prompt, sqd.getTimeSpent(), sqd.getAttemptCount());
+    }
+
+    /**
+     * 틀린 문제 상세 분석 섹션을 토큰 예산에 맞게 다시 만듭니다.
+     *
+     * 약점 신호가 강한 문제부터 전체 형태 → 요약 형태(선택지/해설/분석 요청 제외, 문제 글자 수 제한) 순으로
+     * 들어가는 만큼 넣고 나머지는 생략합니다. 예산이 아무리 작아도 가장 신호가 강한 문제 1개는 요약 형태로 넣습니다.
+     * 포함된 문제는 세션 순서대로 번호를 다시 매깁니다.
+     *
+     * @param availableTokens 틀린 문제 항목에 쓸 수 있는 추정 토큰 수 (생략 안내 문구 몫 제외)
+     */
+    private void fitWrongQuestionsToBudget(StringBuilder prompt, String sessionId, List<SessionQuestionDetail> wrongQuestions,
+                                           int[] entryBounds, int sectionStart, int sectionEnd, int availableTokens) {
+        String[] entries = new String[wrongQuestions.size()];
+        int compacted = 0;
+        int omitted = 0;
+        List<Integer> ranking = rankByWeaknessSignal(wrongQuestions);
+        for (int i : ranking) {
+            int cost = WRONG_QUESTION_PREFIX_TOKENS + PromptTokenEstimator.estimate(prompt, entryBounds[2 * i], entryBounds[2 * i + 1]);
+            if (cost <= availableTokens) {
+                entries[i] = prompt.substring(entryBounds[2 * i], entryBounds[2 * i + 1]);
+                availableTokens -= cost;
+                continue;
+            }
+            String compact = formatCompactWrongQuestion(wrongQuestions.get(i));
+            cost = WRONG_QUESTION_PREFIX_TOKENS + PromptTokenEstimator.estimate(compact);
+            if (cost <= availableTokens || i == ranking.get(0)) {
+                entries[i] = compact;
+                availableTokens -= cost;
+                compacted++;
+            } else {
+                omitted++;
+            }
+        }
+
+        String request = prompt.substring(sectionEnd);
+        prompt.setLength(sectionStart);
+        prompt.append(WRONG_QUESTION_HEADER);
+        int wrongQuestionCount = 0;
+        for (String entry : entries) {
+            if (entry == null) continue;
+            WRONG_QUESTION_NUMBER.appendTo(prompt, ++wrongQuestionCount).append(entry);
+        }
+        if (omitted > 0) {
+            OMITTED_WRONG_QUESTIONS.appendTo(prompt, omitted);
+        }
+        prompt.append(request);
+
+        log.debug("✂️ 실시간 프롬프트 토큰 예산 적용 - Session ID: {}, 틀린 문제: {}개, 요약: {}개, 생략: {}개, 예산: {}",
+                sessionId, wrongQuestions.size(), compacted, omitted, realTimeTokenBudget);
+    }
+
+    private static String formatCompactWrongQuestion(SessionQuestionDetail sqd) {
+        String questionText = String.valueOf(sqd.getQuestionText());
+        if (questionText.length() > COMPACT_QUESTION_TEXT_LENGTH) {
+            questionText = questionText.substring(0, COMPACT_QUESTION_TEXT_LENGTH) + "…";
+        }
+        return COMPACT_WRONG_QUESTION.appendTo(new StringBuilder(COMPACT_WRONG_QUESTION.staticLength() + questionText.length() + 8 * SLOT_VALUE_LENGTH),
+                questionText, sqd.getMajorCategory(), sqd.getMinorCategory(), sqd.getDifficultyLevel(),
+                sqd.getUserAnswer(), sqd.getCorrectAnswer(), sqd.getTimeSpent(), sqd.getAttemptCount()).toString();
+    }
+
+    /**
+     * 틀린 문제 인덱스를 약점 신호가 강한 순서로 정렬합니다. (같으면 세션 순서)
+     *
+     * 여러 번 시도한 문제, 틀린 문제 평균보다 오래 고민한 문제, 쉬운 난이도인데 틀린 문제일수록
+     * 사용자의 약점을 더 분명하게 보여준다고 봅니다.
+     */
+    private static List<Integer> rankByWeaknessSignal(List<SessionQuestionDetail> wrongQuestions) {
+        double avgTimeSpent = wrongQuestions.stream()
+                .filter(sqd -> sqd.getTimeSpent() != null)
+                .mapToInt(SessionQuestionDetail::getTimeSpent)
+                .average()
+                .orElse(0);
+        double[] signals = new double[wrongQuestions.size()];
+        List<Integer> order = new ArrayList<>(signals.length);
+        for (int i = 0; i < signals.length; i++) {
+            SessionQuestionDetail sqd = wrongQuestions.get(i);
+            int attempts = sqd.getAttemptCount() != null ? Math.max(1, sqd.getAttemptCount()) : 1;
+            double timeRatio = sqd.getTimeSpent() != null && avgTimeSpent > 0
+                    ? Math.min(3.0, sqd.getTimeSpent() / avgTimeSpent) : 1.0;
+            int difficulty = sqd.getDifficultyLevel() != null ? Math.max(1, Math.min(3, sqd.getDifficultyLevel())) : 2;
+            signals[i] = (attempts - 1) + timeRatio + (3 - difficulty) * 0.5;
+            order.add(i);
+        }
+        order.sort(Comparator.comparingDouble((Integer i) -> signals[i]).reversed());
+        return order;
+    }
+
+    /**
+     * 프롬프트 종류별 고정 머리말을 반환합니다.
+     * 
+     * 실시간 세션 프롬프트는 REAL_TIME_INSTRUCTIONS로, 사용자 요청/코호트 프롬프트는 USER_REQUESTED_INSTRUCTIONS로 시작하며
+     * 세션/사용자별 값은 모두 그 뒤에 붙습니다.
+     */
+    @Override
+    public List<String> getStablePrefixes() {
+        return List.of(REAL_TIME_INSTRUCTIONS, USER_REQUESTED_INSTRUCTIONS);
+    }
+
+    /**
+     * 실시간 세션 기반 추천 입력의 정규화된 지문을 생성합니다.
      * 
+     * 추천 결과를 좌우하는 입력(대분류/소분류, 세션/문제 유형, 평균 난이도, 오답률 구간, 틀린 문제 ID 집합)만 사용하고
+     * 세션 ID, 완료 시각, 풀이 시간처럼 세션마다 달라지는 값은 제외합니다.
+     * 프롬프트 템플릿이 바뀌면 REAL_TIME_TEMPLATE_VERSION을 올려 이전 캐시 결과와 구분합니다.
+     */
+    @Override
+    public String generateRealTimeSessionFingerprint(LearningCompletedEvent event) {
+        TreeSet<String> wrongQuestionIds = new TreeSet<>();
+        if (event.getSessionQuestions() != null) {
+            for (SessionQuestionDetail sqd : event.getSessionQuestions()) {
+                if (!sqd.isCorrect()) {
+                    wrongQuestionIds.add(sqd.getQuestionId() != null ? sqd.getQuestionId() : String.valueOf(sqd.getQuestionText()));
+                }
+            }
+        }
+        
+        String canonical = String.join("|",
+                REAL_TIME_TEMPLATE_VERSION,
+                String.valueOf(event.getMajorCategory()),
+                String.valueOf(event.getMinorCategory()),
+                String.valueOf(event.getSessionType()),
+                String.valueOf(event.getQuestionType()),
+                String.valueOf(event.getAvgDifficultyLevel()),
+                event.getErrorRate() != null ? String.valueOf((int) (event.getErrorRate() / ERROR_RATE_BUCKET_SIZE)) : "null",
+                String.join(",", wrongQuestionIds));
+        
+        return fingerprint(REAL_TIME_TEMPLATE_VERSION, canonical);
+    }
+
+    /**
+     * 사용자 요청 기반 추천을 위한 프롬프트를 생성합니다.
+     *
      * 핵심 성과 지표만 사용하여 효율적인 추천을 생성합니다.
      */
     @Override
     public String generateUserRequestedPrompt(UserPerformanceSummary userPerformance, List<String> selectedGenres) {
-        StringBuilder prompt = new StringBuilder();
-        
-        prompt.append("# 🎯 사용자 요청 기반 미디어 추천 프롬프트\n\n");
-        
-        // =====================================================
-        // 1. 추천 목표 및 요구사항
-        // =====================================================
-        prompt.append("## 📋 추천 목표\n");
-        prompt.append("사용자의 **핵심 성과 지표**를 분석하여 **다양한 미디어 타입**의 콘텐츠를 추천합니다.\n\n");
-        
-        prompt.append("## 🎬 추천 요구사항\n");
-        prompt.append("- **유튜브 동영상**: 길이 상관없음 (URL 제공)\n");
-        prompt.append("- **영화/드라마**: 짧은 설명과 함께 추천\n");
-        prompt.append("- **오디오북**: 짧은 설명과 함께 추천\n");
-        prompt.append("- **사용자가 선택한 장르**: ").append(String.join(", ", selectedGenres)).append("\n\n");
-        
-        // =====================================================
-        // 2. 사용자 성과 분석
-        // =====================================================
-        prompt.append("## 📊 사용자 성과 분석\n");
-        prompt.append("**사용자가 선택한 장르**: ").append(String.join(", ", selectedGenres)).append("\n\n");
-        
-        // =====================================================
+        Map<String, Double> categoryPerformance = userPerformance.getCategoryPerformance();
+        Map<Integer, Double> difficultyPerformance = userPerformance.getDifficultyPerformance();
+        int lineCount = (categoryPerformance != null ? categoryPerformance.size() : 0)
+                + (difficultyPerformance != null ? difficultyPerformance.size() : 0);
+        StringBuilder prompt = new StringBuilder(USER_REQUESTED_BASE_CAPACITY + lineCount * PERFORMANCE_LINE_CAPACITY);
+
+        // 고정 머리말 (추천 목표 및 요구사항, 추천 전략, AI 분석 요청, 출력 형식)
+        prompt.append(USER_REQUESTED_INSTRUCTIONS);
+
+        // 사용자 성과 분석
+        USER_PERFORMANCE_HEADER.appendTo(prompt, String.join(", ", selectedGenres));
+
         // 3. 카테고리별 성과 분석
-        // =====================================================
-        prompt.append("## 🏷️ 카테고리별 성과 분석\n");
-        prompt.append("**중요**: 성과가 낮은 카테고리를 우선적으로 보완할 콘텐츠를 추천해주세요.\n\n");
-        
-        if (userPerformance.getCategoryPerformance() != null && !userPerformance.getCategoryPerformance().isEmpty()) {
-            for (Map.Entry<String, Double> entry : userPerformance.getCategoryPerformance().entrySet()) {
-                String category = entry.getKey();
-                Double performance = entry.getValue();
-                String status = performance >= 80 ? "🟢 우수" : performance >= 60 ? "🟡 보통" : "🔴 보완 필요";
-                
-                prompt.append("- **").append(category).append("**: ").append(performance).append("% (").append(status).append(")\n");
+        prompt.append(CATEGORY_PERFORMANCE_HEADER);
+        if (categoryPerformance != null && !categoryPerformance.isEmpty()) {
+            for (Map.Entry<String, Double> entry : categoryPerformance.entrySet()) {
+                CATEGORY_PERFORMANCE.appendTo(prompt, entry.getKey(), entry.getValue(), performanceStatus(entry.getValue()));
             }
             prompt.append("\n");
         }
-        
-        // =====================================================
+
         // 4. 난이도별 성과 분석
-        // =====================================================
-        prompt.append("## 📈 난이도별 성과 분석\n");
-        prompt.append("**중요**: 성과가 낮은 난이도 단계를 단계적으로 향상시킬 콘텐츠를 추천해주세요.\n\n");
-        
-        if (userPerformance.getDifficultyPerformance() != null && !userPerformance.getDifficultyPerformance().isEmpty()) {
-            for (Map.Entry<Integer, Double> entry : userPerformance.getDifficultyPerformance().entrySet()) {
-                Integer difficulty = entry.getKey();
-                Double performance = entry.getValue();
-                String level = switch (difficulty) {
-                    case 1 -> "초급";
-                    case 2 -> "중급";
-                    case 3 -> "고급";
-                    default -> "기타";
-                };
-                String status = performance >= 80 ? "🟢 우수" : performance >= 60 ? "🟡 보통" : "🔴 보완 필요";
-                
-                prompt.append("- **").append(level).append(" (Lv.").append(difficulty).append(")**: ").append(performance).append("% (").append(status).append(")\n");
+        prompt.append(DIFFICULTY_PERFORMANCE_HEADER);
+        if (difficultyPerformance != null && !difficultyPerformance.isEmpty()) {
+            for (Map.Entry<Integer, Double> entry : difficultyPerformance.entrySet()) {
+                DIFFICULTY_PERFORMANCE.appendTo(prompt, difficultyLabel(entry.getKey()), entry.getKey(), entry.getValue(),
+                        performanceStatus(entry.getValue()));
             }
             prompt.append("\n");
         }
-        
-        // =====================================================
-        // 5. 추천 전략
-        // =====================================================
-        prompt.append("## 🎯 추천 전략\n");
-        prompt.append("1. **성과가 낮은 카테고리 우선**: 보완이 필요한 영역의 콘텐츠를 먼저 추천\n");
-        prompt.append("2. **난이도 단계별 향상**: 현재 단계에서 다음 단계로 나아갈 수 있는 콘텐츠 추천\n");
-        prompt.append("3. **선택된 장르 반영**: 사용자가 선택한 장르의 콘텐츠를 포함\n");
-        prompt.append("4. **다양한 미디어 타입**: 유튜브, 영화/드라마, 오디오북을 균형있게 추천\n\n");
-        
-        // =====================================================
-        // 6. AI 분석 요청
-        // =====================================================
-        prompt.append("## 🤖 AI 분석 요청\n");
-        prompt.append("위의 성과 지표를 분석하여 다음을 고려한 추천을 생성해주세요:\n\n");
-        
-        prompt.append("1. **성과가 낮은 카테고리**에서 어떤 콘텐츠가 도움이 될까요?\n");
-        prompt.append("2. **현재 난이도**에서 **다음 단계**로 나아갈 수 있는 콘텐츠는 무엇일까요?\n");
-        prompt.append("3. **사용자가 선택한 장르**를 반영하면서도 **학습 효과**를 높일 수 있는 콘텐츠는?\n");
-        prompt.append("4. **다양한 미디어 타입**을 통해 **학습 동기**를 유지할 수 있는 콘텐츠는?\n\n");
-        
-        prompt.append("## 📝 출력 형식\n");
-        prompt.append("JSON 형태로 다음 정보를 포함하여 추천해주세요:\n");
-        prompt.append("- title: 콘텐츠 제목\n");
-        prompt.append("- description: 콘텐츠 설명\n");
-        prompt.append("- url: 콘텐츠 링크\n");
-        prompt.append("- mediaType: VIDEO, AUDIO, ARTICLE, BOOK 중 하나\n");
-        prompt.append("- platform: YouTube, Netflix, Spotify 등\n");
-        prompt.append("- difficultyLevel: 초급, 중급, 고급\n");
-        prompt.append("- recommendationReason: 이 콘텐츠를 추천하는 이유\n");
-        prompt.append("- estimatedDuration: 예상 소요 시간 (분)\n\n");
-        
-        prompt.append("**총 5-8개의 다양한 콘텐츠를 추천해주세요.**\n");
-        
+
         return prompt.toString();
     }
 
-    private String getTravelContext(String minorCategory) {
-        switch (minorCategory) {
-            case "배낭":
-                return "배낭 여행에 필요한 영어 표현과 어휘를 학습합니다.";
-            case "가족":
-                return "가족과 함께하는 여행에 필요한 영어 표현과 어휘를 학습합니다.";
-            case "친구":
-                return "친구와 함께하는 여행에 필요한 영어 표현과 어휘를 학습합니다.";
-            default:
-                return "여행 관련 영어 표현과 어휘를 학습합니다.";
+    /**
+     * 사용자 요청 기반 추천의 코호트 지문을 생성합니다.
+     * 
+     * 장르는 정렬/중복 제거하고, 카테고리는 성과가 가장 낮은 항목만, 난이도는 숙련도 구간(우수/보통/보완 필요)만 사용하므로
+     * 성과 수치가 조금씩 다른 사용자도 같은 코호트로 묶입니다.
+     * 코호트 프롬프트 템플릿이 바뀌면 USER_COHORT_TEMPLATE_VERSION을 올려 이전 캐시 결과와 구분합니다.
+     */
+    @Override
+    public String generateUserCohortFingerprint(UserPerformanceSummary userPerformance, List<String> selectedGenres) {
+        String canonical = String.join("|",
+                USER_COHORT_TEMPLATE_VERSION,
+                String.join(",", normalizeGenres(selectedGenres)),
+                String.join(",", weakestCategories(userPerformance.getCategoryPerformance())),
+                difficultyBands(userPerformance.getDifficultyPerformance()).toString());
+        
+        return fingerprint(USER_COHORT_TEMPLATE_VERSION, canonical);
+    }
+
+    /**
+     * 코호트 단위 사용자 요청 추천 프롬프트를 생성합니다.
+     *
+     * 사용자별 성과 수치 대신 코호트 지문에 쓰인 값(정렬된 장르, 보완 필요 카테고리, 난이도별 숙련도 구간)만 포함합니다.
+     */
+    @Override
+    public String generateUserCohortPrompt(UserPerformanceSummary userPerformance, List<String> selectedGenres) {
+        List<String> weakestCategories = weakestCategories(userPerformance.getCategoryPerformance());
+        TreeMap<Integer, String> difficultyBands = difficultyBands(userPerformance.getDifficultyPerformance());
+        StringBuilder prompt = new StringBuilder(USER_REQUESTED_BASE_CAPACITY + WEAKEST_CATEGORY_HEADER.length()
+                + DIFFICULTY_BAND_HEADER.length() + (weakestCategories.size() + difficultyBands.size()) * PERFORMANCE_LINE_CAPACITY);
+
+        prompt.append(USER_REQUESTED_INSTRUCTIONS);
+        USER_PERFORMANCE_HEADER.appendTo(prompt, String.join(", ", normalizeGenres(selectedGenres)));
+
+        // 3. 보완이 필요한 카테고리
+        prompt.append(WEAKEST_CATEGORY_HEADER);
+        for (String category : weakestCategories) {
+            WEAKEST_CATEGORY.appendTo(prompt, category);
+        }
+        prompt.append("\n");
+
+        // 4. 난이도별 숙련도 구간
+        prompt.append(DIFFICULTY_BAND_HEADER);
+        for (Map.Entry<Integer, String> entry : difficultyBands.entrySet()) {
+            DIFFICULTY_BAND.appendTo(prompt, difficultyLabel(entry.getKey()), entry.getKey(), entry.getValue());
         }
+        prompt.append("\n");
+
+        return prompt.toString();
     }
 
-    private String getBusinessContext(String minorCategory) {
-        switch (minorCategory) {
-            case "회사":
-                return "회사 업무에 필요한 영어 표현과 어휘를 학습합니다.";
-            case "미팅":
-                return "미팅 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.";
-            case "회의":
-                return "회의 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.";
-            default:
-                return "비즈니스 관련 영어 표현과 어휘를 학습합니다.";
+    private static TreeSet<String> normalizeGenres(List<String> selectedGenres) {
+        TreeSet<String> genres = new TreeSet<>();
+        if (selectedGenres != null) {
+            for (String genre : selectedGenres) {
+                if (genre != null && !genre.isBlank()) {
+                    genres.add(genre.trim());
+                }
+            }
         }
+        return genres;
     }
 
-    private String getEducationContext(String minorCategory) {
-        switch (minorCategory) {
-            case "대학교":
-                return "대학교 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.";
-            case "학원":
-                return "학원 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.";
-            case "대학원":
-                return "대학원 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.";
-            default:
-                return "학업 관련 영어 표현과 어휘를 학습합니다.";
+    /**
+     * 성과가 가장 낮은 카테고리 (동률이면 이름순)
+     */
+    private static List<String> weakestCategories(Map<String, Double> categoryPerformance) {
+        if (categoryPerformance == null) {
+            return List.of();
         }
+        return categoryPerformance.entrySet().stream()
+                .filter(entry -> entry.getValue() != null)
+                .sorted(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(COHORT_WEAKEST_CATEGORY_COUNT)
+                .map(Map.Entry::getKey)
+                .toList();
     }
 
-    private String getDailyLifeContext(String minorCategory) {
-        switch (minorCategory) {
-            case "가족":
-                return "가족과의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.";
-            case "친구":
-                return "친구와의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.";
-            case "선생님":
-                return "선생님과의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.";
-            default:
-                return "일상생활 관련 영어 표현과 어휘를 학습합니다.";
+    private static TreeMap<Integer, String> difficultyBands(Map<Integer, Double> difficultyPerformance) {
+        TreeMap<Integer, String> bands = new TreeMap<>();
+        if (difficultyPerformance != null) {
+            difficultyPerformance.forEach((difficulty, performance) -> {
+                if (difficulty != null && performance != null) {
+                    bands.put(difficulty, performanceStatus(performance));
+                }
+            });
         }
+        return bands;
+    }
+
+    private static String performanceStatus(double performance) {
+        return performance >= 80 ? "🟢 우수" : performance >= 60 ? "🟡 보통" : "🔴 보완 필요";
     }
-}
 
+    private static String difficultyLabel(int difficulty) {
+        return switch (difficulty) {
+            case 1 -> "초급";
+            case 2 -> "중급";
+            case 3 -> "고급";
+            default -> "기타";
+        };
+    }
 
+    private static String fingerprint(String version, String canonical) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return version + ":" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없음", e);
+        }
+    }
+}
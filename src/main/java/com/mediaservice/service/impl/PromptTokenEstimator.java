@@ -0,0 +1,50 @@
+package com.mediaservice.service.impl;
+
+/**
+ * 프롬프트 토큰 수 추정기
+ *
+ * 토크나이저를 호출하지 않고 문자 종류별 평균 비율로 토큰 수를 추정합니다.
+ * 영문/숫자/기호(ASCII)는 약 4자당 1토큰, 한글 등 ASCII 밖의 문자는 1자당 1토큰으로 계산합니다.
+ * 한글 비중이 높은 프롬프트에서 길이/4로 계산하면 실제 토큰 수를 크게 낮춰 잡기 때문에 둘을 나눠 셉니다.
+ * (실제보다 약간 많게 추정하는 쪽으로 맞춤)
+ */
+public final class PromptTokenEstimator {
+
+    private static final int ASCII_CHARS_PER_TOKEN = 4;
+
+    private PromptTokenEstimator() {
+    }
+
+    public static int estimate(CharSequence text) {
+        return text == null ? 0 : estimate(text, 0, text.length());
+    }
+
+    /**
+     * text의 [start, end) 구간의 토큰 수를 추정합니다. (부분 문자열을 만들지 않음)
+     */
+    public static int estimate(CharSequence text, int start, int end) {
+        return estimateExcluding(text, start, end, end, end);
+    }
+
+    /**
+     * text의 [start, end) 구간에서 [excludeStart, excludeEnd) 구간을 뺀 나머지를 이어 붙인 문자열의 토큰 수를 추정합니다.
+     * (두 구간을 따로 추정해 더하면 올림이 두 번 들어가 이어 붙인 문자열의 추정값과 달라질 수 있음)
+     */
+    public static int estimateExcluding(CharSequence text, int start, int end, int excludeStart, int excludeEnd) {
+        int asciiChars = 0;
+        int otherChars = 0;
+        for (int i = start; i < end; i++) {
+            if (i >= excludeStart && i < excludeEnd) {
+                i = excludeEnd - 1;
+                continue;
+            }
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                asciiChars++;
+            } else if (!Character.isLowSurrogate(c)) {
+                otherChars++;
+            }
+        }
+        return (asciiChars + ASCII_CHARS_PER_TOKEN - 1) / ASCII_CHARS_PER_TOKEN + otherChars;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.dto.GeminiRequest;
+import com.mediaservice.enums.LlmRequestPriority;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.GeminiApiService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 호출 스케줄러(RPM/TPM 한도, 우선순위, 공정 대기열)의 허가를 받은 뒤 호출하는 GeminiApiService 데코레이터
+ *
+ * 우선순위와 공정 대기열 키는 GeminiRequest에서 가져오며, 프롬프트만 전달된 호출은 BACKGROUND 우선순위의 공용 대기열을 사용합니다.
+ */
+@RequiredArgsConstructor
+public class RateLimitedGeminiApiService implements GeminiApiService {
+
+    private final GeminiApiService delegate;
+    private final GeminiRequestScheduler scheduler;
+    private final Executor executor;
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(String prompt) {
+        return generateRecommendations(GeminiRequest.uncached(prompt));
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(String prompt) {
+        return generateRecommendationsAsync(GeminiRequest.uncached(prompt));
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(String prompt,
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return streamRecommendations(GeminiRequest.uncached(prompt), onRecommendation);
+    }
+
+    @Override
+    public boolean isStreamingEnabled() {
+        return delegate.isStreamingEnabled();
+    }
+
+    @Override
+    public List<MediaRecommendation> generateRecommendations(GeminiRequest request) {
+        try {
+            acquire(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return delegate.generateRecommendations(request.getPrompt());
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> generateRecommendationsAsync(GeminiRequest request) {
+        return afterAdmission(acquire(request), () -> delegate.generateRecommendationsAsync(request.getPrompt()));
+    }
+
+    @Override
+    public CompletableFuture<List<MediaRecommendation>> streamRecommendations(GeminiRequest request,
+                                                                              Consumer<MediaRecommendation> onRecommendation) {
+        return afterAdmission(acquire(request), () -> delegate.streamRecommendations(request.getPrompt(), onRecommendation));
+    }
+
+    private CompletableFuture<Void> acquire(GeminiRequest request) {
+        LlmRequestPriority priority = request.getPriority() != null ? request.getPriority() : LlmRequestPriority.BACKGROUND;
+        return scheduler.acquire(priority, request.getFairnessKey(), request.getPrompt());
+    }
+
+    /**
+     * 허가가 바로 나오면 호출 스레드에서, 대기 후 허가되면 스케줄러 디스패처 스레드가 아닌 LLM 작업 풀에서 호출합니다.
+     * (이후 데코레이터가 동시 호출 허가를 기다리며 스레드를 막을 수 있으므로 공용 ForkJoinPool을 사용하지 않음)
+     */
+    private CompletableFuture<List<MediaRecommendation>> afterAdmission(
+            CompletableFuture<Void> admission, Supplier<CompletableFuture<List<MediaRecommendation>>> call) {
+        if (admission.isDone()) {
+            return admission.thenCompose(ignored -> call.get());
+        }
+        return admission.thenComposeAsync(ignored -> call.get(), executor);
+    }
+}
@@ -1,23 +1,47 @@
 package com.mediaservice.service.impl;
 
+import com.mediaservice.dto.BatchRecommendationResult;
+import com.mediaservice.dto.GeminiRequest;
 import com.mediaservice.dto.SessionQuestionDetail;
 import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.event.RecommendationGeneratedEvent;
+import com.mediaservice.exception.NonRetryableRecommendationException;
 import com.mediaservice.model.MediaRecommendation;
 import com.mediaservice.repository.MediaRecommendationRepository;
 import com.mediaservice.repository.SessionQuestionRepository;
 import com.mediaservice.service.RealTimeRecommendationService;
 import com.mediaservice.service.GeminiApiService;
 import com.mediaservice.service.PromptTemplateService;
+import com.mediaservice.service.ProcessedEventService;
+import com.mediaservice.service.PromptStoreService;
+import com.mediaservice.enums.LlmRequestPriority;
 import com.mediaservice.enums.RecommendationType;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 실시간 세션 기반 미디어 추천 서비스 구현체
@@ -34,41 +58,65 @@ public class RealTimeRecommendationServiceImpl implements RealTimeRecommendation
     private final GeminiApiService geminiApiService;
     private final MediaRecommendationRepository mediaRecommendationRepository;
     private final SessionQuestionRepository sessionQuestionRepository;
+    private final ProcessedEventService processedEventService;
+    private final PromptStoreService promptStoreService;
+    private final SessionQuestionSnapshotCache sessionQuestionSnapshotCache;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FallbackRecommendationReplacer fallbackRecommendationReplacer;
+    @Qualifier("llmTaskExecutor")
+    private final Executor llmTaskExecutor;
 
     @Override
-    @Transactional
     public void generateRecommendations(LearningCompletedEvent event) {
+        long startedAt = System.nanoTime();
         try {
             log.info("🎯 실시간 세션 기반 미디어 추천 생성 시작 - UserId: {}, SessionId: {}", 
                     event.getUserId(), event.getSessionId());
+            validateEvent(event);
             
-            // 세션 문제 상세 정보 조회 (실제 DB에서 가져옴)
-            List<SessionQuestionDetail> sessionQuestions = getSessionQuestionDetails(event.getSessionId());
-            log.info("📊 세션 문제 상세 정보 조회 완료 - 문제 수: {}", sessionQuestions.size());
+            // 이미 처리된 세션이면 Gemini API 호출 없이 건너뜀 (재전달된 이벤트)
+            if (processedEventService.isProcessed(event.getSessionId())) {
+                log.info("⏭️ 이미 처리된 세션 - 추천 생성 건너뜀 - UserId: {}, SessionId: {}", 
+                        event.getUserId(), event.getSessionId());
+                return;
+            }
             
-            // 이벤트에 세션 문제 정보 설정
-            event.setSessionQuestions(sessionQuestions);
+            // 세션 문제 상세 정보 설정 (이벤트에 실려 온 정보 또는 캐시 우선, 없으면 DB에서 조회)
+            resolveSessionQuestions(List.of(event));
+            log.info("📊 세션 문제 상세 정보 준비 완료 - 문제 수: {}", event.getSessionQuestions().size());
             
             // 실시간 세션 기반 프롬프트 생성 (대분류/소분류 중심)
             String prompt = promptTemplateService.generateRealTimeSessionPrompt(event);
             log.debug("📝 실시간 세션 기반 프롬프트 생성 완료");
             
+            // 스트리밍 모드: 추천 항목이 완성되는 즉시 저장하고 전달
+            if (geminiApiService.isStreamingEnabled()) {
+                generateStreamingRecommendations(event, prompt);
+                return;
+            }
+            
             // Gemini API 호출하여 추천 생성
-            List<MediaRecommendation> recommendations = geminiApiService.generateRecommendations(prompt);
+            GeminiRequest request = buildGeminiRequest(event, prompt);
+            List<MediaRecommendation> recommendations = geminiApiService.generateRecommendations(request);
             log.info("🤖 Gemini API를 통한 실시간 추천 생성 완료 - 추천 개수: {}", recommendations.size());
             
             // 추천 결과에 실시간 추천 정보 추가
-            recommendations.forEach(recommendation -> {
-                recommendation.setUserId(Long.valueOf(event.getUserId()));
-                recommendation.setRecommendationType(RecommendationType.REAL_TIME_SESSION);
-                recommendation.setSessionId(event.getSessionId());
-                recommendation.setGeneratedAt(LocalDateTime.now());
-                recommendation.setPromptUsed(prompt);
-            });
+            applyRealTimeMetadata(recommendations, event);
             
-            // 데이터베이스에 저장
-            List<MediaRecommendation> savedRecommendations = mediaRecommendationRepository.saveAll(recommendations);
+            // 프롬프트, 추천, 처리 완료 기록을 하나의 트랜잭션으로 저장
+            List<MediaRecommendation> savedRecommendations;
+            try {
+                savedRecommendations = persistWithProcessedMarker(event, recommendations, prompt);
+            } catch (DataIntegrityViolationException e) {
+                // 동시에 처리된 같은 세션이 먼저 커밋됨 -> 이번 결과는 롤백되고 중복 저장되지 않음
+                log.info("⏭️ 다른 컨슈머가 먼저 처리한 세션 - 추천 저장 건너뜀 - UserId: {}, SessionId: {}", 
+                        event.getUserId(), event.getSessionId());
+                return;
+            }
             log.info("💾 실시간 세션 기반 추천 저장 완료 - 저장된 추천 개수: {}", savedRecommendations.size());
+            fallbackRecommendationReplacer.registerIfFallback(request, savedRecommendations);
             
             // 추천 결과 로깅
             savedRecommendations.forEach(recommendation -> 
@@ -79,9 +127,488 @@ public class RealTimeRecommendationServiceImpl implements RealTimeRecommendation
             log.error("❌ 실시간 세션 기반 미디어 추천 생성 중 오류 발생 - UserId: {}, SessionId: {}, Error: {}", 
                     event.getUserId(), event.getSessionId(), e.getMessage(), e);
             throw new RuntimeException("실시간 세션 기반 미디어 추천 생성 실패", e);
+        } finally {
+            recordProcessingTime(startedAt, 1);
+        }
+    }
+    
+    @Override
+    public BatchRecommendationResult generateBatchRecommendations(List<LearningCompletedEvent> events) {
+        long startedAt = System.nanoTime();
+        log.info("🎯 배치 실시간 미디어 추천 생성 시작 - 이벤트 수: {}", events.size());
+        
+        // 1. 이미 처리된 세션과 배치 내 중복 세션을 제외
+        Set<String> sessionIds = new LinkedHashSet<>();
+        events.forEach(event -> {
+            if (event.getSessionId() != null) {
+                sessionIds.add(event.getSessionId());
+            }
+        });
+        Set<String> alreadyProcessed = sessionIds.isEmpty() 
+                ? new HashSet<>() : processedEventService.findProcessed(sessionIds);
+        sessionIds.removeAll(alreadyProcessed);
+        
+        Set<String> claimedSessionIds = new HashSet<>();
+        List<Integer> targetIndexes = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            String sessionId = events.get(i).getSessionId();
+            if (sessionId == null || (!alreadyProcessed.contains(sessionId) && claimedSessionIds.add(sessionId))) {
+                targetIndexes.add(i);
+            }
+        }
+        int skippedCount = events.size() - targetIndexes.size();
+        if (skippedCount > 0) {
+            log.info("⏭️ 이미 처리되었거나 중복된 이벤트 건너뜀 - 건너뛴 이벤트 수: {}", skippedCount);
+        }
+        
+        // 2. 처리 대상 세션의 문제 상세 정보 설정 (이벤트/캐시에 없는 세션만 IN 쿼리 1회로 조회)
+        List<LearningCompletedEvent> targetEvents = new ArrayList<>(targetIndexes.size());
+        targetIndexes.forEach(index -> targetEvents.add(events.get(index)));
+        resolveSessionQuestions(targetEvents);
+        
+        // 3. 이벤트별 프롬프트 생성 후 Gemini API를 비동기로 호출 (응답 대기 중 LLM 스레드를 점유하지 않음)
+        Map<Integer, CompletableFuture<List<MediaRecommendation>>> futures = new LinkedHashMap<>();
+        Map<Integer, GeminiRequest> requests = new ConcurrentHashMap<>();
+        for (int index : targetIndexes) {
+            LearningCompletedEvent event = events.get(index);
+            futures.put(index, CompletableFuture.supplyAsync(() -> {
+                validateEvent(event);
+                return promptTemplateService.generateRealTimeSessionPrompt(event);
+            }, llmTaskExecutor).thenCompose(prompt -> {
+                GeminiRequest request = buildGeminiRequest(event, prompt);
+                requests.put(index, request);
+                return geminiApiService.generateRecommendationsAsync(request)
+                        .thenApply(recommendations -> {
+                            applyRealTimeMetadata(recommendations, event);
+                            return recommendations;
+                        });
+            }));
+        }
+        
+        // 4. 결과 수집 (실패한 이벤트는 인덱스와 원인을 기록)
+        Map<Integer, List<MediaRecommendation>> recommendationsByIndex = new LinkedHashMap<>();
+        Map<Integer, Throwable> failures = new HashMap<>();
+        futures.forEach((index, future) -> {
+            try {
+                recommendationsByIndex.put(index, future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                LearningCompletedEvent event = events.get(index);
+                log.error("❌ 배치 내 실시간 추천 생성 실패 - UserId: {}, SessionId: {}, Error: {}", 
+                        event.getUserId(), event.getSessionId(), cause.getMessage(), cause);
+                failures.put(index, cause);
+            }
+        });
+        
+        // 5. 배치 전체 프롬프트, 추천 결과, 처리 완료 기록을 한 번에 저장
+        int savedCount = 0;
+        if (!recommendationsByIndex.isEmpty()) {
+            try {
+                savedCount = transactionTemplate.execute(status -> {
+                    List<MediaRecommendation> allRecommendations = new ArrayList<>();
+                    recommendationsByIndex.forEach((index, recommendations) -> {
+                        LearningCompletedEvent event = events.get(index);
+                        processedEventService.markProcessed(event.getSessionId(), event.getUserId());
+                        storePrompt(recommendations, requests.get(index).getPrompt());
+                        allRecommendations.addAll(recommendations);
+                    });
+                    return mediaRecommendationRepository.saveAllAndFlush(allRecommendations).size();
+                });
+                recommendationsByIndex.forEach((index, recommendations) -> 
+                        fallbackRecommendationReplacer.registerIfFallback(requests.get(index), recommendations));
+            } catch (DataIntegrityViolationException e) {
+                // 다른 컨슈머가 배치 내 일부 세션을 먼저 처리함 -> 이벤트 단위로 다시 저장
+                log.warn("⚠️ 배치 저장 중 중복 세션 감지 - 이벤트 단위 저장으로 전환");
+                savedCount = 0;
+                for (Map.Entry<Integer, List<MediaRecommendation>> entry : recommendationsByIndex.entrySet()) {
+                    LearningCompletedEvent event = events.get(entry.getKey());
+                    try {
+                        List<MediaRecommendation> saved = persistWithProcessedMarker(
+                                event, entry.getValue(), requests.get(entry.getKey()).getPrompt());
+                        savedCount += saved.size();
+                        fallbackRecommendationReplacer.registerIfFallback(requests.get(entry.getKey()), saved);
+                    } catch (DataIntegrityViolationException duplicate) {
+                        skippedCount++;
+                        log.info("⏭️ 다른 컨슈머가 먼저 처리한 세션 - 추천 저장 건너뜀 - SessionId: {}", 
+                                event.getSessionId());
+                    }
+                }
+            }
+        }
+        log.info("💾 배치 실시간 추천 저장 완료 - 이벤트 수: {}, 저장된 추천 개수: {}, 건너뛴 이벤트 수: {}, 실패 이벤트 수: {}", 
+                events.size(), savedCount, skippedCount, failures.size());
+        recordProcessingTime(startedAt, events.size());
+        
+        return BatchRecommendationResult.builder()
+                .totalEvents(events.size())
+                .savedRecommendations(savedCount)
+                .skippedEvents(skippedCount)
+                .failures(failures)
+                .build();
+    }
+    
+    @Override
+    public void generateCoalescedRecommendations(List<LearningCompletedEvent> events) {
+        if (events.size() == 1) {
+            generateRecommendations(events.get(0));
+            return;
+        }
+        
+        LearningCompletedEvent latest = events.get(events.size() - 1);
+        long startedAt = System.nanoTime();
+        try {
+            log.info("🎯 병합 실시간 미디어 추천 생성 시작 - UserId: {}, 병합 세션 수: {}", 
+                    latest.getUserId(), events.size());
+            events.forEach(this::validateEvent);
+            
+            // 이미 처리된 세션과 중복 세션 제외
+            Set<String> sessionIds = new LinkedHashSet<>();
+            events.forEach(event -> sessionIds.add(event.getSessionId()));
+            sessionIds.removeAll(processedEventService.findProcessed(sessionIds));
+            if (sessionIds.isEmpty()) {
+                log.info("⏭️ 모두 이미 처리된 세션 - 추천 생성 건너뜀 - UserId: {}", latest.getUserId());
+                return;
+            }
+            
+            List<LearningCompletedEvent> targets = new ArrayList<>();
+            Set<String> claimedSessionIds = new HashSet<>();
+            for (LearningCompletedEvent event : events) {
+                if (sessionIds.contains(event.getSessionId()) && claimedSessionIds.add(event.getSessionId())) {
+                    targets.add(event);
+                }
+            }
+            
+            // 세션 문제 상세 정보 설정 (이벤트/캐시에 없는 세션만 IN 쿼리 1회로 조회)
+            resolveSessionQuestions(targets);
+            
+            // 여러 세션을 하나의 이벤트로 병합하여 프롬프트 1회 생성 + Gemini API 1회 호출
+            LearningCompletedEvent merged = mergeEvents(targets);
+            String prompt = promptTemplateService.generateRealTimeSessionPrompt(merged);
+            GeminiRequest request = buildGeminiRequest(merged, prompt);
+            List<MediaRecommendation> recommendations = geminiApiService.generateRecommendations(request);
+            log.info("🤖 Gemini API를 통한 병합 실시간 추천 생성 완료 - 병합 세션 수: {}, 추천 개수: {}", 
+                    targets.size(), recommendations.size());
+            
+            applyRealTimeMetadata(recommendations, merged);
+            
+            // 프롬프트, 추천, 병합된 모든 세션의 처리 완료 기록을 하나의 트랜잭션으로 저장
+            try {
+                int savedCount = transactionTemplate.execute(status -> {
+                    targets.forEach(event -> 
+                            processedEventService.markProcessed(event.getSessionId(), event.getUserId()));
+                    storePrompt(recommendations, prompt);
+                    return mediaRecommendationRepository.saveAllAndFlush(recommendations).size();
+                });
+                log.info("💾 병합 실시간 추천 저장 완료 - UserId: {}, 저장된 추천 개수: {}", 
+                        latest.getUserId(), savedCount);
+                fallbackRecommendationReplacer.registerIfFallback(request, recommendations);
+            } catch (DataIntegrityViolationException e) {
+                // 일부 세션을 다른 컨슈머가 먼저 처리함 -> 남은 세션만 다시 병합
+                List<LearningCompletedEvent> remaining = new ArrayList<>(targets);
+                Set<String> processedNow = processedEventService.findProcessed(claimedSessionIds);
+                remaining.removeIf(event -> processedNow.contains(event.getSessionId()));
+                log.info("⏭️ 다른 컨슈머가 먼저 처리한 세션 감지 - 남은 세션 수: {}", remaining.size());
+                if (!remaining.isEmpty() && remaining.size() < targets.size()) {
+                    generateCoalescedRecommendations(remaining);
+                }
+            }
+            
+        } catch (Exception e) {
+            log.error("❌ 병합 실시간 미디어 추천 생성 중 오류 발생 - UserId: {}, Error: {}", 
+                    latest.getUserId(), e.getMessage(), e);
+            throw new RuntimeException("병합 실시간 미디어 추천 생성 실패", e);
+        } finally {
+            recordProcessingTime(startedAt, events.size());
         }
     }
     
+    /**
+     * 같은 사용자의 여러 세션 이벤트를 하나의 이벤트로 병합합니다.
+     * 세션 정보와 카테고리는 가장 최근 세션을 따르고, 문항 통계는 합산하며,
+     * 문제 상세 정보는 모든 세션의 문제를 이어붙입니다.
+     */
+    private LearningCompletedEvent mergeEvents(List<LearningCompletedEvent> events) {
+        LearningCompletedEvent latest = events.get(events.size() - 1);
+        LearningCompletedEvent merged = new LearningCompletedEvent();
+        BeanUtils.copyProperties(latest, merged);
+        
+        int totalQuestions = 0;
+        int answeredQuestions = 0;
+        int correctAnswers = 0;
+        int wrongAnswers = 0;
+        int totalLearningTimeMinutes = 0;
+        List<SessionQuestionDetail> sessionQuestions = new ArrayList<>();
+        for (LearningCompletedEvent event : events) {
+            totalQuestions += valueOrZero(event.getTotalQuestions());
+            answeredQuestions += valueOrZero(event.getAnsweredQuestions());
+            correctAnswers += valueOrZero(event.getCorrectAnswers());
+            wrongAnswers += valueOrZero(event.getWrongAnswers());
+            totalLearningTimeMinutes += valueOrZero(event.getTotalLearningTimeMinutes());
+            if (event.getSessionQuestions() != null) {
+                sessionQuestions.addAll(event.getSessionQuestions());
+            }
+        }
+        
+        merged.setTotalQuestions(totalQuestions);
+        merged.setAnsweredQuestions(answeredQuestions);
+        merged.setCorrectAnswers(correctAnswers);
+        merged.setWrongAnswers(wrongAnswers);
+        merged.setTotalLearningTimeMinutes(totalLearningTimeMinutes);
+        if (answeredQuestions > 0) {
+            merged.setAccuracyRate(correctAnswers * 100.0 / answeredQuestions);
+            merged.setErrorRate(wrongAnswers * 100.0 / answeredQuestions);
+        }
+        merged.setSessionQuestions(sessionQuestions);
+        return merged;
+    }
+    
+    private int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    /**
+     * 처리 1회의 실제 처리 시간을 한 번 기록하고, 처리한 이벤트 수를 따로 셉니다.
+     * (배치 평균을 이벤트 수만큼 Timer에 넣으면 백분위와 최대값이 왜곡되므로 나누지 않음)
+     */
+    private void recordProcessingTime(long startedAt, int eventCount) {
+        if (eventCount <= 0) {
+            return;
+        }
+        meterRegistry.timer(PROCESSING_TIMER_NAME).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        meterRegistry.counter(PROCESSED_EVENTS_COUNTER_NAME).increment(eventCount);
+    }
+    
+    /**
+     * 프롬프트, 추천 결과, 세션 처리 완료 기록을 하나의 트랜잭션으로 저장합니다.
+     * 같은 세션이 이미 기록되어 있으면 DataIntegrityViolationException이 발생하고 전체가 롤백됩니다.
+     */
+    private List<MediaRecommendation> persistWithProcessedMarker(LearningCompletedEvent event, 
+                                                                 List<MediaRecommendation> recommendations,
+                                                                 String prompt) {
+        return transactionTemplate.execute(status -> {
+            processedEventService.markProcessed(event.getSessionId(), event.getUserId());
+            storePrompt(recommendations, prompt);
+            return mediaRecommendationRepository.saveAllAndFlush(recommendations);
+        });
+    }
+    
+    /**
+     * 현재 트랜잭션에서 프롬프트를 저장하고 추천에 프롬프트 해시를 설정합니다. (추천 수와 관계없이 프롬프트는 한 번만 저장)
+     * 추천 저장이 롤백되면 프롬프트 저장도 함께 롤백됩니다.
+     */
+    private void storePrompt(List<MediaRecommendation> recommendations, String prompt) {
+        String promptHash = promptStoreService.store(prompt);
+        recommendations.forEach(recommendation -> recommendation.setPromptHash(promptHash));
+    }
+    
+    /**
+     * 스트리밍 응답을 받아 추천 항목이 완성될 때마다 바로 저장하고 RecommendationGeneratedEvent로 전달합니다.
+     * 처리 완료 기록은 스트림이 끝난 뒤에 커밋하므로, 스트림 도중 프로세스가 중단되면 이벤트가 재전달되어 다시 처리됩니다. (at-least-once)
+     * 추천 항목에는 프롬프트 해시만 먼저 설정하고, 프롬프트는 처리 완료 기록과 같은 트랜잭션에서 저장합니다.
+     * 처리 완료 기록과 같은 트랜잭션에서 중단된 이전 시도가 남긴 추천을 삭제하고,
+     * 다른 컨슈머가 먼저 처리를 완료했거나 스트림이 실패하면 이번 시도에서 저장한 추천을 삭제합니다.
+     */
+    private void generateStreamingRecommendations(LearningCompletedEvent event, String prompt) {
+        LocalDateTime attemptStartedAt = LocalDateTime.now();
+        List<Long> savedIds = Collections.synchronizedList(new ArrayList<>());
+        List<MediaRecommendation> savedRecommendations = Collections.synchronizedList(new ArrayList<>());
+        GeminiRequest request = buildGeminiRequest(event, prompt);
+        String promptHash = promptStoreService.hash(prompt);
+        List<MediaRecommendation> recommendations;
+        try {
+            recommendations = geminiApiService.streamRecommendations(request, recommendation -> {
+                applyRealTimeMetadata(List.of(recommendation), event);
+                recommendation.setPromptHash(promptHash);
+                MediaRecommendation saved = mediaRecommendationRepository.save(recommendation);
+                savedIds.add(saved.getId());
+                savedRecommendations.add(saved);
+                eventPublisher.publishEvent(new RecommendationGeneratedEvent(saved));
+                log.debug("📺 실시간 추천 스트리밍 저장 - ID: {}, 제목: {}", saved.getId(), saved.getTitle());
+            }).join();
+        } catch (RuntimeException e) {
+            log.warn("⚠️ 추천 스트리밍 실패 - 저장된 추천 {}개 삭제 - SessionId: {}", 
+                    savedIds.size(), event.getSessionId());
+            try {
+                deleteStreamedRecommendations(savedIds);
+            } catch (RuntimeException compensationError) {
+                log.error("❌ 스트리밍 실패 보상 처리 중 오류 발생 - SessionId: {}, Error: {}", 
+                        event.getSessionId(), compensationError.getMessage(), compensationError);
+                e.addSuppressed(compensationError);
+            }
+            throw e instanceof CompletionException && e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        
+        try {
+            int staleCount = transactionTemplate.execute(status -> {
+                processedEventService.markProcessed(event.getSessionId(), event.getUserId());
+                promptStoreService.store(prompt);
+                return mediaRecommendationRepository.deleteBySessionIdGeneratedBefore(
+                        event.getSessionId(), RecommendationType.REAL_TIME_SESSION, attemptStartedAt);
+            });
+            if (staleCount > 0) {
+                log.info("🧹 중단된 이전 스트리밍 시도의 추천 삭제 - 삭제 수: {}, SessionId: {}", 
+                        staleCount, event.getSessionId());
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 처리된 같은 세션이 먼저 완료됨 -> 이번 시도에서 저장한 추천은 중복이므로 삭제
+            log.info("⏭️ 다른 컨슈머가 먼저 처리한 세션 - 스트리밍 저장 추천 {}개 삭제 - UserId: {}, SessionId: {}", 
+                    savedIds.size(), event.getUserId(), event.getSessionId());
+            deleteStreamedRecommendations(savedIds);
+            return;
+        }
+        log.info("💾 실시간 세션 기반 추천 스트리밍 저장 완료 - 저장된 추천 개수: {}", recommendations.size());
+        fallbackRecommendationReplacer.registerIfFallback(request, List.copyOf(savedRecommendations));
+    }
+    
+    private void deleteStreamedRecommendations(List<Long> savedIds) {
+        if (!savedIds.isEmpty()) {
+            mediaRecommendationRepository.deleteAllByIdInBatch(List.copyOf(savedIds));
+        }
+    }
+    
+    /**
+     * 프롬프트와 입력 지문(추천 결과 캐시 키)으로 Gemini 요청을 만듭니다.
+     * 호출 스케줄러에서는 실시간 우선순위로, 사용자별 공정 대기열에서 처리되며,
+     * 서킷 브레이커가 열려 있으면 (대분류, 소분류, 평균 난이도)의 대체 추천을 받습니다.
+     */
+    private GeminiRequest buildGeminiRequest(LearningCompletedEvent event, String prompt) {
+        return GeminiRequest.of(prompt, promptTemplateService.generateRealTimeSessionFingerprint(event))
+                .withPriority(LlmRequestPriority.REAL_TIME, event.getUserId())
+                .withFallbackKey(FallbackRecommendationPool.key(
+                        event.getMajorCategory(), event.getMinorCategory(), event.getAvgDifficultyLevel()));
+    }
+    
+    /**
+     * 추천 생성에 필요한 필수 필드를 검증합니다.
+     * 이벤트 데이터 자체의 문제는 재시도해도 해결되지 않으므로 재시도 불가능한 예외로 구분합니다.
+     */
+    private void validateEvent(LearningCompletedEvent event) {
+        if (event.getSessionId() == null || event.getSessionId().isBlank()) {
+            throw new NonRetryableRecommendationException("세션 ID가 없는 학습 완료 이벤트");
+        }
+        try {
+            Long.valueOf(event.getUserId());
+        } catch (NumberFormatException e) {
+            throw new NonRetryableRecommendationException("잘못된 사용자 ID: " + event.getUserId(), e);
+        }
+    }
+    
+    /**
+     * 추천 결과에 실시간 세션 기반 추천 정보를 설정합니다.
+     */
+    private void applyRealTimeMetadata(List<MediaRecommendation> recommendations, LearningCompletedEvent event) {
+        LocalDateTime generatedAt = LocalDateTime.now();
+        recommendations.forEach(recommendation -> {
+            recommendation.setUserId(Long.valueOf(event.getUserId()));
+            recommendation.setRecommendationType(RecommendationType.REAL_TIME_SESSION);
+            recommendation.setSessionId(event.getSessionId());
+            recommendation.setGeneratedAt(generatedAt);
+        });
+    }
+    
+    /**
+     * 이벤트별 세션 문제 상세 정보를 설정합니다.
+     * 1. 이벤트에 완전한 상세 정보가 실려 온 경우 그대로 사용 (event-carried state)
+     * 2. 버전 스탬프가 로컬 캐시와 일치하면 캐시된 정보 사용
+     * 3. 나머지 세션만 DB에서 조회 (1건이면 단건 쿼리, 여러 건이면 IN 쿼리 1회)
+     */
+    private void resolveSessionQuestions(List<LearningCompletedEvent> events) {
+        List<LearningCompletedEvent> unresolved = new ArrayList<>();
+        for (LearningCompletedEvent event : events) {
+            if (sessionQuestionSnapshotCache.isEnabled() && hasCompleteSessionQuestions(event)) {
+                sessionQuestionSnapshotCache.put(event.getSessionId(), event.getSessionQuestionsVersion(), 
+                        event.getSessionQuestions());
+                countSessionQuestionSource("event");
+                continue;
+            }
+            List<SessionQuestionDetail> cached = 
+                    sessionQuestionSnapshotCache.get(event.getSessionId(), event.getSessionQuestionsVersion());
+            if (cached != null) {
+                event.setSessionQuestions(cached);
+                countSessionQuestionSource("cache");
+                continue;
+            }
+            unresolved.add(event);
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        
+        Map<String, List<SessionQuestionDetail>> detailsBySession;
+        if (unresolved.size() == 1) {
+            String sessionId = unresolved.get(0).getSessionId();
+            detailsBySession = Map.of(sessionId, getSessionQuestionDetails(sessionId));
+        } else {
+            Set<String> sessionIds = new LinkedHashSet<>();
+            unresolved.forEach(event -> sessionIds.add(event.getSessionId()));
+            detailsBySession = getSessionQuestionDetailsBySessionIds(sessionIds);
+        }
+        
+        for (LearningCompletedEvent event : unresolved) {
+            List<SessionQuestionDetail> details = detailsBySession.getOrDefault(event.getSessionId(), new ArrayList<>());
+            event.setSessionQuestions(details);
+            sessionQuestionSnapshotCache.put(event.getSessionId(), event.getSessionQuestionsVersion(), details);
+            countSessionQuestionSource("db");
+        }
+    }
+    
+    /**
+     * 이벤트에 실려 온 세션 문제 상세 정보가 프롬프트 생성에 충분한지 확인합니다.
+     * 문제 수가 totalQuestions보다 적거나 문제 본문/카테고리가 빠져 있으면 DB에서 다시 조회합니다.
+     */
+    private boolean hasCompleteSessionQuestions(LearningCompletedEvent event) {
+        List<SessionQuestionDetail> questions = event.getSessionQuestions();
+        if (questions == null || questions.isEmpty()) {
+            return false;
+        }
+        if (event.getTotalQuestions() != null && questions.size() < event.getTotalQuestions()) {
+            return false;
+        }
+        for (SessionQuestionDetail question : questions) {
+            if (question == null || question.getQuestionText() == null 
+                    || question.getMajorCategory() == null || question.getMinorCategory() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void countSessionQuestionSource(String source) {
+        meterRegistry.counter("recommendation.session-questions.source", "source", source).increment();
+    }
+    
+    /**
+     * 여러 세션의 문제 상세 정보를 한 번에 조회하여 세션 ID별로 묶습니다.
+     */
+    private Map<String, List<SessionQuestionDetail>> getSessionQuestionDetailsBySessionIds(Set<String> sessionIds) {
+        Map<String, List<SessionQuestionDetail>> detailsBySession = new HashMap<>();
+        if (sessionIds.isEmpty()) {
+            return detailsBySession;
+        }
+        
+        try {
+            List<Object[]> rawData = sessionQuestionRepository.findSessionQuestionDetailsBySessionIds(sessionIds);
+            log.debug("📊 배치 Raw 데이터 조회 완료 - 세션 수: {}, 데이터 수: {}", sessionIds.size(), rawData.size());
+            
+            for (Object[] row : rawData) {
+                try {
+                    String sessionId = (String) row[14];
+                    detailsBySession.computeIfAbsent(sessionId, key -> new ArrayList<>())
+                            .add(mapToSessionQuestionDetail(row));
+                } catch (Exception e) {
+                    log.warn("⚠️ 데이터 매핑 중 오류 발생 - Row: {}, Error: {}", Arrays.toString(row), e.getMessage());
+                }
+            }
+            
+        } catch (Exception e) {
+            log.error("❌ 배치 세션 문제 상세 정보 조회 중 오류 발생 - 세션 수: {}, Error: {}", 
+                    sessionIds.size(), e.getMessage(), e);
+            // 오류 발생 시 빈 결과 반환하여 추천 생성은 계속 진행
+        }
+        
+        return detailsBySession;
+    }
+    
     /**
      * 세션 ID로 문제 상세 정보를 조회합니다. (실제 DB에서 가져옴)
      */
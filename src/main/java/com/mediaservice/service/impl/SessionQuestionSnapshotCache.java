@@ -0,0 +1,68 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.dto.SessionQuestionDetail;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 세션 문제 상세 정보 스냅샷 캐시 (event-carried state)
+ *
+ * 이벤트에 실려 온 세션 문제 상세 정보나 DB에서 조회한 정보를 이벤트의 버전 스탬프와 함께 보관합니다.
+ * 이후 같은 세션의 이벤트가 상세 정보 없이 같은 버전 스탬프만 가지고 오면 DB 조회 없이 재사용합니다.
+ */
+@Slf4j
+@Component
+public class SessionQuestionSnapshotCache {
+
+    private final boolean enabled;
+    private final Map<String, Snapshot> snapshots;
+
+    public SessionQuestionSnapshotCache(@Value("${recommendation.event-carried-state.enabled:true}") boolean enabled,
+                                        @Value("${recommendation.event-carried-state.cache-size:10000}") int cacheSize) {
+        this.enabled = enabled;
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        log.info("🔧 세션 문제 스냅샷 캐시 설정 완료 - Event-Carried State: {}, Cache Size: {}", enabled, cacheSize);
+    }
+
+    /**
+     * 이벤트에 실려 온 세션 문제 상세 정보를 그대로 사용할지 여부
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 버전 스탬프가 일치하는 스냅샷을 반환합니다. 없거나 버전이 다르면 null을 반환합니다.
+     */
+    public List<SessionQuestionDetail> get(String sessionId, String version) {
+        if (!enabled || sessionId == null || version == null) {
+            return null;
+        }
+        Snapshot snapshot = snapshots.get(sessionId);
+        return snapshot != null && version.equals(snapshot.version()) ? snapshot.details() : null;
+    }
+
+    /**
+     * 세션 문제 상세 정보를 버전 스탬프와 함께 저장합니다. 버전 스탬프가 없으면 저장하지 않습니다.
+     */
+    public void put(String sessionId, String version, List<SessionQuestionDetail> details) {
+        if (!enabled || sessionId == null || version == null || details == null) {
+            return;
+        }
+        snapshots.put(sessionId, new Snapshot(version, List.copyOf(details)));
+    }
+
+    private record Snapshot(String version, List<SessionQuestionDetail> details) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.mediaservice.service.impl;
+
+import com.mediaservice.model.MediaRecommendation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 스트리밍 응답 텍스트에서 recommendations[] 항목을 증분 파싱하는 파서
+ *
+ * 모델이 생성하는 텍스트 조각을 순서대로 받아, "recommendations" 배열 안의 객체 하나가 닫히는 즉시
+ * MediaRecommendation으로 변환해 콜백에 넘깁니다. 배열 앞의 ```json 코드 블록 표시나 설명 문장은 무시합니다.
+ * 스트림 1개당 인스턴스 1개를 사용하며 스레드 안전하지 않습니다. (조각은 순서대로 전달됨)
+ */
+public class StreamingRecommendationParser {
+
+    private static final Pattern ARRAY_START = Pattern.compile("\"recommendations\"\\s*:\\s*\\[");
+
+    private final GeminiResponseParser responseParser;
+    private final Consumer<MediaRecommendation> onRecommendation;
+    private final List<MediaRecommendation> recommendations = new ArrayList<>();
+
+    private final StringBuilder preamble = new StringBuilder();
+    private final StringBuilder current = new StringBuilder();
+    private boolean inArray;
+    private boolean arrayClosed;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    StreamingRecommendationParser(GeminiResponseParser responseParser, Consumer<MediaRecommendation> onRecommendation) {
+        this.responseParser = responseParser;
+        this.onRecommendation = onRecommendation;
+    }
+
+    /**
+     * 텍스트 조각을 추가합니다. 조각 안에서 완성된 추천 항목은 즉시 콜백으로 전달됩니다.
+     */
+    public void feed(String fragment) {
+        if (arrayClosed || fragment == null || fragment.isEmpty()) {
+            return;
+        }
+
+        if (inArray) {
+            scan(fragment);
+            return;
+        }
+
+        // 배열 시작 전: "recommendations": [ 가 나올 때까지 모아 둠 (조각 경계에 걸칠 수 있음)
+        preamble.append(fragment);
+        Matcher matcher = ARRAY_START.matcher(preamble);
+        if (matcher.find()) {
+            inArray = true;
+            String rest = preamble.substring(matcher.end());
+            preamble.setLength(0);
+            scan(rest);
+        }
+    }
+
+    /**
+     * 지금까지 완성된 추천 항목 목록
+     */
+    public List<MediaRecommendation> getRecommendations() {
+        return recommendations;
+    }
+
+    /**
+     * recommendations 배열을 찾았는지 여부 (스트림 종료 시 응답 형식 확인용)
+     */
+    public boolean hasFoundArray() {
+        return inArray;
+    }
+
+    private void scan(String text) {
+        for (int i = 0; i < text.length() && !arrayClosed; i++) {
+            char c = text.charAt(i);
+            if (depth > 0) {
+                current.append(c);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = depth > 0;
+                case '{', '[' -> {
+                    if (depth == 0 && c == '{') {
+                        current.setLength(0);
+                        current.append(c);
+                    }
+                    depth++;
+                }
+                case '}', ']' -> {
+                    if (depth == 0) {
+                        // 항목 밖에서 닫는 괄호 -> recommendations 배열 종료
+                        arrayClosed = c == ']';
+                        continue;
+                    }
+                    depth--;
+                    if (depth == 0) {
+                        emit(current.toString());
+                        current.setLength(0);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void emit(String recommendationJson) {
+        MediaRecommendation recommendation = responseParser.toRecommendation(recommendationJson);
+        if (recommendation != null) {
+            recommendations.add(recommendation);
+            onRecommendation.accept(recommendation);
+        }
+    }
+}
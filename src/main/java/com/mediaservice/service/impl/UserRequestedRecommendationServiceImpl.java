@@ -1,22 +1,27 @@
 package com.mediaservice.service.impl;
 
+import com.mediaservice.dto.GeminiRequest;
 import com.mediaservice.dto.UserPerformanceSummary;
 import com.mediaservice.dto.CategoryPerformanceView;
 import com.mediaservice.dto.DifficultyAchievementView;
+import com.mediaservice.enums.LlmRequestPriority;
 import com.mediaservice.enums.RecommendationType;
 import com.mediaservice.model.MediaRecommendation;
 import com.mediaservice.repository.MediaRecommendationRepository;
 import com.mediaservice.repository.CategoryPerformanceRepository;
 import com.mediaservice.repository.DifficultyAchievementRepository;
 import com.mediaservice.service.GeminiApiService;
+import com.mediaservice.service.PromptStoreService;
 import com.mediaservice.service.PromptTemplateService;
 import com.mediaservice.service.UserRequestedRecommendationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -26,6 +31,9 @@ import java.util.HashMap;
  * 
  * 사용자가 장르를 선택하여 요청할 때마다
  * 선호 장르 + 카테고리별/난이도별 성과를 반영한 추천을 생성합니다.
+ * 
+ * 코호트 모드(recommendation.cohort.enabled)에서는 사용자를 (장르 집합, 성과 하위 카테고리, 난이도별 숙련도 구간)으로 묶어
+ * 코호트당 한 번만 Gemini 추천을 생성하고, 캐시 항목이 만료될 때까지 같은 코호트의 사용자에게 재사용합니다.
  */
 @Slf4j
 @Service
@@ -37,6 +45,11 @@ public class UserRequestedRecommendationServiceImpl implements UserRequestedReco
     private final MediaRecommendationRepository mediaRecommendationRepository;
     private final CategoryPerformanceRepository categoryPerformanceRepository;
     private final DifficultyAchievementRepository difficultyAchievementRepository;
+    private final FallbackRecommendationReplacer fallbackRecommendationReplacer;
+    private final PromptStoreService promptStoreService;
+
+    @Value("${recommendation.cohort.enabled:false}")
+    private boolean cohortEnabled;
 
     @Override
     @Transactional
@@ -62,12 +75,26 @@ public class UserRequestedRecommendationServiceImpl implements UserRequestedReco
             UserPerformanceSummary userPerformance = generateUserPerformanceSummary(userId);
             log.debug("📊 사용자 {} 성과 요약 생성 완료", userId);
             
-            // 2. 사용자 요청 기반 프롬프트 생성
-            String prompt = promptTemplateService.generateUserRequestedPrompt(userPerformance, selectedGenres);
-            log.debug("📝 사용자 {} 사용자 요청 기반 프롬프트 생성 완료", userId);
+            // 2. 사용자 요청 기반 프롬프트 생성 (코호트 모드에서는 코호트 단위 프롬프트)
+            String prompt;
+            GeminiRequest request;
+            if (cohortEnabled) {
+                prompt = promptTemplateService.generateUserCohortPrompt(userPerformance, selectedGenres);
+                String cohortKey = promptTemplateService.generateUserCohortFingerprint(userPerformance, selectedGenres);
+                log.debug("📝 사용자 {} 코호트 프롬프트 생성 완료 - Cohort: {}", userId, cohortKey);
+                
+                request = GeminiRequest.of(prompt, cohortKey); // 같은 코호트의 캐시된 추천이 있으면 재사용
+            } else {
+                prompt = promptTemplateService.generateUserRequestedPrompt(userPerformance, selectedGenres);
+                log.debug("📝 사용자 {} 사용자 요청 기반 프롬프트 생성 완료", userId);
+                request = GeminiRequest.uncached(prompt);
+            }
             
             // 3. Gemini API 호출하여 추천 생성
-            List<MediaRecommendation> recommendations = geminiApiService.generateRecommendations(prompt);
+            // (사용자가 응답을 기다리므로 대화형 우선순위, 서킷이 열려 있으면 가장 약한 카테고리/난이도의 대체 추천)
+            request = request.withPriority(LlmRequestPriority.INTERACTIVE, String.valueOf(userId))
+                    .withFallbackKey(fallbackKey(userPerformance));
+            List<MediaRecommendation> recommendations = geminiApiService.generateRecommendations(request);
             log.info("🤖 사용자 {} Gemini API를 통한 사용자 요청 추천 생성 완료 - 추천 개수: {}", userId, recommendations.size());
             
             // 4. 추천 결과에 사용자 요청 추천 정보 추가
@@ -76,12 +103,14 @@ public class UserRequestedRecommendationServiceImpl implements UserRequestedReco
                 recommendation.setRecommendationType(RecommendationType.USER_REQUESTED);
                 recommendation.setSessionId(null); // 사용자 요청 추천은 특정 세션과 연결되지 않음
                 recommendation.setGeneratedAt(LocalDateTime.now());
-                recommendation.setPromptUsed(prompt);
             });
             
-            // 5. 데이터베이스에 저장
+            // 5. 데이터베이스에 저장 (프롬프트는 추천과 같은 트랜잭션에서 한 번만 저장하고 해시로 참조)
+            String promptHash = promptStoreService.store(prompt);
+            recommendations.forEach(recommendation -> recommendation.setPromptHash(promptHash));
             List<MediaRecommendation> savedRecommendations = mediaRecommendationRepository.saveAll(recommendations);
             log.info("💾 사용자 {} 사용자 요청 추천 저장 완료 - 저장된 추천 개수: {}", userId, savedRecommendations.size());
+            fallbackRecommendationReplacer.registerIfFallback(request, savedRecommendations);
             
             // 6. 추천 결과 로깅
             savedRecommendations.forEach(recommendation -> 
@@ -140,5 +169,27 @@ public class UserRequestedRecommendationServiceImpl implements UserRequestedReco
         }
     }
     
+    /**
+     * 성과가 가장 낮은 카테고리("대분류-소분류")와 난이도로 대체 추천 풀 키를 만듭니다.
+     */
+    private String fallbackKey(UserPerformanceSummary userPerformance) {
+        String majorCategory = null;
+        String minorCategory = null;
+        Map<String, Double> categoryPerformance = userPerformance.getCategoryPerformance();
+        if (categoryPerformance != null && !categoryPerformance.isEmpty()) {
+            String weakestCategory = Collections.min(categoryPerformance.entrySet(), Map.Entry.comparingByValue()).getKey();
+            String[] parts = weakestCategory.split("-", 2);
+            majorCategory = parts[0];
+            minorCategory = parts.length > 1 ? parts[1] : null;
+        }
+        
+        Integer difficulty = null;
+        Map<Integer, Double> difficultyPerformance = userPerformance.getDifficultyPerformance();
+        if (difficultyPerformance != null && !difficultyPerformance.isEmpty()) {
+            difficulty = Collections.min(difficultyPerformance.entrySet(), Map.Entry.comparingByValue()).getKey();
+        }
+        return FallbackRecommendationPool.key(majorCategory, minorCategory, difficulty);
+    }
+    
     // 장르 선호 조회는 사용자 요청 추천에서는 외부 입력(selectedGenres)로 대체
 }
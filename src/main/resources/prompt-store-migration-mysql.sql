@@ -0,0 +1,32 @@
+-- =====================================================
+-- 프롬프트 저장소 이전 스크립트 (MySQL)
+-- 목적: media_recommendations.prompt_used(행마다 프롬프트 전문 TEXT)를
+--       prompts 테이블(해시당 한 번, gzip 압축) + media_recommendations.prompt_hash 참조로 전환
+-- =====================================================
+
+-- =====================================================
+-- 1단계. 프롬프트 저장소 테이블과 참조 컬럼 추가 (새 버전 배포 전)
+-- =====================================================
+CREATE TABLE IF NOT EXISTS prompts (
+    prompt_hash CHAR(64) NOT NULL PRIMARY KEY,
+    content MEDIUMBLOB NOT NULL,
+    original_length INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=ascii;
+
+ALTER TABLE media_recommendations ADD COLUMN prompt_hash CHAR(64) CHARACTER SET ascii NULL;
+CREATE INDEX idx_media_recommendations_prompt_hash ON media_recommendations(prompt_hash);
+
+-- =====================================================
+-- 2단계. 기존 행 백필 (새 버전 배포 후, 애플리케이션에서 실행)
+-- gzip 압축과 SHA-256 해시를 애플리케이션과 같은 방식으로 만들기 위해 SQL이 아닌 PromptStoreBackfill로 처리합니다.
+--   RECOMMENDATION_PROMPT_STORE_BACKFILL_ENABLED=true 로 인스턴스 하나를 기동하면
+--   interval-ms마다 batch-size개씩 prompt_hash를 채우고 prompt_used를 비웁니다.
+-- 진행 확인:
+--   SELECT COUNT(*) FROM media_recommendations WHERE prompt_hash IS NULL AND prompt_used IS NOT NULL;
+-- =====================================================
+
+-- =====================================================
+-- 3단계. 백필 완료 후 이전 컬럼 제거 (남은 행이 0건인지 확인 후 실행)
+-- =====================================================
+-- ALTER TABLE media_recommendations DROP COLUMN prompt_used;
@@ -285,6 +285,38 @@ JOIN question_answer qa ON ls.session_id = qa.session_id
 JOIN question q ON qa.question_id = q.question_id
 GROUP BY ls.user_id, q.difficulty_level;
 
+-- =====================================================
+-- 10. 카테고리별 학습 맥락 테이블 (Problem Service)
+-- 실시간 추천 프롬프트의 카테고리별 학습 맥락 줄 (미디어 서비스가 주기적으로 읽어 메모리에 보관)
+-- =====================================================
+CREATE TABLE IF NOT EXISTS category_context (
+    major_category VARCHAR(50)  NOT NULL COMMENT '대분류',
+    minor_category VARCHAR(50)  NOT NULL DEFAULT '' COMMENT '소분류 (빈 문자열: 대분류 기본 맥락)',
+    label          VARCHAR(100) NOT NULL COMMENT '프롬프트 표시 이름 (예: 여행 영어)',
+    context        VARCHAR(500) NOT NULL COMMENT '학습 맥락 설명',
+    updated_at     DATETIME(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    
+    PRIMARY KEY (major_category, minor_category)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='카테고리별 학습 맥락 테이블 (Problem Service)';
+
+INSERT INTO category_context (major_category, minor_category, label, context) VALUES
+('여행', '', '여행 영어', '여행 관련 영어 표현과 어휘를 학습합니다.'),
+('여행', '배낭', '여행 영어', '배낭 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('여행', '가족', '여행 영어', '가족과 함께하는 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('여행', '친구', '여행 영어', '친구와 함께하는 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '', '비즈니스 영어', '비즈니스 관련 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '회사', '비즈니스 영어', '회사 업무에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '미팅', '비즈니스 영어', '미팅 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '회의', '비즈니스 영어', '회의 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '', '학업 영어', '학업 관련 영어 표현과 어휘를 학습합니다.'),
+('학업', '대학교', '학업 영어', '대학교 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '학원', '학업 영어', '학원 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '대학원', '학업 영어', '대학원 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '', '일상생활 영어', '일상생활 관련 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '가족', '일상생활 영어', '가족과의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '친구', '일상생활 영어', '친구와의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '선생님', '일상생활 영어', '선생님과의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.');
+
 -- =====================================================
 -- 참고 테이블 정리 완료
 -- =====================================================
@@ -309,7 +341,11 @@ GROUP BY ls.user_id, q.difficulty_level;
    - 사용자 답변 기록, 풀이 시간, 정답 여부
    - 추천 시 사용자의 약점/강점 분석에 활용
 
-5. 통계 뷰들 (Problem Service)
+5. category_context (Problem Service)
+   - 대분류/소분류별 학습 맥락 설명 (소분류 빈 문자열: 대분류 기본 맥락)
+   - 실시간 추천 프롬프트의 카테고리별 학습 맥락으로 활용 (재배포 없이 카테고리 추가/수정)
+
+6. 통계 뷰들 (Problem Service)
    - question_stats_view: 문제별 통계
    - user_learning_analytics: 사용자별 학습 분석
    - category_performance_view: 카테고리별 성과
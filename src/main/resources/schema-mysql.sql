@@ -42,6 +42,16 @@ CREATE INDEX idx_media_recommendations_priority ON media_recommendations(priorit
 CREATE INDEX idx_media_recommendations_user_type_status ON media_recommendations(user_id, recommendation_type, status);
 CREATE INDEX idx_media_recommendations_user_created ON media_recommendations(user_id, created_at DESC);
 
+-- 추천 ID 시퀀스 테이블 (MySQL에는 시퀀스가 없어 Hibernate가 한 행짜리 테이블로 대체, 50개씩 미리 할당)
+-- 기존 추천이 있으면 할당 범위(next_val - 49 ~ next_val)가 기존 ID와 겹치지 않도록 MAX(id) + 51부터 시작
+CREATE TABLE IF NOT EXISTS media_recommendations_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO media_recommendations_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM media_recommendations
+WHERE NOT EXISTS (SELECT 1 FROM media_recommendations_seq);
+
 -- =====================================================
 -- 2. 추천된 미디어 콘텐츠 테이블 (recommended_media_contents)
 -- =====================================================
@@ -200,6 +210,31 @@ CREATE TABLE IF NOT EXISTS recommendation_settings (
 -- 인덱스 생성
 CREATE INDEX idx_settings_user ON recommendation_settings(user_id);
 
+-- =====================================================
+-- 6. 처리 완료 이벤트 테이블 (processed_events)
+-- 목적: 재전달된 학습 완료 이벤트의 중복 처리(Gemini 재호출, 추천 중복 저장) 방지
+-- =====================================================
+CREATE TABLE IF NOT EXISTS processed_events (
+    session_id VARCHAR(255) NOT NULL PRIMARY KEY,
+    user_id VARCHAR(255),
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 인덱스 생성
+CREATE INDEX idx_processed_events_processed ON processed_events(processed_at);
+
+-- =====================================================
+-- 7. 프롬프트 저장소 테이블 (prompts)
+-- 목적: 추천 생성에 사용한 프롬프트를 SHA-256 해시로 한 번만 gzip 압축 저장 (media_recommendations.prompt_hash로 참조)
+-- 기존 데이터 이전은 prompt-store-migration-mysql.sql 참고
+-- =====================================================
+CREATE TABLE IF NOT EXISTS prompts (
+    prompt_hash CHAR(64) NOT NULL PRIMARY KEY,
+    content MEDIUMBLOB NOT NULL,
+    original_length INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=ascii;
+
 -- =====================================================
 -- 스키마 생성 완료
 -- =====================================================
@@ -42,6 +42,9 @@ CREATE INDEX IF NOT EXISTS idx_media_recommendations_priority ON media_recommend
 CREATE INDEX IF NOT EXISTS idx_media_recommendations_user_type_status ON media_recommendations(user_id, recommendation_type, status);
 CREATE INDEX IF NOT EXISTS idx_media_recommendations_user_created ON media_recommendations(user_id, created_at DESC);
 
+-- 추천 ID 시퀀스 (50개씩 미리 할당하여 saveAll 시 JDBC 배치 INSERT 사용)
+CREATE SEQUENCE IF NOT EXISTS media_recommendations_seq START WITH 1 INCREMENT BY 50;
+
 -- =====================================================
 -- 2. 추천된 미디어 콘텐츠 테이블 (recommended_media_contents)
 -- =====================================================
@@ -200,6 +203,61 @@ CREATE TABLE IF NOT EXISTS recommendation_settings (
 -- 인덱스 생성
 CREATE INDEX IF NOT EXISTS idx_settings_user ON recommendation_settings(user_id);
 
+-- =====================================================
+-- 6. 처리 완료 이벤트 테이블 (processed_events)
+-- 목적: 재전달된 학습 완료 이벤트의 중복 처리(Gemini 재호출, 추천 중복 저장) 방지
+-- =====================================================
+CREATE TABLE IF NOT EXISTS processed_events (
+    session_id VARCHAR(255) NOT NULL PRIMARY KEY,
+    user_id VARCHAR(255),
+    processed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 인덱스 생성
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed ON processed_events(processed_at);
+
+-- =====================================================
+-- 7. 프롬프트 저장소 테이블 (prompts)
+-- 목적: 추천 생성에 사용한 프롬프트를 SHA-256 해시로 한 번만 gzip 압축 저장 (media_recommendations.prompt_hash로 참조)
+-- =====================================================
+CREATE TABLE IF NOT EXISTS prompts (
+    prompt_hash VARCHAR(64) NOT NULL PRIMARY KEY,
+    content BLOB NOT NULL,
+    original_length INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- =====================================================
+-- 8. 카테고리별 학습 맥락 테이블 (category_context, 참고 테이블의 로컬 사본)
+-- 목적: 실시간 추천 프롬프트의 카테고리별 학습 맥락 (소분류 빈 문자열: 대분류 기본 맥락)
+-- =====================================================
+CREATE TABLE IF NOT EXISTS category_context (
+    major_category VARCHAR(50) NOT NULL,
+    minor_category VARCHAR(50) NOT NULL DEFAULT '',
+    label VARCHAR(100) NOT NULL,
+    context VARCHAR(500) NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (major_category, minor_category)
+);
+
+MERGE INTO category_context (major_category, minor_category, label, context) KEY (major_category, minor_category) VALUES
+('여행', '', '여행 영어', '여행 관련 영어 표현과 어휘를 학습합니다.'),
+('여행', '배낭', '여행 영어', '배낭 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('여행', '가족', '여행 영어', '가족과 함께하는 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('여행', '친구', '여행 영어', '친구와 함께하는 여행에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '', '비즈니스 영어', '비즈니스 관련 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '회사', '비즈니스 영어', '회사 업무에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '미팅', '비즈니스 영어', '미팅 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.'),
+('비즈니스', '회의', '비즈니스 영어', '회의 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '', '학업 영어', '학업 관련 영어 표현과 어휘를 학습합니다.'),
+('학업', '대학교', '학업 영어', '대학교 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '학원', '학업 영어', '학원 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('학업', '대학원', '학업 영어', '대학원 수업과 학업에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '', '일상생활 영어', '일상생활 관련 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '가족', '일상생활 영어', '가족과의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '친구', '일상생활 영어', '친구와의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.'),
+('일상생활', '선생님', '일상생활 영어', '선생님과의 일상생활에 필요한 영어 표현과 어휘를 학습합니다.');
+
 -- =====================================================
 -- 스키마 생성 완료
 -- =====================================================
@@ -0,0 +1,174 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.config.KafkaConfig;
+import com.mediaservice.service.RealTimeRecommendationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * lag 기반 Consumer 수 자동 조정 컨트롤러 테스트 (spring-kafka-test 임베디드 브로커 사용)
+ */
+@EmbeddedKafka(partitions = 4, topics = {AdaptiveConcurrencyControllerTest.TOPIC, AdaptiveConcurrencyControllerTest.IDLE_TOPIC})
+class AdaptiveConcurrencyControllerTest {
+
+    static final String TOPIC = "learning-events-autoscaling-test";
+    static final String IDLE_TOPIC = "learning-events-autoscaling-idle";
+    private static final String GROUP_ID = "autoscaling-test-group";
+    private static final int RECORD_COUNT = 400;
+
+    private ConcurrentMessageListenerContainer<String, String> container;
+    private ThreadPoolTaskExecutor workerExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyController controller;
+    private AdminClient adminClient;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) throws Exception {
+        Map<String, Object> adminProps = Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        adminClient = AdminClient.create(adminProps);
+
+        // 측정 대상 토픽에 레코드를 쌓아 두고, 컨슈머 그룹 오프셋은 0으로 커밋 -> lag = RECORD_COUNT
+        Map<String, Object> producerProps = new HashMap<>();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps));
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            template.send(new ProducerRecord<>(TOPIC, i % 4, "user-" + i, "event-" + i));
+        }
+        template.flush();
+        template.destroy();
+        commitGroupOffsets(false);
+
+        // 조정 대상 컨테이너 (측정 대상 토픽의 오프셋에 영향을 주지 않도록 별도 토픽/그룹 구독)
+        Map<String, Object> consumerProps = new HashMap<>();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, "autoscaling-idle-group");
+        consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        ContainerProperties containerProperties = new ContainerProperties(IDLE_TOPIC);
+        containerProperties.setMessageListener((MessageListener<String, String>) record -> { });
+        container = new ConcurrentMessageListenerContainer<>(
+                new DefaultKafkaConsumerFactory<>(consumerProps), containerProperties);
+        container.setConcurrency(1);
+        container.start();
+
+        workerExecutor = new ThreadPoolTaskExecutor();
+        workerExecutor.setCorePoolSize(8);
+        workerExecutor.setMaxPoolSize(8);
+        workerExecutor.initialize();
+
+        KafkaListenerEndpointRegistry registry = mock(KafkaListenerEndpointRegistry.class);
+        when(registry.getListenerContainer(KafkaConfig.LEARNING_EVENTS_LISTENER_ID)).thenReturn(container);
+
+        meterRegistry = new SimpleMeterRegistry();
+        // 1~4개, 예상 처리 시간 60초 초과 시 확장 / 10초 미만 시 축소, 연속 2회 신호, 쿨다운 없음
+        ConcurrencyScalingPolicy policy = new ConcurrencyScalingPolicy(1, 4, 60, 10, 2, 0L);
+        controller = new AdaptiveConcurrencyController(registry, new KafkaAdmin(adminProps), workerExecutor,
+                meterRegistry, policy, TOPIC, GROUP_ID, 8, 8, 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.close();
+        container.stop();
+        workerExecutor.shutdown();
+        adminClient.close();
+    }
+
+    @Test
+    void 컨슈머_그룹의_lag를_측정한다() throws Exception {
+        // When
+        Map<TopicPartition, Long> lagByPartition = controller.measureLag();
+
+        // Then
+        assertThat(lagByPartition).hasSize(4);
+        assertThat(lagByPartition.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(RECORD_COUNT);
+    }
+
+    @Test
+    void lag가_쌓이면_Consumer와_워커를_늘리고_해소되면_줄인다() throws Exception {
+        // Given: 레코드당 1초 -> 예상 처리 시간 400초
+        meterRegistry.timer(RealTimeRecommendationService.PROCESSING_TIMER_NAME).record(Duration.ofSeconds(1));
+
+        // When: 확장 신호 연속 2회
+        controller.evaluate();
+        controller.evaluate();
+
+        // Then: 파티션 수(4)와 최대값(4)으로 제한된 만큼 확장
+        waitUntil(() -> !controller.isResizing() && container.isRunning() && container.getConcurrency() == 4 && container.getContainers().size() == 4);
+        assertThat(workerExecutor.getMaxPoolSize()).isEqualTo(32);
+
+        // Given: lag 해소
+        commitGroupOffsets(true);
+
+        // When: 축소 신호 연속 2회
+        controller.evaluate();
+        controller.evaluate();
+
+        // Then: 한 단계 축소
+        waitUntil(() -> !controller.isResizing() && container.isRunning() && container.getConcurrency() == 3 && container.getContainers().size() == 3);
+        assertThat(workerExecutor.getMaxPoolSize()).isEqualTo(24);
+    }
+
+    @Test
+    void 레코드당_처리_시간은_총_처리_시간을_처리한_이벤트_수로_나눈다() {
+        // Given: 이벤트 4건을 처리한 배치 1회가 2초 걸림
+        meterRegistry.timer(RealTimeRecommendationService.PROCESSING_TIMER_NAME).record(Duration.ofSeconds(2));
+        meterRegistry.counter(RealTimeRecommendationService.PROCESSED_EVENTS_COUNTER_NAME).increment(4);
+
+        // When & Then
+        assertThat(controller.measureRecordLatencyMs()).isEqualTo(500.0);
+    }
+
+    /**
+     * 측정 대상 그룹의 오프셋을 커밋합니다. (toEnd가 false면 0, true면 파티션 끝)
+     */
+    private void commitGroupOffsets(boolean toEnd) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (int partition = 0; partition < 4; partition++) {
+            offsets.put(new TopicPartition(TOPIC, partition), new OffsetAndMetadata(toEnd ? RECORD_COUNT / 4 : 0));
+        }
+        adminClient.alterConsumerGroupOffsets(GROUP_ID, offsets).all().get(10, TimeUnit.SECONDS);
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000L;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,107 @@
+package com.mediaservice.kafka;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Consumer 수 자동 조정 정책 테스트
+ */
+class ConcurrencyScalingPolicyTest {
+
+    private static final long COOLDOWN_MS = 60_000L;
+
+    private ConcurrencyScalingPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        // 1~6개, 예상 처리 시간 60초 초과 시 확장 / 10초 미만 시 축소, 연속 2회 신호, 쿨다운 60초
+        policy = new ConcurrencyScalingPolicy(1, 6, 60, 10, 2, COOLDOWN_MS);
+    }
+
+    @Test
+    void 예상_처리_시간이_기준을_연속으로_넘으면_확장한다() {
+        // Given: lag 1000, 레코드당 200ms, Consumer 2개 -> 예상 100초
+        long now = 0L;
+
+        // When
+        int first = policy.decide(2, 1000, 200, 6, now);
+        int second = policy.decide(2, 1000, 200, 6, now + 1000);
+
+        // Then: 첫 신호에서는 유지, 두 번째 신호에서 비례 확장 (ceil(2 * 100 / 60) = 4)
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(4);
+    }
+
+    @Test
+    void 확장과_축소_기준_사이에서는_유지한다() {
+        // Given: lag 300, 레코드당 200ms, Consumer 2개 -> 예상 30초
+        // When
+        int first = policy.decide(2, 300, 200, 6, 0L);
+        int second = policy.decide(2, 300, 200, 6, 1000L);
+        int third = policy.decide(2, 300, 200, 6, 2000L);
+
+        // Then
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(2);
+        assertThat(third).isEqualTo(2);
+    }
+
+    @Test
+    void 신호가_번갈아_나오면_변경하지_않는다() {
+        // When: 확장 신호와 축소 신호가 번갈아 발생
+        int first = policy.decide(3, 1000, 200, 6, 0L);
+        int second = policy.decide(3, 0, 200, 6, 1000L);
+        int third = policy.decide(3, 1000, 200, 6, 2000L);
+        int fourth = policy.decide(3, 0, 200, 6, 3000L);
+
+        // Then
+        assertThat(first).isEqualTo(3);
+        assertThat(second).isEqualTo(3);
+        assertThat(third).isEqualTo(3);
+        assertThat(fourth).isEqualTo(3);
+    }
+
+    @Test
+    void 변경_후_쿨다운_동안에는_다시_변경하지_않는다() {
+        // Given: 확장 1회
+        policy.decide(2, 1000, 200, 6, 0L);
+        assertThat(policy.decide(2, 1000, 200, 6, 1000L)).isEqualTo(4);
+
+        // When: 쿨다운 중 축소 신호 연속 발생
+        int duringCooldown1 = policy.decide(4, 0, 200, 6, 2000L);
+        int duringCooldown2 = policy.decide(4, 0, 200, 6, 3000L);
+        int afterCooldown = policy.decide(4, 0, 200, 6, 1000L + COOLDOWN_MS);
+
+        // Then: 쿨다운이 끝난 뒤 한 단계 축소
+        assertThat(duringCooldown1).isEqualTo(4);
+        assertThat(duringCooldown2).isEqualTo(4);
+        assertThat(afterCooldown).isEqualTo(3);
+    }
+
+    @Test
+    void 파티션_수와_최대값을_넘어_확장하지_않는다() {
+        // Given: lag가 매우 크고 파티션은 3개
+        policy.decide(2, 1_000_000, 500, 3, 0L);
+
+        // When
+        int target = policy.decide(2, 1_000_000, 500, 3, 1000L);
+
+        // Then
+        assertThat(target).isEqualTo(3);
+    }
+
+    @Test
+    void 최소값_아래로_축소하지_않는다() {
+        // When
+        int first = policy.decide(1, 0, 0, 6, 0L);
+        int second = policy.decide(1, 0, 0, 6, 1000L);
+        int third = policy.decide(1, 0, 0, 6, 2000L);
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(third).isEqualTo(1);
+    }
+}
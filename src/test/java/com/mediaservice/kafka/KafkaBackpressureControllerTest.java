@@ -0,0 +1,62 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.service.impl.GeminiInFlightLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Gemini 포화 상태에 따른 Kafka Listener Container pause/resume 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class KafkaBackpressureControllerTest {
+
+    @Mock
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Mock
+    private MessageListenerContainer runningContainer;
+
+    @Mock
+    private MessageListenerContainer stoppedContainer;
+
+    private GeminiInFlightLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new GeminiInFlightLimiter(2, 2, 0, new SimpleMeterRegistry());
+        new KafkaBackpressureController(limiter, kafkaListenerEndpointRegistry).register();
+        when(kafkaListenerEndpointRegistry.getListenerContainers()).thenReturn(List.of(runningContainer, stoppedContainer));
+        when(runningContainer.isRunning()).thenReturn(true);
+        when(stoppedContainer.isRunning()).thenReturn(false);
+    }
+
+    @Test
+    void 포화되면_실행_중인_컨테이너를_pause하고_해제되면_resume한다() throws InterruptedException {
+        // When: 포화
+        limiter.acquire();
+        limiter.acquire();
+
+        // Then
+        verify(runningContainer).pause();
+        verify(runningContainer, never()).resume();
+
+        // When: 해제
+        limiter.release();
+        limiter.release();
+
+        // Then
+        verify(runningContainer).resume();
+        verify(stoppedContainer, never()).pause();
+        verify(stoppedContainer, never()).resume();
+    }
+}
@@ -0,0 +1,114 @@
+package com.mediaservice.kafka;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 키 단위 순서 보장 Executor 테스트
+ */
+class KeyOrderedExecutorTest {
+
+    private ExecutorService pool;
+    private KeyOrderedExecutor keyOrderedExecutor;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        keyOrderedExecutor = new KeyOrderedExecutor(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void 같은_키의_작업은_제출_순서대로_실행된다() {
+        // Given
+        List<Integer> executionOrder = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> last = null;
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            int sequence = i;
+            last = keyOrderedExecutor.submit("user-1", () -> executionOrder.add(sequence));
+        }
+        last.join();
+
+        // Then
+        assertThat(executionOrder).hasSize(50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(executionOrder.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void 호출_스레드에서_실행되는_작업도_맵_갱신_밖에서_실행된다() {
+        // Given: 큐가 가득 찬 CallerRunsPolicy처럼 제출한 스레드에서 바로 실행하는 Executor
+        KeyOrderedExecutor callerRuns = new KeyOrderedExecutor(Runnable::run);
+        List<String> executionOrder = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Void>> inner = new CopyOnWriteArrayList<>();
+
+        // When: 실행 중인 작업 안에서 같은 키로 다시 제출
+        CompletableFuture<Void> outer = callerRuns.submit("user-1", () -> {
+            inner.add(callerRuns.submit("user-1", () -> executionOrder.add("inner")));
+            executionOrder.add("outer");
+        });
+
+        // Then
+        assertThat(outer).isCompleted();
+        assertThat(inner).singleElement().satisfies(future -> assertThat(future).isCompleted());
+        assertThat(executionOrder).containsExactly("outer", "inner");
+        assertThat(callerRuns.getActiveKeyCount()).isZero();
+    }
+
+    @Test
+    void 다른_키의_작업은_병렬로_실행된다() throws Exception {
+        // Given: user-1 작업이 끝나지 않은 상태
+        CountDownLatch blocker = new CountDownLatch(1);
+        CompletableFuture<Void> blocked = keyOrderedExecutor.submit("user-1", () -> {
+            try {
+                blocker.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // When
+        CompletableFuture<Void> other = keyOrderedExecutor.submit("user-2", () -> { });
+
+        // Then: user-2 작업은 user-1을 기다리지 않고 완료됨
+        other.get(1, TimeUnit.SECONDS);
+        assertThat(blocked).isNotDone();
+
+        blocker.countDown();
+        blocked.join();
+    }
+
+    @Test
+    void 앞선_작업이_실패해도_다음_작업은_실행된다() {
+        // Given
+        CompletableFuture<Void> failed = keyOrderedExecutor.submit("user-1", () -> {
+            throw new IllegalStateException("실패");
+        });
+
+        // When
+        CompletableFuture<Void> next = keyOrderedExecutor.submit("user-1", () -> { });
+        next.join();
+
+        // Then
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(next).isCompleted();
+    }
+}
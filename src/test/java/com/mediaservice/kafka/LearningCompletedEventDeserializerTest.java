@@ -0,0 +1,150 @@
+package com.mediaservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mediaservice.dto.SessionQuestionDetail;
+import com.mediaservice.event.LearningCompletedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 학습 완료 이벤트 스트리밍 Deserializer 테스트
+ */
+class LearningCompletedEventDeserializerTest {
+
+    private final LearningCompletedEventDeserializer deserializer = new LearningCompletedEventDeserializer();
+
+    @Test
+    void JSON_이벤트를_데이터_바인딩과_동일하게_읽는다() throws Exception {
+        // Given
+        LearningCompletedEvent expected = createEvent();
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        byte[] payload = mapper.writeValueAsBytes(expected);
+
+        // When
+        LearningCompletedEvent actual = deserializer.deserialize("learning-events", new RecordHeaders(), payload);
+
+        // Then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void CBOR_헤더가_있으면_CBOR_이벤트를_읽는다() throws Exception {
+        // Given
+        LearningCompletedEvent expected = createEvent();
+        ObjectMapper mapper = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        byte[] payload = mapper.writeValueAsBytes(expected);
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(LearningEventHeaders.CONTENT_TYPE,
+                LearningEventHeaders.CONTENT_TYPE_CBOR.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        LearningCompletedEvent actual = deserializer.deserialize("learning-events", headers, payload);
+
+        // Then
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void 타임스탬프_배열_날짜와_알_수_없는_필드를_처리한다() {
+        // Given
+        String json = """
+                {"sessionId":"s-1","userId":"7","unknown":{"nested":[1,2,3]},
+                 "sessionCompletedAt":[2024,3,15,14,30,12,5000],
+                 "sessionStartedAt":"2024-03-15T14:05",
+                 "lastAnsweredAt":"2024-03-15T14:29:59Z",
+                 "sessionQuestions":[{"questionId":"Q-1","isCorrect":true,"extra":"x"}]}
+                """;
+
+        // When
+        LearningCompletedEvent event = deserializer.deserialize("learning-events", json.getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertThat(event.getSessionId()).isEqualTo("s-1");
+        assertThat(event.getSessionCompletedAt()).isEqualTo(LocalDateTime.of(2024, 3, 15, 14, 30, 12, 5000));
+        assertThat(event.getSessionStartedAt()).isEqualTo(LocalDateTime.of(2024, 3, 15, 14, 5));
+        assertThat(event.getLastAnsweredAt()).isEqualTo(LocalDateTime.of(2024, 3, 15, 14, 29, 59));
+        assertThat(event.getSessionQuestions()).hasSize(1);
+        assertThat(event.getSessionQuestions().get(0).isCorrect()).isTrue();
+    }
+
+    @Test
+    void 잘못된_페이로드는_SerializationException을_던진다() {
+        // Given
+        byte[] payload = "[1,2,3]".getBytes(StandardCharsets.UTF_8);
+        byte[] truncated = "{\"sessionId\":\"s-1\",\"sessionQuestions\":[{".getBytes(StandardCharsets.UTF_8);
+
+        // When & Then
+        assertThatThrownBy(() -> deserializer.deserialize("learning-events", payload))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> deserializer.deserialize("learning-events", truncated))
+                .isInstanceOf(SerializationException.class);
+        assertThat(deserializer.deserialize("learning-events", new byte[0])).isNull();
+    }
+
+    private LearningCompletedEvent createEvent() {
+        LocalDateTime completedAt = LocalDateTime.of(2024, 3, 15, 14, 30, 12, 345_000_000);
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setSessionId("session-1");
+        event.setUserId("12345");
+        event.setSessionCreatedAt(completedAt.minusMinutes(25));
+        event.setSessionStartedAt(completedAt.minusMinutes(24));
+        event.setSessionCompletedAt(completedAt);
+        event.setSessionStatus("COMPLETED");
+        event.setSessionType("PRACTICE");
+        event.setSessionMetadata("{\"device\":\"ios\"}");
+        event.setTotalQuestions(2);
+        event.setAnsweredQuestions(2);
+        event.setCorrectAnswers(1);
+        event.setWrongAnswers(1);
+        event.setProgressPercentage(100.0);
+        event.setTotalSolveCount(3);
+        event.setAvgTimeSpent(38.5);
+        event.setLastAnsweredAt(completedAt.minusSeconds(5));
+        event.setMajorCategory("비즈니스");
+        event.setMinorCategory("회의");
+        event.setQuestionType("MULTIPLE_CHOICE");
+        event.setAvgDifficultyLevel(2);
+        event.setAccuracyRate(50.0);
+        event.setErrorRate(50.0);
+        event.setTotalLearningTimeMinutes(24);
+        event.setSessionQuestions(List.of(
+                SessionQuestionDetail.builder()
+                        .questionId("Q-1")
+                        .questionText("Choose the best phrase.")
+                        .options(List.of("A phrase", "B phrase", "C phrase"))
+                        .correctAnswer("A")
+                        .explanation("해설")
+                        .majorCategory("비즈니스")
+                        .minorCategory("회의")
+                        .difficultyLevel(2)
+                        .userAnswer("B")
+                        .isCorrect(false)
+                        .timeSpent(30)
+                        .attemptCount(1)
+                        .build(),
+                SessionQuestionDetail.builder()
+                        .questionId("Q-2")
+                        .questionText("Pick the polite request.")
+                        .options(List.of("A", "B", "C"))
+                        .correctAnswer("C")
+                        .userAnswer("C")
+                        .isCorrect(true)
+                        .timeSpent(20)
+                        .attemptCount(2)
+                        .build()));
+        return event;
+    }
+}
@@ -0,0 +1,105 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.dto.BatchRecommendationResult;
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.service.RealTimeRecommendationService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.*;
+
+/**
+ * 학습 이벤트 배치 Consumer 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class LearningEventBatchConsumerTest {
+
+    @Mock
+    private RealTimeRecommendationService realTimeRecommendationService;
+
+    @Mock
+    private LearningEventFailureRouter learningEventFailureRouter;
+
+    private LearningEventBatchConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new LearningEventBatchConsumer(realTimeRecommendationService, learningEventFailureRouter);
+    }
+
+    @Test
+    void 실패한_이벤트는_배치_인덱스에_해당하는_레코드만_재시도_라우팅한다() {
+        // Given: 역직렬화 실패 레코드가 앞에 있어 서비스에 넘기는 인덱스와 레코드 오프셋이 어긋남
+        ConsumerRecord<String, LearningCompletedEvent> broken = record(0, null);
+        ConsumerRecord<String, LearningCompletedEvent> first = record(1, event("session-1"));
+        ConsumerRecord<String, LearningCompletedEvent> second = record(2, event("session-2"));
+        RetryableRecommendationException failure = new RetryableRecommendationException("Gemini 타임아웃");
+        when(realTimeRecommendationService.generateBatchRecommendations(List.of(first.value(), second.value())))
+                .thenReturn(BatchRecommendationResult.builder()
+                        .totalEvents(2)
+                        .savedRecommendations(3)
+                        .failures(Map.of(1, failure))
+                        .build());
+
+        // When
+        consumer.handleLearningCompletedEvents(List.of(broken, first, second));
+
+        // Then
+        verify(learningEventFailureRouter).accept(same(broken), any(NonRetryableRecommendationException.class));
+        verify(learningEventFailureRouter).accept(same(second), eq(failure));
+        verify(learningEventFailureRouter, never()).accept(same(first), any());
+    }
+
+    @Test
+    void 실패가_없으면_배치_전체를_커밋하고_라우팅하지_않는다() {
+        // Given
+        ConsumerRecord<String, LearningCompletedEvent> first = record(0, event("session-1"));
+        ConsumerRecord<String, LearningCompletedEvent> second = record(1, event("session-2"));
+        when(realTimeRecommendationService.generateBatchRecommendations(anyList()))
+                .thenReturn(BatchRecommendationResult.builder().totalEvents(2).savedRecommendations(6).build());
+
+        // When
+        consumer.handleLearningCompletedEvents(List.of(first, second));
+
+        // Then
+        verify(realTimeRecommendationService).generateBatchRecommendations(List.of(first.value(), second.value()));
+        verifyNoInteractions(learningEventFailureRouter);
+    }
+
+    @Test
+    void 모든_레코드가_역직렬화에_실패하면_서비스를_호출하지_않는다() {
+        // Given
+        ConsumerRecord<String, LearningCompletedEvent> broken = record(0, null);
+
+        // When
+        consumer.handleLearningCompletedEvents(List.of(broken));
+
+        // Then
+        verify(learningEventFailureRouter).accept(same(broken), any(NonRetryableRecommendationException.class));
+        verifyNoInteractions(realTimeRecommendationService);
+    }
+
+    private static ConsumerRecord<String, LearningCompletedEvent> record(long offset, LearningCompletedEvent event) {
+        return new ConsumerRecord<>("learning-events", 0, offset, "1", event);
+    }
+
+    private static LearningCompletedEvent event(String sessionId) {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setUserId("1");
+        event.setSessionId(sessionId);
+        return event;
+    }
+}
@@ -0,0 +1,126 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.service.RealTimeRecommendationService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 사용자별 학습 완료 이벤트 병합기 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class LearningEventCoalescerTest {
+
+    @Mock
+    private RealTimeRecommendationService realTimeRecommendationService;
+
+    private ExecutorService pool;
+    private SimpleMeterRegistry meterRegistry;
+    private LearningEventCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new LearningEventCoalescer(realTimeRecommendationService,
+                new KeyOrderedExecutor(pool), meterRegistry, 200, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 윈도우_안의_같은_사용자_이벤트는_한_번에_처리된다() throws Exception {
+        // Given
+        CompletableFuture<Void> first = coalescer.submit(record("1", "session-1"));
+        CompletableFuture<Void> second = coalescer.submit(record("1", "session-2"));
+
+        // When
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // Then
+        ArgumentCaptor<List<LearningCompletedEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(realTimeRecommendationService, times(1)).generateCoalescedRecommendations(captor.capture());
+        assertThat(captor.getValue()).extracting(LearningCompletedEvent::getSessionId)
+                .containsExactly("session-1", "session-2");
+
+        DistributionSummary summary = meterRegistry.find("recommendation.coalescing.folded-events").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    void 최대_이벤트_수에_도달하면_윈도우를_기다리지_않고_처리된다() throws Exception {
+        // Given
+        coalescer.submit(record("1", "session-1"));
+        coalescer.submit(record("1", "session-2"));
+
+        // When
+        CompletableFuture<Void> third = coalescer.submit(record("1", "session-3"));
+        third.get(150, TimeUnit.MILLISECONDS);
+
+        // Then
+        verify(realTimeRecommendationService, times(1)).generateCoalescedRecommendations(anyList());
+        assertThat(coalescer.getPendingUserCount()).isZero();
+    }
+
+    @Test
+    void 다른_사용자의_이벤트는_병합되지_않는다() throws Exception {
+        // Given
+        CompletableFuture<Void> userA = coalescer.submit(record("1", "session-1"));
+        CompletableFuture<Void> userB = coalescer.submit(record("2", "session-2"));
+
+        // When
+        CompletableFuture.allOf(userA, userB).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verify(realTimeRecommendationService, times(2)).generateCoalescedRecommendations(anyList());
+    }
+
+    @Test
+    void 처리에_실패하면_윈도우의_모든_이벤트가_실패로_완료된다() {
+        // Given
+        doThrow(new RuntimeException("Gemini 오류"))
+                .when(realTimeRecommendationService).generateCoalescedRecommendations(anyList());
+
+        // When
+        CompletableFuture<Void> first = coalescer.submit(record("1", "session-1"));
+        CompletableFuture<Void> second = coalescer.submit(record("1", "session-2"));
+
+        // Then
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Gemini 오류");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Gemini 오류");
+    }
+
+    private ConsumerRecord<String, LearningCompletedEvent> record(String userId, String sessionId) {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setUserId(userId);
+        event.setSessionId(sessionId);
+        return new ConsumerRecord<>("learning-events", 0, 0L, userId, event);
+    }
+}
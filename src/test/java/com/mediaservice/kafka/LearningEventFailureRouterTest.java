@@ -0,0 +1,117 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.exception.RetryableRecommendationException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 실패 학습 이벤트 라우팅 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class LearningEventFailureRouterTest {
+
+    private static final String FAILED_TOPIC = "learning-events-failed";
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private LearningEventFailureRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new LearningEventFailureRouter(kafkaTemplate, FAILED_TOPIC);
+    }
+
+    @Test
+    void 일시적_실패는_원인_예외까지_확인하여_재시도_가능으로_판단한다() {
+        assertThat(LearningEventFailureRouter.isRetryable(new RetryableRecommendationException("요청 한도 초과"))).isTrue();
+        assertThat(LearningEventFailureRouter.isRetryable(
+                new RuntimeException("추천 생성 실패", new HttpTimeoutException("Gemini 응답 시간 초과")))).isTrue();
+        assertThat(LearningEventFailureRouter.isRetryable(new NonRetryableRecommendationException("잘못된 사용자 ID"))).isFalse();
+        assertThat(LearningEventFailureRouter.isRetryable(new IllegalArgumentException("잘못된 데이터"))).isFalse();
+    }
+
+    @Test
+    void 재시도_가능한_실패는_실패_이벤트_토픽으로_보낸다() {
+        // When
+        ProducerRecord<?, ?> published = route(new RuntimeException("추천 생성 실패",
+                new RetryableRecommendationException("Gemini 타임아웃")));
+
+        // Then
+        assertThat(published.topic()).isEqualTo(FAILED_TOPIC);
+        assertThat(published.partition()).isNull();
+        assertThat(published.key()).isEqualTo("1");
+    }
+
+    @Test
+    void 재시도_불가능한_실패는_바로_DLT로_보낸다() {
+        // When
+        ProducerRecord<?, ?> published = route(new NonRetryableRecommendationException("세션 ID가 없는 학습 완료 이벤트"));
+
+        // Then
+        assertThat(published.topic()).isEqualTo(FAILED_TOPIC + LearningEventRetryConsumer.DLT_SUFFIX);
+        assertThat(published.key()).isEqualTo("1");
+    }
+
+    @Test
+    void CBOR로_받은_이벤트는_JSON으로_다시_보내므로_content_type을_JSON으로_바꾼다() {
+        // Given
+        ConsumerRecord<String, LearningCompletedEvent> record = record();
+        record.headers().add(LearningEventHeaders.CONTENT_TYPE,
+                LearningEventHeaders.CONTENT_TYPE_CBOR.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        ProducerRecord<?, ?> published = route(record, new RetryableRecommendationException("Gemini 타임아웃"));
+
+        // Then: 재시도 Consumer의 Deserializer는 마지막 content-type 헤더로 형식을 판단
+        Header contentType = published.headers().lastHeader(LearningEventHeaders.CONTENT_TYPE);
+        assertThat(new String(contentType.value(), StandardCharsets.UTF_8))
+                .isEqualTo(LearningEventHeaders.CONTENT_TYPE_JSON);
+        assertThat(new LearningCompletedEventDeserializer()
+                .deserialize(FAILED_TOPIC, published.headers(), new JsonSerializer<>().noTypeInfo()
+                        .serialize(FAILED_TOPIC, published.value()))
+                .getSessionId()).isEqualTo("session-1");
+    }
+
+    private ProducerRecord<?, ?> route(Exception exception) {
+        return route(record(), exception);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<?, ?> route(ConsumerRecord<String, LearningCompletedEvent> record, Exception exception) {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        router.accept(record, exception);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ConsumerRecord<String, LearningCompletedEvent> record() {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setUserId("1");
+        event.setSessionId("session-1");
+        return new ConsumerRecord<>("learning-events", 3, 42L, "1", event);
+    }
+}
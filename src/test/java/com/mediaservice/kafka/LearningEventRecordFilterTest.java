@@ -0,0 +1,152 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.event.LearningCompletedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * 학습 이벤트 레코드 필터 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class LearningEventRecordFilterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LearningEventRecordFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new LearningEventRecordFilter(jdbcTemplate, meterRegistry, true, List.of("COMPLETED"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("99"));
+        filter.refreshOptedOutUsers();
+    }
+
+    @Test
+    void 헤더의_세션_상태가_처리_대상이_아니면_본문_파싱_전에_버린다() {
+        // Given
+        RecordHeaders progress = headers("IN_PROGRESS", "1");
+        RecordHeaders completed = headers("COMPLETED", "1");
+
+        // When & Then
+        assertThat(filter.shouldSkip(progress)).isTrue();
+        assertThat(filter.shouldSkip(completed)).isFalse();
+    }
+
+    @Test
+    void 추천_수신_거부_사용자의_이벤트는_버린다() {
+        // Given
+        RecordHeaders optedOut = headers("COMPLETED", "99");
+
+        // When & Then
+        assertThat(filter.shouldSkip(optedOut)).isTrue();
+        assertThat(filter.filter(record(optedOut, null))).isTrue();
+        assertThat(meterRegistry.counter("kafka.consumer.filtered", "reason", "opted-out").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 헤더가_없으면_역직렬화된_본문으로_판단한다() {
+        // Given
+        LearningCompletedEvent started = event("STARTED", "1");
+        LearningCompletedEvent completed = event("COMPLETED", "1");
+        LearningCompletedEvent optedOut = event("COMPLETED", "99");
+
+        // When & Then
+        assertThat(filter.shouldSkip(new RecordHeaders())).isFalse();
+        assertThat(filter.filter(record(new RecordHeaders(), started))).isTrue();
+        assertThat(filter.filter(record(new RecordHeaders(), completed))).isFalse();
+        assertThat(filter.filter(record(new RecordHeaders(), optedOut))).isTrue();
+        assertThat(meterRegistry.counter("kafka.consumer.filtered", "reason", "session-status").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 헤더로_버려진_레코드는_Deserializer가_본문을_파싱하지_않는다() {
+        // Given
+        LearningCompletedEventDeserializer deserializer = new LearningCompletedEventDeserializer(filter::shouldSkip);
+        byte[] notJson = "not-json".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        LearningCompletedEvent skipped = deserializer.deserialize("learning-events", headers("IN_PROGRESS", "1"), notJson);
+
+        // Then
+        assertThat(skipped).isNull();
+    }
+
+    @Test
+    void 역직렬화와_필터_사이에_수신_거부_목록이_갱신되어도_건너뛴_레코드는_버린다() {
+        // Given: 역직렬화 시점에는 수신 거부 사용자
+        LearningCompletedEventDeserializer deserializer = new LearningCompletedEventDeserializer(filter::shouldSkip);
+        RecordHeaders headers = headers("COMPLETED", "99");
+        LearningCompletedEvent skipped = deserializer.deserialize("learning-events", headers,
+                "{\"userId\":\"99\",\"sessionStatus\":\"COMPLETED\"}".getBytes(StandardCharsets.UTF_8));
+
+        // When: 필터 전에 사용자가 수신 거부 목록에서 빠짐
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+        filter.refreshOptedOutUsers();
+
+        // Then
+        assertThat(skipped).isNull();
+        assertThat(filter.filter(record(headers, skipped))).isTrue();
+        assertThat(meterRegistry.counter("kafka.consumer.filtered", "reason", "opted-out").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 역직렬화에_실패한_레코드는_버리지_않고_Listener로_넘긴다() {
+        // Given
+        RecordHeaders headers = headers("COMPLETED", "1");
+        headers.add(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, new byte[]{1});
+
+        // When & Then
+        assertThat(filter.filter(record(headers, null))).isFalse();
+    }
+
+    @Test
+    void 수신_거부_목록_조회에_실패하면_기존_목록을_유지한다() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenThrow(new RuntimeException("DB 오류"));
+
+        // When
+        filter.refreshOptedOutUsers();
+
+        // Then
+        assertThat(filter.shouldSkip(headers("COMPLETED", "99"))).isTrue();
+    }
+
+    private RecordHeaders headers(String status, String userId) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(LearningEventHeaders.SESSION_STATUS, status.getBytes(StandardCharsets.UTF_8));
+        headers.add(LearningEventHeaders.USER_ID, userId.getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    private LearningCompletedEvent event(String status, String userId) {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setSessionStatus(status);
+        event.setUserId(userId);
+        return event;
+    }
+
+    private ConsumerRecord<String, LearningCompletedEvent> record(RecordHeaders headers, LearningCompletedEvent event) {
+        ConsumerRecord<String, LearningCompletedEvent> record = new ConsumerRecord<>("learning-events", 0, 0L, "key", event);
+        headers.forEach(header -> record.headers().add(header));
+        return record;
+    }
+}
@@ -0,0 +1,46 @@
+package com.mediaservice.kafka;
+
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.service.RealTimeRecommendationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * 실패 학습 이벤트 재처리 Consumer 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class LearningEventRetryConsumerTest {
+
+    @Mock
+    private RealTimeRecommendationService realTimeRecommendationService;
+
+    @Test
+    void DLT에_도착한_이벤트는_원본_토픽별로_집계한다() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LearningEventRetryConsumer consumer = new LearningEventRetryConsumer(realTimeRecommendationService, meterRegistry);
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setUserId("1");
+        event.setSessionId("session-1");
+
+        // When
+        consumer.handleDeadLetter(new ConsumerRecord<>("learning-events-failed-dlt", 0, 7L, "1", event),
+                "Gemini 타임아웃", "learning-events-failed");
+        consumer.handleDeadLetter(new ConsumerRecord<>("learning-events-failed-dlt", 0, 8L, "1", null),
+                "역직렬화 실패", null);
+
+        // Then
+        assertThat(meterRegistry.counter("kafka.consumer.dead-letters", "original-topic", "learning-events-failed").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("kafka.consumer.dead-letters", "original-topic", "unknown").count())
+                .isEqualTo(1.0);
+        verifyNoInteractions(realTimeRecommendationService);
+    }
+}
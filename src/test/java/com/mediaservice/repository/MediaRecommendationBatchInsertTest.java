@@ -0,0 +1,91 @@
+package com.mediaservice.repository;
+
+import com.mediaservice.enums.MediaType;
+import com.mediaservice.enums.RecommendationType;
+import com.mediaservice.model.MediaRecommendation;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 추천 일괄 저장 테스트
+ *
+ * 운영과 같은 배치 설정(batch_size=50, order_inserts)으로 H2 인메모리 DB에 saveAll 하고
+ * Hibernate 통계로 INSERT가 행마다가 아니라 배치로 나가는지 확인합니다.
+ */
+class MediaRecommendationBatchInsertTest {
+
+    private static final int JDBC_BATCH_SIZE = 50;
+    private static final int ROWS = 100;
+
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(MediaRecommendation.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:batch-insert-test;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(JDBC_BATCH_SIZE))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .buildSessionFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void saveAll은_추천을_행마다가_아니라_배치로_INSERT한다() {
+        // Given
+        List<MediaRecommendation> recommendations = IntStream.range(0, ROWS)
+                .mapToObj(MediaRecommendationBatchInsertTest::createRecommendation)
+                .toList();
+        Statistics statistics = sessionFactory.getStatistics();
+
+        // When
+        try (Session session = sessionFactory.openSession()) {
+            MediaRecommendationRepository repository =
+                    new JpaRepositoryFactory(session).getRepository(MediaRecommendationRepository.class);
+            Transaction transaction = session.beginTransaction();
+            statistics.clear();
+            repository.saveAll(recommendations);
+            session.flush();
+            transaction.commit();
+        }
+
+        // Then: 준비한 JDBC 문장은 INSERT 배치(100/50=2개)와 시퀀스 조회 몇 번뿐 (배치가 꺼지면 행 수 이상)
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(ROWS / 10);
+        assertThat(recommendations).extracting(MediaRecommendation::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    private static MediaRecommendation createRecommendation(int index) {
+        return MediaRecommendation.builder()
+                .userId(1L)
+                .title("Business English: Meetings #" + index)
+                .url("https://www.youtube.com/watch?v=batch" + index)
+                .mediaType(MediaType.VIDEO)
+                .recommendationType(RecommendationType.REAL_TIME_SESSION)
+                .sessionId("session-1")
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+}
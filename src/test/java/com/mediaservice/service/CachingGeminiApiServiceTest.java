@@ -0,0 +1,125 @@
+package com.mediaservice.service;
+
+import com.mediaservice.dto.GeminiRequest;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.impl.CachingGeminiApiService;
+import com.mediaservice.service.impl.PromptResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Gemini 추천 결과 캐시 데코레이터 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingGeminiApiServiceTest {
+
+    @Mock
+    private GeminiApiService delegate;
+
+    private CachingGeminiApiService cachingGeminiApiService;
+
+    @BeforeEach
+    void setUp() {
+        PromptResultCache cache = new PromptResultCache(true, 100, 1_000_000, 60_000, new SimpleMeterRegistry());
+        cachingGeminiApiService = new CachingGeminiApiService(delegate, cache);
+    }
+
+    @Test
+    void 입력_지문이_같으면_프롬프트가_달라도_캐시된_결과를_사용한다() {
+        // Given
+        when(delegate.generateRecommendationsAsync(any(GeminiRequest.class))).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(recommendations("짧은 문법 강의")));
+
+        // When
+        List<MediaRecommendation> first = cachingGeminiApiService.generateRecommendations(
+                GeminiRequest.of("세션 1 프롬프트", "rt-v1:abc"));
+        first.get(0).setSessionId("session-1");
+        List<MediaRecommendation> second = cachingGeminiApiService.generateRecommendations(
+                GeminiRequest.of("세션 2 프롬프트", "rt-v1:abc"));
+
+        // Then
+        verify(delegate, times(1)).generateRecommendationsAsync(any(GeminiRequest.class));
+        assertThat(second).extracting(MediaRecommendation::getTitle).containsExactly("짧은 문법 강의");
+        assertThat(second.get(0).getSessionId()).isNull();
+    }
+
+    @Test
+    void 진행_중인_같은_지문의_호출은_하나로_합친다() {
+        // Given
+        CompletableFuture<List<MediaRecommendation>> pending = new CompletableFuture<>();
+        when(delegate.generateRecommendationsAsync(any(GeminiRequest.class))).thenReturn(pending);
+
+        // When
+        CompletableFuture<List<MediaRecommendation>> first = cachingGeminiApiService.generateRecommendationsAsync(
+                GeminiRequest.of("프롬프트 1", "rt-v1:abc"));
+        CompletableFuture<List<MediaRecommendation>> second = cachingGeminiApiService.generateRecommendationsAsync(
+                GeminiRequest.of("프롬프트 2", "rt-v1:abc"));
+        pending.complete(recommendations("짧은 문법 강의"));
+
+        // Then
+        verify(delegate, times(1)).generateRecommendationsAsync(any(GeminiRequest.class));
+        assertThat(first.join()).hasSize(1);
+        assertThat(second.join()).hasSize(1);
+        assertThat(first.join().get(0)).isNotSameAs(second.join().get(0));
+    }
+
+    @Test
+    void 캐시_키가_없거나_호출이_실패하면_캐시하지_않는다() {
+        // Given
+        when(delegate.generateRecommendations(argThat((GeminiRequest request) -> "프롬프트".equals(request.getPrompt())))).thenReturn(recommendations("짧은 문법 강의"));
+        when(delegate.generateRecommendationsAsync(argThat((GeminiRequest request) -> "실패 프롬프트".equals(request.getPrompt()))))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Gemini 오류")))
+                .thenReturn(CompletableFuture.completedFuture(recommendations("재시도 결과")));
+
+        // When
+        cachingGeminiApiService.generateRecommendations(GeminiRequest.uncached("프롬프트"));
+        cachingGeminiApiService.generateRecommendations(GeminiRequest.uncached("프롬프트"));
+        CompletableFuture<List<MediaRecommendation>> failed = cachingGeminiApiService.generateRecommendationsAsync(
+                GeminiRequest.of("실패 프롬프트", "rt-v1:def"));
+        List<MediaRecommendation> retried = cachingGeminiApiService.generateRecommendations(
+                GeminiRequest.of("실패 프롬프트", "rt-v1:def"));
+
+        // Then
+        verify(delegate, times(2)).generateRecommendations(argThat((GeminiRequest request) -> "프롬프트".equals(request.getPrompt())));
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(retried).extracting(MediaRecommendation::getTitle).containsExactly("재시도 결과");
+    }
+
+    @Test
+    void 스트리밍_캐시_적중_시_캐시된_항목을_바로_전달한다() {
+        // Given
+        when(delegate.streamRecommendations(any(GeminiRequest.class), any())).thenAnswer(invocation -> {
+            List<MediaRecommendation> streamed = recommendations("짧은 문법 강의");
+            streamed.forEach(invocation.<Consumer<MediaRecommendation>>getArgument(1));
+            return CompletableFuture.completedFuture(streamed);
+        });
+        cachingGeminiApiService.streamRecommendations(GeminiRequest.of("프롬프트", "rt-v1:abc"), recommendation -> { }).join();
+        List<MediaRecommendation> received = new ArrayList<>();
+
+        // When
+        cachingGeminiApiService.streamRecommendations(GeminiRequest.of("프롬프트", "rt-v1:abc"), received::add).join();
+
+        // Then
+        verify(delegate, times(1)).streamRecommendations(any(GeminiRequest.class), any());
+        assertThat(received).extracting(MediaRecommendation::getTitle).containsExactly("짧은 문법 강의");
+    }
+
+    private List<MediaRecommendation> recommendations(String title) {
+        return new ArrayList<>(List.of(MediaRecommendation.builder()
+                .title(title)
+                .url("https://www.youtube.com/watch?v=abc")
+                .build()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.mediaservice.service;
+
+import com.mediaservice.service.impl.CategoryContextTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 카테고리별 학습 맥락 테이블 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class CategoryContextTableTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CategoryContextTable categoryContextTable;
+
+    @BeforeEach
+    void setUp() {
+        categoryContextTable = new CategoryContextTable(jdbcTemplate);
+    }
+
+    @Test
+    void 등록된_소분류는_소분류_맥락을_나머지는_대분류_기본_맥락을_사용한다() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(
+                row("여행", "", "여행 영어", "여행 관련 영어 표현과 어휘를 학습합니다."),
+                row("여행", "배낭", "여행 영어", "배낭 여행에 필요한 영어 표현과 어휘를 학습합니다.")));
+
+        // When
+        categoryContextTable.refresh();
+
+        // Then
+        assertThat(categoryContextTable.line("여행", "배낭"))
+                .isEqualTo("- **여행 영어**: 배낭 여행에 필요한 영어 표현과 어휘를 학습합니다.\n");
+        assertThat(categoryContextTable.line("여행", "출장"))
+                .isEqualTo("- **여행 영어**: 여행 관련 영어 표현과 어휘를 학습합니다.\n");
+        assertThat(categoryContextTable.line("여행", null))
+                .isEqualTo("- **여행 영어**: 여행 관련 영어 표현과 어휘를 학습합니다.\n");
+        assertThat(categoryContextTable.line("비즈니스", "회의")).isNull();
+        assertThat(categoryContextTable.line(null, "회의")).isNull();
+    }
+
+    @Test
+    void 시작할_때_카테고리별_학습_맥락을_읽어_둔다() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(
+                row("여행", "", "여행 영어", "여행 관련 영어 표현과 어휘를 학습합니다.")));
+
+        // When
+        categoryContextTable.load();
+
+        // Then
+        assertThat(categoryContextTable.line("여행", "배낭"))
+                .isEqualTo("- **여행 영어**: 여행 관련 영어 표현과 어휘를 학습합니다.\n");
+    }
+
+    @Test
+    void 다시_읽으면_추가되거나_바뀐_카테고리로_교체한다() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString()))
+                .thenReturn(List.of(row("여행", "", "여행 영어", "여행 관련 영어 표현과 어휘를 학습합니다.")))
+                .thenReturn(List.of(
+                        row("여행", "", "여행 영어", "해외 여행에 필요한 영어 표현과 어휘를 학습합니다."),
+                        row("쇼핑", "", "쇼핑 영어", "쇼핑 관련 영어 표현과 어휘를 학습합니다.")));
+        categoryContextTable.refresh();
+
+        // When
+        categoryContextTable.refresh();
+
+        // Then
+        assertThat(categoryContextTable.line("여행", null))
+                .isEqualTo("- **여행 영어**: 해외 여행에 필요한 영어 표현과 어휘를 학습합니다.\n");
+        assertThat(categoryContextTable.line("쇼핑", "마트"))
+                .isEqualTo("- **쇼핑 영어**: 쇼핑 관련 영어 표현과 어휘를 학습합니다.\n");
+    }
+
+    @Test
+    void 조회에_실패하면_기존_맥락을_유지한다() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString()))
+                .thenReturn(List.of(row("여행", "", "여행 영어", "여행 관련 영어 표현과 어휘를 학습합니다.")))
+                .thenThrow(new DataAccessResourceFailureException("DB 연결 실패"));
+        categoryContextTable.refresh();
+
+        // When
+        categoryContextTable.refresh();
+
+        // Then
+        assertThat(categoryContextTable.line("여행", null))
+                .isEqualTo("- **여행 영어**: 여행 관련 영어 표현과 어휘를 학습합니다.\n");
+    }
+
+    private static Map<String, Object> row(String majorCategory, String minorCategory, String label, String context) {
+        return Map.of("major_category", majorCategory, "minor_category", minorCategory, "label", label, "context", context);
+    }
+}
@@ -0,0 +1,140 @@
+package com.mediaservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaservice.dto.GeminiRequest;
+import com.mediaservice.exception.GeminiAdmissionRejectedException;
+import com.mediaservice.exception.GeminiCircuitOpenException;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.impl.CircuitBreakerGeminiApiService;
+import com.mediaservice.service.impl.CircuitBreakerRecordingGeminiApiService;
+import com.mediaservice.service.impl.FallbackRecommendationPool;
+import com.mediaservice.service.impl.GeminiCircuitBreaker;
+import com.mediaservice.service.impl.GeminiResponseParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Gemini 서킷 브레이커 데코레이터 테스트 (대체 추천 풀 포함)
+ */
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerGeminiApiServiceTest {
+
+    private static final String TRAVEL_KEY = FallbackRecommendationPool.key("여행", "공항", 2);
+
+    @Mock
+    private GeminiApiService delegate;
+
+    private GeminiCircuitBreaker circuitBreaker;
+    private FallbackRecommendationPool fallbackPool;
+    private CircuitBreakerGeminiApiService circuitBreakerGeminiApiService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+        circuitBreaker = new GeminiCircuitBreaker(true, 2, 2, 50, 50, 15_000, 60_000, 1, meterRegistry);
+        fallbackPool = new FallbackRecommendationPool(
+                true, 8, new ClassPathResource("fallback-recommendations.json"),
+                objectMapper, new GeminiResponseParser(objectMapper), meterRegistry);
+        circuitBreakerGeminiApiService = new CircuitBreakerGeminiApiService(
+                new CircuitBreakerRecordingGeminiApiService(delegate, circuitBreaker), circuitBreaker, fallbackPool);
+    }
+
+    @Test
+    void 서킷이_열리면_Gemini를_호출하지_않고_대체_추천을_반환한다() {
+        // Given: 연속 실패로 서킷 열림
+        GeminiRequest request = GeminiRequest.uncached("프롬프트").withFallbackKey(TRAVEL_KEY);
+        when(delegate.generateRecommendationsAsync(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RetryableRecommendationException("일시적 오류")));
+        circuitBreakerGeminiApiService.generateRecommendationsAsync(request);
+        circuitBreakerGeminiApiService.generateRecommendationsAsync(request);
+
+        // When
+        List<MediaRecommendation> result = circuitBreakerGeminiApiService.generateRecommendationsAsync(request).join();
+
+        // Then: 소분류/난이도가 없는 "여행" 대분류 항목으로 범위를 넓혀 제공
+        assertThat(circuitBreaker.getState()).isEqualTo(GeminiCircuitBreaker.State.OPEN);
+        assertThat(result).isNotEmpty().allMatch(MediaRecommendation::isFallback);
+        assertThat(result).extracting(MediaRecommendation::getTitle).contains("Travel English Phrases");
+        verify(delegate, times(2)).generateRecommendationsAsync(anyString());
+    }
+
+    @Test
+    void 성공한_호출_결과로_대체_추천_풀을_갱신한다() {
+        // Given
+        GeminiRequest request = GeminiRequest.uncached("프롬프트").withFallbackKey(TRAVEL_KEY);
+        MediaRecommendation recommendation = MediaRecommendation.builder()
+                .title("Airport Conversations")
+                .url("https://example.com/airport")
+                .build();
+        when(delegate.generateRecommendations(anyString())).thenReturn(List.of(recommendation));
+
+        // When
+        circuitBreakerGeminiApiService.generateRecommendations(request);
+
+        // Then: 풀에는 복사본이 저장되고, 조회 결과는 대체 추천으로 표시
+        List<MediaRecommendation> fallback = fallbackPool.get(TRAVEL_KEY);
+        assertThat(fallback).extracting(MediaRecommendation::getTitle).containsExactly("Airport Conversations");
+        assertThat(fallback.get(0).isFallback()).isTrue();
+        assertThat(recommendation.isFallback()).isFalse();
+    }
+
+    @Test
+    void 서킷이_열려_있고_대체_추천이_없으면_서킷_열림_예외로_실패한다() {
+        // Given: 대체 추천 파일이 없는 풀
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectMapper objectMapper = new ObjectMapper();
+        FallbackRecommendationPool emptyPool = new FallbackRecommendationPool(
+                true, 8, new ClassPathResource("not-found.json"),
+                objectMapper, new GeminiResponseParser(objectMapper), meterRegistry);
+        CircuitBreakerGeminiApiService service = new CircuitBreakerGeminiApiService(
+                new CircuitBreakerRecordingGeminiApiService(delegate, circuitBreaker), circuitBreaker, emptyPool);
+        GeminiRequest request = GeminiRequest.uncached("프롬프트").withFallbackKey(TRAVEL_KEY);
+        when(delegate.generateRecommendations(anyString()))
+                .thenThrow(new RetryableRecommendationException("일시적 오류"));
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> service.generateRecommendations(request))
+                    .isInstanceOf(RetryableRecommendationException.class);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> service.generateRecommendations(request))
+                .isInstanceOf(GeminiCircuitOpenException.class);
+        verify(delegate, times(2)).generateRecommendations(anyString());
+    }
+
+    @Test
+    void 호출_허가_단계에서_거절된_요청은_실패로_세지_않는다() {
+        // Given: 바깥 데코레이터 바로 아래의 호출 스케줄러가 허가를 거절 (Gemini는 호출되지 않음)
+        GeminiApiService rejectingScheduler = mock(GeminiApiService.class);
+        when(rejectingScheduler.generateRecommendationsAsync(any(GeminiRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new GeminiAdmissionRejectedException("대기열 초과")));
+        CircuitBreakerGeminiApiService service = new CircuitBreakerGeminiApiService(
+                rejectingScheduler, circuitBreaker, fallbackPool);
+        GeminiRequest request = GeminiRequest.uncached("프롬프트").withFallbackKey(TRAVEL_KEY);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(service.generateRecommendationsAsync(request)).isCompletedExceptionally();
+        }
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(GeminiCircuitBreaker.State.CLOSED);
+        verify(rejectingScheduler, times(3)).generateRecommendationsAsync(any(GeminiRequest.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.mediaservice.service;
+
+import com.mediaservice.dto.GeminiRequest;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.repository.MediaRecommendationRepository;
+import com.mediaservice.service.impl.FallbackRecommendationReplacer;
+import com.mediaservice.service.impl.GeminiCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 대체 추천 교체 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class FallbackRecommendationReplacerTest {
+
+    @Mock
+    private GeminiApiService geminiApiService;
+
+    @Mock
+    private MediaRecommendationRepository mediaRecommendationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GeminiCircuitBreaker circuitBreaker;
+    private FallbackRecommendationReplacer replacer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new GeminiCircuitBreaker(true, 2, 2, 50, 50, 15_000, 60_000, 1, meterRegistry);
+        replacer = new FallbackRecommendationReplacer(geminiApiService, mediaRecommendationRepository,
+                new TransactionTemplate(transactionManager), circuitBreaker, Runnable::run, true, 10, 50, meterRegistry);
+    }
+
+    @Test
+    void 서킷이_닫힌_채로_교체에_실패하면_다음_닫힘_전환을_기다리지_않고_지연_후_다시_시도한다() {
+        // Given: 첫 교체 호출은 일시적 오류, 재시도는 성공
+        MediaRecommendation real = MediaRecommendation.builder().title("실제 추천").build();
+        when(geminiApiService.generateRecommendationsAsync(any(GeminiRequest.class))).thenReturn(
+                CompletableFuture.failedFuture(new RetryableRecommendationException("Gemini 타임아웃")),
+                CompletableFuture.completedFuture(List.of(real)));
+        MediaRecommendation fallback = MediaRecommendation.builder()
+                .id(1L).userId(7L).sessionId("session-1").title("대체 추천").fallback(true).build();
+
+        // When
+        replacer.registerIfFallback(GeminiRequest.uncached("프롬프트"), List.of(fallback));
+
+        // Then: 서킷 상태는 계속 CLOSED
+        verify(mediaRecommendationRepository, timeout(2000)).saveAll(List.of(real));
+        verify(mediaRecommendationRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(geminiApiService, times(2)).generateRecommendationsAsync(any(GeminiRequest.class));
+        assertThat(circuitBreaker.getState()).isEqualTo(GeminiCircuitBreaker.State.CLOSED);
+        assertThat(real.getUserId()).isEqualTo(7L);
+        assertThat(replacer.getPendingCount()).isZero();
+    }
+}
@@ -0,0 +1,120 @@
+package com.mediaservice.service;
+
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.service.impl.GeminiCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gemini 서킷 브레이커 테스트
+ */
+class GeminiCircuitBreakerTest {
+
+    private static final long FAST_CALL = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void 실패율이_기준치를_넘으면_열리고_호출을_허가하지_않는다() {
+        // Given: 윈도우 4건, 최소 4건, 실패율 50%
+        GeminiCircuitBreaker breaker = createBreaker(60_000);
+        List<GeminiCircuitBreaker.State> transitions = new ArrayList<>();
+        breaker.addListener(transitions::add);
+
+        // When: 성공 2건, 실패 2건
+        record(breaker, null);
+        record(breaker, new RetryableRecommendationException("일시적 오류"));
+        record(breaker, null);
+        record(breaker, new RetryableRecommendationException("일시적 오류"));
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(transitions).containsExactly(GeminiCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void 재시도_불가능한_오류는_실패로_세지_않는다() {
+        // Given
+        GeminiCircuitBreaker breaker = createBreaker(60_000);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            record(breaker, new NonRetryableRecommendationException("잘못된 요청"));
+        }
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void 열림_시간이_지나면_반열림_상태에서_시험_호출이_성공하면_닫힌다() throws Exception {
+        // Given: 열림 시간 0ms, 반열림 시험 호출 2건
+        GeminiCircuitBreaker breaker = createBreaker(0);
+        List<GeminiCircuitBreaker.State> transitions = new ArrayList<>();
+        breaker.addListener(transitions::add);
+        for (int i = 0; i < 4; i++) {
+            record(breaker, new RetryableRecommendationException("일시적 오류"));
+        }
+
+        // When
+        boolean firstPermitted = breaker.tryAcquirePermission();
+        boolean secondPermitted = breaker.tryAcquirePermission();
+        boolean thirdPermitted = breaker.tryAcquirePermission();
+        breaker.onResult(FAST_CALL, null);
+        breaker.onResult(FAST_CALL, null);
+
+        // Then: 시험 호출 수만큼만 허가
+        assertThat(firstPermitted).isTrue();
+        assertThat(secondPermitted).isTrue();
+        assertThat(thirdPermitted).isFalse();
+        assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.CLOSED);
+        assertThat(transitions).containsExactly(
+                GeminiCircuitBreaker.State.OPEN,
+                GeminiCircuitBreaker.State.HALF_OPEN,
+                GeminiCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void 반열림_상태에서_호출하지_못하고_반환된_허가는_다른_요청이_사용할_수_있다() {
+        // Given: 반열림 상태에서 시험 호출 허가 2건을 모두 받음
+        GeminiCircuitBreaker breaker = createBreaker(0);
+        for (int i = 0; i < 4; i++) {
+            record(breaker, new RetryableRecommendationException("일시적 오류"));
+        }
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+
+        // When: 한 건은 호출 스케줄러에서 거절되어 허가를 반환
+        breaker.releasePermission();
+
+        // Then
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(GeminiCircuitBreaker.State.HALF_OPEN);
+    }
+
+    private void record(GeminiCircuitBreaker breaker, Throwable error) {
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        breaker.onResult(FAST_CALL, error);
+    }
+
+    private GeminiCircuitBreaker createBreaker(long openDurationMs) {
+        return new GeminiCircuitBreaker(
+                true,
+                4,
+                4,
+                50,
+                50,
+                15_000,
+                openDurationMs,
+                2,
+                new SimpleMeterRegistry());
+    }
+}
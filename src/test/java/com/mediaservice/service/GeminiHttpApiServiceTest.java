@@ -0,0 +1,449 @@
+package com.mediaservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.impl.GeminiContextCache;
+import com.mediaservice.service.impl.GeminiHttpApiService;
+import com.mediaservice.service.impl.GeminiResponseParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Gemini HTTP 클라이언트 테스트 (로컬 Stub 서버 사용)
+ */
+class GeminiHttpApiServiceTest {
+
+    private static final String MODEL = "gemini-test";
+
+    private static final String CANDIDATE_TEXT = """
+            ```json
+            {"recommendations": [{"title": "Quick Grammar Fix", "description": "짧은 문법 강의",
+              "url": "https://www.youtube.com/watch?v=abc", "mediaType": "VIDEO", "platform": "YouTube",
+              "difficultyLevel": "초급", "recommendationReason": "약점 보완", "estimatedDuration": 5}]}
+            ```
+            """;
+
+    private static final String STABLE_PREFIX = "## 역할\n고정 지시사항\n\n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<StubResponse> stubResponse = new AtomicReference<>();
+    private final AtomicReference<String> receivedPath = new AtomicReference<>();
+    private final AtomicReference<String> receivedApiKey = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private final List<String> cachedContentRequests = new CopyOnWriteArrayList<>();
+    private final List<String> cachedContentCalls = new CopyOnWriteArrayList<>();
+    private final AtomicReference<StubResponse> cachedContentRejection = new AtomicReference<>();
+    private final AtomicReference<Duration> createdCacheExpiresIn = new AtomicReference<>(Duration.ofHours(1));
+
+    private HttpServer server;
+    private GeminiHttpApiService geminiHttpApiService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        geminiHttpApiService = createService(false, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void gzip으로_압축된_응답을_비동기로_받아_추천으로_변환한다() throws Exception {
+        // Given
+        stubResponse.set(new StubResponse(200, candidatesBody(CANDIDATE_TEXT), true, 0));
+
+        // When
+        CompletableFuture<List<MediaRecommendation>> future = geminiHttpApiService.generateRecommendationsAsync("프롬프트");
+        List<MediaRecommendation> recommendations = future.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(recommendations).extracting(MediaRecommendation::getTitle).containsExactly("Quick Grammar Fix");
+        assertThat(receivedPath.get()).isEqualTo("/v1beta/models/" + MODEL + ":generateContent");
+        assertThat(receivedApiKey.get()).isEqualTo("test-key");
+        assertThat(objectMapper.readTree(receivedBody.get())
+                .at("/contents/0/parts/0/text").asText()).isEqualTo("프롬프트");
+    }
+
+    @Test
+    void 요청_한도_초과_응답은_재시도_가능_예외로_실패한다() {
+        // Given
+        stubResponse.set(new StubResponse(429, "{\"error\": {\"code\": 429}}", false, 0));
+
+        // When & Then
+        assertThatThrownBy(() -> geminiHttpApiService.generateRecommendationsAsync("프롬프트").get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RetryableRecommendationException.class);
+    }
+
+    @Test
+    void 잘못된_요청_응답은_재시도_불가_예외로_실패한다() {
+        // Given
+        stubResponse.set(new StubResponse(400, "{\"error\": {\"code\": 400}}", false, 0));
+
+        // When & Then
+        assertThatThrownBy(() -> geminiHttpApiService.generateRecommendations("프롬프트"))
+                .isInstanceOf(NonRetryableRecommendationException.class);
+    }
+
+    @Test
+    void 읽기_타임아웃을_넘기면_재시도_가능_예외로_실패한다() {
+        // Given: 읽기 타임아웃(500ms)보다 늦게 응답
+        stubResponse.set(new StubResponse(200, candidatesBody(CANDIDATE_TEXT), false, 2000));
+
+        // When & Then
+        assertThatThrownBy(() -> geminiHttpApiService.generateRecommendations("프롬프트"))
+                .isInstanceOf(RetryableRecommendationException.class)
+                .hasMessageContaining("시간 초과");
+    }
+
+    @Test
+    void 스트리밍_모드에서는_SSE_조각에서_완성된_추천을_바로_전달한다() throws Exception {
+        // Given: 추천 항목이 여러 SSE 이벤트에 나뉘어 도착
+        String text = CANDIDATE_TEXT;
+        int split = text.indexOf("\"platform\"");
+        String sse = "data: " + candidatesBody(text.substring(0, split)) + "\r\n\r\n"
+                + "data: " + candidatesBody(text.substring(split)) + "\r\n\r\n";
+        stubResponse.set(new StubResponse(200, sse, false, 0));
+        GeminiHttpApiService streamingService = createService(true, false);
+        List<MediaRecommendation> streamed = new CopyOnWriteArrayList<>();
+
+        // When
+        List<MediaRecommendation> recommendations = streamingService
+                .streamRecommendations("프롬프트", streamed::add)
+                .get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(streamingService.isStreamingEnabled()).isTrue();
+        assertThat(receivedPath.get()).isEqualTo("/v1beta/models/" + MODEL + ":streamGenerateContent");
+        assertThat(streamed).extracting(MediaRecommendation::getTitle).containsExactly("Quick Grammar Fix");
+        assertThat(recommendations).hasSize(1);
+    }
+
+    @Test
+    void 구조화된_출력_모드에서는_응답_스키마를_요청하고_JSON_본문을_바로_파싱한다() throws Exception {
+        // Given: 코드 블록 없이 JSON 본문만 생성
+        String json = CANDIDATE_TEXT.substring(CANDIDATE_TEXT.indexOf('{'), CANDIDATE_TEXT.lastIndexOf('}') + 1);
+        stubResponse.set(new StubResponse(200, candidatesBody(json), false, 0));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GeminiHttpApiService structuredService = createService(false, true, meterRegistry);
+
+        // When
+        List<MediaRecommendation> recommendations = structuredService.generateRecommendations("프롬프트");
+
+        // Then
+        assertThat(recommendations).extracting(MediaRecommendation::getTitle).containsExactly("Quick Grammar Fix");
+        JsonNode generationConfig = objectMapper.readTree(receivedBody.get()).get("generationConfig");
+        assertThat(generationConfig.get("responseMimeType").asText()).isEqualTo("application/json");
+        JsonNode item = generationConfig.at("/responseSchema/properties/recommendations/items");
+        assertThat(item.at("/properties/mediaType/enum")).extracting(JsonNode::asText)
+                .containsExactly("VIDEO", "AUDIO", "ARTICLE", "BOOK");
+        assertThat(item.at("/properties/estimatedDuration/type").asText()).isEqualTo("INTEGER");
+        // 파서가 읽는 필드만 스키마에 포함 (userId, thumbnailUrl, videoId 등은 제외)
+        assertThat(item.get("properties").fieldNames()).toIterable().containsExactlyInAnyOrder(
+                "title", "description", "url", "mediaType", "platform", "difficultyLevel", "recommendationReason",
+                "estimatedDuration", "language", "category");
+        assertThat(meterRegistry.get("gemini.structured-output.fallback").counter().count()).isZero();
+    }
+
+    @Test
+    void 구조화된_출력_모드에서_스키마를_따르지_않은_응답은_코드_블록_추출로_파싱한다() {
+        // Given: 모델이 스키마를 무시하고 코드 블록으로 응답
+        stubResponse.set(new StubResponse(200, candidatesBody("추천 결과입니다.\n" + CANDIDATE_TEXT), false, 0));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GeminiHttpApiService structuredService = createService(false, true, meterRegistry);
+
+        // When
+        List<MediaRecommendation> recommendations = structuredService.generateRecommendations("프롬프트");
+
+        // Then
+        assertThat(recommendations).extracting(MediaRecommendation::getTitle).containsExactly("Quick Grammar Fix");
+        assertThat(meterRegistry.get("gemini.structured-output.fallback").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 고정_머리말을_컨텍스트_캐시에_등록한_뒤에는_캐시_이름과_뒷부분만_전송한다() throws Exception {
+        // Given
+        stubResponse.set(new StubResponse(200, candidatesBody(CANDIDATE_TEXT), false, 0));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GeminiContextCache contextCache = createContextCache(true, meterRegistry);
+        GeminiHttpApiService cachingService = createService(false, false, meterRegistry, contextCache);
+        String prompt = STABLE_PREFIX + "## 세션 정보\n- 정확도: 60%\n";
+
+        // When: 첫 호출은 전체 프롬프트로 보내고 백그라운드에서 머리말 등록
+        cachingService.generateRecommendations(prompt);
+        String firstBody = receivedBody.get();
+        awaitRegistered(contextCache, prompt);
+        cachingService.generateRecommendations(prompt);
+
+        // Then
+        assertThat(objectMapper.readTree(firstBody).has("cachedContent")).isFalse();
+        assertThat(objectMapper.readTree(firstBody).at("/contents/0/parts/0/text").asText()).isEqualTo(prompt);
+
+        assertThat(cachedContentRequests).hasSize(1);
+        JsonNode registration = objectMapper.readTree(cachedContentRequests.get(0));
+        assertThat(registration.get("model").asText()).isEqualTo("models/" + MODEL);
+        assertThat(registration.at("/contents/0/parts/0/text").asText()).isEqualTo(STABLE_PREFIX);
+        assertThat(registration.get("ttl").asText()).isEqualTo("3600s");
+
+        JsonNode cachedBody = objectMapper.readTree(receivedBody.get());
+        assertThat(cachedBody.get("cachedContent").asText()).isEqualTo("cachedContents/prefix-1");
+        assertThat(cachedBody.at("/contents/0/parts/0/text").asText()).isEqualTo("## 세션 정보\n- 정확도: 60%\n");
+        assertThat(meterRegistry.get("gemini.context-cache.updates").tag("result", "created").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 컨텍스트_캐시를_찾지_못하면_캐시를_버리고_재시도_가능_예외로_실패한다() throws Exception {
+        // Given
+        stubResponse.set(new StubResponse(200, candidatesBody(CANDIDATE_TEXT), false, 0));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GeminiContextCache contextCache = createContextCache(true, meterRegistry);
+        GeminiHttpApiService cachingService = createService(false, false, meterRegistry, contextCache);
+        String prompt = STABLE_PREFIX + "뒷부분";
+        awaitRegistered(contextCache, prompt);
+        stubResponse.set(new StubResponse(404, "{\"error\": {\"code\": 404}}", false, 0));
+
+        // When & Then
+        assertThatThrownBy(() -> cachingService.generateRecommendations(prompt))
+                .isInstanceOf(RetryableRecommendationException.class);
+        assertThat(contextCache.lookup(prompt)).isNull();
+    }
+
+    @Test
+    void 만료가_다가온_컨텍스트_캐시는_PATCH로_TTL을_연장한다() throws Exception {
+        // Given: 등록 응답의 만료 시각이 갱신 기준(300초) 안쪽
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GeminiContextCache contextCache = createContextCache(true, meterRegistry);
+        String prompt = STABLE_PREFIX + "뒷부분";
+        createdCacheExpiresIn.set(Duration.ofSeconds(120));
+
+        // When: 등록된 캐시를 처음 사용하는 조회에서 백그라운드로 TTL 연장
+        awaitRegistered(contextCache, prompt);
+        GeminiContextCache.CachedPrompt cachedPrompt = contextCache.lookup(prompt);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("gemini.context-cache.updates").tag("result", "extended").counter() == null) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+
+        // Then
+        assertThat(cachedPrompt.cachedContentName()).isEqualTo("cachedContents/prefix-1");
+        assertThat(cachedContentCalls).containsExactly(
+                "POST /v1beta/cachedContents",
+                "PATCH /v1beta/cachedContents/prefix-1?updateMask=ttl");
+        assertThat(objectMapper.readTree(cachedContentRequests.get(1)).get("ttl").asText()).isEqualTo("3600s");
+        assertThat(contextCache.lookup(prompt).cachedContentName()).isEqualTo("cachedContents/prefix-1");
+        assertThat(cachedContentCalls).hasSize(2);
+    }
+
+    @Test
+    void 등록을_거절당한_머리말은_다시_등록하지_않는다() throws Exception {
+        // Given: 최소 캐시 크기 미달로 등록 거절
+        cachedContentRejection.set(new StubResponse(400,
+                "{\"error\": {\"code\": 400, \"message\": \"Cached content is too small.\"}}", false, 0));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GeminiContextCache contextCache = createContextCache(true, meterRegistry);
+        String prompt = STABLE_PREFIX + "뒷부분";
+
+        // When
+        assertThat(contextCache.lookup(prompt)).isNull();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("gemini.context-cache.updates").tag("result", "rejected").counter() == null) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        contextCache.lookup(prompt);
+        contextCache.lookup(prompt);
+
+        // Then: 거절 이후 조회는 등록을 시도하지 않고 캐시 미사용(miss)으로도 세지 않음
+        assertThat(cachedContentCalls).containsExactly("POST /v1beta/cachedContents");
+        assertThat(meterRegistry.get("gemini.context-cache.requests").tag("result", "miss").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("gemini.context-cache.updates").tag("result", "failed").counter()).isNull();
+    }
+
+    @Test
+    void 머리말이_다른_프롬프트는_컨텍스트_캐시를_사용하지_않는다() {
+        // Given
+        GeminiContextCache contextCache = createContextCache(true, new SimpleMeterRegistry());
+
+        // When & Then
+        assertThat(contextCache.lookup("## 다른 프롬프트\n")).isNull();
+        assertThat(cachedContentRequests).isEmpty();
+    }
+
+    @Test
+    void 최소_캐시_크기를_넘는_머리말이_없으면_켜져_있어도_캐시를_사용하지_않는다() {
+        // Given: 머리말이 모델의 최소 캐시 크기(32768 토큰)보다 짧음
+        GeminiContextCache contextCache = createContextCache(true, new SimpleMeterRegistry(), 32768);
+
+        // When & Then
+        assertThat(contextCache.isActive()).isFalse();
+        assertThat(contextCache.lookup(STABLE_PREFIX + "## 학습자 정보\n")).isNull();
+        assertThat(cachedContentRequests).isEmpty();
+    }
+
+    private void awaitRegistered(GeminiContextCache contextCache, String prompt) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (contextCache.lookup(prompt) == null) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private GeminiContextCache createContextCache(boolean enabled, SimpleMeterRegistry meterRegistry) {
+        return createContextCache(enabled, meterRegistry, 1);
+    }
+
+    private GeminiContextCache createContextCache(boolean enabled, SimpleMeterRegistry meterRegistry, int minPrefixTokens) {
+        PromptTemplateService promptTemplateService = mock(PromptTemplateService.class);
+        when(promptTemplateService.getStablePrefixes()).thenReturn(List.of(STABLE_PREFIX));
+        return new GeminiContextCache(
+                objectMapper,
+                promptTemplateService,
+                meterRegistry,
+                baseUrl(),
+                "test-key",
+                MODEL,
+                1000,
+                enabled,
+                3600,
+                300,
+                minPrefixTokens);
+    }
+
+    private GeminiHttpApiService createService(boolean streaming, boolean structuredOutput) {
+        return createService(streaming, structuredOutput, new SimpleMeterRegistry());
+    }
+
+    private GeminiHttpApiService createService(boolean streaming, boolean structuredOutput, SimpleMeterRegistry meterRegistry) {
+        return createService(streaming, structuredOutput, meterRegistry, createContextCache(false, meterRegistry));
+    }
+
+    private GeminiHttpApiService createService(boolean streaming, boolean structuredOutput, SimpleMeterRegistry meterRegistry,
+                                               GeminiContextCache contextCache) {
+        return new GeminiHttpApiService(
+                objectMapper,
+                new GeminiResponseParser(objectMapper),
+                meterRegistry,
+                contextCache,
+                baseUrl(),
+                "test-key",
+                MODEL,
+                1000,
+                500,
+                true,
+                streaming,
+                structuredOutput);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1beta/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestURI().getPath().contains("/cachedContents")) {
+            handleCachedContents(exchange);
+            return;
+        }
+        receivedPath.set(exchange.getRequestURI().getPath());
+        receivedApiKey.set(exchange.getRequestHeaders().getFirst("x-goog-api-key"));
+        receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+        StubResponse response = stubResponse.get();
+        if (response.delayMs() > 0) {
+            try {
+                Thread.sleep(response.delayMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        if (response.gzip()) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            }
+            body = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        } catch (IOException ignored) {
+            // 클라이언트가 타임아웃으로 연결을 먼저 끊은 경우
+        }
+    }
+
+    private void handleCachedContents(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String query = exchange.getRequestURI().getQuery();
+        cachedContentCalls.add(exchange.getRequestMethod() + " " + path + (query != null ? "?" + query : ""));
+        cachedContentRequests.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+        StubResponse rejection = cachedContentRejection.get();
+        int status = 200;
+        byte[] body;
+        if (rejection != null) {
+            status = rejection.status();
+            body = rejection.body().getBytes(StandardCharsets.UTF_8);
+        } else {
+            // 등록(POST)은 새 이름, TTL 연장(PATCH)은 경로의 기존 이름과 1시간 뒤 만료 시각으로 응답
+            boolean created = path.endsWith("/cachedContents");
+            var root = objectMapper.createObjectNode();
+            root.put("name", created
+                    ? "cachedContents/prefix-" + cachedContentRequests.size()
+                    : path.substring(path.indexOf("cachedContents/")));
+            root.put("expireTime", Instant.now().plus(created ? createdCacheExpiresIn.get() : Duration.ofHours(1)).toString());
+            body = root.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String candidatesBody(String text) {
+        var root = objectMapper.createObjectNode();
+        var candidate = root.putArray("candidates").addObject();
+        candidate.putObject("content").putArray("parts").addObject().put("text", text);
+        candidate.put("finishReason", "STOP");
+        return root.toString();
+    }
+
+    private record StubResponse(int status, String body, boolean gzip, long delayMs) {
+    }
+}
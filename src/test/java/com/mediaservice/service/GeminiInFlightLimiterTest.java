@@ -0,0 +1,116 @@
+package com.mediaservice.service;
+
+import com.mediaservice.service.impl.GeminiInFlightLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gemini 동시 호출 Limiter 테스트
+ */
+class GeminiInFlightLimiterTest {
+
+    @Test
+    void pause_기준치에서_포화되고_resume_기준치_이하에서_해제된다() throws InterruptedException {
+        // Given: 최대 4, pause 3, resume 1
+        GeminiInFlightLimiter limiter = new GeminiInFlightLimiter(4, 3, 1, new SimpleMeterRegistry());
+        List<Boolean> notifications = new ArrayList<>();
+        limiter.addListener(notifications::add);
+
+        // When & Then
+        limiter.acquire();
+        limiter.acquire();
+        assertThat(limiter.isSaturated()).isFalse();
+
+        limiter.acquire();
+        assertThat(limiter.isSaturated()).isTrue();
+        assertThat(notifications).containsExactly(true);
+
+        limiter.acquire();
+        limiter.release();
+        limiter.release();
+        assertThat(limiter.isSaturated()).isTrue(); // 진행 중 2: 기준치 사이에서는 포화 상태 유지
+
+        limiter.release();
+        assertThat(limiter.isSaturated()).isFalse();
+        assertThat(notifications).containsExactly(true, false);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void 한도에_도달하면_스레드를_막지_않고_대기열에서_순서대로_허가를_넘겨준다() throws InterruptedException {
+        // Given: 최대 1
+        GeminiInFlightLimiter limiter = new GeminiInFlightLimiter(1, 1, 0, new SimpleMeterRegistry());
+        limiter.acquire();
+
+        // When
+        CompletableFuture<Void> cancelled = limiter.acquireAsync();
+        CompletableFuture<Void> waiting = limiter.acquireAsync();
+        cancelled.cancel(false);
+
+        // Then: 대기 중인 요청이 있으면 tryAcquire로 끼어들 수 없고, 반환된 허가는 취소되지 않은 대기자에게 넘어감
+        assertThat(waiting).isNotDone();
+        assertThat(limiter.getWaiting()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release();
+        assertThat(waiting).isCompleted();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getWaiting()).isZero();
+
+        limiter.release();
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void 동시에_호출해도_알림은_번갈아_전달되고_마지막_상태는_해제된다() throws InterruptedException {
+        // Given
+        GeminiInFlightLimiter limiter = new GeminiInFlightLimiter(8, 6, 2, new SimpleMeterRegistry());
+        List<Boolean> notifications = Collections.synchronizedList(new ArrayList<>());
+        limiter.addListener(notifications::add);
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // When
+        for (int i = 0; i < threads; i++) {
+            pool.execute(() -> {
+                try {
+                    for (int j = 0; j < 2000; j++) {
+                        limiter.acquire();
+                        if (ThreadLocalRandom.current().nextInt(8) == 0) {
+                            Thread.yield();
+                        }
+                        limiter.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+
+        // Then: pause 뒤에는 항상 resume이 오고, 모든 호출이 끝나면 포화 상태가 해제됨
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.isSaturated()).isFalse();
+        for (int i = 0; i < notifications.size(); i++) {
+            assertThat(notifications.get(i)).isEqualTo(i % 2 == 0);
+        }
+        assertThat(notifications.size() % 2).isZero();
+    }
+}
@@ -0,0 +1,106 @@
+package com.mediaservice.service;
+
+import com.mediaservice.enums.LlmRequestPriority;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.service.impl.GeminiRequestScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Gemini 호출 스케줄러 테스트
+ */
+class GeminiRequestSchedulerTest {
+
+    private GeminiRequestScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void 높은_우선순위가_먼저_허가되고_같은_우선순위에서는_사용자별로_번갈아_허가된다() throws Exception {
+        // Given: 분당 600건(100ms당 1건), 버킷 용량 1
+        scheduler = createScheduler(600, 10, 60_000);
+        scheduler.acquire(LlmRequestPriority.BACKGROUND, "batch", "프롬프트").get(1, TimeUnit.SECONDS);
+        List<String> grantOrder = Collections.synchronizedList(new ArrayList<>());
+
+        // When: 버킷이 빈 상태에서 배치 작업, 실시간 요청, 요청이 많은 사용자와 적은 사용자의 대화형 요청이 대기
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(acquire(LlmRequestPriority.BACKGROUND, "batch", grantOrder));
+        futures.add(acquire(LlmRequestPriority.BACKGROUND, "batch", grantOrder));
+        futures.add(acquire(LlmRequestPriority.REAL_TIME, "user-1", grantOrder));
+        futures.add(acquire(LlmRequestPriority.INTERACTIVE, "noisy", grantOrder));
+        futures.add(acquire(LlmRequestPriority.INTERACTIVE, "noisy", grantOrder));
+        futures.add(acquire(LlmRequestPriority.INTERACTIVE, "noisy", grantOrder));
+        futures.add(acquire(LlmRequestPriority.INTERACTIVE, "quiet", grantOrder));
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(grantOrder).containsExactly(
+                "INTERACTIVE:noisy", "INTERACTIVE:quiet", "INTERACTIVE:noisy", "INTERACTIVE:noisy",
+                "REAL_TIME:user-1", "BACKGROUND:batch", "BACKGROUND:batch");
+    }
+
+    @Test
+    void 대기열이_가득_차면_재시도_가능_예외로_거절한다() throws Exception {
+        // Given: 분당 1건, 우선순위별 대기열 크기 1
+        scheduler = createScheduler(1, 1, 60_000);
+        scheduler.acquire(LlmRequestPriority.REAL_TIME, "user-1", "프롬프트").get(1, TimeUnit.SECONDS);
+        CompletableFuture<Void> queued = scheduler.acquire(LlmRequestPriority.REAL_TIME, "user-2", "프롬프트");
+
+        // When
+        CompletableFuture<Void> rejected = scheduler.acquire(LlmRequestPriority.REAL_TIME, "user-3", "프롬프트");
+
+        // Then
+        assertThat(queued).isNotDone();
+        assertThat(scheduler.getQueueSize(LlmRequestPriority.REAL_TIME)).isEqualTo(1);
+        assertThatThrownBy(() -> rejected.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RetryableRecommendationException.class);
+    }
+
+    @Test
+    void 최대_대기_시간을_넘기면_재시도_가능_예외로_실패한다() throws Exception {
+        // Given: 분당 1건, 최대 대기 100ms
+        scheduler = createScheduler(1, 10, 100);
+        scheduler.acquire(LlmRequestPriority.INTERACTIVE, "user-1", "프롬프트").get(1, TimeUnit.SECONDS);
+
+        // When
+        CompletableFuture<Void> waiting = scheduler.acquire(LlmRequestPriority.INTERACTIVE, "user-2", "프롬프트");
+
+        // Then
+        assertThatThrownBy(() -> waiting.get(2, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RetryableRecommendationException.class)
+                .hasMessageContaining("대기 시간 초과");
+    }
+
+    private CompletableFuture<Void> acquire(LlmRequestPriority priority, String key, List<String> grantOrder) {
+        return scheduler.acquire(priority, key, "프롬프트")
+                .thenRun(() -> grantOrder.add(priority.name() + ":" + key));
+    }
+
+    private GeminiRequestScheduler createScheduler(int requestsPerMinute, int maxQueueSize, long maxWaitMs) {
+        return new GeminiRequestScheduler(
+                true,
+                requestsPerMinute,
+                1_000_000,
+                0.1,
+                100,
+                maxQueueSize,
+                maxWaitMs,
+                new SimpleMeterRegistry());
+    }
+}
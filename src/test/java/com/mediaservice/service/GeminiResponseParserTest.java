@@ -0,0 +1,90 @@
+package com.mediaservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaservice.enums.MediaType;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.impl.GeminiResponseParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Gemini 응답 파서 테스트 (추천 목록 스트리밍 매핑)
+ */
+class GeminiResponseParserTest {
+
+    private final GeminiResponseParser parser = new GeminiResponseParser(new ObjectMapper());
+
+    @Test
+    void 코드_블록_안의_추천_목록을_MediaRecommendation으로_변환한다() {
+        // Given: recommendations 앞뒤의 다른 필드와 항목 안의 중첩 필드는 무시
+        String response = """
+                ```json
+                {
+                  "summary": {"topics": ["여행", "공항"]},
+                  "recommendations": [
+                    %s,
+                    %s
+                  ],
+                  "note": "끝"
+                }
+                ```
+                """.formatted(
+                item("첫 번째 영상", "VIDEO", ", \"estimatedDuration\": \"7\", \"extra\": {\"a\": [1, {\"b\": 2}]}"),
+                item("두 번째 팟캐스트", "audio", ", \"language\": \"ko\", \"category\": \"팟캐스트\""));
+
+        // When
+        List<MediaRecommendation> recommendations = parser.parseRecommendations(response);
+
+        // Then
+        assertThat(recommendations).hasSize(2);
+        MediaRecommendation first = recommendations.get(0);
+        assertThat(first.getTitle()).isEqualTo("첫 번째 영상");
+        assertThat(first.getMediaType()).isEqualTo(MediaType.VIDEO);
+        assertThat(first.getEstimatedDuration()).isEqualTo(7);
+        assertThat(first.getLanguage()).isEqualTo("en");
+        assertThat(first.getCategory()).isNull();
+        MediaRecommendation second = recommendations.get(1);
+        assertThat(second.getMediaType()).isEqualTo(MediaType.AUDIO);
+        assertThat(second.getLanguage()).isEqualTo("ko");
+        assertThat(second.getCategory()).isEqualTo("팟캐스트");
+    }
+
+    @Test
+    void 알_수_없는_미디어_타입은_VIDEO로_변환하고_필수_필드가_빠진_항목은_건너뛴다() {
+        // Given
+        String response = "```json\n{\"recommendations\": ["
+                + item("팟캐스트", "PODCAST", "") + ", "
+                + "{\"title\": \"제목만 있음\", \"url\": null}, "
+                + item("기사", "기사", "")
+                + "]}\n```";
+
+        // When
+        List<MediaRecommendation> recommendations = parser.parseRecommendations(response);
+
+        // Then
+        assertThat(recommendations).extracting(MediaRecommendation::getTitle).containsExactly("팟캐스트", "기사");
+        assertThat(recommendations).extracting(MediaRecommendation::getMediaType)
+                .containsExactly(MediaType.VIDEO, MediaType.ARTICLE);
+    }
+
+    @Test
+    void 형식이_잘못된_JSON이면_예외를_던진다() {
+        // Given
+        String response = "```json\n{\"recommendations\": [{\"title\": \"닫히지 않은 항목\"\n```";
+
+        // When & Then
+        assertThatThrownBy(() -> parser.parseRecommendations(response))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("응답 파싱 실패");
+    }
+
+    private String item(String title, String mediaType, String extraFields) {
+        return "{\"title\": \"" + title + "\", \"description\": \"설명\", \"url\": \"https://www.youtube.com/watch?v=abc\", "
+                + "\"mediaType\": \"" + mediaType + "\", \"platform\": \"YouTube\", \"difficultyLevel\": \"초급\", "
+                + "\"recommendationReason\": \"약점 보완\"" + extraFields + "}";
+    }
+}
@@ -0,0 +1,174 @@
+package com.mediaservice.service;
+
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.impl.GeminiHedgePolicy;
+import com.mediaservice.service.impl.GeminiInFlightLimiter;
+import com.mediaservice.service.impl.GeminiRequestScheduler;
+import com.mediaservice.service.impl.HedgedGeminiApiService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Gemini 헤지 요청 데코레이터 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class HedgedGeminiApiServiceTest {
+
+    private static final String MODEL = "gemini-1.5-flash";
+
+    @Mock
+    private GeminiApiService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private GeminiRequestScheduler scheduler;
+    private GeminiInFlightLimiter inFlightLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new GeminiRequestScheduler(false, 60, 1_000_000, 10, 1024, 1000, 60_000, meterRegistry);
+        inFlightLimiter = new GeminiInFlightLimiter(2, 2, 0, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void 응답이_p90보다_늦으면_헤지_요청을_보내고_먼저_끝난_결과를_사용한다() throws Exception {
+        // Given: 최근 응답 시간 10ms, 헤지 예산 100%
+        GeminiHedgePolicy hedgePolicy = createPolicy(100);
+        recordLatencies(hedgePolicy, 10);
+        HedgedGeminiApiService service = new HedgedGeminiApiService(delegate, hedgePolicy, scheduler, inFlightLimiter, MODEL);
+        CompletableFuture<List<MediaRecommendation>> slowPrimary = new CompletableFuture<>();
+        List<MediaRecommendation> hedged = List.of(MediaRecommendation.builder().title("헤지 결과").build());
+        when(delegate.generateRecommendationsAsync("프롬프트"))
+                .thenReturn(slowPrimary)
+                .thenReturn(CompletableFuture.completedFuture(hedged));
+
+        // When
+        List<MediaRecommendation> result = service.generateRecommendationsAsync("프롬프트").get(2, TimeUnit.SECONDS);
+
+        // Then: 늦은 원 요청은 취소되고, 헤지 요청의 동시 호출 허가는 반환됨
+        assertThat(result).isSameAs(hedged);
+        verify(delegate, times(2)).generateRecommendationsAsync("프롬프트");
+        assertThat(meterRegistry.get("gemini.hedge.requests").tag("result", "won").counter().count()).isEqualTo(1.0);
+        slowPrimary.exceptionally(error -> null).get(1, TimeUnit.SECONDS);
+        assertThat(slowPrimary).isCancelled();
+        assertThat(inFlightLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void 헤지에_져서_취소된_원_요청도_경과_시간을_하한값으로_기록한다() throws Exception {
+        // Given
+        GeminiHedgePolicy hedgePolicy = spy(createPolicy(100));
+        recordLatencies(hedgePolicy, 10);
+        HedgedGeminiApiService service = new HedgedGeminiApiService(delegate, hedgePolicy, scheduler, inFlightLimiter, MODEL);
+        CompletableFuture<List<MediaRecommendation>> slowPrimary = new CompletableFuture<>();
+        when(delegate.generateRecommendationsAsync("프롬프트"))
+                .thenReturn(slowPrimary)
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        // When
+        service.generateRecommendationsAsync("프롬프트").get(2, TimeUnit.SECONDS);
+
+        // Then: 취소된 원 요청은 헤지 시점(10ms) 이상의 표본으로 남음
+        verify(hedgePolicy, timeout(1000)).recordCensoredLatency(eq(MODEL),
+                longThat(elapsed -> elapsed >= TimeUnit.MILLISECONDS.toNanos(10)));
+    }
+
+    @Test
+    void 표본에는_실패한_호출의_경과_시간도_포함된다() {
+        // Given: 성공 10ms 표본 5개 + 실패 1초 표본 5개
+        GeminiHedgePolicy hedgePolicy = createPolicy(100);
+        recordLatencies(hedgePolicy, 10);
+        for (int i = 0; i < 5; i++) {
+            hedgePolicy.recordCensoredLatency(MODEL, TimeUnit.SECONDS.toNanos(1));
+        }
+
+        // When & Then
+        assertThat(hedgePolicy.hedgeDelayNanos(MODEL)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(meterRegistry.get("gemini.call.latency").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void 동시_호출_허가를_바로_받을_수_없으면_헤지하지_않는다() throws Exception {
+        // Given: 동시 호출 한도(2)를 다른 호출이 모두 사용 중
+        GeminiHedgePolicy hedgePolicy = createPolicy(100);
+        recordLatencies(hedgePolicy, 10);
+        HedgedGeminiApiService service = new HedgedGeminiApiService(delegate, hedgePolicy, scheduler, inFlightLimiter, MODEL);
+        inFlightLimiter.acquire();
+        inFlightLimiter.acquire();
+        CompletableFuture<List<MediaRecommendation>> slowPrimary = new CompletableFuture<>();
+        when(delegate.generateRecommendationsAsync("프롬프트")).thenReturn(slowPrimary);
+
+        // When
+        CompletableFuture<List<MediaRecommendation>> result = service.generateRecommendationsAsync("프롬프트");
+        Thread.sleep(100);
+        List<MediaRecommendation> primary = List.of(MediaRecommendation.builder().title("원 요청 결과").build());
+        slowPrimary.complete(primary);
+
+        // Then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isSameAs(primary);
+        verify(delegate, times(1)).generateRecommendationsAsync("프롬프트");
+        assertThat(inFlightLimiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void 헤지_예산이_없으면_원_요청만_기다린다() throws Exception {
+        // Given: 헤지 비율 0%
+        GeminiHedgePolicy hedgePolicy = createPolicy(0);
+        recordLatencies(hedgePolicy, 10);
+        HedgedGeminiApiService service = new HedgedGeminiApiService(delegate, hedgePolicy, scheduler, inFlightLimiter, MODEL);
+        CompletableFuture<List<MediaRecommendation>> slowPrimary = new CompletableFuture<>();
+        when(delegate.generateRecommendationsAsync("프롬프트")).thenReturn(slowPrimary);
+
+        // When
+        CompletableFuture<List<MediaRecommendation>> result = service.generateRecommendationsAsync("프롬프트");
+        Thread.sleep(100);
+        List<MediaRecommendation> primary = List.of(MediaRecommendation.builder().title("원 요청 결과").build());
+        slowPrimary.complete(primary);
+
+        // Then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isSameAs(primary);
+        verify(delegate, times(1)).generateRecommendationsAsync("프롬프트");
+        assertThat(meterRegistry.get("gemini.hedge.requests").tag("result", "skipped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 표본이_부족하면_헤지하지_않는다() {
+        // Given
+        GeminiHedgePolicy hedgePolicy = createPolicy(100);
+
+        // When & Then
+        assertThat(hedgePolicy.hedgeDelayNanos(MODEL)).isEqualTo(-1);
+        recordLatencies(hedgePolicy, 10);
+        assertThat(hedgePolicy.hedgeDelayNanos(MODEL)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(hedgePolicy.hedgeDelayNanos("other-model")).isEqualTo(-1);
+    }
+
+    private void recordLatencies(GeminiHedgePolicy hedgePolicy, long millis) {
+        for (int i = 0; i < 5; i++) {
+            hedgePolicy.recordLatency(MODEL, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    private GeminiHedgePolicy createPolicy(double maxHedgePercent) {
+        return new GeminiHedgePolicy(true, 90, maxHedgePercent, 5, 100, 0, meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.mediaservice.service;
+
+import com.mediaservice.model.ProcessedEvent;
+import com.mediaservice.repository.ProcessedEventRepository;
+import com.mediaservice.service.impl.ProcessedEventServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 학습 완료 이벤트 중복 처리 방지 서비스 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class ProcessedEventServiceTest {
+
+    @Mock
+    private ProcessedEventRepository processedEventRepository;
+
+    private ProcessedEventServiceImpl processedEventService;
+
+    @BeforeEach
+    void setUp() {
+        processedEventService = new ProcessedEventServiceImpl(processedEventRepository, 100, 14);
+    }
+
+    @Test
+    void 처리_완료로_기록한_세션은_DB를_조회하지_않고_처리된_것으로_판단한다() {
+        // When
+        processedEventService.markProcessed("session-1", "1");
+
+        // Then
+        assertThat(processedEventService.isProcessed("session-1")).isTrue();
+        verify(processedEventRepository).save(any(ProcessedEvent.class));
+        verify(processedEventRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void 메모리에_없는_세션만_DB에서_한_번에_조회한다() {
+        // Given
+        processedEventService.markProcessed("session-1", "1");
+        when(processedEventRepository.findProcessedSessionIds(List.of("session-2", "session-3")))
+                .thenReturn(List.of("session-2"));
+
+        // When
+        Set<String> processed = processedEventService.findProcessed(List.of("session-1", "session-2", "session-3"));
+
+        // Then
+        assertThat(processed).containsExactlyInAnyOrder("session-1", "session-2");
+        assertThat(processedEventService.isProcessed("session-2")).isTrue(); // DB 조회 결과도 메모리에 기록
+        verify(processedEventRepository, never()).existsById(anyString());
+    }
+
+    @Test
+    void 보존_기간이_지난_처리_완료_기록을_삭제한다() {
+        // Given
+        when(processedEventRepository.deleteProcessedBefore(any(LocalDateTime.class))).thenReturn(3);
+        LocalDateTime before = LocalDateTime.now().minusDays(14);
+
+        // When
+        processedEventService.purgeExpired();
+
+        // Then
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(processedEventRepository).deleteProcessedBefore(cutoff.capture());
+        assertThat(cutoff.getValue()).isAfterOrEqualTo(before).isBefore(before.plusMinutes(1));
+    }
+}
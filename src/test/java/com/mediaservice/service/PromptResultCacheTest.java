@@ -0,0 +1,105 @@
+package com.mediaservice.service;
+
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.impl.PromptResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gemini 추천 결과 캐시 테스트
+ */
+class PromptResultCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void 저장된_결과의_복사본을_반환하고_적중_미스를_기록한다() {
+        // Given
+        PromptResultCache cache = new PromptResultCache(true, 10, 1_000_000, 60_000, meterRegistry);
+        cache.put("key-1", List.of(recommendation("짧은 문법 강의")));
+
+        // When
+        List<MediaRecommendation> first = cache.get("key-1");
+        first.get(0).setUserId(1L);
+        first.get(0).setTitle("변경된 제목");
+        List<MediaRecommendation> second = cache.get("key-1");
+
+        // Then
+        assertThat(second.get(0).getTitle()).isEqualTo("짧은 문법 강의");
+        assertThat(second.get(0).getUserId()).isNull();
+        assertThat(cache.get("unknown")).isNull();
+        assertThat(meterRegistry.counter("gemini.cache.requests", "result", "hit").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("gemini.cache.requests", "result", "miss").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 항목_수를_넘으면_가장_오래_사용되지_않은_항목을_제거한다() {
+        // Given
+        PromptResultCache cache = new PromptResultCache(true, 2, 1_000_000, 60_000, meterRegistry);
+        cache.put("key-1", List.of(recommendation("첫 번째")));
+        cache.put("key-2", List.of(recommendation("두 번째")));
+        cache.get("key-1");
+
+        // When
+        cache.put("key-3", List.of(recommendation("세 번째")));
+
+        // Then
+        assertThat(cache.get("key-2")).isNull();
+        assertThat(cache.get("key-1")).isNotNull();
+        assertThat(cache.get("key-3")).isNotNull();
+        assertThat(meterRegistry.counter("gemini.cache.evictions", "cause", "size").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 메모리_예산을_넘으면_항목을_제거해_예산_안으로_유지한다() {
+        // Given: 항목 하나의 추정 크기를 기준으로 두 개만 들어가는 예산 설정
+        PromptResultCache probe = new PromptResultCache(true, 100, 1_000_000, 60_000, new SimpleMeterRegistry());
+        probe.put("key-1", List.of(recommendation("첫 번째")));
+        long entryWeight = probe.getTotalWeightBytes();
+        PromptResultCache cache = new PromptResultCache(true, 100, entryWeight * 2 + 10, 60_000, meterRegistry);
+
+        // When
+        cache.put("key-1", List.of(recommendation("첫 번째")));
+        cache.put("key-2", List.of(recommendation("두 번째")));
+        cache.put("key-3", List.of(recommendation("세 번째")));
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getTotalWeightBytes()).isLessThanOrEqualTo(entryWeight * 2 + 10);
+        assertThat(cache.get("key-1")).isNull();
+    }
+
+    @Test
+    void TTL이_지난_항목은_반환하지_않는다() throws InterruptedException {
+        // Given
+        PromptResultCache cache = new PromptResultCache(true, 10, 1_000_000, 1, meterRegistry);
+        cache.put("key-1", List.of(recommendation("짧은 문법 강의")));
+
+        // When
+        Thread.sleep(5);
+
+        // Then
+        assertThat(cache.get("key-1")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(meterRegistry.counter("gemini.cache.evictions", "cause", "expired").count()).isEqualTo(1.0);
+    }
+
+    private MediaRecommendation recommendation(String title) {
+        return MediaRecommendation.builder()
+                .title(title)
+                .description("설명")
+                .url("https://www.youtube.com/watch?v=abc")
+                .platform("YouTube")
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.mediaservice.service;
+
+import com.mediaservice.service.impl.PromptStoreBackfill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 프롬프트 저장소 백필 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class PromptStoreBackfillTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PromptStoreService promptStoreService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PromptStoreBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new PromptStoreBackfill(jdbcTemplate, promptStoreService,
+                new TransactionTemplate(transactionManager), true, 2);
+    }
+
+    @Test
+    void 배치마다_프롬프트를_저장하고_추천을_해시로_연결한_뒤_남은_행이_없으면_종료한다() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(0L), eq(2)))
+                .thenAnswer(pendingRows(1L, "프롬프트 A", "프롬프트 A"));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2L), eq(2)))
+                .thenAnswer(pendingRows(3L, "프롬프트 B"));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(3L), eq(2)))
+                .thenReturn(List.of());
+        when(promptStoreService.store("프롬프트 A")).thenReturn("hash-a");
+        when(promptStoreService.store("프롬프트 B")).thenReturn("hash-b");
+
+        // When
+        backfill.backfillBatch();
+        backfill.backfillBatch();
+        backfill.backfillBatch();
+        backfill.backfillBatch();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> links = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), links.capture());
+        assertThat(links.getAllValues().get(0)).containsExactly(
+                new Object[]{"hash-a", 1L}, new Object[]{"hash-a", 2L});
+        assertThat(links.getAllValues().get(1)).containsExactly(new Object[]{"hash-b", 3L});
+        assertThat(backfill.isCompleted()).isTrue();
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowMapper.class), any(), any());
+    }
+
+    @Test
+    void 배치가_실패하면_다음_주기에_같은_위치부터_다시_시도한다() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(0L), eq(2)))
+                .thenThrow(new DataAccessResourceFailureException("DB 연결 실패"))
+                .thenAnswer(pendingRows(1L, "프롬프트 A"));
+        when(promptStoreService.store("프롬프트 A")).thenReturn("hash-a");
+
+        // When
+        backfill.backfillBatch();
+        backfill.backfillBatch();
+
+        // Then
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        assertThat(backfill.isCompleted()).isFalse();
+    }
+
+    /**
+     * id가 firstId부터 1씩 증가하는 백필 대상 행을 RowMapper로 매핑하여 반환합니다.
+     */
+    private static Answer<List<?>> pendingRows(long firstId, String... prompts) {
+        return invocation -> {
+            RowMapper<?> rowMapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (int i = 0; i < prompts.length; i++) {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getLong("id")).thenReturn(firstId + i);
+                when(resultSet.getString("prompt_used")).thenReturn(prompts[i]);
+                rows.add(rowMapper.mapRow(resultSet, i));
+            }
+            return rows;
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.mediaservice.service;
+
+import com.mediaservice.service.impl.PromptStoreServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 프롬프트 저장소 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+class PromptStoreServiceTest {
+
+    private static final String PROMPT = "당신은 영어 학습 미디어 추천 전문가입니다.\n".repeat(50);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PromptStoreServiceImpl promptStoreService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        promptStoreService = new PromptStoreServiceImpl(jdbcTemplate, meterRegistry, 100);
+    }
+
+    @Test
+    void 같은_프롬프트를_반복_저장하면_한_번만_압축하여_저장한다() throws IOException {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), anyString())).thenReturn(0);
+
+        // When
+        String first = promptStoreService.store(PROMPT);
+        String second = promptStoreService.store(PROMPT);
+
+        // Then
+        assertThat(first).isEqualTo(second).hasSize(64).matches("[0-9a-f]+");
+        ArgumentCaptor<byte[]> content = ArgumentCaptor.forClass(byte[].class);
+        verify(jdbcTemplate, times(1)).update(anyString(), eq(first), content.capture(), eq(PROMPT.length()));
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Integer.class), anyString());
+        assertThat(content.getValue().length).isLessThan(PROMPT.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(gunzip(content.getValue())).isEqualTo(PROMPT);
+        assertThat(meterRegistry.counter("prompt.store.writes", "result", "inserted").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("prompt.store.writes", "result", "skipped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 이미_저장된_프롬프트는_다시_저장하지_않는다() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), anyString())).thenReturn(1);
+
+        // When
+        String promptHash = promptStoreService.store(PROMPT);
+
+        // Then
+        assertThat(promptHash).hasSize(64);
+        verify(jdbcTemplate, never()).update(anyString(), eq(promptHash), any(), any());
+        assertThat(meterRegistry.counter("prompt.store.writes", "result", "skipped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 저장한_프롬프트를_해시로_다시_읽는다() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), anyString())).thenReturn(0);
+        String promptHash = promptStoreService.store(PROMPT);
+        ArgumentCaptor<byte[]> content = ArgumentCaptor.forClass(byte[].class);
+        verify(jdbcTemplate).update(anyString(), eq(promptHash), content.capture(), eq(PROMPT.length()));
+        when(jdbcTemplate.queryForObject(anyString(), eq(byte[].class), eq(promptHash))).thenReturn(content.getValue());
+
+        // When
+        String loaded = promptStoreService.load(promptHash);
+
+        // Then
+        assertThat(loaded).isEqualTo(PROMPT);
+        assertThat(promptStoreService.store(null)).isNull();
+    }
+
+    @Test
+    void 해시만_계산할_때는_저장소를_건드리지_않는다() {
+        // When
+        String promptHash = promptStoreService.hash(PROMPT);
+
+        // Then
+        assertThat(promptHash).hasSize(64).matches("[0-9a-f]+");
+        assertThat(promptStoreService.hash(null)).isNull();
+        verifyNoInteractions(jdbcTemplate);
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), anyString())).thenReturn(1);
+        assertThat(promptStoreService.store(PROMPT)).isEqualTo(promptHash);
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.mediaservice.service;
+
+import com.mediaservice.dto.SessionQuestionDetail;
+import com.mediaservice.dto.UserPerformanceSummary;
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.service.impl.CategoryContextTable;
+import com.mediaservice.service.impl.PromptTemplateServiceImpl;
+import com.mediaservice.service.impl.PromptTokenEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * 프롬프트 골든 테스트
+ *
+ * 미리 컴파일한 템플릿(PromptTemplate)으로 만든 프롬프트가 StringBuilder로 한 줄씩 이어 붙이던
+ * 기존 방식(BaselineRenderer)과 글자 단위로 같은지 확인합니다.
+ * 고정 머리말은 서비스의 getStablePrefixes()를 그대로 쓰고, 그 뒤의 세션/사용자별 구간과 토큰 예산 적용 결과를 비교합니다.
+ */
+@ExtendWith(MockitoExtension.class)
+class PromptTemplateGoldenTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CategoryContextTable categoryContextTable;
+    private PromptTemplateServiceImpl promptTemplateService;
+    private BaselineRenderer baseline;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(
+                Map.of("major_category", "비즈니스", "minor_category", "", "label", "비즈니스 영어",
+                        "context", "비즈니스 관련 영어 표현과 어휘를 학습합니다."),
+                Map.of("major_category", "비즈니스", "minor_category", "회의", "label", "비즈니스 영어",
+                        "context", "회의 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.")));
+        categoryContextTable = new CategoryContextTable(jdbcTemplate);
+        categoryContextTable.refresh();
+        promptTemplateService = new PromptTemplateServiceImpl(categoryContextTable);
+        List<String> prefixes = promptTemplateService.getStablePrefixes();
+        baseline = new BaselineRenderer(categoryContextTable, prefixes.get(0), prefixes.get(1));
+    }
+
+    @Test
+    void 실시간_세션_프롬프트는_기존_방식과_같다() {
+        // Given: 소분류 맥락 있음/없음, 미등록 대분류, 빈 값, 선택지 부족, 빈 해설, 모두 정답, 문제 없음
+        LearningCompletedEvent meeting = createEvent("session-1", "비즈니스", "회의", createWrongQuestions(3));
+        LearningCompletedEvent unknownMinor = createEvent("session-2", "비즈니스", "전화", createWrongQuestions(1));
+        LearningCompletedEvent noMinor = createEvent("session-3", "비즈니스", null, createWrongQuestions(2));
+        LearningCompletedEvent unknownMajor = createEvent("session-4", "여행", "공항", createWrongQuestions(2));
+        LearningCompletedEvent emptyEvent = new LearningCompletedEvent();
+        emptyEvent.setSessionQuestions(List.of(SessionQuestionDetail.builder().isCorrect(false).build()));
+
+        List<SessionQuestionDetail> irregular = createWrongQuestions(3);
+        irregular.get(0).setOptions(List.of("only one", "only two"));
+        irregular.get(1).setExplanation("   ");
+        irregular.get(2).setExplanation(null);
+        irregular.get(2).setOptions(null);
+        LearningCompletedEvent irregularQuestions = createEvent("session-5", "비즈니스", "회의", irregular);
+
+        List<SessionQuestionDetail> allCorrect = createWrongQuestions(2);
+        allCorrect.forEach(sqd -> sqd.setCorrect(true));
+        LearningCompletedEvent perfect = createEvent("session-6", "비즈니스", "회의", allCorrect);
+        LearningCompletedEvent noQuestions = createEvent("session-7", "비즈니스", "회의", null);
+        LearningCompletedEvent emptyQuestions = createEvent("session-8", "비즈니스", "회의", List.of());
+
+        // When & Then
+        for (LearningCompletedEvent event : List.of(meeting, unknownMinor, noMinor, unknownMajor, emptyEvent,
+                irregularQuestions, perfect, noQuestions, emptyQuestions)) {
+            assertThat(promptTemplateService.generateRealTimeSessionPrompt(event))
+                    .as("session %s", event.getSessionId())
+                    .isEqualTo(baseline.realTimeSessionPrompt(event, 4000));
+        }
+    }
+
+    @Test
+    void 토큰_예산을_넘는_실시간_세션_프롬프트도_예산_경계까지_기존_방식과_같다() {
+        // Given: 약점 신호가 서로 다른 틀린 문제 30개
+        List<SessionQuestionDetail> questions = createWrongQuestions(30);
+        for (int i = 0; i < questions.size(); i++) {
+            questions.get(i).setAttemptCount(1 + i % 3);
+            questions.get(i).setTimeSpent(10 + (i * 7) % 50);
+            questions.get(i).setDifficultyLevel(1 + i % 3);
+        }
+        questions.get(7).setQuestionText("Question 7: " + "a very long question text ".repeat(10));
+        LearningCompletedEvent event = createEvent("session-1", "비즈니스", "회의", questions);
+        int fullTokens = PromptTokenEstimator.estimate(baseline.realTimeSessionPrompt(event, Integer.MAX_VALUE));
+
+        // When & Then: 예산 경계 부근(올림 차이가 나는 구간)과 아주 작은 예산까지 한 토큰씩 비교
+        for (int budget = fullTokens + 40; budget >= fullTokens - 40; budget--) {
+            assertRealTimePromptMatches(event, budget);
+        }
+        for (int budget = fullTokens; budget >= 0; budget -= 97) {
+            assertRealTimePromptMatches(event, budget);
+        }
+    }
+
+    @Test
+    void 사용자_요청_프롬프트는_기존_방식과_같다() {
+        // Given
+        Map<String, Double> categoryPerformance = new LinkedHashMap<>();
+        categoryPerformance.put("여행-가족", 80.0);
+        categoryPerformance.put("비즈니스-회의", 65.0);
+        categoryPerformance.put("일상-음식", 45.5);
+        Map<Integer, Double> difficultyPerformance = new LinkedHashMap<>();
+        difficultyPerformance.put(1, 90.0);
+        difficultyPerformance.put(3, 59.9);
+        difficultyPerformance.put(4, 60.0);
+        UserPerformanceSummary performance = UserPerformanceSummary.builder()
+                .categoryPerformance(categoryPerformance)
+                .difficultyPerformance(difficultyPerformance)
+                .build();
+        UserPerformanceSummary emptyPerformance = UserPerformanceSummary.builder()
+                .categoryPerformance(Map.of())
+                .build();
+
+        // When & Then
+        assertThat(promptTemplateService.generateUserRequestedPrompt(performance, List.of("액션", "SF")))
+                .isEqualTo(baseline.userRequestedPrompt(performance, List.of("액션", "SF")));
+        assertThat(promptTemplateService.generateUserRequestedPrompt(emptyPerformance, List.of()))
+                .isEqualTo(baseline.userRequestedPrompt(emptyPerformance, List.of()));
+    }
+
+    private void assertRealTimePromptMatches(LearningCompletedEvent event, int budget) {
+        ReflectionTestUtils.setField(promptTemplateService, "realTimeTokenBudget", budget);
+        assertThat(promptTemplateService.generateRealTimeSessionPrompt(event))
+                .as("budget %d", budget)
+                .isEqualTo(baseline.realTimeSessionPrompt(event, budget));
+    }
+
+    private List<SessionQuestionDetail> createWrongQuestions(int count) {
+        List<SessionQuestionDetail> questions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            questions.add(SessionQuestionDetail.builder()
+                    .questionId("Q-" + i)
+                    .questionText("Question " + i + ": Choose the most natural expression to politely interrupt a colleague.")
+                    .options(List.of("Sorry to cut in, but", "Stop talking, please", "You are wrong because"))
+                    .correctAnswer("A")
+                    .userAnswer("B")
+                    .explanation("회의 중 상대의 말을 끊을 때는 사과 표현으로 시작하는 것이 자연스럽습니다.")
+                    .majorCategory("비즈니스")
+                    .minorCategory("회의")
+                    .difficultyLevel(2)
+                    .isCorrect(i % 4 == 3)
+                    .timeSpent(30)
+                    .attemptCount(1)
+                    .build());
+        }
+        return questions;
+    }
+
+    private LearningCompletedEvent createEvent(String sessionId, String majorCategory, String minorCategory,
+                                               List<SessionQuestionDetail> questions) {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setSessionId(sessionId);
+        event.setSessionStatus("COMPLETED");
+        event.setSessionType("PRACTICE");
+        event.setProgressPercentage(100.0);
+        event.setSessionCompletedAt(LocalDateTime.of(2024, 5, 1, 10, 30));
+        event.setTotalQuestions(10);
+        event.setAnsweredQuestions(10);
+        event.setCorrectAnswers(6);
+        event.setWrongAnswers(4);
+        event.setAccuracyRate(60.0);
+        event.setErrorRate(40.0);
+        event.setAvgTimeSpent(27.5);
+        event.setTotalLearningTimeMinutes(5);
+        event.setMajorCategory(majorCategory);
+        event.setMinorCategory(minorCategory);
+        event.setQuestionType("MULTIPLE_CHOICE");
+        event.setAvgDifficultyLevel(2);
+        event.setSessionQuestions(questions);
+        return event;
+    }
+
+    /**
+     * 템플릿 도입 전처럼 StringBuilder에 한 줄씩 이어 붙이는 기준 렌더러
+     * (틀린 문제 섹션은 나머지 프롬프트를 만든 뒤 남은 예산으로 만들어 끼워 넣음)
+     */
+    private static final class BaselineRenderer {
+
+        private static final int WRONG_QUESTION_PREFIX_TOKENS = PromptTokenEstimator.estimate("- **틀린 문제 99**: ");
+        private static final int OMISSION_NOTE_TOKENS = 40;
+        private static final int COMPACT_QUESTION_TEXT_LENGTH = 120;
+
+        private final CategoryContextTable categoryContextTable;
+        private final String realTimeInstructions;
+        private final String userRequestedInstructions;
+
+        BaselineRenderer(CategoryContextTable categoryContextTable, String realTimeInstructions, String userRequestedInstructions) {
+            this.categoryContextTable = categoryContextTable;
+            this.realTimeInstructions = realTimeInstructions;
+            this.userRequestedInstructions = userRequestedInstructions;
+        }
+
+        String realTimeSessionPrompt(LearningCompletedEvent event, int tokenBudget) {
+            StringBuilder prompt = new StringBuilder();
+            prompt.append(realTimeInstructions);
+
+            prompt.append("## 📚 방금 완료한 학습 세션 정보\n");
+            prompt.append("- 세션 ID: ").append(event.getSessionId()).append("\n");
+            prompt.append("- 세션 상태: ").append(event.getSessionStatus()).append(" (STARTED, IN_PROGRESS, COMPLETED)\n");
+            prompt.append("- 세션 타입: ").append(event.getSessionType()).append(" (PRACTICE, REVIEW, WRONG_ANSWER)\n");
+            prompt.append("- 진행률: ").append(event.getProgressPercentage()).append("%\n");
+            prompt.append("- 세션 완료: ").append(event.getSessionCompletedAt()).append("\n\n");
+
+            prompt.append("## 📊 이번 세션 학습 성과\n");
+            prompt.append("- 총 문제: ").append(event.getTotalQuestions()).append("개, 답변: ").append(event.getAnsweredQuestions()).append("개\n");
+            prompt.append("- 정답: ").append(event.getCorrectAnswers()).append("개, 오답: ").append(event.getWrongAnswers()).append("개\n");
+            prompt.append("- **정답률: ").append(event.getAccuracyRate()).append("%**, **오답률: ").append(event.getErrorRate()).append("%**\n");
+            prompt.append("- 평균 풀이 시간: ").append(event.getAvgTimeSpent()).append("초\n");
+            prompt.append("- 총 학습 시간: ").append(event.getTotalLearningTimeMinutes()).append("분\n\n");
+
+            prompt.append("## 🏷️ 이번 세션에서 학습한 문제 카테고리\n");
+            prompt.append("- 대분류: ").append(event.getMajorCategory()).append("\n");
+            prompt.append("- 소분류: ").append(event.getMinorCategory()).append("\n");
+            prompt.append("- 문제 유형: ").append(event.getQuestionType()).append(" (MULTIPLE_CHOICE, FILL_IN_BLANK 등)\n");
+            prompt.append("- 평균 난이도: ").append(event.getAvgDifficultyLevel()).append(" (1: 초급, 2: 중급, 3: 상급)\n\n");
+
+            prompt.append("## 🎯 카테고리별 학습 맥락\n");
+            String categoryContextLine = categoryContextTable.line(event.getMajorCategory(), event.getMinorCategory());
+            if (categoryContextLine != null) {
+                prompt.append(categoryContextLine);
+            }
+            prompt.append("- **학습 목표**: ").append(event.getMajorCategory()).append(" 상황에서 ").append(event.getMinorCategory()).append("와 관련된 영어 표현과 어휘를 학습\n\n");
+
+            prompt.append("## 👤 사용자 학습 관심사\n");
+            prompt.append("- 학습 대분류: ").append(event.getMajorCategory()).append("\n");
+            prompt.append("- 학습 소분류: ").append(event.getMinorCategory()).append("\n\n");
+
+            int wrongQuestionSectionAt = prompt.length();
+
+            prompt.append("## 🎯 틀린 문제 패턴 분석\n");
+            prompt.append("- 틀린 문제 수: ").append(event.getWrongAnswers()).append("개\n");
+            prompt.append("- 정답 문제 수: ").append(event.getCorrectAnswers()).append("개\n");
+            prompt.append("- 평균 풀이 시간: ").append(event.getAvgTimeSpent()).append("초\n");
+            prompt.append("- 가장 많이 틀린 카테고리: ").append(event.getMajorCategory())
+                    .append(" - ").append(event.getMinorCategory()).append("\n");
+            prompt.append("- 문제 유형: ").append(event.getQuestionType()).append("\n");
+            prompt.append("- 평균 난이도: ").append(event.getAvgDifficultyLevel()).append("\n\n");
+
+            prompt.append("## 🎯 실시간 추천 요청 (짧은 유튜브 동영상 위주)\n");
+            prompt.append("위 세션 결과를 바탕으로 **사용자가 어려워하는 부분을 보완**할 수 있는 **짧은 유튜브 동영상**을 우선적으로 추천해주세요:\n\n");
+            prompt.append("1. **짧은 유튜브 동영상 우선**: 1-3분 이내의 짧고 집중적인 유튜브 동영상\n");
+            prompt.append("2. **구체적 문제 내용 기반**: 위에서 분석한 틀린 문제들의 구체적인 내용을 바탕으로 정확한 약점 파악\n");
+            prompt.append("3. **오답률 ").append(event.getErrorRate()).append("% 보완**: '").append(event.getMajorCategory()).append(" - ").append(event.getMinorCategory()).append("' 주제에서 틀린 부분을 보완할 수 있는 콘텐츠\n");
+            prompt.append("4. **난이도 적합성**: 현재 평균 난이도 ").append(event.getAvgDifficultyLevel()).append("에서 약간 낮은 수준의 이해하기 쉬운 콘텐츠\n");
+            prompt.append("5. **학습 패턴 반영**: ").append(event.getSessionType()).append(" 세션 유형에 적합한 실습/복습 콘텐츠\n");
+            prompt.append("6. **즉시 활용**: 방금 학습한 내용을 바로 적용할 수 있는 실용적 콘텐츠\n");
+            prompt.append("7. **카테고리 적합성**: 해당 대분류/소분류 맥락에 직접적으로 연결된 콘텐츠 우선 고려\n\n");
+            prompt.append("**중요**: 실시간 추천은 **짧은 유튜브 동영상(0-3분)**을 우선적으로 추천하고, 필요시에만 다른 미디어 유형을 포함하세요.\n");
+
+            if (event.getSessionQuestions() != null && !event.getSessionQuestions().isEmpty()) {
+                int remainingTokens = tokenBudget - PromptTokenEstimator.estimate(prompt);
+                prompt.insert(wrongQuestionSectionAt, wrongQuestionSection(event.getSessionQuestions(), remainingTokens));
+            }
+            return prompt.toString();
+        }
+
+        private static String wrongQuestionSection(List<SessionQuestionDetail> sessionQuestions, int tokenBudget) {
+            StringBuilder section = new StringBuilder();
+            section.append("## 🔍 틀린 문제 상세 분석 (AI 추천의 핵심 정보)\n");
+            section.append("**중요**: 아래 틀린 문제들의 구체적인 내용을 바탕으로 정확한 약점을 파악하고 맞춤형 콘텐츠를 추천해주세요.\n\n");
+
+            List<SessionQuestionDetail> wrongQuestions = sessionQuestions.stream()
+                    .filter(sqd -> !sqd.isCorrect())
+                    .toList();
+            if (wrongQuestions.isEmpty()) {
+                section.append("- 모든 문제를 맞췄습니다! 🎉\n\n");
+                return section.toString();
+            }
+
+            int availableTokens = tokenBudget - PromptTokenEstimator.estimate(section);
+            String[] entries = new String[wrongQuestions.size()];
+            int fullTokens = 0;
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = wrongQuestion(wrongQuestions.get(i));
+                fullTokens += WRONG_QUESTION_PREFIX_TOKENS + PromptTokenEstimator.estimate(entries[i]);
+            }
+
+            int omitted = 0;
+            if (fullTokens > availableTokens) {
+                availableTokens -= OMISSION_NOTE_TOKENS;
+                String[] selected = new String[entries.length];
+                List<Integer> ranking = rankByWeaknessSignal(wrongQuestions);
+                for (int i : ranking) {
+                    int cost = WRONG_QUESTION_PREFIX_TOKENS + PromptTokenEstimator.estimate(entries[i]);
+                    if (cost <= availableTokens) {
+                        selected[i] = entries[i];
+                        availableTokens -= cost;
+                        continue;
+                    }
+                    String compact = compactWrongQuestion(wrongQuestions.get(i));
+                    cost = WRONG_QUESTION_PREFIX_TOKENS + PromptTokenEstimator.estimate(compact);
+                    if (cost <= availableTokens || i == ranking.get(0)) {
+                        selected[i] = compact;
+                        availableTokens -= cost;
+                    } else {
+                        omitted++;
+                    }
+                }
+                entries = selected;
+            }
+
+            int wrongQuestionCount = 0;
+            for (String entry : entries) {
+                if (entry == null) continue;
+                wrongQuestionCount++;
+                section.append("- **틀린 문제 ").append(wrongQuestionCount).append("**: ").append(entry);
+            }
+            if (omitted > 0) {
+                section.append("- (토큰 예산으로 약점 신호가 약한 틀린 문제 ").append(omitted).append("개는 생략했습니다)\n\n");
+            }
+            return section.toString();
+        }
+
+        private static String wrongQuestion(SessionQuestionDetail sqd) {
+            StringBuilder entry = new StringBuilder();
+            entry.append(sqd.getQuestionText()).append("\n");
+            entry.append("  - **문제 유형**: ").append(sqd.getMajorCategory()).append(" - ").append(sqd.getMinorCategory()).append("\n");
+            entry.append("  - **난이도**: ").append(sqd.getDifficultyLevel()).append(" (1: 초급, 2: 중급, 3: 상급)\n");
+            if (sqd.getOptions() != null && sqd.getOptions().size() >= 3) {
+                entry.append("  - **선택지**: A) ").append(sqd.getOptions().get(0))
+                        .append(", B) ").append(sqd.getOptions().get(1))
+                        .append(", C) ").append(sqd.getOptions().get(2)).append("\n");
+            }
+            entry.append("  - **사용자 답변**: ").append(sqd.getUserAnswer()).append(" (틀림)\n");
+            entry.append("  - **정답**: ").append(sqd.getCorrectAnswer()).append(" (맞음)\n");
+            if (sqd.getExplanation() != null && !sqd.getExplanation().trim().isEmpty()) {
+                entry.append("  - **해설**: ").append(sqd.getExplanation()).append("\n");
+            }
+            entry.append("  - **풀이 시간**: ").append(sqd.getTimeSpent()).append("초\n");
+            entry.append("  - **시도 횟수**: ").append(sqd.getAttemptCount()).append("회\n\n");
+            entry.append("  **AI 분석 요청**: 이 문제에서 사용자가 틀린 구체적인 부분은 무엇인가요? 어떤 영어 표현이나 문법 규칙을 몰랐나요?\n\n");
+            return entry.toString();
+        }
+
+        private static String compactWrongQuestion(SessionQuestionDetail sqd) {
+            String questionText = String.valueOf(sqd.getQuestionText());
+            if (questionText.length() > COMPACT_QUESTION_TEXT_LENGTH) {
+                questionText = questionText.substring(0, COMPACT_QUESTION_TEXT_LENGTH) + "…";
+            }
+            return questionText + "\n"
+                    + "  - **문제 유형**: " + sqd.getMajorCategory() + " - " + sqd.getMinorCategory()
+                    + ", **난이도**: " + sqd.getDifficultyLevel() + "\n"
+                    + "  - **사용자 답변**: " + sqd.getUserAnswer() + " (틀림), **정답**: " + sqd.getCorrectAnswer()
+                    + ", **풀이 시간**: " + sqd.getTimeSpent() + "초, **시도 횟수**: " + sqd.getAttemptCount() + "회\n\n";
+        }
+
+        private static List<Integer> rankByWeaknessSignal(List<SessionQuestionDetail> wrongQuestions) {
+            double avgTimeSpent = wrongQuestions.stream()
+                    .filter(sqd -> sqd.getTimeSpent() != null)
+                    .mapToInt(SessionQuestionDetail::getTimeSpent)
+                    .average()
+                    .orElse(0);
+            Double[] signals = new Double[wrongQuestions.size()];
+            for (int i = 0; i < signals.length; i++) {
+                SessionQuestionDetail sqd = wrongQuestions.get(i);
+                int attempts = sqd.getAttemptCount() != null ? Math.max(1, sqd.getAttemptCount()) : 1;
+                double timeRatio = sqd.getTimeSpent() != null && avgTimeSpent > 0
+                        ? Math.min(3.0, sqd.getTimeSpent() / avgTimeSpent) : 1.0;
+                int difficulty = sqd.getDifficultyLevel() != null ? Math.max(1, Math.min(3, sqd.getDifficultyLevel())) : 2;
+                signals[i] = (attempts - 1) + timeRatio + (3 - difficulty) * 0.5;
+            }
+            Integer[] order = new Integer[signals.length];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, Comparator.comparing((Integer i) -> signals[i]).reversed());
+            return Arrays.asList(order);
+        }
+
+        String userRequestedPrompt(UserPerformanceSummary userPerformance, List<String> selectedGenres) {
+            StringBuilder prompt = new StringBuilder();
+            prompt.append(userRequestedInstructions);
+
+            prompt.append("## 📊 사용자 성과 분석\n");
+            prompt.append("**사용자가 선택한 장르**: ").append(String.join(", ", selectedGenres)).append("\n\n");
+
+            prompt.append("## 🏷️ 카테고리별 성과 분석\n");
+            prompt.append("**중요**: 성과가 낮은 카테고리를 우선적으로 보완할 콘텐츠를 추천해주세요.\n\n");
+            if (userPerformance.getCategoryPerformance() != null && !userPerformance.getCategoryPerformance().isEmpty()) {
+                for (Map.Entry<String, Double> entry : userPerformance.getCategoryPerformance().entrySet()) {
+                    Double performance = entry.getValue();
+                    String status = performance >= 80 ? "🟢 우수" : performance >= 60 ? "🟡 보통" : "🔴 보완 필요";
+                    prompt.append("- **").append(entry.getKey()).append("**: ").append(performance).append("% (").append(status).append(")\n");
+                }
+                prompt.append("\n");
+            }
+
+            prompt.append("## 📈 난이도별 성과 분석\n");
+            prompt.append("**중요**: 성과가 낮은 난이도 단계를 단계적으로 향상시킬 콘텐츠를 추천해주세요.\n\n");
+            if (userPerformance.getDifficultyPerformance() != null && !userPerformance.getDifficultyPerformance().isEmpty()) {
+                for (Map.Entry<Integer, Double> entry : userPerformance.getDifficultyPerformance().entrySet()) {
+                    Integer difficulty = entry.getKey();
+                    Double performance = entry.getValue();
+                    String level = switch (difficulty) {
+                        case 1 -> "초급";
+                        case 2 -> "중급";
+                        case 3 -> "고급";
+                        default -> "기타";
+                    };
+                    String status = performance >= 80 ? "🟢 우수" : performance >= 60 ? "🟡 보통" : "🔴 보완 필요";
+                    prompt.append("- **").append(level).append(" (Lv.").append(difficulty).append(")**: ").append(performance).append("% (").append(status).append(")\n");
+                }
+                prompt.append("\n");
+            }
+            return prompt.toString();
+        }
+    }
+}
@@ -1,18 +1,27 @@
 package com.mediaservice.service;
 
+import com.mediaservice.dto.SessionQuestionDetail;
 import com.mediaservice.dto.UserPerformanceSummary;
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.service.impl.CategoryContextTable;
 import com.mediaservice.service.impl.PromptTemplateServiceImpl;
+import com.mediaservice.service.impl.PromptTokenEstimator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
 
 /**
  * 프롬프트 템플릿 서비스 테스트
@@ -20,7 +29,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 @ExtendWith(MockitoExtension.class)
 class PromptTemplateServiceTest {
 
-    @InjectMocks
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CategoryContextTable categoryContextTable;
     private PromptTemplateServiceImpl promptTemplateService;
 
     private UserPerformanceSummary testUserPerformance;
@@ -28,6 +40,9 @@ class PromptTemplateServiceTest {
 
     @BeforeEach
     void setUp() {
+        categoryContextTable = new CategoryContextTable(jdbcTemplate);
+        promptTemplateService = new PromptTemplateServiceImpl(categoryContextTable);
+
         // 카테고리별 성과 테스트 데이터
         Map<String, Double> categoryPerformance = new HashMap<>();
         categoryPerformance.put("여행-가족", 80.0);
@@ -162,4 +177,201 @@ class PromptTemplateServiceTest {
         assertThat(prompt).contains("90.0%");
         assertThat(prompt).contains("45.0%");
     }
+
+    @Test
+    void 실시간_세션_입력_지문은_세션마다_달라지는_값을_무시한다() {
+        // Given: 세션 ID, 풀이 시간, 오답률(같은 구간)만 다른 두 세션
+        LearningCompletedEvent first = createRealTimeEvent("session-1", 42.0, 30, "Q-2", "Q-1");
+        LearningCompletedEvent second = createRealTimeEvent("session-2", 45.0, 55, "Q-1", "Q-2");
+
+        // When & Then
+        assertThat(promptTemplateService.generateRealTimeSessionFingerprint(first))
+                .isEqualTo(promptTemplateService.generateRealTimeSessionFingerprint(second))
+                .startsWith("rt-v2:");
+    }
+
+    @Test
+    void 실시간_세션_입력_지문은_틀린_문제나_오답률_구간이_다르면_달라진다() {
+        // Given
+        LearningCompletedEvent base = createRealTimeEvent("session-1", 42.0, 30, "Q-1", "Q-2");
+        LearningCompletedEvent otherQuestions = createRealTimeEvent("session-2", 42.0, 30, "Q-1", "Q-3");
+        LearningCompletedEvent otherErrorRate = createRealTimeEvent("session-3", 62.0, 30, "Q-1", "Q-2");
+
+        // When
+        String baseFingerprint = promptTemplateService.generateRealTimeSessionFingerprint(base);
+
+        // Then
+        assertThat(promptTemplateService.generateRealTimeSessionFingerprint(otherQuestions)).isNotEqualTo(baseFingerprint);
+        assertThat(promptTemplateService.generateRealTimeSessionFingerprint(otherErrorRate)).isNotEqualTo(baseFingerprint);
+    }
+
+    @Test
+    void 실시간_세션_프롬프트가_토큰_예산_안이면_모든_틀린_문제를_전체_형태로_넣는다() {
+        // Given
+        LearningCompletedEvent event = createRealTimeEvent("session-1", 40.0, 30);
+        event.setSessionQuestions(createWrongQuestions(3));
+
+        // When
+        String prompt = promptTemplateService.generateRealTimeSessionPrompt(event);
+
+        // Then
+        assertThat(prompt).contains("- **틀린 문제 3**: Question 2");
+        assertThat(prompt.split("AI 분석 요청", -1)).hasSize(4);
+        assertThat(prompt).doesNotContain("개는 생략했습니다");
+    }
+
+    @Test
+    void 실시간_세션_프롬프트가_토큰_예산을_넘으면_약점_신호가_약한_틀린_문제부터_요약하거나_생략한다() {
+        // Given: 틀린 문제 30개, 5번째 문제만 3번 시도하고 오래 고민함
+        ReflectionTestUtils.setField(promptTemplateService, "realTimeTokenBudget", 2500);
+        LearningCompletedEvent event = createRealTimeEvent("session-1", 90.0, 30);
+        List<SessionQuestionDetail> questions = createWrongQuestions(30);
+        questions.get(4).setAttemptCount(3);
+        questions.get(4).setTimeSpent(120);
+        event.setSessionQuestions(questions);
+
+        // When
+        String prompt = promptTemplateService.generateRealTimeSessionPrompt(event);
+
+        // Then
+        assertThat(PromptTokenEstimator.estimate(prompt)).isLessThanOrEqualTo(2500);
+        assertThat(prompt).contains("Question 4:");
+        assertThat(prompt).doesNotContain("Question 29:");
+        assertThat(prompt).contains("- **틀린 문제 1**: Question 0:");
+        assertThat(prompt).contains("개는 생략했습니다");
+        assertThat(prompt).contains("## 🎯 틀린 문제 패턴 분석");
+        assertThat(prompt).contains("## 📝 응답 형식");
+    }
+
+    @Test
+    void 실시간_세션_프롬프트에_미리_만들어_둔_카테고리별_학습_맥락을_넣는다() {
+        // Given
+        when(jdbcTemplate.queryForList(anyString())).thenReturn(List.of(
+                Map.of("major_category", "비즈니스", "minor_category", "", "label", "비즈니스 영어",
+                        "context", "비즈니스 관련 영어 표현과 어휘를 학습합니다."),
+                Map.of("major_category", "비즈니스", "minor_category", "회의", "label", "비즈니스 영어",
+                        "context", "회의 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.")));
+        categoryContextTable.refresh();
+        LearningCompletedEvent meeting = createRealTimeEvent("session-1", 40.0, 30, "Q-1");
+        LearningCompletedEvent noMinorCategory = createRealTimeEvent("session-2", 40.0, 30, "Q-1");
+        noMinorCategory.setMinorCategory(null);
+
+        // When & Then
+        assertThat(promptTemplateService.generateRealTimeSessionPrompt(meeting))
+                .contains("- **비즈니스 영어**: 회의 진행과 참여에 필요한 영어 표현과 어휘를 학습합니다.\n")
+                .contains("- **학습 목표**: 비즈니스 상황에서 회의와 관련된 영어 표현과 어휘를 학습\n");
+        assertThat(promptTemplateService.generateRealTimeSessionPrompt(noMinorCategory))
+                .contains("- **비즈니스 영어**: 비즈니스 관련 영어 표현과 어휘를 학습합니다.\n");
+    }
+
+    @Test
+    void 모든_프롬프트는_호출마다_달라지는_값이_없는_고정_머리말로_시작한다() {
+        // Given
+        LearningCompletedEvent event = createRealTimeEvent("session-1", 40.0, 30, "Q-1");
+        List<String> prefixes = promptTemplateService.getStablePrefixes();
+
+        // When
+        String realTimePrompt = promptTemplateService.generateRealTimeSessionPrompt(event);
+        String userRequestedPrompt = promptTemplateService.generateUserRequestedPrompt(testUserPerformance, testSelectedGenres);
+        String cohortPrompt = promptTemplateService.generateUserCohortPrompt(testUserPerformance, testSelectedGenres);
+
+        // Then
+        assertThat(prefixes).hasSize(2);
+        assertThat(realTimePrompt).startsWith(prefixes.get(0));
+        assertThat(userRequestedPrompt).startsWith(prefixes.get(1));
+        assertThat(cohortPrompt).startsWith(prefixes.get(1));
+        assertThat(prefixes.get(0)).doesNotContain("session-1", "비즈니스");
+        assertThat(prefixes.get(1)).doesNotContain(testSelectedGenres.get(0));
+    }
+
+    @Test
+    void 프롬프트_토큰_수는_한글을_ASCII보다_무겁게_추정한다() {
+        // When & Then
+        assertThat(PromptTokenEstimator.estimate("abcdefgh")).isEqualTo(2);
+        assertThat(PromptTokenEstimator.estimate("틀린 문제")).isEqualTo(5);
+        assertThat(PromptTokenEstimator.estimate(null)).isZero();
+    }
+
+    private List<SessionQuestionDetail> createWrongQuestions(int count) {
+        List<SessionQuestionDetail> questions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            questions.add(SessionQuestionDetail.builder()
+                    .questionId("Q-" + i)
+                    .questionText("Question " + i + ": Choose the most natural expression to politely interrupt a colleague during a meeting.")
+                    .options(List.of("Sorry to cut in, but", "Stop talking, please", "You are wrong because"))
+                    .correctAnswer("A")
+                    .userAnswer("B")
+                    .explanation("회의 중 상대의 말을 끊을 때는 사과 표현으로 시작해 공손함을 유지하는 것이 자연스럽습니다.")
+                    .majorCategory("비즈니스")
+                    .minorCategory("회의")
+                    .difficultyLevel(2)
+                    .isCorrect(false)
+                    .timeSpent(30)
+                    .attemptCount(1)
+                    .build());
+        }
+        return questions;
+    }
+
+    private LearningCompletedEvent createRealTimeEvent(String sessionId, double errorRate, int timeSpent,
+                                                       String... wrongQuestionIds) {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setSessionId(sessionId);
+        event.setMajorCategory("비즈니스");
+        event.setMinorCategory("회의");
+        event.setSessionType("PRACTICE");
+        event.setQuestionType("MULTIPLE_CHOICE");
+        event.setAvgDifficultyLevel(2);
+        event.setErrorRate(errorRate);
+        List<SessionQuestionDetail> questions = new ArrayList<>();
+        for (String questionId : wrongQuestionIds) {
+            questions.add(SessionQuestionDetail.builder()
+                    .questionId(questionId)
+                    .isCorrect(false)
+                    .timeSpent(timeSpent)
+                    .build());
+        }
+        questions.add(SessionQuestionDetail.builder().questionId("Q-9").isCorrect(true).timeSpent(timeSpent).build());
+        event.setSessionQuestions(questions);
+        return event;
+    }
+
+    @Test
+    void 사용자_코호트_지문은_장르_순서와_구간_내_성과_차이를_무시한다() {
+        // Given: 장르 순서와 성과 수치만 조금 다른 사용자 (성과 하위 카테고리, 난이도별 구간은 동일)
+        UserPerformanceSummary similarUser = UserPerformanceSummary.builder()
+                .categoryPerformance(Map.of("여행-가족", 79.0, "여행-친구", 74.0, "비즈니스-회의", 61.0, "일상-음식", 99.0))
+                .difficultyPerformance(Map.of(1, 95.0, 2, 70.0, 3, 30.0))
+                .build();
+
+        // When
+        String fingerprint = promptTemplateService.generateUserCohortFingerprint(testUserPerformance, testSelectedGenres);
+        String similarFingerprint = promptTemplateService.generateUserCohortFingerprint(
+                similarUser, List.of("판타지", "SF", "스릴러", "액션"));
+
+        // Then
+        assertThat(similarFingerprint).isEqualTo(fingerprint).startsWith("uc-v2:");
+        assertThat(promptTemplateService.generateUserCohortPrompt(similarUser, List.of("판타지", "SF", "스릴러", "액션")))
+                .isEqualTo(promptTemplateService.generateUserCohortPrompt(testUserPerformance, testSelectedGenres));
+    }
+
+    @Test
+    void 사용자_코호트_지문은_숙련도_구간이나_약한_카테고리가_다르면_달라진다() {
+        // Given
+        UserPerformanceSummary otherBand = UserPerformanceSummary.builder()
+                .categoryPerformance(testUserPerformance.getCategoryPerformance())
+                .difficultyPerformance(Map.of(1, 90.0, 2, 75.0, 3, 65.0))
+                .build();
+        UserPerformanceSummary otherWeakest = UserPerformanceSummary.builder()
+                .categoryPerformance(Map.of("여행-가족", 80.0, "여행-친구", 75.0, "비즈니스-회의", 65.0, "일상-음식", 20.0))
+                .difficultyPerformance(testUserPerformance.getDifficultyPerformance())
+                .build();
+
+        // When
+        String fingerprint = promptTemplateService.generateUserCohortFingerprint(testUserPerformance, testSelectedGenres);
+
+        // Then
+        assertThat(promptTemplateService.generateUserCohortFingerprint(otherBand, testSelectedGenres)).isNotEqualTo(fingerprint);
+        assertThat(promptTemplateService.generateUserCohortFingerprint(otherWeakest, testSelectedGenres)).isNotEqualTo(fingerprint);
+    }
 }
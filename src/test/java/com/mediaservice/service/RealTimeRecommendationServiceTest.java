@@ -0,0 +1,398 @@
+package com.mediaservice.service;
+
+import com.mediaservice.dto.BatchRecommendationResult;
+import com.mediaservice.dto.GeminiRequest;
+import com.mediaservice.dto.SessionQuestionDetail;
+import com.mediaservice.enums.RecommendationType;
+import com.mediaservice.event.LearningCompletedEvent;
+import com.mediaservice.event.RecommendationGeneratedEvent;
+import com.mediaservice.exception.NonRetryableRecommendationException;
+import com.mediaservice.exception.RetryableRecommendationException;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.repository.MediaRecommendationRepository;
+import com.mediaservice.repository.SessionQuestionRepository;
+import com.mediaservice.service.impl.FallbackRecommendationReplacer;
+import com.mediaservice.service.impl.RealTimeRecommendationServiceImpl;
+import com.mediaservice.service.impl.SessionQuestionSnapshotCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 실시간 세션 기반 미디어 추천 서비스 테스트 (세션 문제 상세 정보 조회 경로)
+ */
+@ExtendWith(MockitoExtension.class)
+class RealTimeRecommendationServiceTest {
+
+    @Mock
+    private PromptTemplateService promptTemplateService;
+
+    @Mock
+    private GeminiApiService geminiApiService;
+
+    @Mock
+    private MediaRecommendationRepository mediaRecommendationRepository;
+
+    @Mock
+    private SessionQuestionRepository sessionQuestionRepository;
+
+    @Mock
+    private ProcessedEventService processedEventService;
+
+    @Mock
+    private PromptStoreService promptStoreService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FallbackRecommendationReplacer fallbackRecommendationReplacer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RealTimeRecommendationServiceImpl realTimeRecommendationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        realTimeRecommendationService = new RealTimeRecommendationServiceImpl(
+                promptTemplateService,
+                geminiApiService,
+                mediaRecommendationRepository,
+                sessionQuestionRepository,
+                processedEventService,
+                promptStoreService,
+                new SessionQuestionSnapshotCache(true, 100),
+                new TransactionTemplate(transactionManager),
+                meterRegistry,
+                eventPublisher,
+                fallbackRecommendationReplacer,
+                Runnable::run);
+
+        lenient().when(promptTemplateService.generateRealTimeSessionPrompt(any(LearningCompletedEvent.class))).thenReturn("프롬프트");
+    }
+
+    @Test
+    void 이벤트에_완전한_세션_문제_정보가_있으면_DB를_조회하지_않는다() {
+        // Given
+        stubBlockingGeminiCall();
+        LearningCompletedEvent event = createEvent("session-1", null);
+        event.setSessionQuestions(List.of(createQuestion("Q-1"), createQuestion("Q-2")));
+
+        // When
+        realTimeRecommendationService.generateRecommendations(event);
+
+        // Then
+        verify(sessionQuestionRepository, never()).findSessionQuestionDetails(anyString());
+        assertThat(meterRegistry.counter("recommendation.session-questions.source", "source", "event").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 버전_스탬프가_캐시와_일치하면_DB를_조회하지_않는다() {
+        // Given: 상세 정보와 버전 스탬프를 함께 가진 첫 이벤트
+        stubBlockingGeminiCall();
+        LearningCompletedEvent first = createEvent("session-1", "v1");
+        first.setSessionQuestions(List.of(createQuestion("Q-1"), createQuestion("Q-2")));
+        realTimeRecommendationService.generateRecommendations(first);
+
+        // When: 같은 세션, 같은 버전 스탬프만 가진 이벤트
+        LearningCompletedEvent second = createEvent("session-1", "v1");
+        realTimeRecommendationService.generateRecommendations(second);
+
+        // Then
+        verify(sessionQuestionRepository, never()).findSessionQuestionDetails(anyString());
+        assertThat(second.getSessionQuestions()).extracting(SessionQuestionDetail::getQuestionId)
+                .containsExactly("Q-1", "Q-2");
+    }
+
+    @Test
+    void 상세_정보가_부족하면_DB에서_조회한다() {
+        // Given: 총 2문제 중 1문제만 실려 옴 + 캐시에 없는 버전 스탬프
+        stubBlockingGeminiCall();
+        LearningCompletedEvent event = createEvent("session-1", "v2");
+        event.setSessionQuestions(List.of(createQuestion("Q-1")));
+        when(sessionQuestionRepository.findSessionQuestionDetails("session-1")).thenReturn(List.of());
+
+        // When
+        realTimeRecommendationService.generateRecommendations(event);
+
+        // Then
+        verify(sessionQuestionRepository).findSessionQuestionDetails("session-1");
+        ArgumentCaptor<LearningCompletedEvent> captor = ArgumentCaptor.forClass(LearningCompletedEvent.class);
+        verify(promptTemplateService).generateRealTimeSessionPrompt(captor.capture());
+        assertThat(captor.getValue().getSessionQuestions()).isEmpty();
+        assertThat(meterRegistry.counter("recommendation.session-questions.source", "source", "db").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void 스트리밍_모드에서는_추천_항목마다_바로_저장하고_이벤트를_발행한다() {
+        // Given
+        LearningCompletedEvent event = createEvent("session-1", null);
+        event.setSessionQuestions(List.of(createQuestion("Q-1"), createQuestion("Q-2")));
+        when(geminiApiService.isStreamingEnabled()).thenReturn(true);
+        when(promptStoreService.hash("프롬프트")).thenReturn("prompt-hash");
+        when(mediaRecommendationRepository.save(any(MediaRecommendation.class))).thenAnswer(withGeneratedId());
+        when(geminiApiService.streamRecommendations(any(GeminiRequest.class), any())).thenAnswer(invocation -> {
+            Consumer<MediaRecommendation> onRecommendation = invocation.getArgument(1);
+            List<MediaRecommendation> streamed = List.of(
+                    MediaRecommendation.builder().title("첫 번째 영상").build(),
+                    MediaRecommendation.builder().title("두 번째 영상").build());
+            streamed.forEach(onRecommendation);
+            return CompletableFuture.completedFuture(streamed);
+        });
+
+        // When
+        realTimeRecommendationService.generateRecommendations(event);
+
+        // Then: 처리 완료 기록과 프롬프트는 모든 항목이 저장된 뒤에 기록
+        InOrder inOrder = inOrder(mediaRecommendationRepository, processedEventService, promptStoreService);
+        inOrder.verify(mediaRecommendationRepository, times(2)).save(any(MediaRecommendation.class));
+        inOrder.verify(processedEventService).markProcessed("session-1", "1");
+        inOrder.verify(promptStoreService).store("프롬프트");
+        inOrder.verify(mediaRecommendationRepository).deleteBySessionIdGeneratedBefore(
+                eq("session-1"), eq(RecommendationType.REAL_TIME_SESSION), any(LocalDateTime.class));
+        verify(mediaRecommendationRepository, never()).saveAllAndFlush(anyList());
+        ArgumentCaptor<RecommendationGeneratedEvent> captor = ArgumentCaptor.forClass(RecommendationGeneratedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(captor.capture());
+        assertThat(captor.getAllValues()).extracting(published -> published.getRecommendation().getSessionId())
+                .containsOnly("session-1");
+        assertThat(captor.getAllValues()).extracting(published -> published.getRecommendation().getPromptHash())
+                .containsOnly("prompt-hash");
+    }
+
+    @Test
+    void 스트림이_중간에_실패하면_저장된_추천을_삭제하고_처리_완료로_기록하지_않는다() {
+        // Given
+        LearningCompletedEvent event = createEvent("session-1", null);
+        event.setSessionQuestions(List.of(createQuestion("Q-1"), createQuestion("Q-2")));
+        when(geminiApiService.isStreamingEnabled()).thenReturn(true);
+        when(mediaRecommendationRepository.save(any(MediaRecommendation.class))).thenAnswer(withGeneratedId());
+        when(geminiApiService.streamRecommendations(any(GeminiRequest.class), any())).thenAnswer(invocation -> {
+            Consumer<MediaRecommendation> onRecommendation = invocation.getArgument(1);
+            onRecommendation.accept(MediaRecommendation.builder().title("첫 번째 영상").build());
+            return CompletableFuture.failedFuture(new RetryableRecommendationException("스트림 끊김"));
+        });
+
+        // When & Then
+        assertThatThrownBy(() -> realTimeRecommendationService.generateRecommendations(event))
+                .hasRootCauseInstanceOf(RetryableRecommendationException.class);
+        verify(mediaRecommendationRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(processedEventService, never()).markProcessed(anyString(), anyString());
+        verify(promptStoreService, never()).store(anyString());
+    }
+
+    @Test
+    void 스트리밍_도중_다른_컨슈머가_먼저_완료하면_이번에_저장한_추천을_삭제한다() {
+        // Given
+        LearningCompletedEvent event = createEvent("session-1", null);
+        event.setSessionQuestions(List.of(createQuestion("Q-1"), createQuestion("Q-2")));
+        when(geminiApiService.isStreamingEnabled()).thenReturn(true);
+        when(mediaRecommendationRepository.save(any(MediaRecommendation.class))).thenAnswer(withGeneratedId());
+        when(geminiApiService.streamRecommendations(any(GeminiRequest.class), any())).thenAnswer(invocation -> {
+            Consumer<MediaRecommendation> onRecommendation = invocation.getArgument(1);
+            List<MediaRecommendation> streamed = List.of(
+                    MediaRecommendation.builder().title("첫 번째 영상").build(),
+                    MediaRecommendation.builder().title("두 번째 영상").build());
+            streamed.forEach(onRecommendation);
+            return CompletableFuture.completedFuture(streamed);
+        });
+        doThrow(new DataIntegrityViolationException("duplicate session"))
+                .when(processedEventService).markProcessed("session-1", "1");
+
+        // When
+        realTimeRecommendationService.generateRecommendations(event);
+
+        // Then
+        verify(mediaRecommendationRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(transactionManager).rollback(any());
+        verify(fallbackRecommendationReplacer, never()).registerIfFallback(any(), anyList());
+    }
+
+    @Test
+    void 프롬프트는_추천과_같은_트랜잭션에서_저장한다() {
+        // Given
+        stubBlockingGeminiCall();
+        when(promptStoreService.store("프롬프트")).thenReturn("prompt-hash");
+
+        // When
+        realTimeRecommendationService.generateRecommendations(createEventWithQuestions("session-1"));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MediaRecommendation>> captor = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(transactionManager, promptStoreService, mediaRecommendationRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(promptStoreService).store("프롬프트");
+        inOrder.verify(mediaRecommendationRepository).saveAllAndFlush(captor.capture());
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(captor.getValue()).extracting(MediaRecommendation::getPromptHash).containsExactly("prompt-hash");
+    }
+
+    @Test
+    void 이미_처리된_세션은_Gemini를_호출하지_않고_건너뛴다() {
+        // Given
+        when(processedEventService.isProcessed("session-1")).thenReturn(true);
+
+        // When
+        realTimeRecommendationService.generateRecommendations(createEventWithQuestions("session-1"));
+
+        // Then
+        verifyNoInteractions(geminiApiService, mediaRecommendationRepository);
+        verify(processedEventService, never()).markProcessed(anyString(), anyString());
+    }
+
+    @Test
+    void 같은_세션이_동시에_먼저_커밋되면_추천을_다시_저장하지_않는다() {
+        // Given: 처리 완료 기록의 기본 키 충돌로 추천 저장 트랜잭션이 롤백됨
+        when(geminiApiService.generateRecommendations(any(GeminiRequest.class))).thenAnswer(invocation ->
+                new ArrayList<>(List.of(MediaRecommendation.builder().title("추천 영상").build())));
+        doThrow(new DataIntegrityViolationException("duplicate session_id"))
+                .when(processedEventService).markProcessed("session-1", "1");
+
+        // When
+        realTimeRecommendationService.generateRecommendations(createEventWithQuestions("session-1"));
+
+        // Then
+        verify(mediaRecommendationRepository, never()).saveAllAndFlush(anyList());
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(fallbackRecommendationReplacer);
+    }
+
+    @Test
+    void 배치의_추천과_처리_완료_기록을_saveAllAndFlush_한_번으로_저장한다() {
+        // Given: session-1이 배치 안에서 두 번 전달됨
+        when(geminiApiService.generateRecommendationsAsync(any(GeminiRequest.class))).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(new ArrayList<>(List.of(
+                        MediaRecommendation.builder().title("추천 영상 A").build(),
+                        MediaRecommendation.builder().title("추천 영상 B").build()))));
+        when(mediaRecommendationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<LearningCompletedEvent> events = List.of(
+                createEventWithQuestions("session-1"), createEventWithQuestions("session-2"),
+                createEventWithQuestions("session-1"));
+
+        // When
+        BatchRecommendationResult result = realTimeRecommendationService.generateBatchRecommendations(events);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MediaRecommendation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mediaRecommendationRepository, times(1)).saveAllAndFlush(captor.capture());
+        assertThat(captor.getValue()).hasSize(4)
+                .extracting(MediaRecommendation::getSessionId)
+                .containsExactly("session-1", "session-1", "session-2", "session-2");
+        verify(processedEventService).markProcessed("session-1", "1");
+        verify(processedEventService).markProcessed("session-2", "1");
+        verify(promptStoreService, times(2)).store("프롬프트");
+        verify(geminiApiService, times(2)).generateRecommendationsAsync(any(GeminiRequest.class));
+        assertThat(result.getTotalEvents()).isEqualTo(3);
+        assertThat(result.getSavedRecommendations()).isEqualTo(4);
+        assertThat(result.getSkippedEvents()).isEqualTo(1);
+        assertThat(result.hasFailures()).isFalse();
+        // 처리 시간은 배치 1회로 한 번만 기록하고, 처리한 이벤트 수는 따로 셈
+        assertThat(meterRegistry.timer(RealTimeRecommendationService.PROCESSING_TIMER_NAME).count()).isEqualTo(1);
+        assertThat(meterRegistry.counter(RealTimeRecommendationService.PROCESSED_EVENTS_COUNTER_NAME).count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void 배치에서_실패한_이벤트는_입력_인덱스와_원인을_기록하고_나머지만_저장한다() {
+        // Given: 0번은 성공, 1번은 Gemini 호출 실패, 2번은 잘못된 사용자 ID
+        CompletableFuture<List<MediaRecommendation>> succeeded = CompletableFuture.completedFuture(
+                new ArrayList<>(List.of(MediaRecommendation.builder().title("추천 영상").build())));
+        CompletableFuture<List<MediaRecommendation>> failed = CompletableFuture.failedFuture(
+                new RetryableRecommendationException("Gemini 타임아웃"));
+        when(geminiApiService.generateRecommendationsAsync(any(GeminiRequest.class))).thenReturn(succeeded, failed);
+        when(mediaRecommendationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        LearningCompletedEvent invalid = createEventWithQuestions("session-3");
+        invalid.setUserId("user-abc");
+        List<LearningCompletedEvent> events = List.of(
+                createEventWithQuestions("session-1"), createEventWithQuestions("session-2"), invalid);
+
+        // When
+        BatchRecommendationResult result = realTimeRecommendationService.generateBatchRecommendations(events);
+
+        // Then
+        assertThat(result.getFailures()).containsOnlyKeys(1, 2);
+        assertThat(result.getFailures().get(1)).isInstanceOf(RetryableRecommendationException.class);
+        assertThat(result.getFailures().get(2)).isInstanceOf(NonRetryableRecommendationException.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MediaRecommendation>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mediaRecommendationRepository, times(1)).saveAllAndFlush(captor.capture());
+        assertThat(captor.getValue()).extracting(MediaRecommendation::getSessionId).containsExactly("session-1");
+        verify(processedEventService).markProcessed("session-1", "1");
+        verify(processedEventService, never()).markProcessed(eq("session-2"), anyString());
+        assertThat(result.getSavedRecommendations()).isEqualTo(1);
+    }
+
+    private void stubBlockingGeminiCall() {
+        when(geminiApiService.generateRecommendations(any(GeminiRequest.class))).thenAnswer(invocation ->
+                new ArrayList<>(List.of(MediaRecommendation.builder().title("추천 영상").build())));
+        when(mediaRecommendationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private Answer<MediaRecommendation> withGeneratedId() {
+        AtomicLong sequence = new AtomicLong();
+        return invocation -> {
+            MediaRecommendation recommendation = invocation.getArgument(0);
+            recommendation.setId(sequence.incrementAndGet());
+            return recommendation;
+        };
+    }
+
+    private LearningCompletedEvent createEventWithQuestions(String sessionId) {
+        LearningCompletedEvent event = createEvent(sessionId, null);
+        event.setSessionQuestions(List.of(createQuestion("Q-1"), createQuestion("Q-2")));
+        return event;
+    }
+
+    private LearningCompletedEvent createEvent(String sessionId, String version) {
+        LearningCompletedEvent event = new LearningCompletedEvent();
+        event.setSessionId(sessionId);
+        event.setUserId("1");
+        event.setSessionStatus("COMPLETED");
+        event.setTotalQuestions(2);
+        event.setSessionQuestionsVersion(version);
+        return event;
+    }
+
+    private SessionQuestionDetail createQuestion(String questionId) {
+        return SessionQuestionDetail.builder()
+                .questionId(questionId)
+                .questionText("Choose the best phrase.")
+                .majorCategory("비즈니스")
+                .minorCategory("회의")
+                .difficultyLevel(2)
+                .userAnswer("B")
+                .correctAnswer("A")
+                .isCorrect(false)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.mediaservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mediaservice.model.MediaRecommendation;
+import com.mediaservice.service.impl.GeminiResponseParser;
+import com.mediaservice.service.impl.StreamingRecommendationParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스트리밍 추천 증분 파서 테스트
+ */
+class StreamingRecommendationParserTest {
+
+    private final List<MediaRecommendation> received = new ArrayList<>();
+    private StreamingRecommendationParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new GeminiResponseParser(new ObjectMapper()).newStreamingParser(received::add);
+    }
+
+    @Test
+    void 항목이_닫히는_즉시_콜백을_호출한다() {
+        // Given: 코드 블록 표시와 배열 시작이 조각 경계에 걸쳐 들어옴
+        parser.feed("```json\n{\"recommend");
+        parser.feed("ations\": [" + item("첫 번째 영상").substring(0, 40));
+
+        // When
+        parser.feed(item("첫 번째 영상").substring(40) + ", " + item("두 번째 영상").substring(0, 10));
+
+        // Then: 두 번째 항목이 완성되기 전에 첫 번째 항목이 전달됨
+        assertThat(received).extracting(MediaRecommendation::getTitle).containsExactly("첫 번째 영상");
+
+        // When
+        parser.feed(item("두 번째 영상").substring(10) + "]}\n```");
+
+        // Then
+        assertThat(received).extracting(MediaRecommendation::getTitle).containsExactly("첫 번째 영상", "두 번째 영상");
+        assertThat(parser.getRecommendations()).hasSize(2);
+    }
+
+    @Test
+    void 문자열_안의_괄호와_이스케이프된_따옴표는_항목_경계로_보지_않는다() {
+        // Given
+        String tricky = item("Brackets } and \\\"quotes\\\" {");
+
+        // When
+        parser.feed("{\"recommendations\": [" + tricky + "]}");
+
+        // Then
+        assertThat(received).extracting(MediaRecommendation::getTitle).containsExactly("Brackets } and \"quotes\" {");
+    }
+
+    @Test
+    void 필수_필드가_빠진_항목은_건너뛰고_다음_항목을_전달한다() {
+        // Given
+        String broken = "{\"title\": \"제목만 있음\", \"nested\": {\"a\": [1, 2]}}";
+
+        // When
+        parser.feed("{\"recommendations\": [" + broken + ", " + item("정상 영상") + "]}");
+
+        // Then
+        assertThat(received).extracting(MediaRecommendation::getTitle).containsExactly("정상 영상");
+        assertThat(parser.hasFoundArray()).isTrue();
+    }
+
+    private String item(String title) {
+        return "{\"title\": \"" + title + "\", \"description\": \"설명\", \"url\": \"https://www.youtube.com/watch?v=abc\", "
+                + "\"mediaType\": \"VIDEO\", \"platform\": \"YouTube\", \"difficultyLevel\": \"초급\", "
+                + "\"recommendationReason\": \"약점 보완\", \"estimatedDuration\": 5}";
+    }
+}
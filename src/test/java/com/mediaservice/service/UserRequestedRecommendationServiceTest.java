@@ -2,11 +2,14 @@ package com.mediaservice.service;
 
 import com.mediaservice.dto.CategoryPerformanceView;
 import com.mediaservice.dto.DifficultyAchievementView;
+import com.mediaservice.dto.GeminiRequest;
 import com.mediaservice.dto.UserPerformanceSummary;
+import com.mediaservice.enums.LlmRequestPriority;
 import com.mediaservice.model.MediaRecommendation;
 import com.mediaservice.repository.CategoryPerformanceRepository;
 import com.mediaservice.repository.DifficultyAchievementRepository;
 import com.mediaservice.repository.MediaRecommendationRepository;
+import com.mediaservice.service.impl.FallbackRecommendationReplacer;
 import com.mediaservice.service.impl.UserRequestedRecommendationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -45,6 +49,12 @@ class UserRequestedRecommendationServiceTest {
     @Mock
     private DifficultyAchievementRepository difficultyAchievementRepository;
 
+    @Mock
+    private FallbackRecommendationReplacer fallbackRecommendationReplacer;
+
+    @Mock
+    private PromptStoreService promptStoreService;
+
     @InjectMocks
     private UserRequestedRecommendationServiceImpl userRequestedRecommendationService;
 
@@ -128,7 +138,7 @@ class UserRequestedRecommendationServiceTest {
                 .thenReturn(testDifficultyAchievements);
         when(promptTemplateService.generateUserRequestedPrompt(any(UserPerformanceSummary.class), anyList()))
                 .thenReturn("테스트 프롬프트");
-        when(geminiApiService.generateRecommendations(any(String.class)))
+        when(geminiApiService.generateRecommendations(any(GeminiRequest.class)))
                 .thenReturn(testRecommendations);
         when(mediaRecommendationRepository.saveAll(anyList()))
                 .thenReturn(testRecommendations);
@@ -143,7 +153,8 @@ class UserRequestedRecommendationServiceTest {
         verify(categoryPerformanceRepository).findByUserId(testUserId);
         verify(difficultyAchievementRepository).findByUserId(testUserId);
         verify(promptTemplateService).generateUserRequestedPrompt(any(UserPerformanceSummary.class), eq(testSelectedGenres));
-        verify(geminiApiService).generateRecommendations(any(String.class));
+        verify(geminiApiService).generateRecommendations(argThat((GeminiRequest request) ->
+                request.getPriority() == LlmRequestPriority.INTERACTIVE && "1".equals(request.getFairnessKey())));
         verify(mediaRecommendationRepository).saveAll(anyList());
     }
 
@@ -173,7 +184,7 @@ class UserRequestedRecommendationServiceTest {
                 .thenReturn(List.of());
         when(promptTemplateService.generateUserRequestedPrompt(any(UserPerformanceSummary.class), anyList()))
                 .thenReturn("테스트 프롬프트");
-        when(geminiApiService.generateRecommendations(any(String.class)))
+        when(geminiApiService.generateRecommendations(any(GeminiRequest.class)))
                 .thenReturn(testRecommendations);
         when(mediaRecommendationRepository.saveAll(anyList()))
                 .thenReturn(testRecommendations);
@@ -190,4 +201,37 @@ class UserRequestedRecommendationServiceTest {
             summary.getDifficultyPerformance().isEmpty()
         ), eq(testSelectedGenres));
     }
+
+    @Test
+    void 코호트_모드에서는_코호트_지문을_캐시_키로_추천을_생성한다() {
+        // Given
+        ReflectionTestUtils.setField(userRequestedRecommendationService, "cohortEnabled", true);
+        when(categoryPerformanceRepository.findByUserId(testUserId))
+                .thenReturn(testCategoryPerformances);
+        when(difficultyAchievementRepository.findByUserId(testUserId))
+                .thenReturn(testDifficultyAchievements);
+        when(promptTemplateService.generateUserCohortPrompt(any(UserPerformanceSummary.class), anyList()))
+                .thenReturn("코호트 프롬프트");
+        when(promptTemplateService.generateUserCohortFingerprint(any(UserPerformanceSummary.class), anyList()))
+                .thenReturn("uc-v1:cohort");
+        when(geminiApiService.generateRecommendations(any(GeminiRequest.class)))
+                .thenReturn(testRecommendations);
+        when(promptStoreService.store("코호트 프롬프트"))
+                .thenReturn("cohort-prompt-hash");
+        when(mediaRecommendationRepository.saveAll(anyList()))
+                .thenReturn(testRecommendations);
+
+        // When
+        int result = userRequestedRecommendationService.generateUserRequestedRecommendations(testUserId, testSelectedGenres);
+
+        // Then
+        assertThat(result).isEqualTo(2);
+        verify(geminiApiService).generateRecommendations(argThat((GeminiRequest request) ->
+                "uc-v1:cohort".equals(request.getCacheKey()) && "코호트 프롬프트".equals(request.getPrompt())));
+        verify(promptTemplateService, never()).generateUserRequestedPrompt(any(), anyList());
+        assertThat(testRecommendations).allSatisfy(recommendation -> {
+            assertThat(recommendation.getUserId()).isEqualTo(testUserId);
+            assertThat(recommendation.getPromptHash()).isEqualTo("cohort-prompt-hash");
+        });
+    }
 }